@@ -49,6 +49,7 @@ import org.apache.camel.spi.ProcessorFactory;
 import org.apache.camel.spi.Registry;
 import org.apache.camel.spi.ServicePool;
 import org.apache.camel.spi.ShutdownStrategy;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.TypeConverterRegistry;
 import org.apache.camel.spi.UuidGenerator;
 
@@ -955,6 +956,20 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setInflightRepository(InflightRepository repository);
 
+    /**
+     * Gets the stream caching strategy
+     *
+     * @return the strategy
+     */
+    StreamCachingStrategy getStreamCachingStrategy();
+
+    /**
+     * Sets a custom stream caching strategy to use
+     *
+     * @param streamCachingStrategy the strategy
+     */
+    void setStreamCachingStrategy(StreamCachingStrategy streamCachingStrategy);
+
     /**
      * Gets the the application context class loader which may be helpful for running camel in other containers
      *
@@ -44,6 +44,15 @@ public interface ManagedErrorHandlerMBean {
     @ManagedAttribute(description = "RedeliveryPolicy for maximum redeliveries")
     void setMaximumRedeliveries(Integer maximum);
 
+    @ManagedAttribute(description = "RedeliveryPolicy for maximum pending asynchronous delayed redeliveries")
+    Integer getMaximumPendingRedeliveries();
+
+    @ManagedAttribute(description = "RedeliveryPolicy for maximum pending asynchronous delayed redeliveries")
+    void setMaximumPendingRedeliveries(Integer maximum);
+
+    @ManagedAttribute(description = "Number of asynchronous delayed redeliveries currently pending")
+    Integer getPendingRedeliveryCount();
+
     @ManagedAttribute(description = "RedeliveryPolicy for maximum redelivery delay")
     Long getMaximumRedeliveryDelay();
 
@@ -53,6 +53,18 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Last Processing Time [milliseconds]")
     long getLastProcessingTime() throws Exception;
 
+    @ManagedAttribute(description = "Median (50th percentile) Processing Time [milliseconds]")
+    long getMedianProcessingTime() throws Exception;
+
+    @ManagedAttribute(description = "99th Percentile Processing Time [milliseconds]")
+    long getPercentile99ProcessingTime() throws Exception;
+
+    @ManagedAttribute(description = "99.9th Percentile Processing Time [milliseconds]")
+    long getPercentile999ProcessingTime() throws Exception;
+
+    @ManagedOperation(description = "Processing Time [milliseconds] at the given percentile (0-100)")
+    long processingTimePercentile(double percentile) throws Exception;
+
     @ManagedAttribute(description = "Last Exchange Completed Timestamp")
     Date getLastExchangeCompletedTimestamp();
 
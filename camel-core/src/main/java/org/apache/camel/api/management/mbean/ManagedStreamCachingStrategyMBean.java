@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+
+public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
+
+    @ManagedAttribute(description = "Memory budget in bytes for the direct buffers used by stream caching")
+    long getMemoryBudget();
+
+    @ManagedAttribute(description = "Memory budget in bytes for the direct buffers used by stream caching")
+    void setMemoryBudget(long memoryBudget);
+
+    @ManagedAttribute(description = "Size in bytes of each direct buffer")
+    int getBufferSize();
+
+    @ManagedAttribute(description = "Bytes of direct buffers currently in use")
+    long getMemoryUsed();
+
+    @ManagedAttribute(description = "Bytes currently cached on the heap")
+    long getHeapUsed();
+
+    @ManagedAttribute(description = "Bytes currently spooled to files")
+    long getSpoolUsed();
+
+}
@@ -162,6 +162,18 @@ public class DefaultErrorHandlerBuilder extends ErrorHandlerBuilderSupport {
         return this;
     }
 
+    /**
+     * Sets the maximum number of asynchronous delayed redeliveries which can be pending.
+     *
+     * @see org.apache.camel.processor.RedeliveryPolicy#setMaximumPendingRedeliveries(int)
+     * @param maximumPendingRedeliveries the maximum
+     * @return the builder
+     */
+    public DefaultErrorHandlerBuilder maximumPendingRedeliveries(int maximumPendingRedeliveries) {
+        getRedeliveryPolicy().setMaximumPendingRedeliveries(maximumPendingRedeliveries);
+        return this;
+    }
+
     /**
      * Sets a reference to a thread pool to be used for redelivery.
      *
@@ -48,6 +48,7 @@ import org.apache.camel.language.LanguageAnnotation;
 import org.apache.camel.spi.Registry;
 import org.apache.camel.util.CastUtils;
 import org.apache.camel.util.IntrospectionSupport;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +76,10 @@ public class BeanInfo {
     private List<MethodInfo> operationsWithCustomAnnotation = new ArrayList<MethodInfo>();
     private List<MethodInfo> operationsWithHandlerAnnotation = new ArrayList<MethodInfo>();
     private Map<Method, MethodInfo> methodMap = new HashMap<Method, MethodInfo>();
+    // the methods chosen by the method name, body type, whether the exchange is out capable and has an exception,
+    // so we do not have to choose again on each invocation, which only becomes a LRUCache when more than one choice
+    // is made, as a bean info may only be used once
+    private volatile Map<MethodChoice, MethodInfo> chosenMethods = Collections.emptyMap();
 
     static {
         // exclude all java.lang.Object methods as we dont want to invoke them
@@ -208,7 +213,7 @@ public class BeanInfo {
 
                     // but first let's try to choose a method and see if that complies with the name
                     // must use the method name which may have qualifiers
-                    methodInfo = chooseMethod(pojo, exchange, methodName);
+                    methodInfo = chooseCachedMethod(pojo, exchange, methodName);
 
                     if (methodInfo == null || !name.equals(methodInfo.getMethod().getName())) {
                         throw new AmbiguousMethodCallException(exchange, methods);
@@ -222,7 +227,7 @@ public class BeanInfo {
 
         if (methodInfo == null) {
             // no name or type
-            methodInfo = chooseMethod(pojo, exchange, null);
+            methodInfo = chooseCachedMethod(pojo, exchange, null);
         }
         if (methodInfo == null) {
             methodInfo = defaultMethod;
@@ -236,6 +241,45 @@ public class BeanInfo {
         return null;
     }
 
+    /**
+     * Chooses the method to invoke, using the method previously chosen for the same body type and headers if possible.
+     *
+     * @see #chooseMethod(Object, org.apache.camel.Exchange, String)
+     */
+    private MethodInfo chooseCachedMethod(Object pojo, Exchange exchange, String name) throws AmbiguousMethodCallException {
+        Object body = exchange.getIn().getBody();
+        MethodChoice key = new MethodChoice(name, body != null ? body.getClass() : null, exchange.getPattern().isOutCapable(),
+                ExpressionBuilder.exchangeExceptionExpression().evaluate(exchange, Exception.class) != null);
+
+        MethodInfo answer = chosenMethods.get(key);
+        if (answer != null) {
+            LOG.trace("Using cached method: {} for choice: {}", answer, key);
+            return answer;
+        }
+
+        answer = chooseMethod(pojo, exchange, name);
+        // only cache if the body was not converted while choosing the method, as the conversion
+        // depends on the value of the body and not only its type
+        if (answer != null && body == exchange.getIn().getBody()) {
+            cacheChosenMethod(key, answer);
+        }
+        return answer;
+    }
+
+    private synchronized void cacheChosenMethod(MethodChoice key, MethodInfo method) {
+        Map<MethodChoice, MethodInfo> current = chosenMethods;
+        if (current.isEmpty()) {
+            chosenMethods = Collections.singletonMap(key, method);
+        } else if (current instanceof LRUCache) {
+            current.put(key, method);
+        } else {
+            Map<MethodChoice, MethodInfo> cache = new LRUCache<MethodChoice, MethodInfo>(1000);
+            cache.putAll(current);
+            cache.put(key, method);
+            chosenMethods = cache;
+        }
+    }
+
     /**
      * Introspects the given class
      *
@@ -944,4 +988,48 @@ public class BeanInfo {
         return null;
     }
 
+
+    /**
+     * Key for the method chosen to invoke, by the method name, body type, exchange pattern and whether an exception is present.
+     */
+    private static final class MethodChoice {
+        private final String name;
+        private final Class<?> bodyType;
+        private final boolean outCapable;
+        private final boolean exception;
+
+        private MethodChoice(String name, Class<?> bodyType, boolean outCapable, boolean exception) {
+            this.name = name;
+            this.bodyType = bodyType;
+            this.outCapable = outCapable;
+            this.exception = exception;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodChoice)) {
+                return false;
+            }
+            MethodChoice that = (MethodChoice) o;
+            return bodyType == that.bodyType && outCapable == that.outCapable && exception == that.exception
+                    && ObjectHelper.equal(name, that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = name != null ? name.hashCode() : 0;
+            result = 31 * result + (bodyType != null ? bodyType.hashCode() : 0);
+            result = 31 * result + (outCapable ? 1 : 0);
+            result = 31 * result + (exception ? 1 : 0);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "MethodChoice[name=" + name + ", bodyType=" + bodyType + ", outCapable=" + outCapable + ", exception=" + exception + "]";
+        }
+    }
 }
@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -46,6 +47,7 @@ import org.apache.camel.processor.RoutingSlip;
 import org.apache.camel.processor.aggregate.AggregationStrategy;
 import org.apache.camel.support.ExpressionAdapter;
 import org.apache.camel.util.CamelContextHelper;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
 import org.apache.camel.util.StringHelper;
@@ -61,6 +63,7 @@ import static org.apache.camel.util.ObjectHelper.asString;
  */
 public class MethodInfo {
     private static final transient Logger LOG = LoggerFactory.getLogger(MethodInfo.class);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
 
     private CamelContext camelContext;
     private Class<?> type;
@@ -70,6 +73,8 @@ public class MethodInfo {
     private final boolean hasCustomAnnotation;
     private final boolean hasHandlerAnnotation;
     private Expression parametersExpression;
+    // the parameter values parsed from the method name, created on demand as most methods are invoked without
+    private volatile Map<String, List<Object>> parsedParameterValues;
     private ExchangePattern pattern = ExchangePattern.InOut;
     private RecipientList recipientList;
     private RoutingSlip routingSlip;
@@ -114,6 +119,13 @@ public class MethodInfo {
         this.hasHandlerAnnotation = hasHandlerAnnotation;
         this.parametersExpression = createParametersExpression();
 
+        // suppress the access checks so the method can be invoked faster using reflection
+        try {
+            method.setAccessible(true);
+        } catch (SecurityException e) {
+            LOG.debug("Cannot suppress access checks on method: {} due {}", method, e.getMessage());
+        }
+
         Pattern oneway = findOneWayAnnotation(method);
         if (oneway != null) {
             pattern = oneway.value();
@@ -329,7 +341,7 @@ public class MethodInfo {
     }
 
     public boolean isReturnTypeVoid() {
-        return method.getReturnType().getName().equals("void");
+        return method.getReturnType() == Void.TYPE;
     }
 
     public boolean isStaticMethod() {
@@ -350,45 +362,56 @@ public class MethodInfo {
         final int size = parameters.size();
         LOG.trace("Creating parameters expression for {} parameters", size);
 
+        // precompute the expressions and parameter types so they are not looked up on each invocation
         final Expression[] expressions = new Expression[size];
+        final Class<?>[] parameterTypes = new Class<?>[size];
+        final Class<?>[] wrapperTypes = new Class<?>[size];
         for (int i = 0; i < size; i++) {
             Expression parameterExpression = parameters.get(i).getExpression();
             expressions[i] = parameterExpression;
+            parameterTypes[i] = parameters.get(i).getType();
+            wrapperTypes[i] = ObjectHelper.convertPrimitiveTypeToWrapperType(parameterTypes[i]);
             LOG.trace("Parameter #{} has expression: {}", i, parameterExpression);
         }
         return new Expression() {
             @SuppressWarnings("unchecked")
             public <T> T evaluate(Exchange exchange, Class<T> type) {
-                Object[] answer = new Object[size];
                 Object body = exchange.getIn().getBody();
                 boolean multiParameterArray = false;
-                if (exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY) != null) {
-                    multiParameterArray = exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY, Boolean.class);
+                Object multi = exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
+                if (multi != null) {
+                    multiParameterArray = Boolean.TRUE.equals(exchange.getContext().getTypeConverter().convertTo(Boolean.class, multi));
                 }
 
                 // if there was an explicit method name to invoke, then we should support using
                 // any provided parameter values in the method name
-                String methodName = exchange.getIn().getHeader(Exchange.BEAN_METHOD_NAME, "", String.class);
-                // the parameter values is between the parenthesis
-                String methodParameters = ObjectHelper.between(methodName, "(", ")");
-                // use an iterator to walk the parameter values
+                Object methodName = exchange.getIn().getHeader(Exchange.BEAN_METHOD_NAME);
                 Iterator<?> it = null;
-                if (methodParameters != null) {
-                    it = ObjectHelper.createIterator(methodParameters);
+                if (methodName != null) {
+                    it = parseParameterValues(exchange, methodName);
                 }
 
                 // remove headers as they should not be propagated
                 // we need to do this before the expressions gets evaluated as it may contain
                 // a @Bean expression which would by mistake read these headers. So the headers
                 // must be removed at this point of time
-                exchange.getIn().removeHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
-                exchange.getIn().removeHeader(Exchange.BEAN_METHOD_NAME);
+                if (multi != null) {
+                    exchange.getIn().removeHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
+                }
+                if (methodName != null) {
+                    exchange.getIn().removeHeader(Exchange.BEAN_METHOD_NAME);
+                }
 
+                if (size == 0) {
+                    return (T) NO_ARGUMENTS;
+                }
+
+                Object[] answer = new Object[size];
                 for (int i = 0; i < size; i++) {
                     // grab the parameter value for the given index
                     Object parameterValue = it != null && it.hasNext() ? it.next() : null;
                     // and the expected parameter type
-                    Class<?> parameterType = parameters.get(i).getType();
+                    Class<?> parameterType = parameterTypes[i];
                     // the value for the parameter to use
                     Object value = null;
 
@@ -406,7 +429,7 @@ public class MethodInfo {
                         // use bean parameter binding, if still no value
                         Expression expression = expressions[i];
                         if (value == null && expression != null) {
-                            value = evaluateParameterBinding(exchange, expression, i, parameterType);
+                            value = evaluateParameterBinding(exchange, expression, i, parameterType, wrapperTypes[i]);
                         }
                     }
 
@@ -419,6 +442,33 @@ public class MethodInfo {
                 return (T) answer;
             }
 
+            /**
+             * Parses the parameter values provided in the method name syntax, such as <tt>foo(${body}, true)</tt>
+             *
+             * @return iterator over the parameter values, or <tt>null</tt> if no parameter values provided
+             */
+            private Iterator<?> parseParameterValues(Exchange exchange, Object methodName) {
+                String name = methodName instanceof String
+                        ? (String) methodName : exchange.getContext().getTypeConverter().convertTo(String.class, methodName);
+                // the parameter values is between the parenthesis
+                String methodParameters = ObjectHelper.between(name, "(", ")");
+                if (methodParameters == null) {
+                    return null;
+                }
+
+                Map<String, List<Object>> cache = getParsedParameterValues();
+                List<Object> values = cache.get(methodParameters);
+                if (values == null) {
+                    values = new ArrayList<Object>();
+                    Iterator<Object> it = ObjectHelper.createIterator(methodParameters);
+                    while (it.hasNext()) {
+                        values.add(it.next());
+                    }
+                    cache.put(methodParameters, values);
+                }
+                return values.iterator();
+            }
+
             /**
              * Evaluate using parameter values where the values can be provided in the method name syntax.
              * <p/>
@@ -503,12 +553,17 @@ public class MethodInfo {
             /**
              * Evaluate using classic parameter binding using the pre compute expression
              */
-            private Object evaluateParameterBinding(Exchange exchange, Expression expression, int index, Class<?> parameterType) {
+            private Object evaluateParameterBinding(Exchange exchange, Expression expression, int index, Class<?> parameterType,
+                                                    Class<?> wrapperType) {
                 Object answer = null;
 
                 // use object first to avoid type conversion so we know if there is a value or not
                 Object result = expression.evaluate(exchange, Object.class);
-                if (result != null) {
+                if (result != null && wrapperType.isInstance(result)) {
+                    // fast path as the value is already of the expected type
+                    answer = result;
+                    LOG.trace("Parameter #{} evaluated as: {} which is already of the expected type", index, answer);
+                } else if (result != null) {
                     // we got a value now try to convert it to the expected type
                     try {
                         answer = exchange.getContext().getTypeConverter().mandatoryConvertTo(parameterType, result);
@@ -562,6 +617,23 @@ public class MethodInfo {
         return answer;
     }
 
+    /**
+     * Gets the cache of the parameter values parsed from the method name, as the same method name is used over and over again
+     */
+    private Map<String, List<Object>> getParsedParameterValues() {
+        Map<String, List<Object>> answer = parsedParameterValues;
+        if (answer == null) {
+            synchronized (this) {
+                answer = parsedParameterValues;
+                if (answer == null) {
+                    answer = new LRUCache<String, List<Object>>(100);
+                    parsedParameterValues = answer;
+                }
+            }
+        }
+        return answer;
+    }
+
     /**
      * Returns the pattern annotation on the given annotated element; either as a direct annotation or
      * on an annotation which is also annotated
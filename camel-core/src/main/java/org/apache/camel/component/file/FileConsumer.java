@@ -17,7 +17,19 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.Processor;
 import org.apache.camel.util.FileUtil;
@@ -28,7 +40,18 @@ import org.apache.camel.util.ObjectHelper;
  */
 public class FileConsumer extends GenericFileConsumer<File> {
 
+    // file systems may only store the last modified timestamp of directories in seconds
+    private static final long LAST_MODIFIED_GRANULARITY = 2000;
+
     private String endpointPath;
+    private ExecutorService scanExecutorService;
+    private ScheduledExecutorService watchExecutorService;
+    private final Lock pollLock = new ReentrantLock();
+    // the last modified timestamp of the directories seen by the last scan
+    private volatile Map<String, Long> watchedDirectories;
+    private volatile long lastScanTime;
+    private volatile boolean rescan;
+    private Map<String, Long> scannedDirectories;
 
     public FileConsumer(GenericFileEndpoint<File> endpoint, Processor processor, GenericFileOperations<File> operations) {
         super(endpoint, processor, operations);
@@ -42,6 +65,10 @@ public class FileConsumer extends GenericFileConsumer<File> {
         depth++;
 
         File directory = new File(fileName);
+        if (scannedDirectories != null) {
+            // remember the directory before listing it, so any later change is detected by the watcher
+            scannedDirectories.put(fileName, directory.lastModified());
+        }
         if (!directory.exists() || !directory.isDirectory()) {
             log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
             if (getEndpoint().isDirectoryMustExist()) {
@@ -65,6 +92,9 @@ public class FileConsumer extends GenericFileConsumer<File> {
             }
         }
 
+        // sub directories of the starting directory which should be scanned in parallel
+        List<String> subDirectories = null;
+
         for (File file : files) {
             // check if we can continue polling in files
             if (!canPollMoreFiles(fileList)) {
@@ -84,6 +114,13 @@ public class FileConsumer extends GenericFileConsumer<File> {
                 if (endpoint.isRecursive() && isValidFile(gf, true) && depth < endpoint.getMaxDepth()) {
                     // recursive scan and add the sub files and folders
                     String subDirectory = fileName + File.separator + file.getName();
+                    if (depth == 1 && scanExecutorService != null) {
+                        if (subDirectories == null) {
+                            subDirectories = new ArrayList<String>();
+                        }
+                        subDirectories.add(subDirectory);
+                        continue;
+                    }
                     boolean canPollMore = pollDirectory(subDirectory, fileList, depth);
                     if (!canPollMore) {
                         return false;
@@ -106,9 +143,149 @@ public class FileConsumer extends GenericFileConsumer<File> {
             }
         }
 
+        if (subDirectories != null) {
+            return pollSubDirectories(subDirectories, fileList, depth);
+        }
         return true;
     }
 
+    /**
+     * Scans the sub directories in parallel using the scan thread pool.
+     *
+     * @param subDirectories the sub directories to scan
+     * @param fileList       the current list of gathered files
+     * @param depth          the current depth
+     * @return <tt>false</tt> if scanning hit the maxMessagesPerPoll limit, <tt>true</tt> otherwise
+     */
+    protected boolean pollSubDirectories(List<String> subDirectories, List<GenericFile<File>> fileList, final int depth) {
+        log.trace("Scanning {} sub directories in parallel", subDirectories.size());
+
+        final List<GenericFile<File>> files = Collections.synchronizedList(fileList);
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>(subDirectories.size());
+        for (final String subDirectory : subDirectories) {
+            futures.add(scanExecutorService.submit(new Callable<Boolean>() {
+                public Boolean call() throws Exception {
+                    return pollDirectory(subDirectory, files, depth);
+                }
+            }));
+        }
+
+        boolean answer = true;
+        for (Future<Boolean> future : futures) {
+            try {
+                if (!future.get()) {
+                    answer = false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // cancel the remaining scans as we are stopping
+                for (Future<Boolean> other : futures) {
+                    other.cancel(true);
+                }
+                return false;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new GenericFileOperationFailedException("Error scanning directory", e.getCause());
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public void run() {
+        // both the scheduler and the watcher can trigger a poll, so only poll from one of them at a time
+        pollLock.lock();
+        try {
+            super.run();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Override
+    protected int poll() throws Exception {
+        if (watchExecutorService == null) {
+            return super.poll();
+        }
+
+        long scanTime = System.currentTimeMillis();
+        scannedDirectories = new ConcurrentHashMap<String, Long>();
+        try {
+            int polled = super.poll();
+            // if we hit the limit then not all directories was scanned, so scan again
+            rescan = maxMessagesPerPoll > 0 && polled >= maxMessagesPerPoll;
+            return polled;
+        } finally {
+            watchedDirectories = scannedDirectories;
+            lastScanTime = scanTime;
+            scannedDirectories = null;
+        }
+    }
+
+    /**
+     * Whether any of the directories seen by the last scan has changed since.
+     * <p/>
+     * A directory which was last modified close to the last scan is scanned once more, as a file
+     * added in the same second as the scan does not change the last modified timestamp of the directory
+     * on all file systems.
+     */
+    protected boolean hasWatchedDirectoryChanged() {
+        Map<String, Long> directories = watchedDirectories;
+        if (directories == null) {
+            // not scanned yet
+            return false;
+        }
+        if (rescan) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Long> entry : directories.entrySet()) {
+            long lastModified = new File(entry.getKey()).lastModified();
+            // scan once more when the directory could have been changed after the last scan without changing its timestamp
+            boolean unsettled = lastScanTime < lastModified + LAST_MODIFIED_GRANULARITY && now >= lastModified + LAST_MODIFIED_GRANULARITY;
+            if (lastModified != entry.getValue() || unsettled) {
+                log.trace("Directory changed: {}", entry.getKey());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (getEndpoint().isRecursive() && getEndpoint().getScanThreads() > 1) {
+            scanExecutorService = getEndpoint().getCamelContext().getExecutorServiceManager()
+                    .newFixedThreadPool(this, "FileScanner", getEndpoint().getScanThreads());
+        }
+        if (getEndpoint().isWatch()) {
+            watchExecutorService = getEndpoint().getCamelContext().getExecutorServiceManager()
+                    .newSingleThreadScheduledExecutor(this, "FileWatcher");
+        }
+        super.doStart();
+        if (watchExecutorService != null) {
+            long watchDelay = getEndpoint().getWatchDelay();
+            log.debug("Watching for changes every {} millis in directory: {}", watchDelay, endpointPath);
+            watchExecutorService.scheduleWithFixedDelay(new DirectoryWatcher(), watchDelay, watchDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (watchExecutorService != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(watchExecutorService);
+            watchExecutorService = null;
+        }
+        super.doStop();
+        if (scanExecutorService != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(scanExecutorService);
+            scanExecutorService = null;
+        }
+        watchedDirectories = null;
+    }
+
     /**
      * Creates a new GenericFile<File> based on the given file.
      *
@@ -163,4 +340,21 @@ public class FileConsumer extends GenericFileConsumer<File> {
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
     }
+
+    /**
+     * Polls the directory as soon as the watcher detects a change, instead of waiting for the next scheduled poll.
+     */
+    private final class DirectoryWatcher implements Runnable {
+
+        public void run() {
+            // avoid this thread to throw exceptions because the thread pool wont re-schedule a new thread
+            try {
+                if (isPollAllowed() && hasWatchedDirectoryChanged()) {
+                    FileConsumer.this.run();
+                }
+            } catch (Throwable t) {
+                getExceptionHandler().handleException("Error watching directory: " + endpointPath, t);
+            }
+        }
+    }
 }
@@ -34,6 +34,9 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private FileOperations operations = new FileOperations(this);
     private File file;
     private boolean copyAndDeleteOnRenameFail = true;
+    private int scanThreads;
+    private boolean watch;
+    private long watchDelay = 100;
 
     public FileEndpoint() {
         // use marker file as default exclusive read locks
@@ -157,4 +160,42 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     public void setCopyAndDeleteOnRenameFail(boolean copyAndDeleteOnRenameFail) {
         this.copyAndDeleteOnRenameFail = copyAndDeleteOnRenameFail;
     }
+
+    public int getScanThreads() {
+        return scanThreads;
+    }
+
+    /**
+     * Sets the number of threads to use for scanning the sub directories in parallel, when using recursive.
+     * <p/>
+     * Is by default 0 which means the directories is scanned by the polling thread only.
+     */
+    public void setScanThreads(int scanThreads) {
+        this.scanThreads = scanThreads;
+    }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    /**
+     * Sets whether to watch the directories for changes, and poll as soon as a change is detected.
+     * <p/>
+     * The regular polling still happens using the <tt>delay</tt> option, to reconcile any changes
+     * the watcher may have missed.
+     */
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public long getWatchDelay() {
+        return watchDelay;
+    }
+
+    /**
+     * Sets the delay in millis between checking the watched directories for changes.
+     */
+    public void setWatchDelay(long watchDelay) {
+        this.watchDelay = watchDelay;
+    }
 }
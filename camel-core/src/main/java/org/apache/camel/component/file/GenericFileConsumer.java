@@ -16,10 +16,13 @@
  */
 package org.apache.camel.component.file;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Queue;
 
 import org.apache.camel.AsyncCallback;
@@ -89,7 +92,15 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         }
 
         // gather list of files to process
-        List<GenericFile<T>> files = new ArrayList<GenericFile<T>>();
+        List<GenericFile<T>> files;
+        SortedFileList sortedFiles = null;
+        if (maxMessagesPerPoll > 0 && isSorted()) {
+            // only keep the first files by the sort order, as we can only consume that many files
+            sortedFiles = new SortedFileList(maxMessagesPerPoll);
+            files = sortedFiles;
+        } else {
+            files = new ArrayList<GenericFile<T>>();
+        }
         String name = endpoint.getConfiguration().getDirectory();
 
         // time how long time it takes to poll
@@ -105,22 +116,25 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
             log.debug("Limiting maximum messages to poll at {} files as there was more messages in this poll.", maxMessagesPerPoll);
         }
 
-        // sort files using file comparator if provided
-        if (endpoint.getSorter() != null) {
-            Collections.sort(files, endpoint.getSorter());
-        }
+        LinkedList<Exchange> exchanges;
+        if (sortedFiles != null) {
+            // the files is already sorted
+            exchanges = sortedFiles.getExchanges();
+        } else {
+            // sort files using file comparator if provided
+            if (endpoint.getSorter() != null) {
+                Collections.sort(files, endpoint.getSorter());
+            }
 
-        // sort using build in sorters so we can use expressions
-        LinkedList<Exchange> exchanges = new LinkedList<Exchange>();
-        for (GenericFile<T> file : files) {
-            Exchange exchange = endpoint.createExchange(file);
-            endpoint.configureExchange(exchange);
-            endpoint.configureMessage(file, exchange.getIn());
-            exchanges.add(exchange);
-        }
-        // sort files using exchange comparator if provided
-        if (endpoint.getSortBy() != null) {
-            Collections.sort(exchanges, endpoint.getSortBy());
+            // sort using build in sorters so we can use expressions
+            exchanges = new LinkedList<Exchange>();
+            for (GenericFile<T> file : files) {
+                exchanges.add(createExchange(file));
+            }
+            // sort files using exchange comparator if provided
+            if (endpoint.getSortBy() != null) {
+                Collections.sort(exchanges, endpoint.getSortBy());
+            }
         }
 
         // consume files one by one
@@ -184,12 +198,15 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
 
     /**
      * Whether or not we can continue polling for more files
+     * <p/>
+     * If the files is sorted then all the files must be polled, to find the first files by the sort order.
+     * However only <tt>maxMessagesPerPoll</tt> files is kept in the list of gathered files.
      *
      * @param fileList  the current list of gathered files
      * @return <tt>true</tt> to continue, <tt>false</tt> to stop due hitting maxMessagesPerPoll limit
      */
     public boolean canPollMoreFiles(List<?> fileList) {
-        if (maxMessagesPerPoll <= 0) {
+        if (maxMessagesPerPoll <= 0 || isSorted()) {
             // no limitation
             return true;
         }
@@ -479,6 +496,20 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         return !endpoint.getInProgressRepository().add(key);
     }
 
+    /**
+     * Whether the files to consume is sorted by a <tt>sorter</tt> or <tt>sortBy</tt>
+     */
+    protected boolean isSorted() {
+        return endpoint.getSorter() != null || endpoint.getSortBy() != null;
+    }
+
+    private Exchange createExchange(GenericFile<T> file) {
+        Exchange exchange = endpoint.createExchange(file);
+        endpoint.configureExchange(exchange);
+        endpoint.configureMessage(file, exchange.getIn());
+        return exchange;
+    }
+
     private void evaluateFileExpression() {
         if (fileExpressionResult == null) {
             // create a dummy exchange as Exchange is needed for expression evaluation
@@ -499,4 +530,62 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         // prepare on startup
         endpoint.getGenericFileProcessStrategy().prepareOnStartup(operations, endpoint);
     }
+
+    /**
+     * A list of files which only keeps the first files by the sort order, so polling a directory
+     * with many files does not keep them all in memory.
+     * <p/>
+     * Files which is dropped from the list is removed from the in progress repository, so they can be
+     * consumed in a later poll.
+     */
+    private final class SortedFileList extends AbstractList<GenericFile<T>> {
+        private final int limit;
+        private final Comparator<Exchange> comparator;
+        // the last file by the sort order is at the head, so it can be dropped
+        private final PriorityQueue<Exchange> queue;
+
+        private SortedFileList(int limit) {
+            this.limit = limit;
+            this.comparator = new Comparator<Exchange>() {
+                public int compare(Exchange o1, Exchange o2) {
+                    int answer = 0;
+                    if (endpoint.getSortBy() != null) {
+                        answer = endpoint.getSortBy().compare(o1, o2);
+                    }
+                    if (answer == 0 && endpoint.getSorter() != null) {
+                        answer = endpoint.getSorter().compare(getExchangeFileProperty(o1), getExchangeFileProperty(o2));
+                    }
+                    return answer;
+                }
+            };
+            this.queue = new PriorityQueue<Exchange>(limit + 1, Collections.reverseOrder(comparator));
+        }
+
+        @Override
+        public synchronized boolean add(GenericFile<T> file) {
+            queue.add(createExchange(file));
+            if (queue.size() > limit) {
+                GenericFile<T> dropped = getExchangeFileProperty(queue.poll());
+                endpoint.getInProgressRepository().remove(dropped.getAbsoluteFilePath());
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized GenericFile<T> get(int index) {
+            return getExchangeFileProperty(getExchanges().get(index));
+        }
+
+        @Override
+        public synchronized int size() {
+            return queue.size();
+        }
+
+        private synchronized LinkedList<Exchange> getExchanges() {
+            LinkedList<Exchange> answer = new LinkedList<Exchange>(queue);
+            Collections.sort(answer, comparator);
+            return answer;
+        }
+    }
+
 }
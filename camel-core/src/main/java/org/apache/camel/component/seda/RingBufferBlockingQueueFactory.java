@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.camel.util.concurrent.RingBufferBlockingQueue;
+import org.apache.camel.util.concurrent.WaitStrategy;
+
+/**
+ * Implementation of {@link BlockingQueueFactory} producing the lock-free {@link RingBufferBlockingQueue}.
+ * <p/>
+ * The ring buffer is always bounded, so if no capacity is given the <tt>defaultCapacity</tt> is used.
+ * The capacity is rounded up to the next power of two.
+ * <p/>
+ * Use this factory for high throughput hand-offs between routes with many concurrent producers and consumers.
+ *
+ * @version 
+ */
+public class RingBufferBlockingQueueFactory<E> implements BlockingQueueFactory<E> {
+
+    private int defaultCapacity = 1024;
+    private WaitStrategy waitStrategy = WaitStrategy.Park;
+
+    public RingBufferBlockingQueueFactory() {
+    }
+
+    public RingBufferBlockingQueueFactory(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public BlockingQueue<E> create() {
+        return create(defaultCapacity);
+    }
+
+    public BlockingQueue<E> create(int capacity) {
+        return new RingBufferBlockingQueue<E>(capacity, waitStrategy);
+    }
+
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    /**
+     * Sets the capacity to use when no explicit capacity has been configured.
+     * <p/>
+     * Is by default <tt>1024</tt>.
+     */
+    public void setDefaultCapacity(int defaultCapacity) {
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * Sets the strategy consumers and producers use while waiting for the queue.
+     * <p/>
+     * Is by default <tt>Park</tt>.
+     */
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferBlockingQueueFactory[" + waitStrategy + "]";
+    }
+}
@@ -19,7 +19,6 @@ package org.apache.camel.component.seda;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
@@ -36,6 +35,7 @@ public class SedaComponent extends DefaultComponent {
     protected int queueSize;
     protected int defaultConcurrentConsumers = 1;
     private final Map<String, QueueReference> queues = new HashMap<String, QueueReference>();
+    private BlockingQueueFactory<Exchange> defaultQueueFactory = new LinkedBlockingQueueFactory<Exchange>();
     
     public void setQueueSize(int size) {
         queueSize = size;
@@ -53,8 +53,21 @@ public class SedaComponent extends DefaultComponent {
         return defaultConcurrentConsumers;
     }
 
+    public BlockingQueueFactory<Exchange> getDefaultQueueFactory() {
+        return defaultQueueFactory;
+    }
+
+    /**
+     * Sets the default {@link BlockingQueueFactory} used to create the queues,
+     * which can be overridden on the endpoint using the <tt>queueFactory</tt> option.
+     */
+    public void setDefaultQueueFactory(BlockingQueueFactory<Exchange> defaultQueueFactory) {
+        this.defaultQueueFactory = defaultQueueFactory;
+    }
+
     public synchronized BlockingQueue<Exchange> createQueue(String uri, Map<String, Object> parameters) {
         String key = getQueueKey(uri);
+        BlockingQueueFactory<Exchange> queueFactory = getQueueFactory(parameters);
 
         QueueReference ref = getQueues().get(key);
         if (ref != null) {
@@ -67,12 +80,12 @@ public class SedaComponent extends DefaultComponent {
         BlockingQueue<Exchange> queue;
         Integer size = getAndRemoveParameter(parameters, "size", Integer.class);
         if (size != null && size > 0) {
-            queue = new LinkedBlockingQueue<Exchange>(size);
+            queue = queueFactory.create(size);
         } else {
             if (getQueueSize() > 0) {
-                queue = new LinkedBlockingQueue<Exchange>(getQueueSize());
+                queue = queueFactory.create(getQueueSize());
             } else {
-                queue = new LinkedBlockingQueue<Exchange>();
+                queue = queueFactory.create();
             }
         }
 
@@ -84,6 +97,12 @@ public class SedaComponent extends DefaultComponent {
         return queue;
     }
 
+    @SuppressWarnings("unchecked")
+    protected BlockingQueueFactory<Exchange> getQueueFactory(Map<String, Object> parameters) {
+        BlockingQueueFactory<Exchange> answer = resolveAndRemoveReferenceParameter(parameters, "queueFactory", BlockingQueueFactory.class);
+        return answer != null ? answer : getDefaultQueueFactory();
+    }
+
     public Map<String, QueueReference> getQueues() {
         return queues;
     }
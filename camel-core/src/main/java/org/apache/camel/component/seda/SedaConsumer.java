@@ -16,6 +16,10 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -24,7 +28,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
-import org.apache.camel.Consumer;
+import org.apache.camel.BatchConsumer;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
@@ -47,10 +51,14 @@ import org.slf4j.LoggerFactory;
  * <p/>
  * In this implementation there is a little <i>slack period</i> when you suspend/stop the consumer, by which
  * the consumer may pickup a newly arrived messages and process it. That period is up till 1 second.
+ * <p/>
+ * If the endpoint has been configured with a <tt>batchSize</tt> then the consumer drains up till that number
+ * of exchanges from the queue on each wake-up, and process them as a batch, where each exchange has the
+ * {@link Exchange#BATCH_INDEX}, {@link Exchange#BATCH_SIZE} and {@link Exchange#BATCH_COMPLETE} properties set.
  *
  * @version 
  */
-public class SedaConsumer extends ServiceSupport implements Consumer, Runnable, ShutdownAware, SuspendableService {
+public class SedaConsumer extends ServiceSupport implements BatchConsumer, Runnable, ShutdownAware, SuspendableService {
     private static final transient Logger LOG = LoggerFactory.getLogger(SedaConsumer.class);
 
     private final AtomicInteger taskCount = new AtomicInteger();
@@ -60,10 +68,12 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
     private AsyncProcessor processor;
     private ExecutorService executor;
     private ExceptionHandler exceptionHandler;
+    private int maxMessagesPerPoll;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         this.endpoint = endpoint;
         this.processor = AsyncProcessorConverterHelper.convert(processor);
+        this.maxMessagesPerPoll = endpoint.getBatchSize();
     }
 
     @Override
@@ -166,24 +176,13 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
             try {
                 exchange = queue.poll(1000, TimeUnit.MILLISECONDS);
                 if (exchange != null) {
-                    try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
-                        } else {
-                            exchange.setIn(newExchange.getIn());
-                        }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
-                        }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
+                    if (isBatchMode()) {
+                        // drain more exchanges from the queue and process them as a batch
+                        Queue<Object> batch = drainBatch(queue, exchange);
+                        exchange = null;
+                        processBatch(batch);
+                    } else {
+                        processExchange(exchange);
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
@@ -206,6 +205,117 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         LOG.debug("Ending this polling consumer thread, there are still {} consumer threads left.", latch.getCount());
     }
 
+    /**
+     * Whether this consumer drains the queue in batches
+     */
+    protected boolean isBatchMode() {
+        return maxMessagesPerPoll > 1;
+    }
+
+    /**
+     * Drains up till <tt>maxMessagesPerPoll</tt> exchanges from the queue.
+     * <p/>
+     * If a <tt>batchTimeout</tt> has been configured on the endpoint, then we wait up till that
+     * time for the batch to fill up, otherwise only the exchanges currently on the queue is drained.
+     *
+     * @param queue the queue
+     * @param first the first exchange which has already been taken from the queue
+     * @return the batch of exchanges
+     * @throws InterruptedException is thrown if interrupted while waiting for the batch to fill up
+     */
+    protected Queue<Object> drainBatch(BlockingQueue<Exchange> queue, Exchange first) throws InterruptedException {
+        List<Exchange> drained = new ArrayList<Exchange>(maxMessagesPerPoll);
+        drained.add(first);
+        queue.drainTo(drained, maxMessagesPerPoll - 1);
+
+        long batchTimeout = endpoint.getBatchTimeout();
+        if (batchTimeout > 0 && drained.size() < maxMessagesPerPoll) {
+            long deadline = System.currentTimeMillis() + batchTimeout;
+            while (drained.size() < maxMessagesPerPoll) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                Exchange exchange = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                if (exchange == null) {
+                    break;
+                }
+                drained.add(exchange);
+                queue.drainTo(drained, maxMessagesPerPoll - drained.size());
+            }
+        }
+
+        LOG.trace("Drained {} exchanges from the queue as a batch", drained.size());
+        return new LinkedList<Object>(drained);
+    }
+
+    public void setMaxMessagesPerPoll(int maxMessagesPerPoll) {
+        this.maxMessagesPerPoll = maxMessagesPerPoll;
+    }
+
+    /**
+     * Gets the maximum number of messages drained from the queue as a batch.
+     * <p/>
+     * Is default taken from the <tt>batchSize</tt> option on the endpoint.
+     */
+    public int getMaxMessagesPerPoll() {
+        return maxMessagesPerPoll;
+    }
+
+    public int processBatch(Queue<Object> exchanges) throws Exception {
+        int total = exchanges.size();
+
+        // the exchanges have already been taken from the queue, so we always process the entire
+        // batch (also during shutdown) as otherwise the exchanges would be lost
+        for (int index = 0; index < total; index++) {
+            Exchange exchange = (Exchange) exchanges.poll();
+            // add current index and total as properties
+            exchange.setProperty(Exchange.BATCH_INDEX, index);
+            exchange.setProperty(Exchange.BATCH_SIZE, total);
+            exchange.setProperty(Exchange.BATCH_COMPLETE, index == total - 1);
+
+            try {
+                processExchange(exchange);
+            } catch (Throwable e) {
+                getExceptionHandler().handleException("Error processing exchange", exchange, e);
+            }
+        }
+
+        return total;
+    }
+
+    public boolean isBatchAllowed() {
+        // seda consumers always complete the pending exchanges, also when shutting down
+        return isRunAllowed() || shutdownPending;
+    }
+
+    /**
+     * Processes the exchange taken from the queue, and copies the result back.
+     *
+     * @param exchange the exchange taken from the queue
+     */
+    protected void processExchange(Exchange exchange) {
+        try {
+            // send a new copied exchange with new camel context
+            Exchange newExchange = prepareExchange(exchange);
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
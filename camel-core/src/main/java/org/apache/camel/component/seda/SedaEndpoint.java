@@ -23,7 +23,6 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.camel.Component;
 import org.apache.camel.Consumer;
@@ -62,6 +61,9 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
     private volatile MulticastProcessor consumerMulticastProcessor;
     private volatile boolean multicastStarted;
     private boolean blockWhenFull;
+    private BlockingQueueFactory<Exchange> queueFactory;
+    private int batchSize;
+    private long batchTimeout;
 
     public SedaEndpoint() {
     }
@@ -92,10 +94,14 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
 
     public synchronized BlockingQueue<Exchange> getQueue() {
         if (queue == null) {
+            BlockingQueueFactory<Exchange> factory = getQueueFactory();
+            if (factory == null) {
+                factory = new LinkedBlockingQueueFactory<Exchange>();
+            }
             if (size > 0) {
-                queue = new LinkedBlockingQueue<Exchange>(size);
+                queue = factory.create(size);
             } else {
-                queue = new LinkedBlockingQueue<Exchange>();
+                queue = factory.create();
             }
         }
         return queue;
@@ -145,6 +151,17 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
         this.size = queue.remainingCapacity();
     }
 
+    public BlockingQueueFactory<Exchange> getQueueFactory() {
+        return queueFactory;
+    }
+
+    /**
+     * Sets the {@link BlockingQueueFactory} used to create the queue, if no queue has been configured.
+     */
+    public void setQueueFactory(BlockingQueueFactory<Exchange> queueFactory) {
+        this.queueFactory = queueFactory;
+    }
+
     @ManagedAttribute(description = "Queue max capacity")
     public int getSize() {
         return size;
@@ -177,6 +194,32 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
         return concurrentConsumers;
     }
 
+    @ManagedAttribute(description = "Maximum number of exchanges drained from the queue as a batch")
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of exchanges the consumers drain from the queue on each wake-up,
+     * and process as a batch. Use 0 or 1 to disable batching, which is the default.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @ManagedAttribute(description = "Time in millis to wait for a batch to fill up")
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Sets the time in millis the consumers wait for a batch to fill up before processing it.
+     * Is default 0 which means only the exchanges currently on the queue is drained.
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
     public WaitForTaskToComplete getWaitForTaskToComplete() {
         return waitForTaskToComplete;
     }
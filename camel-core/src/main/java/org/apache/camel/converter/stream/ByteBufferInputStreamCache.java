@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.camel.StreamCache;
+
+/**
+ * A {@link StreamCache} which reads the content from a list of byte buffers, such as direct buffers
+ * or a memory mapped file, without copying the content to the heap first.
+ * <p/>
+ * If the buffers are pooled, then the owner must {@link #detach(java.util.List) detach} the stream
+ * before the buffers are reused, as the stream may outlive the exchange.
+ */
+public class ByteBufferInputStreamCache extends InputStream implements StreamCache {
+    private final ByteBuffer[] buffers;
+    private int index;
+
+    /**
+     * @param buffers the buffers holding the content from the start up to the limit, which are not changed
+     */
+    public ByteBufferInputStreamCache(List<ByteBuffer> buffers) {
+        this.buffers = new ByteBuffer[buffers.size()];
+        for (int i = 0; i < this.buffers.length; i++) {
+            // use a duplicate so each stream has its own position
+            this.buffers[i] = buffers.get(i).duplicate();
+        }
+    }
+
+    /**
+     * Continues reading from copies of the buffers, so the original buffers can be reused.
+     *
+     * @param copies copies of the buffers given when creating this stream, with the same content and limit
+     */
+    synchronized void detach(List<ByteBuffer> copies) {
+        for (int i = 0; i < buffers.length; i++) {
+            ByteBuffer copy = copies.get(i).duplicate();
+            copy.limit(buffers[i].limit());
+            copy.position(buffers[i].position());
+            buffers[i] = copy;
+        }
+    }
+
+    public synchronized void reset() {
+        for (ByteBuffer buffer : buffers) {
+            buffer.rewind();
+        }
+        index = 0;
+    }
+
+    public synchronized void writeTo(OutputStream os) throws IOException {
+        byte[] chunk = null;
+        for (ByteBuffer buffer : buffers) {
+            ByteBuffer content = buffer.duplicate();
+            content.rewind();
+            if (content.hasArray()) {
+                os.write(content.array(), content.arrayOffset(), content.limit());
+                continue;
+            }
+            if (chunk == null) {
+                chunk = new byte[Math.min(content.limit(), 8192)];
+            }
+            while (content.hasRemaining()) {
+                int len = Math.min(content.remaining(), chunk.length);
+                content.get(chunk, 0, len);
+                os.write(chunk, 0, len);
+            }
+        }
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        ByteBuffer buffer = current();
+        return buffer != null ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = current();
+        if (buffer == null) {
+            return -1;
+        }
+        int count = Math.min(len, buffer.remaining());
+        buffer.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public synchronized long skip(long n) throws IOException {
+        long skipped = 0;
+        ByteBuffer buffer = current();
+        while (buffer != null && skipped < n) {
+            int count = (int) Math.min(n - skipped, buffer.remaining());
+            buffer.position(buffer.position() + count);
+            skipped += count;
+            buffer = current();
+        }
+        return skipped;
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+        long available = 0;
+        for (int i = index; i < buffers.length; i++) {
+            available += buffers[i].remaining();
+        }
+        return (int) Math.min(available, Integer.MAX_VALUE);
+    }
+
+    private ByteBuffer current() {
+        while (index < buffers.length) {
+            if (buffers[index].hasRemaining()) {
+                return buffers[index];
+            }
+            index++;
+        }
+        return null;
+    }
+}
@@ -24,9 +24,16 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
@@ -41,17 +48,28 @@ import org.slf4j.LoggerFactory;
  * You can get a cached input stream of this stream. The temp file which is created with this 
  * output stream will be deleted when you close this output stream or the all cached 
  * fileInputStream is closed after the exchange is completed.
+ * <p/>
+ * If the {@link StreamCachingStrategy} of the {@link org.apache.camel.CamelContext} has a memory budget,
+ * then the content is kept in pooled direct buffers outside the heap, instead of a byte array. The content
+ * is spooled to the temp file when either the THRESHOLD is exceeded or the memory budget is used, and
+ * the temp file is then read using a memory mapped buffer.
  */
 public class CachedOutputStream extends OutputStream {
     public static final String THRESHOLD = "CamelCachedOutputStreamThreshold";
     public static final String TEMP_DIR = "CamelCachedOutputStreamOutputDirectory";
     private static final transient Logger LOG = LoggerFactory.getLogger(CachedOutputStream.class);
     
-    private OutputStream currentStream = new ByteArrayOutputStream(2048);
+    private final StreamCachingStrategy strategy;
+    private final boolean offHeap;
+    private OutputStream currentStream;
     private boolean inMemory = true;
     private int totalLength;
     private File tempFile;
     private FileInputStreamCache fileInputStreamCache;
+    private ByteBuffer mappedFile;
+    // the usage reported to the strategy
+    private long heapUsage;
+    private long spoolUsage;
 
     private long threshold = 64 * 1024;
     private File outputDir;
@@ -69,6 +87,14 @@ public class CachedOutputStream extends OutputStream {
         if (dir != null) {
             this.outputDir = exchange.getContext().getTypeConverter().convertTo(File.class, dir);
         }
+
+        this.strategy = exchange.getContext().getStreamCachingStrategy();
+        this.offHeap = strategy != null && strategy.isOffHeap();
+        if (offHeap) {
+            currentStream = new DirectBufferOutputStream();
+        } else {
+            currentStream = new ByteArrayOutputStream(2048);
+        }
         
         if (closedOnCompletion) {
             // add on completion so we can cleanup after the exchange is done such as deleting temporary files
@@ -99,7 +125,12 @@ public class CachedOutputStream extends OutputStream {
 
     public void close() throws IOException {
         currentStream.close();
+        if (currentStream instanceof DirectBufferOutputStream) {
+            ((DirectBufferOutputStream) currentStream).release();
+        }
+        mappedFile = null;
         cleanUpTempFile();
+        reportUsage(0, 0);
     }
 
     public boolean equals(Object obj) {
@@ -115,48 +146,28 @@ public class CachedOutputStream extends OutputStream {
     }
 
     public void write(byte[] b, int off, int len) throws IOException {
-        this.totalLength += len;
-        if (threshold > 0 && inMemory && totalLength > threshold && currentStream instanceof ByteArrayOutputStream) {
-            pageToFileStream();
-        }
+        beforeWrite(len);
         currentStream.write(b, off, len);
     }
 
     public void write(byte[] b) throws IOException {
-        this.totalLength += b.length;
-        if (threshold > 0 && inMemory && totalLength > threshold && currentStream instanceof ByteArrayOutputStream) {
-            pageToFileStream();
-        }
+        beforeWrite(b.length);
         currentStream.write(b);
     }
 
     public void write(int b) throws IOException {
-        this.totalLength++;
-        if (threshold > 0 && inMemory && totalLength > threshold && currentStream instanceof ByteArrayOutputStream) {
-            pageToFileStream();
-        }
+        beforeWrite(1);
         currentStream.write(b);
     }
 
     public InputStream getInputStream() throws IOException {
         flush();
 
-        if (inMemory) {
-            if (currentStream instanceof ByteArrayOutputStream) {
-                return new ByteArrayInputStream(((ByteArrayOutputStream) currentStream).toByteArray());
-            } else {
-                throw new IllegalStateException("CurrentStream should be an instance of ByteArrayOutputStream but is: " + currentStream.getClass().getName());
-            }
-        } else {
-            try {
-                if (fileInputStreamCache == null) {
-                    fileInputStreamCache = new FileInputStreamCache(tempFile);
-                }
-                return fileInputStreamCache;
-            } catch (FileNotFoundException e) {
-                throw new IOException("Cached file " + tempFile + " not found", e);
-            }
+        if (inMemory && currentStream instanceof ByteArrayOutputStream) {
+            return new ByteArrayInputStream(((ByteArrayOutputStream) currentStream).toByteArray());
         }
+        // the other stream caches is also input streams
+        return (InputStream) getStreamCache();
     }    
     
     public InputStream getWrappedInputStream() throws IOException {
@@ -164,17 +175,25 @@ public class CachedOutputStream extends OutputStream {
         return new WrappedInputStream(this, getInputStream());
     }
 
-
     public StreamCache getStreamCache() throws IOException {
         flush();
 
         if (inMemory) {
             if (currentStream instanceof ByteArrayOutputStream) {
                 return new InputStreamCache(((ByteArrayOutputStream) currentStream).toByteArray());
+            } else if (currentStream instanceof DirectBufferOutputStream) {
+                return ((DirectBufferOutputStream) currentStream).createStreamCache();
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of ByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
         } else {
+            if (offHeap && totalLength > 0) {
+                // read the spooled file using a memory mapped buffer
+                if (mappedFile == null) {
+                    mappedFile = mapTempFile();
+                }
+                return new ByteBufferInputStreamCache(Collections.singletonList(mappedFile));
+            }
             try {
                 if (fileInputStreamCache == null) {
                     fileInputStreamCache = new FileInputStreamCache(tempFile);
@@ -186,6 +205,57 @@ public class CachedOutputStream extends OutputStream {
         }
     }
 
+    private void beforeWrite(int len) throws IOException {
+        this.totalLength += len;
+        if (inMemory) {
+            if (threshold > 0 && totalLength > threshold) {
+                pageToFileStream();
+            } else if (currentStream instanceof DirectBufferOutputStream) {
+                if (!((DirectBufferOutputStream) currentStream).reserve(len)) {
+                    // the memory budget is used so spool to file instead
+                    LOG.trace("Memory budget of stream caching is used");
+                    pageToFileStream();
+                }
+            } else {
+                reportUsage(totalLength, 0);
+            }
+        }
+        if (!inMemory) {
+            reportUsage(0, totalLength);
+        }
+    }
+
+    /**
+     * Reports the change in heap and spool usage to the strategy
+     */
+    private void reportUsage(long heap, long spool) {
+        if (strategy == null) {
+            return;
+        }
+        if (heap != heapUsage) {
+            strategy.onHeapUsage(heap - heapUsage);
+            heapUsage = heap;
+        }
+        if (spool != spoolUsage) {
+            strategy.onSpoolUsage(spool - spoolUsage);
+            spoolUsage = spool;
+        }
+    }
+
+    private ByteBuffer mapTempFile() throws IOException {
+        RandomAccessFile file = new RandomAccessFile(tempFile, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Cached file " + tempFile + " is too large to memory map");
+            }
+            // the mapping stays valid after the file is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            IOHelper.close(file, "Cached file", LOG);
+        }
+    }
+
     private void cleanUpTempFile() {
         // cleanup temporary file
         if (tempFile != null) {
@@ -197,7 +267,6 @@ public class CachedOutputStream extends OutputStream {
     private void pageToFileStream() throws IOException {
         flush();
 
-        ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
         if (outputDir == null) {
             tempFile = FileUtil.createTempFile("cos", ".tmp");
         } else {
@@ -206,15 +275,145 @@ public class CachedOutputStream extends OutputStream {
 
         LOG.trace("Creating temporary stream cache file: {}", tempFile);
 
+        OutputStream previous = currentStream;
         try {
-            currentStream = IOHelper.buffered(new FileOutputStream(tempFile));
-            bout.writeTo(currentStream);
+            FileOutputStream fos = new FileOutputStream(tempFile);
+            currentStream = IOHelper.buffered(fos);
+            if (previous instanceof DirectBufferOutputStream) {
+                DirectBufferOutputStream direct = (DirectBufferOutputStream) previous;
+                direct.writeTo(fos.getChannel());
+                direct.release();
+            } else {
+                ((ByteArrayOutputStream) previous).writeTo(currentStream);
+            }
         } finally {
             // ensure flag is flipped to file based
             inMemory = false;
+            reportUsage(0, 0);
         }
     }
-    
+
+    /**
+     * An output stream which keeps the content in direct buffers from the {@link StreamCachingStrategy}.
+     */
+    private final class DirectBufferOutputStream extends OutputStream {
+        private final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+        private final List<ByteBufferInputStreamCache> caches = new ArrayList<ByteBufferInputStreamCache>();
+        private int current;
+
+        /**
+         * Ensures there is room for the given number of bytes.
+         *
+         * @return <tt>false</tt> if the memory budget is used
+         */
+        boolean reserve(int len) {
+            long free = 0;
+            for (int i = current; i < buffers.size(); i++) {
+                free += buffers.get(i).remaining();
+            }
+            while (free < len) {
+                ByteBuffer buffer = strategy.acquireBuffer();
+                if (buffer == null) {
+                    return false;
+                }
+                buffers.add(buffer);
+                free += buffer.remaining();
+            }
+            return true;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            currentBuffer().put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                ByteBuffer buffer = currentBuffer();
+                int count = Math.min(len, buffer.remaining());
+                buffer.put(b, off, count);
+                off += count;
+                len -= count;
+            }
+        }
+
+        /**
+         * Gets the content written so far, as buffers from the start to the limit.
+         */
+        List<ByteBuffer> getContent() {
+            List<ByteBuffer> answer = new ArrayList<ByteBuffer>(buffers.size());
+            for (ByteBuffer buffer : buffers) {
+                ByteBuffer content = buffer.duplicate();
+                content.flip();
+                answer.add(content);
+            }
+            return answer;
+        }
+
+        /**
+         * Creates a stream cache reading the content written so far, which is detached from
+         * the buffers when they are released.
+         */
+        synchronized ByteBufferInputStreamCache createStreamCache() {
+            ByteBufferInputStreamCache answer = new ByteBufferInputStreamCache(getContent());
+            caches.add(answer);
+            return answer;
+        }
+
+        void writeTo(FileChannel channel) throws IOException {
+            for (ByteBuffer content : getContent()) {
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+            }
+        }
+
+        /**
+         * Releases the buffers back to the pool.
+         * <p/>
+         * The stream caches may outlive the exchange, such as when aggregated or wire tapped, and can be
+         * reset and read again after being closed, so their content is copied to the heap before the buffers
+         * can be reused.
+         */
+        synchronized void release() {
+            if (!caches.isEmpty()) {
+                List<ByteBuffer> copies = copyContent();
+                for (ByteBufferInputStreamCache cache : caches) {
+                    cache.detach(copies);
+                }
+                caches.clear();
+            }
+
+            for (ByteBuffer buffer : buffers) {
+                strategy.releaseBuffer(buffer);
+            }
+            buffers.clear();
+            current = 0;
+        }
+
+        private List<ByteBuffer> copyContent() {
+            List<ByteBuffer> answer = new ArrayList<ByteBuffer>(buffers.size());
+            for (ByteBuffer content : getContent()) {
+                ByteBuffer copy = ByteBuffer.allocate(content.remaining());
+                copy.put(content);
+                copy.flip();
+                answer.add(copy);
+            }
+            LOG.trace("Copied {} bytes of stream cache to the heap before releasing its buffers", totalLength);
+            return answer;
+        }
+
+        private ByteBuffer currentBuffer() {
+            // the room has been reserved before writing
+            ByteBuffer buffer = buffers.get(current);
+            while (!buffer.hasRemaining()) {
+                buffer = buffers.get(++current);
+            }
+            return buffer;
+        }
+    }
+
     // This class will close the CachedOutputStream when it is closed
     private static class WrappedInputStream extends InputStream {
         private CachedOutputStream cachedOutputStream;
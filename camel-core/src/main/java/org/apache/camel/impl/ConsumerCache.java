@@ -42,6 +42,7 @@ public class ConsumerCache extends ServiceSupport {
     private final CamelContext camelContext;
     private final Map<String, PollingConsumer> consumers;
     private final Object source;
+    private final Object[] locks = ProducerCache.createLocks();
 
     public ConsumerCache(Object source, CamelContext camelContext) {
         this(source, camelContext, CamelContextHelper.getMaximumCachePoolSize(camelContext));
@@ -60,20 +61,33 @@ public class ConsumerCache extends ServiceSupport {
     /**
      * Creates the {@link LRUCache} to be used.
      * <p/>
-     * This implementation returns a {@link org.apache.camel.util.LRUSoftCache} instance.
+     * This implementation returns a {@link org.apache.camel.util.LRUSoftCache} instance, which stops the consumers
+     * that are evicted from the cache.
 
      * @param cacheSize the cache size
      * @return the cache
      */
     protected static LRUCache<String, PollingConsumer> createLRUCache(int cacheSize) {
         // We use a soft reference cache to allow the JVM to re-claim memory if it runs low on memory.
-        return new LRUSoftCache<String, PollingConsumer>(cacheSize);
+        return new LRUSoftCache<String, PollingConsumer>(cacheSize, cacheSize, true);
     }
 
-    public synchronized PollingConsumer getConsumer(Endpoint endpoint) {
+    public PollingConsumer getConsumer(Endpoint endpoint) {
         String key = endpoint.getEndpointUri();
+        // lookup without any lock, as the cache is concurrent
         PollingConsumer answer = consumers.get(key);
-        if (answer == null) {
+        if (answer != null) {
+            return answer;
+        }
+
+        // only lock the stripe for this key, so a singleton consumer is only created once
+        synchronized (ProducerCache.lockFor(locks, key)) {
+            // another thread may have created the consumer while we waited for the lock
+            answer = peek(key);
+            if (answer != null) {
+                return answer;
+            }
+
             try {
                 answer = endpoint.createPollingConsumer();
                 answer.start();
@@ -96,6 +110,14 @@ public class ConsumerCache extends ServiceSupport {
         return answer;
     }
 
+    private PollingConsumer peek(String key) {
+        if (consumers instanceof LRUCache) {
+            // do not affect the hit/miss statistics as the lookup has already been counted
+            return ((LRUCache<String, PollingConsumer>) consumers).peek(key);
+        }
+        return consumers.get(key);
+    }
+
     public Exchange receive(Endpoint endpoint) {
         LOG.debug("<<<< {}", endpoint);
 
@@ -189,6 +211,22 @@ public class ConsumerCache extends ServiceSupport {
         return misses;
     }
 
+    /**
+     * Gets the cache evicted statistic
+     * <p/>
+     * Will return <tt>-1</tt> if it cannot determine this if a custom cache was used.
+     *
+     * @return the evicted
+     */
+    public long getEvicted() {
+        long evicted = -1;
+        if (consumers instanceof LRUCache) {
+            LRUCache<String, PollingConsumer> cache = (LRUCache<String, PollingConsumer>)consumers;
+            evicted = cache.getEvicted();
+        }
+        return evicted;
+    }
+
     /**
      * Resets the cache statistics
      */
@@ -202,7 +240,7 @@ public class ConsumerCache extends ServiceSupport {
     /**
      * Purges this cache
      */
-    public synchronized void purge() {
+    public void purge() {
         consumers.clear();
     }
 
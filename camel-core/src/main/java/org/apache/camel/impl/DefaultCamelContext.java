@@ -112,6 +112,7 @@ import org.apache.camel.spi.RouteContext;
 import org.apache.camel.spi.RouteStartupOrder;
 import org.apache.camel.spi.ServicePool;
 import org.apache.camel.spi.ShutdownStrategy;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.TypeConverterRegistry;
 import org.apache.camel.spi.UuidGenerator;
 import org.apache.camel.support.ServiceSupport;
@@ -193,6 +194,7 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private ProcessorFactory processorFactory;
     private InterceptStrategy defaultTracer;
     private InflightRepository inflightRepository = new DefaultInflightRepository();
+    private StreamCachingStrategy streamCachingStrategy = new DefaultStreamCachingStrategy();
     private final List<RouteStartupOrder> routeStartupOrder = new ArrayList<RouteStartupOrder>();
     // start auto assigning route ids using numbering 1000 and upwards
     private int defaultRouteStartupOrder = 1000;
@@ -1527,6 +1529,7 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         addService(executorServiceManager);
         addService(producerServicePool);
         addService(inflightRepository);
+        addService(streamCachingStrategy);
         addService(shutdownStrategy);
         addService(packageScanClassResolver);
 
@@ -2309,6 +2312,14 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         this.inflightRepository = repository;
     }
 
+    public StreamCachingStrategy getStreamCachingStrategy() {
+        return streamCachingStrategy;
+    }
+
+    public void setStreamCachingStrategy(StreamCachingStrategy streamCachingStrategy) {
+        this.streamCachingStrategy = streamCachingStrategy;
+    }
+
     public void setAutoStartup(Boolean autoStartup) {
         this.autoStartup = autoStartup;
     }
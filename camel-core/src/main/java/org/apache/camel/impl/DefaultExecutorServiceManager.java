@@ -38,8 +38,10 @@ import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.LifecycleStrategy;
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.spi.TimerService;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
 import org.apache.camel.util.URISupport;
 import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
@@ -60,6 +62,7 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
     private String defaultThreadPoolProfileId = "defaultThreadPoolProfile";
     private final Map<String, ThreadPoolProfile> threadPoolProfiles = new HashMap<String, ThreadPoolProfile>();
     private ThreadPoolProfile builtIndefaultProfile;
+    private volatile TimerService timerService;
 
     public DefaultExecutorServiceManager(CamelContext camelContext) {
         this.camelContext = camelContext;
@@ -74,6 +77,8 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
         builtIndefaultProfile.setRejectedPolicy(ThreadPoolRejectedPolicy.CallerRuns);
 
         registerThreadPoolProfile(builtIndefaultProfile);
+
+        timerService = new DefaultTimerService(camelContext);
     }
 
     @Override
@@ -241,6 +246,35 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
         return newScheduledThreadPool(source, name, profile);
     }
 
+    @Override
+    public TimerService getTimerService() {
+        TimerService answer = timerService;
+        if (ServiceHelper.isStarted(answer)) {
+            return answer;
+        }
+        return addTimerService();
+    }
+
+    private synchronized TimerService addTimerService() {
+        // only add the timer service when in use, and not before the camel context is starting
+        // as the timer service may be configured before that
+        boolean starting = camelContext.getStatus().isStarting() || camelContext.getStatus().isStarted();
+        if (starting && !camelContext.hasService(timerService)) {
+            try {
+                camelContext.addService(timerService);
+            } catch (Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+        return timerService;
+    }
+
+    @Override
+    public synchronized void setTimerService(TimerService timerService) {
+        ObjectHelper.notNull(timerService, "timerService");
+        this.timerService = timerService;
+    }
+
     @Override
     public void shutdown(ExecutorService executorService) {
         ObjectHelper.notNull(executorService, "executorService");
@@ -22,17 +22,22 @@ import java.util.Set;
 import javax.activation.DataHandler;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.Message;
 import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.util.CopyOnWriteCaseInsensitiveMap;
 import org.apache.camel.util.EndpointHelper;
 import org.apache.camel.util.MessageHelper;
 
 /**
  * The default implementation of {@link org.apache.camel.Message}
  * <p/>
- * This implementation uses a {@link org.apache.camel.util.CaseInsensitiveMap} storing the headers.
+ * This implementation uses a {@link org.apache.camel.util.CopyOnWriteCaseInsensitiveMap} storing the headers.
  * This allows us to be able to lookup headers using case insensitive keys, making it easier for end users
  * as they do not have to be worried about using exact keys.
  * See more details at {@link org.apache.camel.util.CaseInsensitiveMap}.
+ * <p/>
+ * When a message is copied then the headers are shared with the copy until either of the messages
+ * mutates its headers, which avoids copying the headers in EIPs where the copies only read the headers.
  *
  * @version 
  */
@@ -163,11 +168,11 @@ public class DefaultMessage extends MessageSupport {
     }
 
     public void setHeaders(Map<String, Object> headers) {
-        if (headers instanceof CaseInsensitiveMap) {
+        if (headers instanceof CaseInsensitiveMap || headers instanceof CopyOnWriteCaseInsensitiveMap) {
             this.headers = headers;
         } else {
             // wrap it in a case insensitive map
-            this.headers = new CaseInsensitiveMap(headers);
+            this.headers = new CopyOnWriteCaseInsensitiveMap(headers);
         }
     }
 
@@ -192,11 +197,24 @@ public class DefaultMessage extends MessageSupport {
      *         the underlying inbound transport
      */
     protected Map<String, Object> createHeaders() {
-        Map<String, Object> map = new CaseInsensitiveMap();
+        Map<String, Object> map = new CopyOnWriteCaseInsensitiveMap();
         populateInitialHeaders(map);
         return map;
     }
 
+    @Override
+    protected void copyHeadersFrom(Message that) {
+        if (that instanceof DefaultMessage) {
+            Map<String, Object> thatHeaders = ((DefaultMessage) that).headers;
+            if (thatHeaders instanceof CopyOnWriteCaseInsensitiveMap) {
+                // share the headers until either message mutates them
+                headers = ((CopyOnWriteCaseInsensitiveMap) thatHeaders).copy();
+                return;
+            }
+        }
+        super.copyHeadersFrom(that);
+    }
+
     /**
      * A factory method to lazily create the attachments to make it easy to
      * create efficient Message implementations which only construct and
@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.support.ServiceSupport;
+
+/**
+ * Default {@link StreamCachingStrategy} which pools the direct buffers, and only allocates new buffers
+ * while the memory budget allows.
+ *
+ * @version 
+ */
+public class DefaultStreamCachingStrategy extends ServiceSupport implements StreamCachingStrategy {
+
+    private final Queue<ByteBuffer> pool = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicLong memoryUsed = new AtomicLong();
+    private final AtomicLong heapUsed = new AtomicLong();
+    private final AtomicLong spoolUsed = new AtomicLong();
+    private volatile long memoryBudget;
+    private volatile int bufferSize = 32 * 1024;
+
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public boolean isOffHeap() {
+        return memoryBudget > 0;
+    }
+
+    public ByteBuffer acquireBuffer() {
+        int size = bufferSize;
+        // reserve the memory before taking a buffer so the budget is never exceeded
+        while (true) {
+            long used = memoryUsed.get();
+            if (used + size > memoryBudget) {
+                return null;
+            }
+            if (memoryUsed.compareAndSet(used, used + size)) {
+                break;
+            }
+        }
+
+        ByteBuffer buffer = pool.poll();
+        while (buffer != null && buffer.capacity() != size) {
+            // the buffer size has been changed so discard the old buffers
+            buffer = pool.poll();
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(size);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    public void releaseBuffer(ByteBuffer buffer) {
+        memoryUsed.addAndGet(-buffer.capacity());
+        if (buffer.capacity() == bufferSize && isRunAllowed()) {
+            pool.offer(buffer);
+        }
+    }
+
+    public void onHeapUsage(long length) {
+        heapUsed.addAndGet(length);
+    }
+
+    public void onSpoolUsage(long length) {
+        spoolUsed.addAndGet(length);
+    }
+
+    public long getMemoryUsed() {
+        return memoryUsed.get();
+    }
+
+    public long getHeapUsed() {
+        return heapUsed.get();
+    }
+
+    public long getSpoolUsed() {
+        return spoolUsed.get();
+    }
+
+    /**
+     * Number of free direct buffers in the pool
+     */
+    public int getPoolSize() {
+        return pool.size();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // let the garbage collector free the direct buffers
+        pool.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultStreamCachingStrategy[memoryBudget=" + memoryBudget + ", bufferSize=" + bufferSize + "]";
+    }
+}
@@ -0,0 +1,314 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.TimerService;
+import org.apache.camel.support.HashedWheelTimeoutMap;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default {@link TimerService} which keeps the pending tasks in a {@link HashedWheelTimeoutMap}.
+ * <p/>
+ * The wheel is ticked by a single thread, which hands over the tasks to a thread pool when their delay
+ * has elapsed. Unless the executors are given in the constructor, the thread pools are created using the
+ * {@link org.apache.camel.spi.ExecutorServiceManager} when this service is started, where the tasks
+ * are executed by a thread pool using the default thread pool profile.
+ *
+ * @version 
+ */
+public class DefaultTimerService extends ServiceSupport implements TimerService {
+
+    public static final long DEFAULT_TICK_DURATION = 10L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultTimerService.class);
+
+    private final CamelContext camelContext;
+    private ScheduledExecutorService tickExecutorService;
+    private ExecutorService taskExecutorService;
+    private boolean shutdownExecutorServices;
+    private long tickDuration = DEFAULT_TICK_DURATION;
+    private int wheelSize = HashedWheelTimeoutMap.DEFAULT_WHEEL_SIZE;
+    private volatile TimerWheel wheel;
+    private final AtomicLong scheduled = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
+    /**
+     * Creates a timer service which creates its thread pools using the {@link org.apache.camel.spi.ExecutorServiceManager}
+     *
+     * @param camelContext the camel context
+     */
+    public DefaultTimerService(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    /**
+     * Creates a timer service using the given executors, which are not shutdown by this service.
+     *
+     * @param tickExecutorService the executor which ticks the timing wheel
+     * @param taskExecutorService the executor which executes the tasks, which may be the same executor as
+     *                            the <tt>tickExecutorService</tt> if the tasks never block
+     */
+    public DefaultTimerService(ScheduledExecutorService tickExecutorService, ExecutorService taskExecutorService) {
+        ObjectHelper.notNull(tickExecutorService, "tickExecutorService");
+        ObjectHelper.notNull(taskExecutorService, "taskExecutorService");
+        this.camelContext = null;
+        this.tickExecutorService = tickExecutorService;
+        this.taskExecutorService = taskExecutorService;
+    }
+
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        ObjectHelper.notNull(task, "task");
+        TimerTask answer = new TimerTask(task, 0, false);
+        submit(answer, unit.toNanos(delay));
+        return answer;
+    }
+
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long initialDelay, long delay, TimeUnit unit) {
+        ObjectHelper.notNull(task, "task");
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Delay must be a positive number, was " + delay);
+        }
+        TimerTask answer = new TimerTask(task, unit.toNanos(delay), false);
+        submit(answer, unit.toNanos(initialDelay));
+        return answer;
+    }
+
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        ObjectHelper.notNull(task, "task");
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be a positive number, was " + period);
+        }
+        TimerTask answer = new TimerTask(task, unit.toNanos(period), true);
+        submit(answer, unit.toNanos(initialDelay));
+        return answer;
+    }
+
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    public void setTickDuration(long tickDuration) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("TickDuration must be a positive number, was " + tickDuration);
+        }
+        this.tickDuration = tickDuration;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("WheelSize must be a positive number, was " + wheelSize);
+        }
+        this.wheelSize = wheelSize;
+    }
+
+    public int getPendingTasks() {
+        TimerWheel current = wheel;
+        return current != null ? current.size() : 0;
+    }
+
+    public long getScheduledTasks() {
+        return scheduled.get();
+    }
+
+    public long getExecutedTasks() {
+        return executed.get();
+    }
+
+    public long getCancelledTasks() {
+        return cancelled.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultTimerService[tickDuration=" + tickDuration + ", wheelSize=" + wheelSize + "]";
+    }
+
+    private void submit(TimerTask task, long delayNanos) {
+        TimerWheel current = wheel;
+        if (current == null || !isRunAllowed()) {
+            throw new RejectedExecutionException("TimerService is not started");
+        }
+        scheduled.incrementAndGet();
+        task.schedule(current, delayNanos);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (tickExecutorService == null) {
+            ObjectHelper.notNull(camelContext, "CamelContext", this);
+            tickExecutorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "TimerService");
+            taskExecutorService = camelContext.getExecutorServiceManager().newDefaultThreadPool(this, "TimerService-Task");
+            shutdownExecutorServices = true;
+        }
+        wheel = new TimerWheel(tickExecutorService, tickDuration, wheelSize);
+        wheel.start();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        TimerWheel current = wheel;
+        wheel = null;
+        if (current != null) {
+            int pending = current.size();
+            if (pending > 0) {
+                LOG.debug("Stopping TimerService with {} pending tasks which will not be executed", pending);
+            }
+            current.stop();
+        }
+        if (shutdownExecutorServices) {
+            camelContext.getExecutorServiceManager().shutdownNow(tickExecutorService);
+            camelContext.getExecutorServiceManager().shutdownNow(taskExecutorService);
+            tickExecutorService = null;
+            taskExecutorService = null;
+            shutdownExecutorServices = false;
+        }
+    }
+
+    /**
+     * The timing wheel which hands over the tasks to the task executor when their delay has elapsed.
+     */
+    private final class TimerWheel extends HashedWheelTimeoutMap<TimerTask, TimerTask> {
+
+        private TimerWheel(ScheduledExecutorService executor, long tickDuration, int wheelSize) {
+            // do not hold the lock while handing over the tasks
+            super(executor, tickDuration, false, wheelSize);
+        }
+
+        @Override
+        public boolean onEviction(TimerTask key, TimerTask task) {
+            task.execute();
+            return true;
+        }
+    }
+
+    /**
+     * A scheduled task, which is executed once, or repeatedly if it has a period.
+     */
+    private final class TimerTask extends FutureTask<Object> implements ScheduledFuture<Object> {
+
+        private final long period;
+        private final boolean fixedRate;
+        private volatile long time;
+        private volatile TimerWheel scheduledOn;
+
+        private TimerTask(Runnable task, long period, boolean fixedRate) {
+            super(task, null);
+            this.period = period;
+            this.fixedRate = fixedRate;
+        }
+
+        private void schedule(TimerWheel on, long delayNanos) {
+            scheduleAt(on, System.nanoTime() + delayNanos);
+        }
+
+        private void scheduleAt(TimerWheel on, long triggerTime) {
+            time = triggerTime;
+            scheduledOn = on;
+            long delayNanos = triggerTime - System.nanoTime();
+            if (delayNanos <= 0) {
+                execute();
+            } else {
+                // round up so the task is never executed before its delay has elapsed
+                on.put(this, this, TimeUnit.NANOSECONDS.toMillis(delayNanos + 999999L));
+            }
+        }
+
+        private void execute() {
+            try {
+                taskExecutorService.execute(this);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Cannot execute timer task as the executor is shutdown: {}", this);
+                cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (isCancelled()) {
+                return;
+            }
+            executed.incrementAndGet();
+            if (period == 0) {
+                super.run();
+                return;
+            }
+
+            // a repeated task is not rescheduled if it failed
+            if (runAndReset()) {
+                TimerWheel on = scheduledOn;
+                // only reschedule if the timer service has not been restarted meanwhile
+                if (on == wheel && isRunAllowed()) {
+                    if (fixedRate) {
+                        // the next execution is relative to when this execution was scheduled
+                        scheduleAt(on, time + period);
+                    } else {
+                        schedule(on, period);
+                    }
+                } else {
+                    cancel(false);
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean answer = super.cancel(mayInterruptIfRunning);
+            if (answer) {
+                cancelled.incrementAndGet();
+                TimerWheel on = scheduledOn;
+                if (on != null) {
+                    on.remove(this);
+                }
+            }
+            return answer;
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            LOG.warn("Error occurred executing timer task: " + this + ". This exception will be ignored.", t);
+            super.setException(t);
+        }
+
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        public int compareTo(Delayed other) {
+            long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+            return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+        }
+    }
+
+}
@@ -29,13 +29,14 @@ import org.apache.camel.util.ServiceHelper;
  * Endpoint registry which is a based on a {@link org.apache.camel.util.LRUSoftCache}.
  * <p/>
  * We use a soft reference cache to allow the JVM to re-claim memory if it runs low on memory.
+ * Evicted endpoints are <b>not</b> stopped, as they may still be in use by routes.
  */
 public class EndpointRegistry extends LRUSoftCache<EndpointKey, Endpoint> implements Service {
     private static final long serialVersionUID = 1L;
     private final CamelContext context;
 
     public EndpointRegistry(CamelContext context) {
-        super(CamelContextHelper.getMaximumEndpointCacheSize(context));
+        super(CamelContextHelper.getMaximumEndpointCacheSize(context), CamelContextHelper.getMaximumEndpointCacheSize(context), false);
         this.context = context;
     }
 
@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.spi.ThrottlerRateState;
+
+/**
+ * A memory based {@link ThrottlerRateState} which throttles per JVM.
+ *
+ * @version 
+ */
+public class MemoryThrottlerRateState implements ThrottlerRateState {
+
+    private final ConcurrentMap<String, AtomicLong> states = new ConcurrentHashMap<String, AtomicLong>();
+
+    public long get(String key) {
+        return getState(key).get();
+    }
+
+    public boolean compareAndSet(String key, long expect, long update) {
+        return getState(key).compareAndSet(expect, update);
+    }
+
+    private AtomicLong getState(String key) {
+        AtomicLong answer = states.get(key);
+        if (answer == null) {
+            AtomicLong state = new AtomicLong();
+            answer = states.putIfAbsent(key, state);
+            if (answer == null) {
+                answer = state;
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryThrottlerRateState";
+    }
+}
@@ -136,13 +136,8 @@ public abstract class MessageSupport implements Message {
         setBody(that.getBody());
         setFault(that.isFault());
 
-        if (hasHeaders()) {
-            getHeaders().clear();
-        }
-        if (that.hasHeaders()) {
-            getHeaders().putAll(that.getHeaders());
-        }
-        
+        copyHeadersFrom(that);
+
         if (hasAttachments()) {
             getAttachments().clear();
         }
@@ -151,6 +146,23 @@ public abstract class MessageSupport implements Message {
         }
     }
 
+    /**
+     * Copies the headers from the given message, replacing any existing headers on this message.
+     * <p/>
+     * Message implementations which can share the headers with the given message, until either of them
+     * is mutated, can override this method to avoid copying the headers eagerly.
+     *
+     * @param that the message to copy the headers from
+     */
+    protected void copyHeadersFrom(Message that) {
+        if (hasHeaders()) {
+            getHeaders().clear();
+        }
+        if (that.hasHeaders()) {
+            getHeaders().putAll(that.getHeaders());
+        }
+    }
+
     public Exchange getExchange() {
         return exchange;
     }
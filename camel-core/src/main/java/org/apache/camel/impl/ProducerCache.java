@@ -55,6 +55,7 @@ public class ProducerCache extends ServiceSupport {
     private final ServicePool<Endpoint, Producer> pool;
     private final Map<String, Producer> producers;
     private final Object source;
+    private final Object[] locks = createLocks();
 
     public ProducerCache(Object source, CamelContext camelContext) {
         this(source, camelContext, CamelContextHelper.getMaximumCachePoolSize(camelContext));
@@ -74,14 +75,28 @@ public class ProducerCache extends ServiceSupport {
     /**
      * Creates the {@link LRUCache} to be used.
      * <p/>
-     * This implementation returns a {@link LRUSoftCache} instance.
+     * This implementation returns a {@link LRUSoftCache} instance, which stops the producers
+     * that are evicted from the cache.
 
      * @param cacheSize the cache size
      * @return the cache
      */
     protected static LRUCache<String, Producer> createLRUCache(int cacheSize) {
         // We use a soft reference cache to allow the JVM to re-claim memory if it runs low on memory.
-        return new LRUSoftCache<String, Producer>(cacheSize);
+        return new LRUSoftCache<String, Producer>(cacheSize, cacheSize, true);
+    }
+
+    static Object[] createLocks() {
+        // a fixed number of lock stripes, so creating producers for different endpoints do not block each other
+        Object[] answer = new Object[16];
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = new Object();
+        }
+        return answer;
+    }
+
+    static Object lockFor(Object[] locks, String key) {
+        return locks[(key.hashCode() & 0x7fffffff) % locks.length];
     }
 
     public CamelContext getCamelContext() {
@@ -363,15 +378,26 @@ public class ProducerCache extends ServiceSupport {
         });
     }
 
-    protected synchronized Producer doGetProducer(Endpoint endpoint, boolean pooled) {
+    protected Producer doGetProducer(Endpoint endpoint, boolean pooled) {
         String key = endpoint.getEndpointUri();
+        // lookup without any lock, as the cache is concurrent
         Producer answer = producers.get(key);
         if (pooled && answer == null) {
             // try acquire from connection pool
             answer = pool.acquire(endpoint);
         }
+        if (answer != null) {
+            return answer;
+        }
+
+        // only lock the stripe for this key, so a singleton producer is only created once
+        synchronized (lockFor(locks, key)) {
+            // another thread may have created the producer while we waited for the lock
+            answer = peek(key);
+            if (answer != null) {
+                return answer;
+            }
 
-        if (answer == null) {
             // create a new producer
             try {
                 answer = endpoint.createProducer();
@@ -394,6 +420,14 @@ public class ProducerCache extends ServiceSupport {
         return answer;
     }
 
+    private Producer peek(String key) {
+        if (producers instanceof LRUCache) {
+            // do not affect the hit/miss statistics as the lookup has already been counted
+            return ((LRUCache<String, Producer>) producers).peek(key);
+        }
+        return producers.get(key);
+    }
+
     protected void doStart() throws Exception {
         ServiceHelper.startServices(producers.values());
         ServiceHelper.startServices(pool);
@@ -467,6 +501,22 @@ public class ProducerCache extends ServiceSupport {
         return misses;
     }
 
+    /**
+     * Gets the cache evicted statistic
+     * <p/>
+     * Will return <tt>-1</tt> if it cannot determine this if a custom cache was used.
+     *
+     * @return the evicted
+     */
+    public long getEvicted() {
+        long evicted = -1;
+        if (producers instanceof LRUCache) {
+            LRUCache<String, Producer> cache = (LRUCache<String, Producer>)producers;
+            evicted = cache.getEvicted();
+        }
+        return evicted;
+    }
+
     /**
      * Resets the cache statistics
      */
@@ -480,7 +530,7 @@ public class ProducerCache extends ServiceSupport {
     /**
      * Purges this cache
      */
-    public synchronized void purge() {
+    public void purge() {
         producers.clear();
         pool.purge();
     }
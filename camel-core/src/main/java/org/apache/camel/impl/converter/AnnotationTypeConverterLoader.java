@@ -18,6 +18,7 @@ package org.apache.camel.impl.converter;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Method;
 import java.net.URL;
@@ -60,15 +61,22 @@ import org.slf4j.LoggerFactory;
  * Therefore its recommended to specify FQN class names in the {@link #META_INF_SERVICES} file.
  * Likewise the procedure for scanning using {@link PackageScanClassResolver} may require custom implementations
  * to work in various containers such as JBoss, OSGi, etc.
+ * <p/>
+ * If a JAR also contains a {@link #META_INF_SERVICES_TYPE_CONVERTER_LOADER} file next to the {@link #META_INF_SERVICES}
+ * file, then the {@link TypeConverterLoader} classes listed in that file is used to load the type converters from
+ * that JAR, instead of scanning the packages. Such loaders is generated at build time by the Camel annotation processor,
+ * and registers the type converters without using reflection.
  *
  * @version 
  */
 public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     public static final String META_INF_SERVICES = "META-INF/services/org/apache/camel/TypeConverter";
+    public static final String META_INF_SERVICES_TYPE_CONVERTER_LOADER = "META-INF/services/org/apache/camel/TypeConverterLoader";
     private static final transient Logger LOG = LoggerFactory.getLogger(AnnotationTypeConverterLoader.class);
     protected PackageScanClassResolver resolver;
     protected Set<Class<?>> visitedClasses = new HashSet<Class<?>>();
     protected Set<String> visitedURIs = new HashSet<String>();
+    protected List<TypeConverterLoader> generatedLoaders = new ArrayList<TypeConverterLoader>();
 
     public AnnotationTypeConverterLoader(PackageScanClassResolver resolver) {
         this.resolver = resolver;
@@ -81,13 +89,27 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         LOG.trace("Searching for {} services", META_INF_SERVICES);
         try {
             packageNames = findPackageNames();
-            if (packageNames == null || packageNames.length == 0) {
+            if ((packageNames == null || packageNames.length == 0) && generatedLoaders.isEmpty()) {
                 throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.");
             }
         } catch (Exception e) {
             throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.", e);
         }
 
+        // load the type converters from the JARs which have a generated loader, which is much faster than scanning
+        if (!generatedLoaders.isEmpty()) {
+            for (TypeConverterLoader loader : generatedLoaders) {
+                LOG.debug("Loading type converters using generated loader: {}", loader);
+                loader.load(registry);
+            }
+            LOG.debug("Loaded type converters using {} generated loaders", generatedLoaders.size());
+            generatedLoaders.clear();
+        }
+        if (packageNames == null || packageNames.length == 0) {
+            LOG.debug("No package names found in classpath for annotated type converters.");
+            return;
+        }
+
         // if we only have camel-core on the classpath then we have already pre-loaded all its type converters
         // but we exposed the "org.apache.camel.core" package in camel-core. This ensures there is at least one
         // packageName to scan, which triggers the scanning process. That allows us to ensure that we look for
@@ -213,6 +235,10 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
             if (!visitedURIs.contains(path)) {
                 // remember we have visited this uri so we wont read it twice
                 visitedURIs.add(path);
+                if (findGeneratedLoaders(url, classLoader)) {
+                    // the type converters in this JAR is loaded by its generated loader so no need to scan its packages
+                    continue;
+                }
                 LOG.debug("Loading file {} to retrieve list of packages, from url: {}", META_INF_SERVICES, url);
                 BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream()));
                 try {
@@ -234,6 +260,63 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         }
     }
 
+    /**
+     * Finds the generated {@link TypeConverterLoader} classes in the {@link #META_INF_SERVICES_TYPE_CONVERTER_LOADER}
+     * file which is located next to the given {@link #META_INF_SERVICES} file.
+     *
+     * @param url         the url of the {@link #META_INF_SERVICES} file
+     * @param classLoader the class loader to load the generated loaders
+     * @return <tt>true</tt> if generated loaders was found, <tt>false</tt> otherwise
+     */
+    protected boolean findGeneratedLoaders(URL url, ClassLoader classLoader) {
+        List<String> names = new ArrayList<String>();
+        InputStream is;
+        try {
+            URL loaderUrl = new URL(url, "TypeConverterLoader");
+            is = loaderUrl.openStream();
+        } catch (IOException e) {
+            // no generated loaders
+            return false;
+        }
+
+        BufferedReader reader = IOHelper.buffered(new InputStreamReader(is));
+        try {
+            while (true) {
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                line = line.trim();
+                if (!line.startsWith("#") && line.length() > 0) {
+                    names.add(line);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Error reading generated type converter loaders next to: " + url + ". Will scan for type converters instead.", e);
+            return false;
+        } finally {
+            IOHelper.close(reader, null, LOG);
+        }
+
+        List<TypeConverterLoader> loaders = new ArrayList<TypeConverterLoader>(names.size());
+        for (String name : names) {
+            try {
+                Class<?> type = classLoader.loadClass(name);
+                loaders.add((TypeConverterLoader) type.newInstance());
+            } catch (Throwable e) {
+                LOG.warn("Cannot create generated type converter loader: " + name + ". Will scan for type converters instead.", e);
+                return false;
+            }
+        }
+        if (loaders.isEmpty()) {
+            return false;
+        }
+
+        LOG.debug("Found {} generated type converter loaders from url: {}", loaders.size(), url);
+        generatedLoaders.addAll(loaders);
+        return true;
+    }
+
     /**
      * Tokenizes the line from the META-IN/services file using commas and
      * ignoring whitespace between packages
@@ -26,6 +26,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.CamelExecutionException;
 import org.apache.camel.Exchange;
@@ -47,19 +48,33 @@ import org.slf4j.LoggerFactory;
 /**
  * Base implementation of a type converter registry used for
  * <a href="http://camel.apache.org/type-converter.html">type converters</a> in Camel.
+ * <p/>
+ * The result of looking up a type converter is kept in a two level cache, keyed by the to type and then
+ * the from type. As {@link Class} uses identity for equality and hash code, a lookup in the cache does
+ * not need to allocate a key. The cache also remembers conversions which is not possible, so they are
+ * not attempted again.
  *
  * @version 
  */
 public abstract class BaseTypeConverterRegistry extends ServiceSupport implements TypeConverter, TypeConverterRegistry {
+    // markers in the lookup cache for when no type converter was found, and when conversion is not possible at all
+    private static final Object NO_CONVERTER = new Object();
+    private static final Object MISS = new Object();
+
     protected final transient Logger log = LoggerFactory.getLogger(getClass());
     protected final ConcurrentMap<TypeMapping, TypeConverter> typeMappings = new ConcurrentHashMap<TypeMapping, TypeConverter>();
-    protected final ConcurrentMap<TypeMapping, TypeMapping> misses = new ConcurrentHashMap<TypeMapping, TypeMapping>();
+    // to type -> from type -> type converter or a marker
+    protected final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, Object>> lookupCache = new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<?>, Object>>();
     protected final List<TypeConverterLoader> typeConverterLoaders = new ArrayList<TypeConverterLoader>();
     protected final List<FallbackTypeConverter> fallbackConverters = new ArrayList<FallbackTypeConverter>();
     protected final PackageScanClassResolver resolver;
     protected Injector injector;
     protected final FactoryFinder factoryFinder;
     protected final PropertyEditorTypeConverter propertyEditorTypeConverter = new PropertyEditorTypeConverter();
+    private final AtomicLong hitCounter = new AtomicLong();
+    private final AtomicLong missCounter = new AtomicLong();
+    private final AtomicLong fallbackCounter = new AtomicLong();
+    private volatile boolean statisticsEnabled;
 
     public BaseTypeConverterRegistry(PackageScanClassResolver resolver, Injector injector, FactoryFinder factoryFinder) {
         this.resolver = resolver;
@@ -171,12 +186,13 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         // check if we have tried it before and if its a miss
-        TypeMapping key = new TypeMapping(type, value.getClass());
-        if (misses.containsKey(key)) {
+        Class<?> fromType = value.getClass();
+        Object cached = getCached(type, fromType);
+        if (cached == MISS) {
             // we have tried before but we cannot convert this one
             return Void.TYPE;
         }
-        
+
         // special for NaN numbers, which we can only convert for flating numbers
         if (ObjectHelper.isNaN(value)) {
             if (Float.class.isAssignableFrom(type)) {
@@ -190,9 +206,16 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         // try to find a suitable type converter
-        TypeConverter converter = getOrFindTypeConverter(type, value);
+        TypeConverter converter;
+        if (cached == null) {
+            converter = lookupAndCache(type, fromType);
+        } else {
+            converter = cached == NO_CONVERTER ? null : (TypeConverter) cached;
+        }
         if (converter != null) {
-            log.trace("Using converter: {} to convert {}", converter, key);
+            if (log.isTraceEnabled()) {
+                log.trace("Using converter: {} to convert [{}=>{}]", new Object[]{converter, fromType, type});
+            }
             Object rc = converter.convertTo(type, exchange, value);
             if (rc != null) {
                 return rc;
@@ -209,6 +232,9 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             }
 
             if (rc != null) {
+                if (statisticsEnabled) {
+                    fallbackCounter.incrementAndGet();
+                }
                 // if fallback can promote then let it be promoted to a first class type converter
                 if (fallback.isCanPromote()) {
                     // add it as a known type converter since we found a fallback that could do it
@@ -239,7 +265,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         // Could not find suitable conversion, so remember it
-        misses.put(key, key);
+        getLookupCache(type).put(fromType, MISS);
 
         // Could not find suitable conversion, so return Void to indicate not found
         return Void.TYPE;
@@ -257,8 +283,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
                 log.warn("Overriding type converter from: " + converter + " to: " + typeConverter);
             }
             typeMappings.put(key, typeConverter);
-            // remove any previous misses, as we added the new type converter
-            misses.remove(key);
+            // remove any previous lookups, as we added the new type converter
+            invalidateLookupCache(toType);
         }
     }
 
@@ -317,18 +343,163 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (value != null) {
             fromType = value.getClass();
         }
-        TypeMapping key = new TypeMapping(toType, fromType);
-        TypeConverter converter = typeMappings.get(key);
-        if (converter == null) {
+        if (fromType == null) {
+            return lookup(toType, null);
+        }
+
+        Object cached = getCached(toType, fromType);
+        if (cached == null) {
             // converter not found, try to lookup then
-            converter = lookup(toType, fromType);
-            if (converter != null) {
-                typeMappings.putIfAbsent(key, converter);
-            }
+            return lookupAndCache(toType, fromType);
         }
+        return cached instanceof TypeConverter ? (TypeConverter) cached : null;
+    }
+
+    private TypeConverter lookupAndCache(Class<?> toType, Class<?> fromType) {
+        TypeConverter converter = lookup(toType, fromType);
+        getLookupCache(toType).putIfAbsent(fromType, converter != null ? converter : NO_CONVERTER);
         return converter;
     }
 
+    /**
+     * Gets the cached lookup of the type converter to convert between the given types
+     *
+     * @return the type converter, a marker for no type converter or conversion not possible,
+     *         or <tt>null</tt> if not cached
+     */
+    private Object getCached(Class<?> toType, Class<?> fromType) {
+        Map<Class<?>, Object> cache = lookupCache.get(toType);
+        Object answer = cache != null ? cache.get(fromType) : null;
+        if (statisticsEnabled) {
+            if (answer != null) {
+                hitCounter.incrementAndGet();
+            } else {
+                missCounter.incrementAndGet();
+            }
+        }
+        return answer;
+    }
+
+    private ConcurrentMap<Class<?>, Object> getLookupCache(Class<?> toType) {
+        ConcurrentMap<Class<?>, Object> answer = lookupCache.get(toType);
+        if (answer == null) {
+            answer = new ConcurrentHashMap<Class<?>, Object>();
+            ConcurrentMap<Class<?>, Object> existing = lookupCache.putIfAbsent(toType, answer);
+            if (existing != null) {
+                answer = existing;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Invalidates the cached lookups which can be affected by adding a type converter to the given type,
+     * which is lookups for the given type and its super types.
+     */
+    private void invalidateLookupCache(Class<?> toType) {
+        for (Class<?> type : lookupCache.keySet()) {
+            if (type.isAssignableFrom(toType)) {
+                lookupCache.remove(type);
+            }
+        }
+    }
+
+    /**
+     * Precomputes the lookups of the type converters which converts from the super classes and interfaces
+     * of the types we have type converters for, so the class hierarchy does not have to be searched at runtime.
+     */
+    protected void precomputeLookups() {
+        // index the to types by their from type
+        Map<Class<?>, Set<Class<?>>> toTypes = new HashMap<Class<?>, Set<Class<?>>>();
+        for (TypeMapping mapping : typeMappings.keySet()) {
+            if (mapping.getFromType() == null) {
+                continue;
+            }
+            Set<Class<?>> set = toTypes.get(mapping.getFromType());
+            if (set == null) {
+                set = new HashSet<Class<?>>();
+                toTypes.put(mapping.getFromType(), set);
+            }
+            set.add(mapping.getToType());
+        }
+
+        int count = 0;
+        for (Class<?> fromType : toTypes.keySet()) {
+            if (fromType.isInterface() || fromType.equals(Object.class)) {
+                continue;
+            }
+            Set<Class<?>> candidates = new HashSet<Class<?>>();
+            for (Class<?> type = fromType; type != null && !type.equals(Object.class); type = type.getSuperclass()) {
+                Set<Class<?>> set = toTypes.get(type);
+                if (set != null) {
+                    candidates.addAll(set);
+                }
+                for (Class<?> ifc : type.getInterfaces()) {
+                    set = toTypes.get(ifc);
+                    if (set != null) {
+                        candidates.addAll(set);
+                    }
+                }
+            }
+            for (Class<?> toType : candidates) {
+                TypeConverter converter = doLookup(toType, fromType, false);
+                if (converter != null && getLookupCache(toType).putIfAbsent(fromType, converter) == null) {
+                    count++;
+                }
+            }
+        }
+        log.debug("Precomputed {} type converter lookups", count);
+    }
+
+    /**
+     * Whether statistics is enabled, which counts the hits and misses of the type converter lookup cache,
+     * and the number of conversions done by fallback type converters.
+     */
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    /**
+     * Number of type converter lookups which was found in the cache
+     */
+    public long getHitCounter() {
+        return hitCounter.get();
+    }
+
+    /**
+     * Number of type converter lookups which was not found in the cache
+     */
+    public long getMissCounter() {
+        return missCounter.get();
+    }
+
+    /**
+     * Number of conversions done by fallback type converters
+     */
+    public long getFallbackCounter() {
+        return fallbackCounter.get();
+    }
+
+    /**
+     * Resets the statistics counters
+     */
+    public void resetStatistics() {
+        hitCounter.set(0);
+        missCounter.set(0);
+        fallbackCounter.set(0);
+    }
+
+    /**
+     * Number of type converters in the registry
+     */
+    public int size() {
+        return typeMappings.size();
+    }
+
     @Override
     public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
         return doLookup(toType, fromType, false);
@@ -431,7 +602,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     @Override
     protected void doStop() throws Exception {
         typeMappings.clear();
-        misses.clear();
+        lookupCache.clear();
         propertyEditorTypeConverter.clear();
     }
 
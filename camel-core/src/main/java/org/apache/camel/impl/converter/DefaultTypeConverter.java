@@ -40,6 +40,8 @@ public class DefaultTypeConverter extends BaseTypeConverterRegistry {
         // load type converters up front
         loadCoreTypeConverters();
         loadTypeConverters();
+        // and now we have all type converters we can precompute the lookups from their super types
+        precomputeLookups();
 
         // report how many type converters we have loaded
         log.info("Loaded {} type converters", typeMappings.size());
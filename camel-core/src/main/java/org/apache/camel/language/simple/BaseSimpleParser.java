@@ -39,6 +39,7 @@ import org.apache.camel.language.simple.types.TokenType;
 public abstract class BaseSimpleParser {
 
     protected final String expression;
+    protected final boolean compiled;
     protected final List<SimpleToken> tokens = new ArrayList<SimpleToken>();
     protected final List<SimpleNode> nodes = new ArrayList<SimpleNode>();
     protected SimpleToken token;
@@ -46,7 +47,12 @@ public abstract class BaseSimpleParser {
     protected int index;
 
     protected BaseSimpleParser(String expression) {
+        this(expression, false);
+    }
+
+    protected BaseSimpleParser(String expression, boolean compiled) {
         this.expression = expression;
+        this.compiled = compiled;
     }
 
     /**
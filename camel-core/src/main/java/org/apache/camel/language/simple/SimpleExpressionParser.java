@@ -41,6 +41,10 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         super(expression);
     }
 
+    public SimpleExpressionParser(String expression, boolean compiled) {
+        super(expression, compiled);
+    }
+
     public Expression parseExpression() {
         clear();
         try {
@@ -130,7 +134,7 @@ public class SimpleExpressionParser extends BaseSimpleParser {
     private SimpleNode createNode(SimpleToken token) {
         // expression only support functions and unary operators
         if (token.getType().isFunctionStart()) {
-            return new SimpleFunctionStart(token);
+            return new SimpleFunctionStart(token, compiled);
         } else if (token.getType().isFunctionEnd()) {
             return new SimpleFunctionEnd(token);
         } else if (token.getType().isUnary()) {
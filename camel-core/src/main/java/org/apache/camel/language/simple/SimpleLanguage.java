@@ -16,11 +16,14 @@
  */
 package org.apache.camel.language.simple;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.apache.camel.Expression;
 import org.apache.camel.IsSingleton;
 import org.apache.camel.Predicate;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.spi.Language;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -86,6 +89,14 @@ import org.apache.camel.util.ObjectHelper;
  * return the full path including the starting directory.
  * <br/>
  * The <b>only</b> file is the filename only with all paths clipped.
+ * <p/>
+ * Parsed expressions and predicates are cached by their text, so using the same expression many times,
+ * such as a dynamic recipient list, does not parse it again.
+ * <br/>
+ * If <tt>compiled</tt> is enabled then OGNL expressions on the body, headers, properties and exception
+ * which are a chain of properties or no-arg methods are compiled into cached method invocations,
+ * instead of being interpreted on each evaluation. As compiled expressions keep the methods of the classes
+ * they have been evaluated on, they are only cached by this language instance, and not shared by the JVM.
  *
  */
 public class SimpleLanguage implements Language, IsSingleton {
@@ -93,7 +104,19 @@ public class SimpleLanguage implements Language, IsSingleton {
     // singleton for expressions without a result type
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
+    // cache of parsed expressions and predicates, which is cleared if the function tokens are changed
+    private static final int CACHE_SIZE = 1000;
+    private static final LRUCache<String, Expression> EXPRESSION_CACHE = new LRUCache<String, Expression>(CACHE_SIZE);
+    private static final LRUCache<String, Predicate> PREDICATE_CACHE = new LRUCache<String, Predicate>(CACHE_SIZE);
+    // incremented when the caches are cleared, so the caches of compiled expressions are cleared as well
+    private static final AtomicInteger CACHE_GENERATION = new AtomicInteger();
+
     private Class<?> resultType;
+    private boolean compiled;
+    // cache of compiled expressions and predicates, which must not outlive this language as they refer to classes
+    private LRUCache<String, Expression> compiledExpressionCache;
+    private LRUCache<String, Predicate> compiledPredicateCache;
+    private int compiledCacheGeneration;
 
     /**
      * Default constructor.
@@ -109,6 +132,20 @@ public class SimpleLanguage implements Language, IsSingleton {
         this.resultType = resultType;
     }
 
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Whether to compile OGNL expressions which are a chain of properties or no-arg methods,
+     * such as <tt>${body.address.city}</tt>, into cached method invocations.
+     * <p/>
+     * Is default <tt>false</tt>.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
     @Override
     public boolean isSingleton() {
         // we cannot be singleton as we have state
@@ -120,14 +157,22 @@ public class SimpleLanguage implements Language, IsSingleton {
 
         // trim the expression first
         expression = expression.trim();
+        LRUCache<String, Predicate> cache = compiled ? getCompiledPredicateCache() : PREDICATE_CACHE;
+        Predicate answer = cache.get(expression);
+        if (answer != null) {
+            return answer;
+        }
+
         // support old simple language syntax
         @SuppressWarnings("deprecation")
-        Predicate answer = SimpleBackwardsCompatibleParser.parsePredicate(expression);
+        Predicate predicate = SimpleBackwardsCompatibleParser.parsePredicate(expression);
+        answer = predicate;
         if (answer == null) {
             // use the new parser
-            SimplePredicateParser parser = new SimplePredicateParser(expression);
+            SimplePredicateParser parser = new SimplePredicateParser(expression, compiled);
             answer = parser.parsePredicate();
         }
+        cache.put(expression, answer);
         return answer;
     }
 
@@ -136,13 +181,19 @@ public class SimpleLanguage implements Language, IsSingleton {
 
         // trim the expression first
         expression = expression.trim();
-        // support old simple language syntax
-        @SuppressWarnings("deprecation")
-        Expression answer = SimpleBackwardsCompatibleParser.parseExpression(expression);
+        LRUCache<String, Expression> cache = compiled ? getCompiledExpressionCache() : EXPRESSION_CACHE;
+        Expression answer = cache.get(expression);
         if (answer == null) {
-            // use the new parser
-            SimpleExpressionParser parser = new SimpleExpressionParser(expression);
-            answer = parser.parseExpression();
+            // support old simple language syntax
+            @SuppressWarnings("deprecation")
+            Expression expr = SimpleBackwardsCompatibleParser.parseExpression(expression);
+            answer = expr;
+            if (answer == null) {
+                // use the new parser
+                SimpleExpressionParser parser = new SimpleExpressionParser(expression, compiled);
+                answer = parser.parseExpression();
+            }
+            cache.put(expression, answer);
         }
         if (resultType != null) {
             answer = ExpressionBuilder.convertToExpression(answer, resultType);
@@ -150,6 +201,41 @@ public class SimpleLanguage implements Language, IsSingleton {
         return answer;
     }
 
+    private synchronized LRUCache<String, Expression> getCompiledExpressionCache() {
+        checkCompiledCacheGeneration();
+        if (compiledExpressionCache == null) {
+            compiledExpressionCache = new LRUCache<String, Expression>(CACHE_SIZE);
+        }
+        return compiledExpressionCache;
+    }
+
+    private synchronized LRUCache<String, Predicate> getCompiledPredicateCache() {
+        checkCompiledCacheGeneration();
+        if (compiledPredicateCache == null) {
+            compiledPredicateCache = new LRUCache<String, Predicate>(CACHE_SIZE);
+        }
+        return compiledPredicateCache;
+    }
+
+    private void checkCompiledCacheGeneration() {
+        int generation = CACHE_GENERATION.get();
+        if (generation != compiledCacheGeneration) {
+            // the caches has been cleared since the compiled expressions was cached
+            compiledExpressionCache = null;
+            compiledPredicateCache = null;
+            compiledCacheGeneration = generation;
+        }
+    }
+
+    /**
+     * Clears the cache of parsed expressions and predicates.
+     */
+    public static void clearCache() {
+        EXPRESSION_CACHE.clear();
+        PREDICATE_CACHE.clear();
+        CACHE_GENERATION.incrementAndGet();
+    }
+
     public static Expression simple(String expression) {
         return SIMPLE.createExpression(expression);
     }
@@ -172,6 +258,8 @@ public class SimpleLanguage implements Language, IsSingleton {
      */
     public static void changeFunctionStartToken(String... startToken) {
         SimpleTokenizer.changeFunctionStartToken(startToken);
+        // cached expressions was parsed using the old tokens
+        clearCache();
     }
     
     /**
@@ -186,6 +274,8 @@ public class SimpleLanguage implements Language, IsSingleton {
      */
     public static void changeFunctionEndToken(String... endToken) {
         SimpleTokenizer.changeFunctionEndToken(endToken);
+        // cached expressions was parsed using the old tokens
+        clearCache();
     }
 
     /**
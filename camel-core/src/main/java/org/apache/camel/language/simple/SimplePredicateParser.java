@@ -55,6 +55,10 @@ public class SimplePredicateParser extends BaseSimpleParser {
         super(expression);
     }
 
+    public SimplePredicateParser(String expression, boolean compiled) {
+        super(expression, compiled);
+    }
+
     public Predicate parsePredicate() {
         clear();
         try {
@@ -215,7 +219,7 @@ public class SimplePredicateParser extends BaseSimpleParser {
                                   AtomicBoolean startFunction) {
         if (token.getType().isFunctionStart()) {
             startFunction.set(true);
-            return new SimpleFunctionStart(token);
+            return new SimpleFunctionStart(token, compiled);
         } else if (token.getType().isFunctionEnd()) {
             startFunction.set(false);
             return new SimpleFunctionEnd(token);
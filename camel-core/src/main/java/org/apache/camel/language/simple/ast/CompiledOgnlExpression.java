@@ -0,0 +1,264 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple.ast;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.impl.ExpressionAdapter;
+import org.apache.camel.language.bean.RuntimeBeanExpressionException;
+import org.apache.camel.model.language.MethodCallExpression;
+import org.apache.camel.util.IntrospectionSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.OgnlHelper;
+
+/**
+ * A compiled OGNL expression used by the <a href="http://camel.apache.org/simple.html">simple language</a>
+ * when running in compiled mode.
+ * <p/>
+ * The OGNL expression is parsed once into a chain of method names, and the {@link Method} to invoke for
+ * each step is resolved once per class and cached. This avoids creating a bean expression, copying the
+ * exchange and introspecting the bean on every evaluation, as the interpreted OGNL expression does.
+ * <p/>
+ * Only simple chains of properties and no-arg methods such as <tt>body.address.city</tt> or
+ * <tt>body?.getName()</tt> can be compiled. If a step cannot be resolved by the compiled expression itself,
+ * such as overloaded methods, then the rest of the chain is interpreted from the value at that step,
+ * so the outcome is the same and the methods already invoked are not invoked again.
+ */
+public abstract class CompiledOgnlExpression extends ExpressionAdapter {
+
+    private static final Pattern METHOD_PATTERN = Pattern.compile("[a-zA-Z_$][a-zA-Z0-9_$]*(\\(\\))?");
+    private static final Object UNRESOLVED = new Object();
+
+    private final String ognl;
+    private final Expression fallback;
+    private final String[] remainders;
+    private final String[] methodNames;
+    private final boolean[] nullSafe;
+    private final ConcurrentMap<Class<?>, Object>[] methods;
+
+    @SuppressWarnings("unchecked")
+    protected CompiledOgnlExpression(String ognl, Expression fallback) {
+        this.ognl = ognl;
+        this.fallback = fallback;
+        List<String> steps = OgnlHelper.splitOgnl(ognl);
+        this.remainders = new String[steps.size()];
+        this.methodNames = new String[steps.size()];
+        this.nullSafe = new boolean[steps.size()];
+        this.methods = new ConcurrentMap[steps.size()];
+        for (int i = 0; i < steps.size(); i++) {
+            String step = steps.get(i);
+            nullSafe[i] = OgnlHelper.isNullSafeOperator(step);
+            String name = OgnlHelper.removeLeadingOperators(step);
+            if (name.endsWith("()")) {
+                name = name.substring(0, name.length() - 2);
+            }
+            methodNames[i] = name;
+            methods[i] = new ConcurrentHashMap<Class<?>, Object>();
+        }
+        // the remainder of the OGNL expression from each step, in case it must be interpreted from there
+        String remainder = "";
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            remainder = steps.get(i) + remainder;
+            remainders[i] = remainder;
+        }
+    }
+
+    /**
+     * Whether the given OGNL expression is a simple chain of properties and no-arg methods which can be compiled.
+     *
+     * @param ognl the OGNL expression, such as <tt>.address?.city</tt>
+     * @return <tt>true</tt> if it can be compiled
+     */
+    public static boolean isCompilable(String ognl) {
+        List<String> steps = OgnlHelper.splitOgnl(ognl);
+        if (steps.isEmpty()) {
+            return false;
+        }
+        for (String step : steps) {
+            if (!METHOD_PATTERN.matcher(OgnlHelper.removeLeadingOperators(step)).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a compiled OGNL expression on the message body.
+     */
+    public static Expression bodyOgnlExpression(String ognl, Expression fallback) {
+        return new CompiledOgnlExpression(ognl, fallback) {
+            @Override
+            protected Object getRoot(Exchange exchange) {
+                return exchange.getIn().getBody();
+            }
+        };
+    }
+
+    /**
+     * Creates a compiled OGNL expression on the caught exception.
+     */
+    public static Expression exchangeExceptionOgnlExpression(String ognl, Expression fallback) {
+        return new CompiledOgnlExpression(ognl, fallback) {
+            @Override
+            protected Object getRoot(Exchange exchange) {
+                Object exception = exchange.getException();
+                if (exception == null) {
+                    exception = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+                }
+                return exception;
+            }
+        };
+    }
+
+    /**
+     * Creates a compiled OGNL expression on a message header, where the OGNL expression starts with the header key.
+     */
+    public static Expression headersOgnlExpression(String ognl, Expression fallback) {
+        return keyedOgnlExpression(ognl, fallback, true);
+    }
+
+    /**
+     * Creates a compiled OGNL expression on an exchange property, where the OGNL expression starts with the property key.
+     */
+    public static Expression propertyOgnlExpression(String ognl, Expression fallback) {
+        return keyedOgnlExpression(ognl, fallback, false);
+    }
+
+    private static Expression keyedOgnlExpression(final String ognl, Expression fallback, final boolean header) {
+        final String key = OgnlHelper.removeOperators(OgnlHelper.splitOgnl(ognl).get(0));
+        String remainder = ObjectHelper.after(ognl, key);
+        if (!isCompilable(remainder)) {
+            return fallback;
+        }
+
+        return new CompiledOgnlExpression(remainder, fallback) {
+            @Override
+            public Object evaluate(Exchange exchange) {
+                // try with full name first
+                Object value = getKeyedEntity(exchange, ognl);
+                if (value != null) {
+                    return value;
+                }
+                return super.evaluate(exchange);
+            }
+
+            @Override
+            protected Object getRoot(Exchange exchange) {
+                return getKeyedEntity(exchange, key);
+            }
+
+            private Object getKeyedEntity(Exchange exchange, String name) {
+                return header ? exchange.getIn().getHeader(name) : exchange.getProperty(name);
+            }
+        };
+    }
+
+    /**
+     * Gets the root object which the OGNL expression is evaluated on.
+     */
+    protected abstract Object getRoot(Exchange exchange);
+
+    public Object evaluate(Exchange exchange) {
+        Object bean = getRoot(exchange);
+        if (bean == null) {
+            return null;
+        }
+
+        for (int i = 0; i < methodNames.length; i++) {
+            if (bean == null) {
+                // null in the middle of the chain without the null safe operator fails the same way as when interpreted
+                throw new RuntimeBeanExpressionException(exchange, null, ognl, new NullPointerException());
+            }
+
+            Object method = resolveMethod(i, bean.getClass());
+            if (method == UNRESOLVED) {
+                // interpret the rest of the chain from the current value
+                return new MethodCallExpression(bean, remainders[i]).evaluate(exchange);
+            }
+
+            try {
+                bean = ((Method) method).invoke(bean);
+            } catch (InvocationTargetException e) {
+                throw new RuntimeBeanExpressionException(exchange, ObjectHelper.className(bean), methodNames[i], e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new RuntimeBeanExpressionException(exchange, ObjectHelper.className(bean), methodNames[i], e);
+            }
+
+            if (bean == null && nullSafe[i]) {
+                return null;
+            }
+        }
+
+        return bean;
+    }
+
+    private Object resolveMethod(int index, Class<?> type) {
+        Object answer = methods[index].get(type);
+        if (answer == null) {
+            answer = findMethod(type, methodNames[index]);
+            methods[index].putIfAbsent(type, answer);
+        }
+        return answer;
+    }
+
+    private static Object findMethod(Class<?> type, String name) {
+        Method answer = null;
+        // prefer a method with the exact name, and then a getter using the shorthand name
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name)) {
+                if (method.getParameterTypes().length != 0) {
+                    // overloaded with parameters, which the bean binding must decide
+                    return UNRESOLVED;
+                }
+                answer = method;
+            }
+        }
+        if (answer == null) {
+            for (Method method : type.getMethods()) {
+                if (IntrospectionSupport.isGetter(method) && name.equals(IntrospectionSupport.getGetterShorthandName(method))) {
+                    answer = method;
+                    break;
+                }
+            }
+        }
+
+        if (answer == null || answer.isBridge() || answer.getDeclaringClass() == Object.class) {
+            return UNRESOLVED;
+        }
+        if (!Modifier.isPublic(answer.getDeclaringClass().getModifiers())) {
+            try {
+                answer.setAccessible(true);
+            } catch (SecurityException e) {
+                return UNRESOLVED;
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return "compiled(" + fallback + ")";
+    }
+}
@@ -30,8 +30,21 @@ import org.apache.camel.util.StringHelper;
  */
 public class SimpleFunctionExpression extends LiteralExpression {
 
+    private final boolean compiled;
+
     public SimpleFunctionExpression(SimpleToken token) {
+        this(token, false);
+    }
+
+    /**
+     * Creates the function
+     *
+     * @param token    the token
+     * @param compiled whether to create {@link CompiledOgnlExpression}s for OGNL expressions if possible
+     */
+    public SimpleFunctionExpression(SimpleToken token, boolean compiled) {
         super(token);
+        this.compiled = compiled;
     }
 
     @Override
@@ -93,7 +106,11 @@ public class SimpleFunctionExpression extends LiteralExpression {
             if (invalid) {
                 throw new SimpleParserException("Valid syntax: ${body.OGNL} was: " + function, token.getIndex());
             }
-            return ExpressionBuilder.bodyOgnlExpression(remainder);
+            answer = ExpressionBuilder.bodyOgnlExpression(remainder);
+            if (compiled && CompiledOgnlExpression.isCompilable(remainder)) {
+                answer = CompiledOgnlExpression.bodyOgnlExpression(remainder, answer);
+            }
+            return answer;
         }
 
         // Exception OGNL
@@ -103,7 +120,11 @@ public class SimpleFunctionExpression extends LiteralExpression {
             if (invalid) {
                 throw new SimpleParserException("Valid syntax: ${exception.OGNL} was: " + function, token.getIndex());
             }
-            return ExpressionBuilder.exchangeExceptionOgnlExpression(remainder);
+            answer = ExpressionBuilder.exchangeExceptionOgnlExpression(remainder);
+            if (compiled && CompiledOgnlExpression.isCompilable(remainder)) {
+                answer = CompiledOgnlExpression.exchangeExceptionOgnlExpression(remainder, answer);
+            }
+            return answer;
         }
 
         // headerAs
@@ -158,7 +179,11 @@ public class SimpleFunctionExpression extends LiteralExpression {
 
             if (OgnlHelper.isValidOgnlExpression(remainder)) {
                 // ognl based header
-                return ExpressionBuilder.headersOgnlExpression(remainder);
+                answer = ExpressionBuilder.headersOgnlExpression(remainder);
+                if (compiled) {
+                    answer = CompiledOgnlExpression.headersOgnlExpression(remainder, answer);
+                }
+                return answer;
             } else {
                 // regular header
                 return ExpressionBuilder.headerExpression(remainder);
@@ -194,7 +219,11 @@ public class SimpleFunctionExpression extends LiteralExpression {
 
             if (OgnlHelper.isValidOgnlExpression(remainder)) {
                 // ognl based property
-                return ExpressionBuilder.propertyOgnlExpression(remainder);
+                answer = ExpressionBuilder.propertyOgnlExpression(remainder);
+                if (compiled) {
+                    answer = CompiledOgnlExpression.propertyOgnlExpression(remainder, answer);
+                }
+                return answer;
             } else {
                 // regular property
                 return ExpressionBuilder.propertyExpression(remainder);
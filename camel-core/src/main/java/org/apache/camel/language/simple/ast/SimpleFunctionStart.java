@@ -21,17 +21,27 @@ import org.apache.camel.Expression;
 import org.apache.camel.language.simple.types.SimpleIllegalSyntaxException;
 import org.apache.camel.language.simple.types.SimpleParserException;
 import org.apache.camel.language.simple.types.SimpleToken;
+import org.apache.camel.util.LRUCache;
 
 /**
  * Starts a function
  */
 public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
 
+    // the number of functions to cache for a function with nested functions
+    private static final int NESTED_CACHE_SIZE = 100;
+
     private CompositeNodes block;
+    private final boolean compiled;
 
     public SimpleFunctionStart(SimpleToken token) {
+        this(token, false);
+    }
+
+    public SimpleFunctionStart(SimpleToken token, boolean compiled) {
         super(token);
         this.block = new CompositeNodes(token);
+        this.compiled = compiled;
     }
 
     @Override
@@ -51,7 +61,7 @@ public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
     }
 
     private Expression doCreateLiteralExpression(final String expression) {
-        SimpleFunctionExpression function = new SimpleFunctionExpression(this.getToken());
+        SimpleFunctionExpression function = new SimpleFunctionExpression(this.getToken(), compiled);
         LiteralNode literal = (LiteralNode) block.getChildren().get(0);
         function.addText(literal.getText());
         return function.createExpression(expression);
@@ -59,20 +69,28 @@ public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
 
     private Expression doCreateCompositeExpression(final String expression) {
         final SimpleToken token = getToken();
+        // cache the nested expressions and the functions they evaluate to, so we do not parse on every evaluation
+        final Expression[] nestedExpressions = new Expression[block.getChildren().size()];
+        final LRUCache<String, Expression> functions = new LRUCache<String, Expression>(NESTED_CACHE_SIZE);
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
                 StringBuilder sb = new StringBuilder();
 
                 // we need to concat the block so we have the expression
-                for (SimpleNode child : block.getChildren()) {
+                for (int i = 0; i < nestedExpressions.length; i++) {
+                    SimpleNode child = block.getChildren().get(i);
                     if (child instanceof LiteralNode) {
                         String text = ((LiteralNode) child).getText();
                         sb.append(text);
                     } else if (child instanceof SimpleFunctionStart) {
                         try {
-                            // pass in null when we evaluate the nested expressions
-                            Expression nested = child.createExpression(null);
+                            Expression nested = nestedExpressions[i];
+                            if (nested == null) {
+                                // pass in null when we evaluate the nested expressions
+                                nested = child.createExpression(null);
+                                nestedExpressions[i] = nested;
+                            }
                             String text = nested.evaluate(exchange, String.class);
                             if (text != null) {
                                 sb.append(text);
@@ -87,10 +105,15 @@ public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
                 // we have now concat the block as a String which contains the function expression
                 // which we then need to evaluate as a function
                 String exp = sb.toString();
-                SimpleFunctionExpression function = new SimpleFunctionExpression(token);
-                function.addText(exp);
                 try {
-                    return function.createExpression(exp).evaluate(exchange, type);
+                    Expression answer = functions.get(exp);
+                    if (answer == null) {
+                        SimpleFunctionExpression function = new SimpleFunctionExpression(token, compiled);
+                        function.addText(exp);
+                        answer = function.createExpression(exp);
+                        functions.put(exp, answer);
+                    }
+                    return answer.evaluate(exchange, type);
                 } catch (SimpleParserException e) {
                     // must rethrow parser exception as illegal syntax with details about the location
                     throw new SimpleIllegalSyntaxException(expression, e.getIndex(), e.getMessage(), e);
@@ -119,6 +119,33 @@ public class ManagedErrorHandler implements ManagedErrorHandlerMBean {
         redelivery.getRedeliveryPolicy().setMaximumRedeliveries(maximum);
     }
 
+    public Integer getMaximumPendingRedeliveries() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getRedeliveryPolicy().getMaximumPendingRedeliveries();
+    }
+
+    public void setMaximumPendingRedeliveries(Integer maximum) {
+        if (!isSupportRedelivery()) {
+            throw new IllegalArgumentException("This error handler does not support redelivery");
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        redelivery.getRedeliveryPolicy().setMaximumPendingRedeliveries(maximum);
+    }
+
+    public Integer getPendingRedeliveryCount() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getPendingRedeliveryCount();
+    }
+
     public Long getMaximumRedeliveryDelay() {
         if (!isSupportRedelivery()) {
             return null;
@@ -40,15 +40,15 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     private Statistic maxProcessingTime;
     private Statistic totalProcessingTime;
     private Statistic lastProcessingTime;
-    private Statistic meanProcessingTime;
+    private LatencyHistogram processingTimeHistogram;
     private Statistic firstExchangeCompletedTimestamp;
-    private String firstExchangeCompletedExchangeId;
+    private volatile String firstExchangeCompletedExchangeId;
     private Statistic firstExchangeFailureTimestamp;
-    private String firstExchangeFailureExchangeId;
+    private volatile String firstExchangeFailureExchangeId;
     private Statistic lastExchangeCompletedTimestamp;
-    private String lastExchangeCompletedExchangeId;
+    private volatile String lastExchangeCompletedExchangeId;
     private Statistic lastExchangeFailureTimestamp;
-    private String lastExchangeFailureExchangeId;
+    private volatile String lastExchangeFailureExchangeId;
     private boolean statisticsEnabled = true;
 
     public void init(ManagementStrategy strategy) {
@@ -64,7 +64,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.maxProcessingTime = new Statistic("org.apache.camel.maximumProcessingTime", this, Statistic.UpdateMode.MAXIMUM);
         this.totalProcessingTime = new Statistic("org.apache.camel.totalProcessingTime", this, Statistic.UpdateMode.COUNTER);
         this.lastProcessingTime = new Statistic("org.apache.camel.lastProcessingTime", this, Statistic.UpdateMode.VALUE);
-        this.meanProcessingTime = new Statistic("org.apache.camel.meanProcessingTime", this, Statistic.UpdateMode.VALUE);
+        this.processingTimeHistogram = new LatencyHistogram();
 
         this.firstExchangeCompletedTimestamp = new Statistic("org.apache.camel.firstExchangeCompletedTimestamp", this, Statistic.UpdateMode.VALUE);
         this.firstExchangeFailureTimestamp = new Statistic("org.apache.camel.firstExchangeFailureTimestamp", this, Statistic.UpdateMode.VALUE);
@@ -84,7 +84,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         maxProcessingTime.reset();
         totalProcessingTime.reset();
         lastProcessingTime.reset();
-        meanProcessingTime.reset();
+        processingTimeHistogram.reset();
         firstExchangeCompletedTimestamp.reset();
         firstExchangeCompletedExchangeId = null;
         firstExchangeFailureTimestamp.reset();
@@ -120,7 +120,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     }
 
     public long getMeanProcessingTime() throws Exception {
-        return meanProcessingTime.getValue();
+        return calculateMeanProcessingTime();
     }
 
     public long getMaxProcessingTime() throws Exception {
@@ -135,6 +135,22 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return lastProcessingTime.getValue();
     }
 
+    public long getMedianProcessingTime() throws Exception {
+        return processingTimeHistogram.getValueAtPercentile(50);
+    }
+
+    public long getPercentile99ProcessingTime() throws Exception {
+        return processingTimeHistogram.getValueAtPercentile(99);
+    }
+
+    public long getPercentile999ProcessingTime() throws Exception {
+        return processingTimeHistogram.getValueAtPercentile(99.9);
+    }
+
+    public long processingTimePercentile(double percentile) throws Exception {
+        return processingTimeHistogram.getValueAtPercentile(percentile);
+    }
+
     public Date getLastExchangeCompletedTimestamp() {
         long value = lastExchangeCompletedTimestamp.getValue();
         return value > 0 ? new Date(value) : null;
@@ -179,7 +195,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.statisticsEnabled = statisticsEnabled;
     }
 
-    public synchronized void completedExchange(Exchange exchange, long time) {
+    public void completedExchange(Exchange exchange, long time) {
         increment();
         exchangesCompleted.increment();
 
@@ -195,9 +211,10 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         maxProcessingTime.updateValue(time);
         totalProcessingTime.updateValue(time);
         lastProcessingTime.updateValue(time);
+        processingTimeHistogram.recordValue(time);
 
-        long now = new Date().getTime();
-        if (firstExchangeCompletedTimestamp.getUpdateCount() == 0) {
+        long now = System.currentTimeMillis();
+        if (firstExchangeCompletedTimestamp.getValue() == 0) {
             firstExchangeCompletedTimestamp.updateValue(now);
         }
 
@@ -206,14 +223,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
             firstExchangeCompletedExchangeId = exchange.getExchangeId();
         }
         lastExchangeCompletedExchangeId = exchange.getExchangeId();
-
-        // update mean
-        long count = exchangesCompleted.getValue();
-        long mean = count > 0 ? totalProcessingTime.getValue() / count : 0;
-        meanProcessingTime.updateValue(mean);
     }
 
-    public synchronized void failedExchange(Exchange exchange) {
+    public void failedExchange(Exchange exchange) {
         increment();
         exchangesFailed.increment();
 
@@ -225,8 +237,8 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
             externalRedeliveries.increment();
         }
 
-        long now = new Date().getTime();
-        if (firstExchangeFailureTimestamp.getUpdateCount() == 0) {
+        long now = System.currentTimeMillis();
+        if (firstExchangeFailureTimestamp.getValue() == 0) {
             firstExchangeFailureTimestamp.updateValue(now);
         }
 
@@ -249,7 +261,10 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         sb.append(String.format(" maxProcessingTime=\"%s\"", maxProcessingTime.getValue()));
         sb.append(String.format(" totalProcessingTime=\"%s\"", totalProcessingTime.getValue()));
         sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
-        sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        sb.append(String.format(" meanProcessingTime=\"%s\"", calculateMeanProcessingTime()));
+        sb.append(String.format(" medianProcessingTime=\"%s\"", processingTimeHistogram.getValueAtPercentile(50)));
+        sb.append(String.format(" percentile99ProcessingTime=\"%s\"", processingTimeHistogram.getValueAtPercentile(99)));
+        sb.append(String.format(" percentile999ProcessingTime=\"%s\"", processingTimeHistogram.getValueAtPercentile(99.9)));
 
         if (fullStats) {
             sb.append(String.format(" firstExchangeCompletedTimestamp=\"%s\"", dateAsString(firstExchangeCompletedTimestamp.getValue())));
@@ -265,6 +280,12 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return sb.toString();
     }
 
+    private long calculateMeanProcessingTime() {
+        // calculate the mean when asked, so we do not need to update it for every exchange
+        long count = exchangesCompleted.getValue();
+        return count > 0 ? totalProcessingTime.getValue() / count : 0;
+    }
+
     private static String dateAsString(long value) {
         if (value == 0) {
             return "";
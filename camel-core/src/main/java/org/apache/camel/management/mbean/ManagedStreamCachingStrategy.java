@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedStreamCachingStrategyMBean;
+import org.apache.camel.spi.StreamCachingStrategy;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed StreamCachingStrategy")
+public class ManagedStreamCachingStrategy extends ManagedService implements ManagedStreamCachingStrategyMBean {
+    private final StreamCachingStrategy strategy;
+
+    public ManagedStreamCachingStrategy(CamelContext context, StreamCachingStrategy strategy) {
+        super(context, strategy);
+        this.strategy = strategy;
+    }
+
+    public StreamCachingStrategy getStrategy() {
+        return strategy;
+    }
+
+    public long getMemoryBudget() {
+        return strategy.getMemoryBudget();
+    }
+
+    public void setMemoryBudget(long memoryBudget) {
+        strategy.setMemoryBudget(memoryBudget);
+    }
+
+    public int getBufferSize() {
+        return strategy.getBufferSize();
+    }
+
+    public long getMemoryUsed() {
+        return strategy.getMemoryUsed();
+    }
+
+    public long getHeapUsed() {
+        return strategy.getHeapUsed();
+    }
+
+    public long getSpoolUsed() {
+        return strategy.getSpoolUsed();
+    }
+
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedTimerServiceMBean;
+import org.apache.camel.spi.TimerService;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed TimerService")
+public class ManagedTimerService extends ManagedService implements ManagedTimerServiceMBean {
+    private final TimerService timerService;
+
+    public ManagedTimerService(CamelContext context, TimerService timerService) {
+        super(context, timerService);
+        this.timerService = timerService;
+    }
+
+    public TimerService getTimerService() {
+        return timerService;
+    }
+
+    public long getTickDuration() {
+        return timerService.getTickDuration();
+    }
+
+    public int getWheelSize() {
+        return timerService.getWheelSize();
+    }
+
+    public int getPendingTasks() {
+        return timerService.getPendingTasks();
+    }
+
+    public long getScheduledTasks() {
+        return timerService.getScheduledTasks();
+    }
+
+    public long getExecutedTasks() {
+        return timerService.getExecutedTasks();
+    }
+
+    public long getCancelledTasks() {
+        return timerService.getCancelledTasks();
+    }
+
+}
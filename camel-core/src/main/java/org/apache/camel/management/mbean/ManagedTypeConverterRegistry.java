@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedTypeConverterRegistryMBean;
+import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed TypeConverterRegistry")
+public class ManagedTypeConverterRegistry extends ManagedService implements ManagedTypeConverterRegistryMBean {
+    private final BaseTypeConverterRegistry registry;
+
+    public ManagedTypeConverterRegistry(CamelContext context, BaseTypeConverterRegistry registry) {
+        super(context, registry);
+        this.registry = registry;
+    }
+
+    public BaseTypeConverterRegistry getRegistry() {
+        return registry;
+    }
+
+    public Integer getSize() {
+        return registry.size();
+    }
+
+    public Long getHits() {
+        return registry.getHitCounter();
+    }
+
+    public Long getMisses() {
+        return registry.getMissCounter();
+    }
+
+    public Long getFallbacks() {
+        return registry.getFallbackCounter();
+    }
+
+    public boolean isStatisticsEnabled() {
+        return registry.isStatisticsEnabled();
+    }
+
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        registry.setStatisticsEnabled(statisticsEnabled);
+    }
+
+    public void resetStatistics() {
+        registry.resetStatistics();
+    }
+
+}
@@ -16,8 +16,15 @@
  */
 package org.apache.camel.management.mbean;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.util.concurrent.StripedCounter;
+
 /**
  * Default implementation of {@link Statistic}
+ * <p/>
+ * The statistic is lock-free. Counters use a {@link StripedCounter}, so concurrent updates do not
+ * contend, and the other modes are updated using compare and set.
  */
 public class Statistic {
 
@@ -42,8 +49,8 @@ public class Statistic {
     }
 
     private final UpdateMode updateMode;
-    private long value;
-    private long updateCount;
+    private final StripedCounter counter;
+    private final AtomicLong value = new AtomicLong();
 
     /**
      * Instantiates a new statistic.
@@ -54,58 +61,81 @@ public class Statistic {
      */
     public Statistic(String name, Object owner, UpdateMode updateMode) {
         this.updateMode = updateMode;
+        this.counter = updateMode == UpdateMode.COUNTER ? new StripedCounter() : null;
+        reset();
     }
 
-    public synchronized void updateValue(long newValue) {
+    public void updateValue(long newValue) {
         switch (this.updateMode) {
         case COUNTER:
-            this.value += newValue;
+            this.counter.add(newValue);
             break;
         case VALUE:
-            this.value = newValue;
+            this.value.set(newValue);
             break;
         case DIFFERENCE:
-            this.value -= newValue;
-            if (this.value < 0) {
-                this.value = -this.value;
+            while (true) {
+                long current = this.value.get();
+                long update = Math.abs(current - newValue);
+                if (this.value.compareAndSet(current, update)) {
+                    break;
+                }
             }
             break;
         case MAXIMUM:
-            // initialize value at first time
-            if (this.updateCount == 0 || this.value < newValue) {
-                this.value = newValue;
+            // the initial value is Long.MIN_VALUE so the first update always wins
+            while (true) {
+                long current = this.value.get();
+                if (current >= newValue || this.value.compareAndSet(current, newValue)) {
+                    break;
+                }
             }
             break;
         case MINIMUM:
-            // initialize value at first time
-            if (this.updateCount == 0 || this.value > newValue) {
-                this.value = newValue;
+            // the initial value is Long.MAX_VALUE so the first update always wins
+            while (true) {
+                long current = this.value.get();
+                if (current <= newValue || this.value.compareAndSet(current, newValue)) {
+                    break;
+                }
             }
             break;
         default:
         }
-        this.updateCount++;
     }
 
-    public synchronized void increment() {
+    public void increment() {
         updateValue(1);
     }
 
-    public synchronized long getValue() {
-        return this.value;
-    }
-
-    public synchronized long getUpdateCount() {
-        return this.updateCount;
+    public long getValue() {
+        if (this.updateMode == UpdateMode.COUNTER) {
+            return this.counter.sum();
+        }
+        long answer = this.value.get();
+        if ((this.updateMode == UpdateMode.MAXIMUM && answer == Long.MIN_VALUE)
+                || (this.updateMode == UpdateMode.MINIMUM && answer == Long.MAX_VALUE)) {
+            // not updated yet
+            return 0;
+        }
+        return answer;
     }
 
-    public synchronized void reset() {
-        this.value = 0;
-        this.updateCount = 0;
+    public void reset() {
+        if (this.counter != null) {
+            this.counter.reset();
+        }
+        if (this.updateMode == UpdateMode.MAXIMUM) {
+            this.value.set(Long.MIN_VALUE);
+        } else if (this.updateMode == UpdateMode.MINIMUM) {
+            this.value.set(Long.MAX_VALUE);
+        } else {
+            this.value.set(0);
+        }
     }
 
     public String toString() {
-        return "" + value;
+        return "" + getValue();
     }
 
 }
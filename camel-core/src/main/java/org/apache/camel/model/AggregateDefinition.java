@@ -100,6 +100,8 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     private Boolean discardOnCompletionTimeout;
     @XmlAttribute
     private Boolean forceCompletionOnStop;
+    @XmlAttribute
+    private Integer lockStripes;
 
     public AggregateDefinition() {
     }
@@ -234,6 +236,9 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         if (getForceCompletionOnStop() != null) {
             answer.setForceCompletionOnStop(getForceCompletionOnStop());
         }
+        if (getLockStripes() != null) {
+            answer.setLockStripes(getLockStripes());
+        }
 
         return answer;
     }
@@ -712,6 +717,30 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         this.forceCompletionOnStop = forceCompletionOnStop;
     }
 
+    /**
+     * Sets the number of locks the correlation keys are striped across, which allows exchanges
+     * with different correlation keys to be aggregated in parallel.
+     * <p/>
+     * Exchanges with the same correlation key are always aggregated one at a time.
+     * The {@link AggregationRepository} and {@link AggregationStrategy} in use must support
+     * aggregating different correlation keys concurrently.
+     *
+     * @param lockStripes the number of locks, is by default <tt>1</tt>
+     * @return builder
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        setLockStripes(lockStripes);
+        return this;
+    }
+
+    public Integer getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(Integer lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     /**
      * Sending the aggregated output in parallel
      *
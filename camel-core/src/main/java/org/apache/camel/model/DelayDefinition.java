@@ -78,8 +78,9 @@ public class DelayDefinition extends ExpressionNode implements ExecutorServiceAw
         Processor childProcessor = this.createChildProcessor(routeContext, false);
         Expression delay = createAbsoluteTimeDelayExpression(routeContext);
 
-        boolean shutdownThreadPool = ProcessorDefinitionHelper.willCreateNewThreadPool(routeContext, this, isAsyncDelayed());
-        ScheduledExecutorService threadPool = ProcessorDefinitionHelper.getConfiguredScheduledExecutorService(routeContext, "Delay", this, isAsyncDelayed());
+        // use the shared timer service unless a thread pool has been configured
+        boolean shutdownThreadPool = ProcessorDefinitionHelper.willCreateNewThreadPool(routeContext, this, false);
+        ScheduledExecutorService threadPool = ProcessorDefinitionHelper.getConfiguredScheduledExecutorService(routeContext, "Delay", this, false);
 
         Delayer answer = new Delayer(routeContext.getCamelContext(), childProcessor, delay, threadPool, shutdownThreadPool);
         if (getAsyncDelayed() != null) {
@@ -131,6 +132,9 @@ public class DelayDefinition extends ExpressionNode implements ExecutorServiceAw
 
     /**
      * Enables asynchronous delay which means the thread will <b>noy</b> block while delaying.
+     * <p/>
+     * The delayed exchanges are scheduled on the {@link org.apache.camel.spi.TimerService} shared in the
+     * {@link org.apache.camel.CamelContext}, unless a thread pool is configured.
      *
      * @return the builder
      */
@@ -31,14 +31,20 @@ import javax.xml.bind.annotation.XmlRootElement;
 
 import org.apache.camel.Expression;
 import org.apache.camel.Processor;
+import org.apache.camel.model.loadbalancer.CircuitBreakerLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastInflightLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.TopicLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.WeightedLoadBalancerDefinition;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
 import org.apache.camel.processor.loadbalancer.FailOverLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LatencyAwareLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LeastInflightLoadBalancer;
 import org.apache.camel.processor.loadbalancer.LoadBalancer;
 import org.apache.camel.processor.loadbalancer.RandomLoadBalancer;
 import org.apache.camel.processor.loadbalancer.RoundRobinLoadBalancer;
@@ -66,7 +72,10 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
             @XmlElement(required = false, name = "roundRobin", type = RoundRobinLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "sticky", type = StickyLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "topic", type = TopicLoadBalancerDefinition.class),
-            @XmlElement(required = false, name = "weighted", type = WeightedLoadBalancerDefinition.class)}
+            @XmlElement(required = false, name = "weighted", type = WeightedLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "leastInflight", type = LeastInflightLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "latencyAware", type = LatencyAwareLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "circuitBreaker", type = CircuitBreakerLoadBalancerDefinition.class)}
     )
     private LoadBalancerDefinition loadBalancerType;
     @XmlElementRef
@@ -284,6 +293,39 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
         return this;
     }
 
+    /**
+     * Uses least in-flight load balancer, which chooses the processor currently processing the fewest exchanges
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastInflight() {
+        setLoadBalancerType(new LoadBalancerDefinition(new LeastInflightLoadBalancer()));
+        return this;
+    }
+
+    /**
+     * Uses latency aware load balancer, which steers away from processors which is slow to process exchanges
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition latencyAware() {
+        setLoadBalancerType(new LoadBalancerDefinition(new LatencyAwareLoadBalancer()));
+        return this;
+    }
+
+    /**
+     * Uses circuit breaker load balancer, which takes failing processors out of rotation and probes them
+     * again after a period
+     *
+     * @param threshold      number of exchanges which must fail in a row before the processor is taken out of rotation
+     * @param halfOpenAfter  the period in millis before the processor is probed again
+     * @return the builder
+     */
+    public LoadBalanceDefinition circuitBreaker(int threshold, long halfOpenAfter) {
+        setLoadBalancerType(new LoadBalancerDefinition(new CircuitBreakerLoadBalancer(threshold, halfOpenAfter)));
+        return this;
+    }
+
     /**
      * Uses topic load balancer
      * 
@@ -42,6 +42,8 @@ public class RedeliveryPolicyDefinition {
     @XmlAttribute
     private String asyncDelayedRedelivery;
     @XmlAttribute
+    private String maximumPendingRedeliveries;
+    @XmlAttribute
     private String backOffMultiplier;
     @XmlAttribute
     private String useExponentialBackOff;
@@ -95,6 +97,9 @@ public class RedeliveryPolicyDefinition {
                     answer.asyncDelayedRedelivery();
                 }
             }
+            if (maximumPendingRedeliveries != null) {
+                answer.setMaximumPendingRedeliveries(CamelContextHelper.parseInteger(context, maximumPendingRedeliveries));
+            }
             if (retriesExhaustedLogLevel != null) {
                 answer.setRetriesExhaustedLogLevel(retriesExhaustedLogLevel);
             }
@@ -165,6 +170,27 @@ public class RedeliveryPolicyDefinition {
         return this;
     }
 
+    /**
+     * Sets the maximum number of asynchronous delayed redeliveries which can be pending
+     *
+     * @param maximumPendingRedeliveries  the value
+     * @return the builder
+     */
+    public RedeliveryPolicyDefinition maximumPendingRedeliveries(int maximumPendingRedeliveries) {
+        return maximumPendingRedeliveries(Integer.toString(maximumPendingRedeliveries));
+    }
+
+    /**
+     * Sets the maximum number of asynchronous delayed redeliveries which can be pending (supports property placeholders)
+     *
+     * @param maximumPendingRedeliveries  the value
+     * @return the builder
+     */
+    public RedeliveryPolicyDefinition maximumPendingRedeliveries(String maximumPendingRedeliveries) {
+        setMaximumPendingRedeliveries(maximumPendingRedeliveries);
+        return this;
+    }
+
     /**
      * Sets the back off multiplier
      *
@@ -521,6 +547,14 @@ public class RedeliveryPolicyDefinition {
         this.asyncDelayedRedelivery = asyncDelayedRedelivery;
     }
 
+    public String getMaximumPendingRedeliveries() {
+        return maximumPendingRedeliveries;
+    }
+
+    public void setMaximumPendingRedeliveries(String maximumPendingRedeliveries) {
+        this.maximumPendingRedeliveries = maximumPendingRedeliveries;
+    }
+
     public String getBackOffMultiplier() {
         return backOffMultiplier;
     }
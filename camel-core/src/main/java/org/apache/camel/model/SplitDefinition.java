@@ -63,6 +63,10 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
     private Processor onPrepare;
     @XmlAttribute
     private Boolean shareUnitOfWork;
+    @XmlAttribute
+    private Integer windowSize;
+    @XmlAttribute
+    private Boolean streamingOrdered;
 
     public SplitDefinition() {
     }
@@ -111,6 +115,10 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         Splitter answer = new Splitter(routeContext.getCamelContext(), exp, childProcessor, aggregationStrategy,
                             isParallelProcessing(), threadPool, shutdownThreadPool, isStreaming(), isStopOnException(),
                             timeout, onPrepare, isShareUnitOfWork());
+        if (getWindowSize() != null) {
+            answer.setWindowSize(getWindowSize());
+        }
+        answer.setStreamingOrdered(isStreamingOrdered());
         if (isShareUnitOfWork()) {
             // wrap answer in a sub unit of work, since we share the unit of work
             return new SubUnitOfWorkProcessor(answer);
@@ -247,6 +255,32 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         return this;
     }
 
+    /**
+     * Sets the maximum number of sub messages which can be pending when using parallel processing.
+     * <p/>
+     * When the limit is reached the splitter will wait for a sub message to complete before
+     * splitting the next, which keeps the memory usage bounded when splitting big payloads in streaming mode.
+     * The default is <tt>0</tt> which is unbounded.
+     *
+     * @param windowSize the maximum number of pending sub messages
+     * @return the builder
+     */
+    public SplitDefinition windowSize(int windowSize) {
+        setWindowSize(windowSize);
+        return this;
+    }
+
+    /**
+     * Aggregates the sub messages in the same order as they was split, when using parallel processing
+     * in streaming mode. By default the sub messages is aggregated in the order they complete.
+     *
+     * @return the builder
+     */
+    public SplitDefinition streamingOrdered() {
+        setStreamingOrdered(true);
+        return this;
+    }
+
     // Properties
     //-------------------------------------------------------------------------
 
@@ -360,4 +394,24 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
     public boolean isShareUnitOfWork() {
         return shareUnitOfWork != null && shareUnitOfWork;
     }
+
+    public Integer getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(Integer windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public Boolean getStreamingOrdered() {
+        return streamingOrdered;
+    }
+
+    public void setStreamingOrdered(Boolean streamingOrdered) {
+        this.streamingOrdered = streamingOrdered;
+    }
+
+    public boolean isStreamingOrdered() {
+        return streamingOrdered != null && streamingOrdered;
+    }
 }
@@ -30,6 +30,8 @@ import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.model.language.ExpressionDefinition;
 import org.apache.camel.processor.Throttler;
 import org.apache.camel.spi.RouteContext;
+import org.apache.camel.spi.ThrottlerRateState;
+import org.apache.camel.util.CamelContextHelper;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -52,6 +54,10 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     private Boolean asyncDelayed;
     @XmlAttribute
     private Boolean callerRunsWhenRejected;
+    @XmlTransient
+    private ThrottlerRateState rateState;
+    @XmlAttribute
+    private String rateStateRef;
     
     public ThrottleDefinition() {
     }
@@ -83,8 +89,9 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     public Processor createProcessor(RouteContext routeContext) throws Exception {
         Processor childProcessor = this.createChildProcessor(routeContext, true);
 
-        boolean shutdownThreadPool = ProcessorDefinitionHelper.willCreateNewThreadPool(routeContext, this, isAsyncDelayed());
-        ScheduledExecutorService threadPool = ProcessorDefinitionHelper.getConfiguredScheduledExecutorService(routeContext, "Throttle", this, isAsyncDelayed());
+        // use the shared timer service unless a thread pool has been configured
+        boolean shutdownThreadPool = ProcessorDefinitionHelper.willCreateNewThreadPool(routeContext, this, false);
+        ScheduledExecutorService threadPool = ProcessorDefinitionHelper.getConfiguredScheduledExecutorService(routeContext, "Throttle", this, false);
 
         // should be default 1000 millis
         long period = getTimePeriodMillis() != null ? getTimePeriodMillis() : 1000L;
@@ -107,6 +114,16 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         } else {
             answer.setCallerRunsWhenRejected(getCallerRunsWhenRejected());
         }
+
+        ThrottlerRateState state = getRateState();
+        if (state == null && getRateStateRef() != null) {
+            state = CamelContextHelper.mandatoryLookup(routeContext.getCamelContext(), getRateStateRef(), ThrottlerRateState.class);
+        }
+        if (state != null) {
+            answer.setRateState(state);
+            // use the id as key so the same throttler on other nodes shares the rate state
+            answer.setRateStateKey(idOrCreate(routeContext.getCamelContext().getNodeIdFactory()));
+        }
         return answer;
     }
 
@@ -158,6 +175,9 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
 
     /**
      * Enables asynchronous delay which means the thread will <b>noy</b> block while delaying.
+     * <p/>
+     * The delayed exchanges are scheduled on the {@link org.apache.camel.spi.TimerService} shared in the
+     * {@link org.apache.camel.CamelContext}, unless a thread pool is configured.
      *
      * @return the builder
      */
@@ -166,6 +186,30 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * Sets the state holding the rate, which can be shared to throttle under one rate budget across many nodes.
+     * <p/>
+     * The throttler is identified in the state by its id, so the id should be set explicit when sharing the state.
+     *
+     * @param rateState the rate state
+     * @return the builder
+     */
+    public ThrottleDefinition rateState(ThrottlerRateState rateState) {
+        setRateState(rateState);
+        return this;
+    }
+
+    /**
+     * Refers to the state holding the rate to lookup in the registry
+     *
+     * @param rateStateRef reference to the rate state
+     * @return the builder
+     */
+    public ThrottleDefinition rateStateRef(String rateStateRef) {
+        setRateStateRef(rateStateRef);
+        return this;
+    }
+
     public ThrottleDefinition executorService(ExecutorService executorService) {
         setExecutorService(executorService);
         return this;
@@ -207,6 +251,22 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         this.callerRunsWhenRejected = callerRunsWhenRejected;
     }
 
+    public ThrottlerRateState getRateState() {
+        return rateState;
+    }
+
+    public void setRateState(ThrottlerRateState rateState) {
+        this.rateState = rateState;
+    }
+
+    public String getRateStateRef() {
+        return rateStateRef;
+    }
+
+    public void setRateStateRef(String rateStateRef) {
+        this.rateStateRef = rateStateRef;
+    }
+
     public ExecutorService getExecutorService() {
         return executorService;
     }
@@ -24,6 +24,7 @@ import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.spi.TimerService;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +33,9 @@ import org.slf4j.LoggerFactory;
  * A useful base class for any processor which provides some kind of throttling
  * or delayed processing.
  * <p/>
- * This implementation will block while waiting.
+ * This implementation will block while waiting, unless <tt>asyncDelayed</tt> is enabled, where the
+ * delayed exchange is scheduled on the given {@link ScheduledExecutorService}, or if none has been given,
+ * on the {@link TimerService} which is shared with the other processors in the {@link CamelContext}.
  * 
  * @version 
  */
@@ -41,6 +44,7 @@ public abstract class DelayProcessorSupport extends DelegateAsyncProcessor {
     private final CamelContext camelContext;
     private final ScheduledExecutorService executorService;
     private final boolean shutdownExecutorService;
+    private TimerService timerService;
     private boolean asyncDelayed;
     private boolean callerRunsWhenRejected = true;
 
@@ -127,7 +131,11 @@ public abstract class DelayProcessorSupport extends DelegateAsyncProcessor {
             try {
                 log.trace("Scheduling delayed task to run in {} millis for exchangeId: {}",
                         delay, exchange.getExchangeId());
-                executorService.schedule(call, delay, TimeUnit.MILLISECONDS);
+                if (executorService != null) {
+                    executorService.schedule(call, delay, TimeUnit.MILLISECONDS);
+                } else {
+                    timerService.schedule(call, delay, TimeUnit.MILLISECONDS);
+                }
                 // tell Camel routing engine we continue routing asynchronous
                 return false;
             } catch (RejectedExecutionException e) {
@@ -223,8 +231,10 @@ public abstract class DelayProcessorSupport extends DelegateAsyncProcessor {
 
     @Override
     protected void doStart() throws Exception {
-        if (isAsyncDelayed()) {
-            ObjectHelper.notNull(executorService, "executorService", this);
+        if (isAsyncDelayed() && executorService == null) {
+            // use the timer service shared in the camel context
+            ObjectHelper.notNull(camelContext, "CamelContext", this);
+            timerService = camelContext.getExecutorServiceManager().getTimerService();
         }
         super.doStart();
     }
@@ -22,18 +22,17 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -49,6 +48,7 @@ import org.apache.camel.Traceable;
 import org.apache.camel.processor.aggregate.AggregationStrategy;
 import org.apache.camel.processor.aggregate.TimeoutAwareAggregationStrategy;
 import org.apache.camel.spi.RouteContext;
+import org.apache.camel.spi.TimerService;
 import org.apache.camel.spi.TracedRouteNodes;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.support.ServiceSupport;
@@ -61,9 +61,7 @@ import org.apache.camel.util.KeyValueHolder;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
 import org.apache.camel.util.StopWatch;
-import org.apache.camel.util.concurrent.AtomicException;
 import org.apache.camel.util.concurrent.AtomicExchange;
-import org.apache.camel.util.concurrent.SubmitOrderedCompletionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -148,10 +146,12 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
     private final boolean stopOnException;
     private final ExecutorService executorService;
     private final boolean shutdownExecutorService;
-    private ExecutorService aggregateExecutorService;
+    private TimerService timerService;
     private final long timeout;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<PreparedErrorHandler, Processor>();
     private final boolean shareUnitOfWork;
+    private int windowSize;
+    private boolean streamingOrdered;
 
     public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors) {
         this(camelContext, processors, null);
@@ -216,7 +216,9 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             if (isParallelProcessing()) {
                 // ensure an executor is set when running in parallel
                 ObjectHelper.notNull(executorService, "executorService", this);
-                doProcessParallel(exchange, result, pairs, isStreaming(), callback);
+                // the parallel tasks complete using callbacks, and the done work is invoked
+                // by the thread which aggregates the last task
+                return doProcessParallel(exchange, result, pairs, isStreaming(), callback);
             } else {
                 sync = doProcessSequential(exchange, result, pairs, callback);
             }
@@ -240,261 +242,284 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return true;
     }
 
-    protected void doProcessParallel(final Exchange original, final AtomicExchange result, final Iterable<ProcessorExchangePair> pairs,
-                                     final boolean streaming, final AsyncCallback callback) throws Exception {
+    /**
+     * Processes the exchanges in parallel.
+     * <p/>
+     * The tasks are submitted to the thread pool and complete using {@link AsyncCallback}s, where the thread
+     * completing a task also aggregates it. No thread is blocked waiting for the tasks to complete.
+     *
+     * @return <tt>true</tt> if all the tasks was completed and aggregated by the caller thread,
+     *         <tt>false</tt> if the callback will be invoked asynchronously
+     */
+    protected boolean doProcessParallel(final Exchange original, final AtomicExchange result, final Iterable<ProcessorExchangePair> pairs,
+                                        final boolean streaming, final AsyncCallback callback) throws Exception {
 
         ObjectHelper.notNull(executorService, "ExecutorService", this);
-        ObjectHelper.notNull(aggregateExecutorService, "AggregateExecutorService", this);
-
-        final CompletionService<Exchange> completion;
-        if (streaming) {
-            // execute tasks in parallel+streaming and aggregate in the order they are finished (out of order sequence)
-            completion = new ExecutorCompletionService<Exchange>(executorService);
-        } else {
-            // execute tasks in parallel and aggregate in the order the tasks are submitted (in order sequence)
-            completion = new SubmitOrderedCompletionService<Exchange>(executorService);
+        if (timeout > 0) {
+            ObjectHelper.notNull(timerService, "TimerService", this);
         }
 
-        final AtomicInteger total = new AtomicInteger(0);
-        final Iterator<ProcessorExchangePair> it = pairs.iterator();
-
-        if (it.hasNext()) {
-            // when parallel then aggregate on the fly
-            final AtomicBoolean running = new AtomicBoolean(true);
-            final AtomicBoolean allTasksSubmitted = new AtomicBoolean();
-            final CountDownLatch aggregationOnTheFlyDone = new CountDownLatch(1);
-            final AtomicException executionException = new AtomicException();
-
-            // issue task to execute in separate thread so it can aggregate on-the-fly
-            // while we submit new tasks, and those tasks complete concurrently
-            // this allows us to optimize work and reduce memory consumption
-            final AggregateOnTheFlyTask aggregateOnTheFlyTask = new AggregateOnTheFlyTask(result, original, total, completion, running,
-                    aggregationOnTheFlyDone, allTasksSubmitted, executionException);
-            final AtomicBoolean aggregationTaskSubmitted = new AtomicBoolean();
-
-            LOG.trace("Starting to submit parallel tasks");
-
-            while (it.hasNext()) {
-                final ProcessorExchangePair pair = it.next();
-                final Exchange subExchange = pair.getExchange();
-                updateNewExchange(subExchange, total.intValue(), pairs, it);
-
-                completion.submit(new Callable<Exchange>() {
-                    public Exchange call() throws Exception {
-                        // only start the aggregation task when the task is being executed to avoid staring
-                        // the aggregation task to early and pile up too many threads
-                        if (aggregationTaskSubmitted.compareAndSet(false, true)) {
-                            // but only submit the task once
-                            aggregateExecutorService.submit(aggregateOnTheFlyTask);
-                        }
+        // aggregate in the order the tasks are submitted (in order sequence), unless parallel+streaming
+        // where we aggregate in the order they are finished (out of order sequence)
+        boolean ordered = !streaming || streamingOrdered;
+        ParallelAggregator aggregator = new ParallelAggregator(original, result, pairs, ordered, !streaming, callback);
 
-                        if (!running.get()) {
-                            // do not start processing the task if we are not running
-                            return subExchange;
-                        }
+        LOG.trace("Starting to submit parallel tasks");
+        return aggregator.start();
+    }
 
-                        try {
-                            doProcessParallel(pair);
-                        } catch (Throwable e) {
-                            subExchange.setException(e);
-                        }
+    /**
+     * Aggregates the completed tasks when using parallel processing.
+     * <p/>
+     * Each task signals its completion using a callback, and the completing thread aggregates the task on-the-fly.
+     * The submitting of tasks, aggregation and timeout handling is serialized by the thread which first signals
+     * work to do using the <tt>pending</tt> counter, where other threads just add their work and increment the counter.
+     * This ensures the {@link AggregationStrategy} is invoked by one thread at a time without any threads waiting
+     * for each other.
+     * <p/>
+     * The thread aggregating the last task (or detects a timeout or stop on exception) invokes the done work and
+     * continues routing the original exchange.
+     */
+    private final class ParallelAggregator {
 
-                        // Decide whether to continue with the multicast or not; similar logic to the Pipeline
-                        Integer number = getExchangeIndex(subExchange);
-                        boolean continueProcessing = PipelineHelper.continueProcessing(subExchange, "Parallel processing failed for number " + number, LOG);
-                        if (stopOnException && !continueProcessing) {
-                            // signal to stop running
-                            running.set(false);
-                            // throw caused exception
-                            if (subExchange.getException() != null) {
-                                // wrap in exception to explain where it failed
-                                throw new CamelExchangeException("Parallel processing failed for number " + number, subExchange, subExchange.getException());
-                            }
-                        }
+        private final Exchange original;
+        private final AtomicExchange result;
+        private final Iterable<ProcessorExchangePair> pairs;
+        private final Iterator<ProcessorExchangePair> it;
+        private final boolean ordered;
+        private final boolean exhaust;
+        private final AsyncCallback callback;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final AtomicReference<Exchange> stoppedExchange = new AtomicReference<Exchange>();
+        private final ConcurrentMap<Integer, Exchange> completedInOrder;
+        private final Queue<Exchange> completed;
+        private volatile boolean timedOut;
+        private volatile ScheduledFuture<?> timeoutTask;
+        // the following are only accessed by the thread which has signalled work to do
+        private int submitted;
+        private int aggregated;
+        private boolean allTasksSubmitted;
+        private boolean done;
+        private boolean doneSync;
+
+        private ParallelAggregator(Exchange original, AtomicExchange result, Iterable<ProcessorExchangePair> pairs,
+                                   boolean ordered, boolean exhaust, AsyncCallback callback) {
+            this.original = original;
+            this.result = result;
+            this.pairs = pairs;
+            this.it = pairs.iterator();
+            this.ordered = ordered;
+            this.exhaust = exhaust;
+            this.callback = callback;
+            if (ordered) {
+                this.completedInOrder = new ConcurrentHashMap<Integer, Exchange>();
+                this.completed = null;
+            } else {
+                this.completedInOrder = null;
+                this.completed = new ConcurrentLinkedQueue<Exchange>();
+            }
+        }
 
-                        LOG.trace("Parallel processing complete for exchange: {}", subExchange);
-                        return subExchange;
+        private boolean start() {
+            if (timeout > 0) {
+                timeoutTask = timerService.schedule(new Runnable() {
+                    public void run() {
+                        timedOut = true;
+                        drain(false);
                     }
-                });
-
-                total.incrementAndGet();
+                }, timeout, TimeUnit.MILLISECONDS);
             }
 
-            // signal all tasks has been submitted
-            LOG.trace("Signaling that all {} tasks has been submitted.", total.get());
-            allTasksSubmitted.set(true);
-
-            // its to hard to do parallel async routing so we let the caller thread be synchronously
-            // and have it pickup the replies and do the aggregation (eg we use a latch to wait)
-            // wait for aggregation to be done
-            LOG.debug("Waiting for on-the-fly aggregation to complete aggregating {} responses for exchangeId: {}", total.get(), original.getExchangeId());
-            aggregationOnTheFlyDone.await();
+            drain(true);
+            // the done work has been invoked synchronously if the caller thread aggregated the last task
+            return doneSync;
+        }
 
-            // did we fail for whatever reason, if so throw that caused exception
-            if (executionException.get() != null) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Parallel processing failed due {}", executionException.get().getMessage());
+        private void onTaskDone(int sequence, Exchange subExchange) {
+            // Decide whether to continue with the multicast or not; similar logic to the Pipeline
+            Integer number = getExchangeIndex(subExchange);
+            boolean continueProcessing = PipelineHelper.continueProcessing(subExchange, "Parallel processing failed for number " + number, LOG);
+            if (stopOnException && !continueProcessing) {
+                // signal to stop running, and let the first failed task be the one which is reported
+                if (stoppedExchange.compareAndSet(null, subExchange)) {
+                    running.set(false);
                 }
-                throw executionException.get();
             }
-        }
-
-        // no everything is okay so we are done
-        LOG.debug("Done parallel processing {} exchanges", total);
-    }
 
-    /**
-     * Task to aggregate on-the-fly for completed tasks when using parallel processing.
-     * <p/>
-     * This ensures lower memory consumption as we do not need to keep all completed tasks in memory
-     * before we perform aggregation. Instead this separate thread will run and aggregate when new
-     * completed tasks is done.
-     * <p/>
-     * The logic is fairly complex as this implementation has to keep track how far it got, and also
-     * signal back to the <i>main</t> thread when its done, so the <i>main</t> thread can continue
-     * processing when the entire splitting is done.
-     */
-    private final class AggregateOnTheFlyTask implements Runnable {
-
-        private final AtomicExchange result;
-        private final Exchange original;
-        private final AtomicInteger total;
-        private final CompletionService<Exchange> completion;
-        private final AtomicBoolean running;
-        private final CountDownLatch aggregationOnTheFlyDone;
-        private final AtomicBoolean allTasksSubmitted;
-        private final AtomicException executionException;
-
-        private AggregateOnTheFlyTask(AtomicExchange result, Exchange original, AtomicInteger total,
-                                      CompletionService<Exchange> completion, AtomicBoolean running,
-                                      CountDownLatch aggregationOnTheFlyDone, AtomicBoolean allTasksSubmitted,
-                                      AtomicException executionException) {
-            this.result = result;
-            this.original = original;
-            this.total = total;
-            this.completion = completion;
-            this.running = running;
-            this.aggregationOnTheFlyDone = aggregationOnTheFlyDone;
-            this.allTasksSubmitted = allTasksSubmitted;
-            this.executionException = executionException;
+            LOG.trace("Parallel processing complete for exchange: {}", subExchange);
+            if (ordered) {
+                completedInOrder.put(sequence, subExchange);
+            } else {
+                completed.add(subExchange);
+            }
+            drain(false);
         }
 
-        public void run() {
-            LOG.trace("Aggregate on the fly task started for exchangeId: {}", original.getExchangeId());
+        private void drain(boolean caller) {
+            if (pending.getAndIncrement() > 0) {
+                // another thread is working, and will pickup our work as well
+                return;
+            }
 
-            try {
-                aggregateOnTheFly();
-            } catch (Throwable e) {
-                if (e instanceof Exception) {
-                    executionException.set((Exception) e);
-                } else {
-                    executionException.set(ObjectHelper.wrapRuntimeCamelException(e));
+            int missed = 1;
+            while (missed > 0) {
+                if (!done) {
+                    try {
+                        doDrain(caller);
+                    } catch (Throwable e) {
+                        // submitting a task or the aggregation failed
+                        original.setException(e);
+                        done(null, caller);
+                    }
                 }
-            } finally {
-                // must signal we are done so the latch can open and let the other thread continue processing
-                LOG.debug("Signaling we are done aggregating on the fly for exchangeId: {}", original.getExchangeId());
-                LOG.trace("Aggregate on the fly task done for exchangeId: {}", original.getExchangeId());
-                aggregationOnTheFlyDone.countDown();
+                missed = pending.addAndGet(-missed);
             }
         }
 
-        private void aggregateOnTheFly() throws InterruptedException, ExecutionException {
-            boolean timedOut = false;
-            boolean stoppedOnException = false;
-            final StopWatch watch = new StopWatch();
-            int aggregated = 0;
-            boolean done = false;
-            // not a for loop as on the fly may still run
-            while (!done) {
-                // check if we have already aggregate everything
-                if (allTasksSubmitted.get() && aggregated >= total.get()) {
-                    LOG.debug("Done aggregating {} exchanges on the fly.", aggregated);
+        private void doDrain(boolean caller) throws Exception {
+            aggregateCompleted();
+
+            while (!isStopped() && !allTasksSubmitted) {
+                if (windowSize > 0 && submitted - aggregated >= windowSize) {
+                    // the window is full, so a completing task will submit the next task when it has been aggregated
+                    break;
+                }
+                if (!it.hasNext()) {
+                    // signal all tasks has been submitted
+                    LOG.trace("Signaling that all {} tasks has been submitted.", submitted);
+                    allTasksSubmitted = true;
                     break;
                 }
+                submitNext();
+                // aggregate on-the-fly while submitting tasks to reduce memory consumption
+                aggregateCompleted();
+            }
 
-                Future<Exchange> future;
-                if (timedOut) {
-                    // we are timed out but try to grab if some tasks has been completed
-                    // poll will return null if no tasks is present
-                    future = completion.poll();
-                    LOG.trace("Polled completion task #{} after timeout to grab already completed tasks: {}", aggregated, future);
-                } else if (timeout > 0) {
-                    long left = timeout - watch.taken();
-                    if (left < 0) {
-                        left = 0;
+            if (stoppedExchange.get() != null) {
+                doStopOnException(caller);
+            } else if (timedOut) {
+                doTimeout(caller);
+            } else if (allTasksSubmitted && aggregated >= submitted) {
+                LOG.debug("Done aggregating {} exchanges on the fly.", aggregated);
+                done(result.get(), caller);
+            }
+        }
+
+        private boolean isStopped() {
+            return timedOut || stoppedExchange.get() != null;
+        }
+
+        private void submitNext() {
+            final ProcessorExchangePair pair = it.next();
+            final Exchange subExchange = pair.getExchange();
+            final int sequence = submitted;
+            updateNewExchange(subExchange, sequence, pairs, it);
+
+            executorService.submit(new Runnable() {
+                public void run() {
+                    if (!running.get()) {
+                        // do not start processing the task if we are not running
+                        return;
                     }
-                    LOG.trace("Polling completion task #{} using timeout {} millis.", aggregated, left);
-                    future = completion.poll(left, TimeUnit.MILLISECONDS);
-                } else {
-                    LOG.trace("Polling completion task #{}", aggregated);
-                    // we must not block so poll every second
-                    future = completion.poll(1, TimeUnit.SECONDS);
-                    if (future == null) {
-                        // and continue loop which will recheck if we are done
-                        continue;
+
+                    try {
+                        doProcessParallel(pair, new AsyncCallback() {
+                            public void done(boolean doneSync) {
+                                onTaskDone(sequence, subExchange);
+                            }
+                        });
+                    } catch (Throwable e) {
+                        subExchange.setException(e);
+                        onTaskDone(sequence, subExchange);
                     }
                 }
+            });
 
-                if (future == null && timedOut) {
-                    // we are timed out and no more tasks complete so break out
-                    break;
-                } else if (future == null) {
-                    // timeout occurred
-                    AggregationStrategy strategy = getAggregationStrategy(null);
-                    if (strategy instanceof TimeoutAwareAggregationStrategy) {
-                        // notify the strategy we timed out
-                        Exchange oldExchange = result.get();
-                        if (oldExchange == null) {
-                            // if they all timed out the result may not have been set yet, so use the original exchange
-                            oldExchange = original;
-                        }
-                        ((TimeoutAwareAggregationStrategy) strategy).timeout(oldExchange, aggregated, total.intValue(), timeout);
-                    } else {
-                        // log a WARN we timed out since it will not be aggregated and the Exchange will be lost
-                        LOG.warn("Parallel processing timed out after {} millis for number {}. This task will be cancelled and will not be aggregated.", timeout, aggregated);
-                    }
-                    LOG.debug("Timeout occurred after {} millis for number {} task.", timeout, aggregated);
-                    timedOut = true;
+            submitted++;
+        }
 
-                    // mark that index as timed out, which allows us to try to retrieve
-                    // any already completed tasks in the next loop
-                    if (completion instanceof SubmitOrderedCompletionService) {
-                        ((SubmitOrderedCompletionService<?>) completion).timeoutTask();
-                    }
-                } else {
-                    // there is a result to aggregate
-                    Exchange subExchange = future.get();
+        private void aggregateCompleted() {
+            Exchange subExchange;
+            if (ordered) {
+                while ((subExchange = completedInOrder.remove(aggregated)) != null) {
+                    aggregate(subExchange);
+                }
+            } else {
+                while ((subExchange = completed.poll()) != null) {
+                    aggregate(subExchange);
+                }
+            }
+        }
 
-                    // Decide whether to continue with the multicast or not; similar logic to the Pipeline
-                    Integer number = getExchangeIndex(subExchange);
-                    boolean continueProcessing = PipelineHelper.continueProcessing(subExchange, "Parallel processing failed for number " + number, LOG);
-                    if (stopOnException && !continueProcessing) {
-                        // we want to stop on exception and an exception or failure occurred
-                        // this is similar to what the pipeline does, so we should do the same to not surprise end users
-                        // so we should set the failed exchange as the result and break out
-                        result.set(subExchange);
-                        stoppedOnException = true;
-                        break;
-                    }
+        private void aggregate(Exchange subExchange) {
+            aggregated++;
+            // we got a result so aggregate it
+            AggregationStrategy strategy = getAggregationStrategy(subExchange);
+            doAggregate(strategy, result, subExchange);
+        }
+
+        private void doStopOnException(boolean caller) {
+            // we want to stop on exception and an exception or failure occurred
+            Exchange subExchange = stoppedExchange.get();
+            LOG.debug("Cancelling tasks due stopOnException.");
 
-                    // we got a result so aggregate it
-                    AggregationStrategy strategy = getAggregationStrategy(subExchange);
-                    doAggregate(strategy, result, subExchange);
+            if (subExchange.getException() != null) {
+                // wrap in exception to explain where it failed, and use the same exception hierarchy
+                // as if the task was executed using a future
+                Integer number = getExchangeIndex(subExchange);
+                CamelExchangeException cause = new CamelExchangeException("Parallel processing failed for number " + number, subExchange, subExchange.getException());
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Parallel processing failed due {}", cause.getMessage());
                 }
+                original.setException(new ExecutionException(cause));
+                done(null, caller);
+            } else {
+                // this is similar to what the pipeline does, so we should do the same to not surprise end users
+                // so we should set the failed exchange as the result and be done
+                result.set(subExchange);
+                done(subExchange, caller);
+            }
+        }
 
+        private void doTimeout(boolean caller) {
+            AggregationStrategy strategy = getAggregationStrategy(null);
+            if (strategy instanceof TimeoutAwareAggregationStrategy) {
+                // notify the strategy we timed out
+                Exchange oldExchange = result.get();
+                if (oldExchange == null) {
+                    // if they all timed out the result may not have been set yet, so use the original exchange
+                    oldExchange = original;
+                }
+                ((TimeoutAwareAggregationStrategy) strategy).timeout(oldExchange, aggregated, submitted, timeout);
+            } else {
+                // log a WARN we timed out since it will not be aggregated and the Exchange will be lost
+                LOG.warn("Parallel processing timed out after {} millis for number {}. This task will be cancelled and will not be aggregated.", timeout, aggregated);
+            }
+            LOG.debug("Timeout occurred after {} millis for number {} task.", timeout, aggregated);
+
+            if (ordered) {
+                // skip the task which timed out, and grab the tasks next in line which has already been completed
                 aggregated++;
+                aggregateCompleted();
             }
 
-            if (timedOut || stoppedOnException) {
-                if (timedOut) {
-                    LOG.debug("Cancelling tasks due timeout after {} millis.", timeout);
-                }
-                if (stoppedOnException) {
-                    LOG.debug("Cancelling tasks due stopOnException.");
-                }
-                // cancel tasks as we timed out (its safe to cancel done tasks)
-                running.set(false);
+            LOG.debug("Cancelling tasks due timeout after {} millis.", timeout);
+            done(result.get(), caller);
+        }
+
+        private void done(Exchange subExchange, boolean caller) {
+            done = true;
+            doneSync = caller;
+            // cancel tasks as we are done (its safe to cancel done tasks)
+            running.set(false);
+            ScheduledFuture<?> task = timeoutTask;
+            if (task != null) {
+                task.cancel(false);
             }
+
+            LOG.debug("Done parallel processing {} exchanges", submitted);
+            doDone(original, subExchange, callback, caller, exhaust);
         }
     }
 
@@ -684,18 +709,15 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return sync;
     }
 
-    private void doProcessParallel(final ProcessorExchangePair pair) throws Exception {
+    private void doProcessParallel(final ProcessorExchangePair pair, final AsyncCallback callback) {
         final Exchange exchange = pair.getExchange();
         Processor processor = pair.getProcessor();
-        Producer producer = pair.getProducer();
+        final Producer producer = pair.getProducer();
 
         TracedRouteNodes traced = exchange.getUnitOfWork() != null ? exchange.getUnitOfWork().getTracedRouteNodes() : null;
 
         // compute time taken if sending to another endpoint
-        StopWatch watch = null;
-        if (producer != null) {
-            watch = new StopWatch();
-        }
+        final StopWatch watch = producer != null ? new StopWatch() : null;
 
         try {
             // prepare tracing starting from a new block
@@ -704,22 +726,26 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             }
 
             // let the prepared process it, remember to begin the exchange pair
-            // we invoke it synchronously as parallel async routing is too hard
             AsyncProcessor async = AsyncProcessorConverterHelper.convert(processor);
             pair.begin();
-            AsyncProcessorHelper.process(async, exchange);
+            AsyncProcessorHelper.process(async, exchange, new AsyncCallback() {
+                public void done(boolean doneSync) {
+                    // we are done with the exchange pair
+                    pair.done();
+                    if (producer != null) {
+                        long timeTaken = watch.stop();
+                        Endpoint endpoint = producer.getEndpoint();
+                        // emit event that the exchange was sent to the endpoint
+                        EventHelper.notifyExchangeSent(exchange.getContext(), exchange, endpoint, timeTaken);
+                    }
+                    callback.done(doneSync);
+                }
+            });
         } finally {
-            pair.done();
             // pop the block so by next round we have the same staring point and thus the tracing looks accurate
             if (traced != null) {
                 traced.popBlock();
             }
-            if (producer != null) {
-                long timeTaken = watch.stop();
-                Endpoint endpoint = producer.getEndpoint();
-                // emit event that the exchange was sent to the endpoint
-                EventHelper.notifyExchangeSent(exchange.getContext(), exchange, endpoint, timeTaken);
-            }
         }
     }
 
@@ -923,28 +949,14 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         if (timeout > 0 && !isParallelProcessing()) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled");
         }
-        if (isParallelProcessing() && aggregateExecutorService == null) {
-            // use unbounded thread pool so we ensure the aggregate on-the-fly task always will have assigned a thread
-            // and run the tasks when the task is submitted. If not then the aggregate task may not be able to run
-            // and signal completion during processing, which would lead to what would appear as a dead-lock or a slow processing
-            String name = getClass().getSimpleName() + "-AggregateTask";
-            aggregateExecutorService = createAggregateExecutorService(name);
+        if (timeout > 0 && timerService == null) {
+            // the completed tasks is aggregated by the threads completing them, so we only need
+            // the shared timer to signal when the timeout occurs
+            timerService = camelContext.getExecutorServiceManager().getTimerService();
         }
         ServiceHelper.startServices(processors);
     }
 
-    /**
-     * Strategy to create the thread pool for the aggregator background task which waits for and aggregates
-     * completed tasks when running in parallel mode.
-     *
-     * @param name  the suggested name for the background thread
-     * @return the thread pool
-     */
-    protected synchronized ExecutorService createAggregateExecutorService(String name) {
-        // use a cached thread pool so we each on-the-fly task has a dedicated thread to process completions as they come in
-        return camelContext.getExecutorServiceManager().newCachedThreadPool(this, name);
-    }
-
     @Override
     protected void doStop() throws Exception {
         ServiceHelper.stopServices(processors, errorHandlers);
@@ -1070,6 +1082,33 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return shareUnitOfWork;
     }
 
+    /**
+     * The maximum number of pending tasks when using parallel processing, where <tt>0</tt> is unbounded.
+     * <p/>
+     * When the window is full, no further exchanges is pulled from the (streaming) iterator until
+     * a task has been completed and aggregated. This keeps the memory footprint constant when
+     * splitting big payloads in streaming mode.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Whether to aggregate in the same order as the exchanges was created, when using parallel processing
+     * in streaming mode. By default the exchanges is aggregated in the order they complete.
+     */
+    public boolean isStreamingOrdered() {
+        return streamingOrdered;
+    }
+
+    public void setStreamingOrdered(boolean streamingOrdered) {
+        this.streamingOrdered = streamingOrdered;
+    }
+
     public List<Processor> next() {
         if (!hasNext()) {
             return null;
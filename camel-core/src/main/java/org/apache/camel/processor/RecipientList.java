@@ -59,7 +59,6 @@ public class RecipientList extends ServiceSupport implements AsyncProcessor {
     private boolean shareUnitOfWork;
     private ExecutorService executorService;
     private boolean shutdownExecutorService;
-    private ExecutorService aggregateExecutorService;
     private AggregationStrategy aggregationStrategy = new UseLatestAggregationStrategy();
 
     public RecipientList(CamelContext camelContext) {
@@ -120,16 +119,7 @@ public class RecipientList extends ServiceSupport implements AsyncProcessor {
 
         RecipientListProcessor rlp = new RecipientListProcessor(exchange.getContext(), producerCache, iter, getAggregationStrategy(),
                 isParallelProcessing(), getExecutorService(), isShutdownExecutorService(),
-                isStreaming(), isStopOnException(), getTimeout(), getOnPrepare(), isShareUnitOfWork()) {
-            @Override
-            protected synchronized ExecutorService createAggregateExecutorService(String name) {
-                // use a shared executor service to avoid creating new thread pools
-                if (aggregateExecutorService == null) {
-                    aggregateExecutorService = super.createAggregateExecutorService("RecipientList-AggregateTask");
-                }
-                return aggregateExecutorService;
-            }
-        };
+                isStreaming(), isStopOnException(), getTimeout(), getOnPrepare(), isShareUnitOfWork());
         rlp.setIgnoreInvalidEndpoints(isIgnoreInvalidEndpoints());
 
         // start the service
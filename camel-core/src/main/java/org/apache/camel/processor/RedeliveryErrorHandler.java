@@ -20,6 +20,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -68,6 +69,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
     protected final CamelLogger logger;
     protected final boolean useOriginalMessagePolicy;
     protected boolean redeliveryEnabled;
+    private final AtomicInteger pendingRedeliveries = new AtomicInteger();
 
     /**
      * Contains the current redelivery data
@@ -109,6 +111,9 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         }
 
         public Boolean call() throws Exception {
+            // the redelivery is no longer pending
+            releasePendingRedelivery();
+
             // prepare for redelivery
             prepareExchangeForRedelivery(exchange, data);
 
@@ -285,7 +290,8 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 if (data.redeliveryDelay > 0) {
                     // okay there is a delay so create a scheduled task to have it executed in the future
 
-                    if (data.currentRedeliveryPolicy.isAsyncDelayedRedelivery() && !exchange.isTransacted()) {
+                    if (data.currentRedeliveryPolicy.isAsyncDelayedRedelivery() && !exchange.isTransacted()
+                            && reservePendingRedelivery(data.currentRedeliveryPolicy)) {
                         // let the RedeliverTask be the logic which tries to redeliver the Exchange which we can used a scheduler to
                         // have it being executed in the future, or immediately
                         // we are continuing asynchronously
@@ -299,12 +305,13 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                         if (log.isTraceEnabled()) {
                             log.trace("Scheduling redelivery task to run in {} millis for exchangeId: {}", data.redeliveryDelay, exchange.getExchangeId());
                         }
-                        executorService.schedule(task, data.redeliveryDelay, TimeUnit.MILLISECONDS);
+                        scheduleRedelivery(task, data.redeliveryDelay);
 
                         return false;
                     } else {
                         // async delayed redelivery was disabled or we are transacted so we must be synchronous
                         // as the transaction manager requires to execute in the same thread context
+                        // (or there is too many pending redeliveries so we should slow down the caller)
                         try {
                             data.currentRedeliveryPolicy.sleep(data.redeliveryDelay);
                         } catch (InterruptedException e) {
@@ -450,22 +457,74 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
             // Note: the data.redeliverFromSync should be kept as is, in case it was enabled previously
             // to ensure the callback will continue routing from where we left
             AsyncRedeliveryTask task = new AsyncRedeliveryTask(exchange, callback, data);
+            // we are already asynchronous so the redelivery is always pending, even if above the maximum
+            pendingRedeliveries.incrementAndGet();
 
             // calculate the redelivery delay
             data.redeliveryDelay = data.currentRedeliveryPolicy.calculateRedeliveryDelay(data.redeliveryDelay, data.redeliveryCounter);
-            if (data.redeliveryDelay > 0) {
-                // schedule the redelivery task
-                if (log.isTraceEnabled()) {
-                    log.trace("Scheduling redelivery task to run in {} millis for exchangeId: {}", data.redeliveryDelay, exchange.getExchangeId());
-                }
-                executorService.schedule(task, data.redeliveryDelay, TimeUnit.MILLISECONDS);
+            if (data.redeliveryDelay > 0 && log.isTraceEnabled()) {
+                log.trace("Scheduling redelivery task to run in {} millis for exchangeId: {}", data.redeliveryDelay, exchange.getExchangeId());
+            }
+            // schedule the redelivery task, or execute it immediately if there is no delay
+            scheduleRedelivery(task, data.redeliveryDelay);
+        }
+    }
+
+    /**
+     * Schedules the pending redelivery task, or executes it immediately if there is no delay.
+     * <p/>
+     * The pending redelivery is released if the task is rejected, as it will never be executed.
+     */
+    private void scheduleRedelivery(AsyncRedeliveryTask task, long delay) {
+        try {
+            if (delay > 0) {
+                executorService.schedule(task, delay, TimeUnit.MILLISECONDS);
             } else {
-                // execute the task immediately
                 executorService.submit(task);
             }
+        } catch (RejectedExecutionException e) {
+            releasePendingRedelivery();
+            throw e;
+        }
+    }
+
+    /**
+     * Reserves a pending asynchronous delayed redelivery, if the maximum pending redeliveries is not reached.
+     *
+     * @param policy the redelivery policy
+     * @return <tt>true</tt> if reserved, <tt>false</tt> if the maximum is reached
+     */
+    protected boolean reservePendingRedelivery(RedeliveryPolicy policy) {
+        int pending = pendingRedeliveries.incrementAndGet();
+        int max = policy.getMaximumPendingRedeliveries();
+        if (max > 0 && pending > max) {
+            pendingRedeliveries.decrementAndGet();
+            log.debug("Maximum pending redeliveries {} reached, will use synchronous delayed redelivery", max);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases a pending asynchronous delayed redelivery, which is either about to be redelivered or never will be.
+     */
+    protected void releasePendingRedelivery() {
+        // the count is reset when stopping, so tasks executed after that must not make it negative
+        while (true) {
+            int pending = pendingRedeliveries.get();
+            if (pending <= 0 || pendingRedeliveries.compareAndSet(pending, pending - 1)) {
+                return;
+            }
         }
     }
 
+    /**
+     * Gets the number of asynchronous delayed redeliveries currently pending
+     */
+    public int getPendingRedeliveryCount() {
+        return pendingRedeliveries.get();
+    }
+
     /**
      * Performs a defensive copy of the exchange if needed
      *
@@ -1070,9 +1129,12 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
 
     @Override
     protected void doStop() throws Exception {
-        // noop, do not stop any services which we only do when shutting down
+        // do not stop any services which we only do when shutting down
         // as the error handler can be context scoped, and should not stop in case
         // a route stops
+
+        // pending redeliveries dropped by the executor service being shutdown are never released
+        pendingRedeliveries.set(0);
     }
 
     @Override
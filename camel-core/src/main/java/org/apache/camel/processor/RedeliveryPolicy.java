@@ -38,6 +38,7 @@ import org.slf4j.LoggerFactory;
  *   <li>redeliveryDelay = 1000L (the initial delay)</li>
  *   <li>maximumRedeliveryDelay = 60 * 1000L</li>
  *   <li>asyncDelayedRedelivery = false</li>
+ *   <li>maximumPendingRedeliveries = 0 (unbounded)</li>
  *   <li>backOffMultiplier = 2</li>
  *   <li>useExponentialBackOff = false</li>
  *   <li>collisionAvoidanceFactor = 0.15d</li>
@@ -96,6 +97,7 @@ public class RedeliveryPolicy implements Cloneable, Serializable {
     protected boolean logRetryAttempted = true;
     protected String delayPattern;
     protected boolean asyncDelayedRedelivery;
+    protected int maximumPendingRedeliveries;
 
     public RedeliveryPolicy() {
     }
@@ -106,6 +108,7 @@ public class RedeliveryPolicy implements Cloneable, Serializable {
             + ", redeliveryDelay=" + redeliveryDelay
             + ", maximumRedeliveryDelay=" + maximumRedeliveryDelay
             + ", asyncDelayedRedelivery=" + asyncDelayedRedelivery
+            + ", maximumPendingRedeliveries=" + maximumPendingRedeliveries
             + ", retriesExhaustedLogLevel=" + retriesExhaustedLogLevel
             + ", retryAttemptedLogLevel=" + retryAttemptedLogLevel
             + ", logRetryAttempted=" + logRetryAttempted
@@ -403,6 +406,16 @@ public class RedeliveryPolicy implements Cloneable, Serializable {
         return this;
     }
 
+    /**
+     * Sets the maximum number of asynchronous delayed redeliveries which can be pending.
+     *
+     * @see #setMaximumPendingRedeliveries(int)
+     */
+    public RedeliveryPolicy maximumPendingRedeliveries(int maximumPendingRedeliveries) {
+        setMaximumPendingRedeliveries(maximumPendingRedeliveries);
+        return this;
+    }
+
     // Properties
     // -------------------------------------------------------------------------
 
@@ -647,4 +660,22 @@ public class RedeliveryPolicy implements Cloneable, Serializable {
     public void setAsyncDelayedRedelivery(boolean asyncDelayedRedelivery) {
         this.asyncDelayedRedelivery = asyncDelayedRedelivery;
     }
+
+    public int getMaximumPendingRedeliveries() {
+        return maximumPendingRedeliveries;
+    }
+
+    /**
+     * Sets the maximum number of asynchronous delayed redeliveries which can be pending in the error handler.
+     * <p/>
+     * When the maximum is reached then the redelivery is delayed synchronous instead, which blocks the current
+     * thread, so the callers are slowed down instead of piling up more pending redeliveries during an outage.
+     * <p/>
+     * Is by default <tt>0</tt> which means unbounded.
+     *
+     * @param maximumPendingRedeliveries the maximum, use <tt>0</tt> or negative for unbounded
+     */
+    public void setMaximumPendingRedeliveries(int maximumPendingRedeliveries) {
+        this.maximumPendingRedeliveries = maximumPendingRedeliveries;
+    }
 }
@@ -131,6 +131,8 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
 
     public void setCapacity(int capacity) {
         this.capacity = capacity;
+        // keep the elements in a ring buffer if the comparator supports it
+        engine.setCapacity(capacity);
     }
 
     public void setTimeout(long timeout) {
@@ -164,6 +166,8 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
     protected void doStart() throws Exception {
         ServiceHelper.startServices(processor);
         delivery = new Delivery();
+        // time out the elements using the timer shared in the camel context
+        engine.setTimerService(camelContext.getExecutorServiceManager().getTimerService());
         engine.start();
         delivery.start();
     }
@@ -24,6 +24,8 @@ import org.apache.camel.Expression;
 import org.apache.camel.Processor;
 import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.Traceable;
+import org.apache.camel.impl.MemoryThrottlerRateState;
+import org.apache.camel.spi.ThrottlerRateState;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -34,6 +36,10 @@ import org.apache.camel.util.ObjectHelper;
  * as only allowing 100 requests per second; or if huge load can cause a
  * particular system to malfunction or to reduce its throughput you might want
  * to introduce some throttling.
+ * <p/>
+ * The throttler uses token bucket semantics, where the bucket holds up to the maximum number of requests,
+ * and is refilled evenly during the time period. The permits are acquired lock-free using compare and set on
+ * the {@link ThrottlerRateState}, which is by default in memory, but can be shared to throttle across many nodes.
  * 
  * @version 
  */
@@ -41,7 +47,8 @@ public class Throttler extends DelayProcessorSupport implements Traceable {
     private volatile long maximumRequestsPerPeriod;
     private Expression maxRequestsPerPeriodExpression;
     private long timePeriodMillis = 1000;
-    private volatile TimeSlot slot;
+    private ThrottlerRateState rateState = new MemoryThrottlerRateState();
+    private String rateStateKey = "throttler";
 
     public Throttler(CamelContext camelContext, Processor processor, Expression maxRequestsPerPeriodExpression, long timePeriodMillis,
                      ScheduledExecutorService executorService, boolean shutdownExecutorService) {
@@ -98,6 +105,28 @@ public class Throttler extends DelayProcessorSupport implements Traceable {
         this.timePeriodMillis = timePeriodMillis;
     }
 
+    public ThrottlerRateState getRateState() {
+        return rateState;
+    }
+
+    /**
+     * Sets the state holding the rate, which can be shared to throttle under one rate budget across many nodes
+     */
+    public void setRateState(ThrottlerRateState rateState) {
+        this.rateState = rateState;
+    }
+
+    public String getRateStateKey() {
+        return rateStateKey;
+    }
+
+    /**
+     * Sets the key of this throttler in the rate state
+     */
+    public void setRateStateKey(String rateStateKey) {
+        this.rateStateKey = rateStateKey;
+    }
+
     // Implementation methods
     // -----------------------------------------------------------------------
 
@@ -122,64 +151,33 @@ public class Throttler extends DelayProcessorSupport implements Traceable {
             throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + maximumRequestsPerPeriod);
         }
 
-        TimeSlot slot = nextSlot();
-        if (!slot.isActive()) {
-            long delay = slot.startTime - currentSystemTime();
-            return delay;
-        } else {
-            return 0;
-        }
-    }
-    
-    /*
-     * Determine what the next available time slot is for handling an Exchange
-     */
-    protected synchronized TimeSlot nextSlot() {
-        if (slot == null) {
-            slot = new TimeSlot();
-        }
-        if (slot.isFull()) {
-            slot = slot.next();
-        }
-        slot.assign();
-        return slot;
+        return acquirePermit(currentSystemTime());
     }
 
-    /*
-    * A time slot is capable of handling a number of exchanges within a certain period of time.
-    */
-    protected class TimeSlot {
-        
-        private volatile long capacity = Throttler.this.maximumRequestsPerPeriod;
-        private final long duration = Throttler.this.timePeriodMillis;
-        private final long startTime;
-
-        protected TimeSlot() {
-            this(System.currentTimeMillis());
-        }
-
-        protected TimeSlot(long startTime) {
-            this.startTime = startTime;
-        }
-
-        protected void assign() {
-            capacity--;
-        }
-        
-        /*
-         * Start the next time slot either now or in the future
-         * (no time slots are being created in the past)
-         */
-        protected TimeSlot next() {
-            return new TimeSlot(Math.max(System.currentTimeMillis(), this.startTime + this.duration));
-        }
-        
-        protected boolean isActive() {
-            return startTime <= System.currentTimeMillis();
+    /**
+     * Acquires a permit from the token bucket.
+     * <p/>
+     * The state is the time (in micros) when the bucket is full again. Each permit moves that time forward by
+     * the interval between permits, and a permit must wait when the bucket is empty, which is when that time
+     * is more than the time period ahead.
+     *
+     * @param now the current time in millis
+     * @return the delay in millis before the permit is available
+     */
+    protected long acquirePermit(long now) {
+        // use micros so the interval is precise for any number of requests per period
+        long period = timePeriodMillis * 1000;
+        long interval = Math.max(1, period / maximumRequestsPerPeriod);
+        long time = now * 1000;
+
+        while (true) {
+            long full = rateState.get(rateStateKey);
+            long next = Math.max(full, time) + interval;
+            if (rateState.compareAndSet(rateStateKey, full, next)) {
+                long delay = next - time - period;
+                // round up to millis so we do not wake up before the permit is available
+                return delay > 0 ? (delay + 999) / 1000 : 0;
+            }
         }
-        
-        protected boolean isFull() {
-            return capacity <= 0;
-        }        
     }
 }
@@ -17,8 +17,7 @@
 package org.apache.camel.processor.aggregate;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +25,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
@@ -49,7 +49,8 @@ import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.spi.ShutdownPrepared;
 import org.apache.camel.spi.Synchronization;
-import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.spi.TimerService;
+import org.apache.camel.support.HashedWheelTimeoutMap;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.LRUCache;
@@ -81,7 +82,7 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
 
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
 
-    private final Lock lock = new ReentrantLock();
+    private volatile Lock[] locks = createLocks(1);
     private final CamelContext camelContext;
     private final Processor processor;
     private final AggregationStrategy aggregationStrategy;
@@ -91,13 +92,14 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
     private ScheduledExecutorService timeoutCheckerExecutorService;
     private boolean shutdownTimeoutCheckerExecutorService;
     private ScheduledExecutorService recoverService;
+    private ScheduledFuture<?> intervalTask;
     // store correlation key -> exchange id in timeout map
     private TimeoutMap<String, String> timeoutMap;
     private ExceptionHandler exceptionHandler = new LoggingExceptionHandler(getClass());
     private AggregationRepository aggregationRepository = new MemoryAggregationRepository();
     private Map<Object, Object> closedCorrelationKeys;
     private Set<String> batchConsumerCorrelationKeys = new LinkedHashSet<String>();
-    private final Set<String> inProgressCompleteExchanges = new HashSet<String>();
+    private final Set<String> inProgressCompleteExchanges = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
     private final Map<String, RedeliveryData> redeliveryState = new ConcurrentHashMap<String, RedeliveryData>();
 
     // keep booking about redelivery
@@ -109,6 +111,7 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
     private boolean ignoreInvalidCorrelationKeys;
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
+    private int lockStripes = 1;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -196,6 +199,8 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
         // when memory based then its fast using synchronized, but if the aggregation repository is IO
         // bound such as JPA etc then concurrent aggregation per correlation key could
         // improve performance as we can run aggregation repository get/add in parallel
+        // the lock is striped by the correlation key, so the same key is never aggregated in parallel
+        Lock lock = getLock(key);
         lock.lock();
         try {
             doAggregation(key, copy);
@@ -204,11 +209,51 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
         }
     }
 
+    /**
+     * Gets the lock which guards the given correlation key.
+     */
+    private Lock getLock(String key) {
+        Lock[] stripes = locks;
+        if (stripes.length == 1) {
+            return stripes[0];
+        }
+        // spread the hash code to avoid keys with similar low bits to collide
+        int hash = key.hashCode();
+        hash ^= (hash >>> 20) ^ (hash >>> 12);
+        hash ^= (hash >>> 7) ^ (hash >>> 4);
+        return stripes[(hash & 0x7fffffff) % stripes.length];
+    }
+
+    /**
+     * Acquires all the locks, which is needed by the tasks which operates on all the correlation keys.
+     */
+    private void lockAll() {
+        // always acquire in the same order to avoid dead locks
+        for (Lock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        Lock[] stripes = locks;
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    private static Lock[] createLocks(int size) {
+        Lock[] answer = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            answer[i] = new ReentrantLock();
+        }
+        return answer;
+    }
+
     /**
      * Aggregates the exchange with the given correlation key
      * <p/>
      * This method <b>must</b> be run synchronized as we cannot aggregate the same correlation key
-     * in parallel.
+     * in parallel, which is done by holding the lock for the given correlation key.
      *
      * @param key      the correlation key
      * @param exchange the exchange
@@ -565,6 +610,24 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
         this.exceptionHandler = exceptionHandler;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Sets the number of locks the correlation keys are striped across.
+     * <p/>
+     * Exchanges with correlation keys guarded by different locks are aggregated in parallel, while
+     * exchanges for the same correlation key are always aggregated one at a time.
+     * Is by default <tt>1</tt> which means all exchanges are aggregated one at a time.
+     * <p/>
+     * <b>Important:</b> When using more than one lock the {@link AggregationRepository} and
+     * {@link AggregationStrategy} must be able to handle different correlation keys concurrently.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public boolean isParallelProcessing() {
         return parallelProcessing;
     }
@@ -651,21 +714,25 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
     /**
      * Background task that looks for aggregated exchanges which is triggered by completion timeouts.
      */
-    private final class AggregationTimeoutMap extends DefaultTimeoutMap<String, String> {
+    private final class AggregationTimeoutMap extends HashedWheelTimeoutMap<String, String> {
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
             super(executor, requestMapPollTimeMillis, false);
         }
 
+        private AggregationTimeoutMap(TimerService timerService, long requestMapPollTimeMillis) {
+            super(timerService, requestMapPollTimeMillis, false);
+        }
+
         @Override
         public void purge() {
-            // must acquire the shared aggregation lock to be able to purge
-            lock.lock();
+            // must acquire the shared aggregation locks to be able to purge
+            lockAll();
             try {
                 super.purge();
             } finally {
-                lock.unlock();
+                unlockAll();
             }
         }
 
@@ -708,8 +775,8 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
             Set<String> keys = aggregationRepository.getKeys();
 
             if (keys != null && !keys.isEmpty()) {
-                // must acquire the shared aggregation lock to be able to trigger interval completion
-                lock.lock();
+                // must acquire the shared aggregation locks to be able to trigger interval completion
+                lockAll();
                 try {
                     for (String key : keys) {
                         Exchange exchange = aggregationRepository.get(camelContext, key);
@@ -721,7 +788,7 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
                         }
                     }
                 } finally {
-                    lock.unlock();
+                    unlockAll();
                 }
             }
 
@@ -837,10 +904,21 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
                 closedCorrelationKeys = new LRUCache<Object, Object>(getCloseCorrelationKeyOnCompletion());
             } else {
                 LOG.info("Using ClosedCorrelationKeys with unbounded capacity");
-                closedCorrelationKeys = new HashMap<Object, Object>();
+                closedCorrelationKeys = new ConcurrentHashMap<Object, Object>();
             }
         }
 
+        if (getLockStripes() <= 0) {
+            throw new IllegalArgumentException("Option lockStripes must be a positive number, was: " + getLockStripes());
+        }
+        if (getLockStripes() > 1 && isCompletionFromBatchConsumer()) {
+            // completion from batch consumer spans all correlation keys, so we must use a single lock
+            LOG.info("Using a single aggregation lock as completionFromBatchConsumer is enabled (lockStripes is ignored)");
+            locks = createLocks(1);
+        } else {
+            locks = createLocks(getLockStripes());
+        }
+
         ServiceHelper.startServices(processor, aggregationRepository);
 
         // should we use recover checker
@@ -881,23 +959,27 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
         }
         if (getCompletionInterval() > 0) {
             LOG.info("Using CompletionInterval to run every " + getCompletionInterval() + " millis.");
+            // trigger completion based on interval, using the timer shared in the camel context
+            // unless a thread pool has been configured
             if (getTimeoutCheckerExecutorService() == null) {
-                setTimeoutCheckerExecutorService(camelContext.getExecutorServiceManager().newScheduledThreadPool(this, AGGREGATE_TIMEOUT_CHECKER, 1));
-                shutdownTimeoutCheckerExecutorService = true;
+                intervalTask = camelContext.getExecutorServiceManager().getTimerService().scheduleAtFixedRate(
+                        new AggregationIntervalTask(), getCompletionInterval(), getCompletionInterval(), TimeUnit.MILLISECONDS);
+            } else {
+                intervalTask = getTimeoutCheckerExecutorService().scheduleAtFixedRate(
+                        new AggregationIntervalTask(), getCompletionInterval(), getCompletionInterval(), TimeUnit.MILLISECONDS);
             }
-            // trigger completion based on interval
-            getTimeoutCheckerExecutorService().scheduleAtFixedRate(new AggregationIntervalTask(), getCompletionInterval(), getCompletionInterval(), TimeUnit.MILLISECONDS);
         }
 
         // start timeout service if its in use
         if (getCompletionTimeout() > 0 || getCompletionTimeoutExpression() != null) {
             LOG.info("Using CompletionTimeout to trigger after " + getCompletionTimeout() + " millis of inactivity.");
+            // check for timed out aggregated messages once every second, using the timer shared in the
+            // camel context unless a thread pool has been configured
             if (getTimeoutCheckerExecutorService() == null) {
-                setTimeoutCheckerExecutorService(camelContext.getExecutorServiceManager().newScheduledThreadPool(this, AGGREGATE_TIMEOUT_CHECKER, 1));
-                shutdownTimeoutCheckerExecutorService = true;
+                timeoutMap = new AggregationTimeoutMap(camelContext.getExecutorServiceManager().getTimerService(), 1000L);
+            } else {
+                timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), 1000L);
             }
-            // check for timed out aggregated messages once every second
-            timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), 1000L);
             // fill in existing timeout values from the aggregation repository, for example if a restart occurred, then we
             // need to re-establish the timeout map so timeout can trigger
             restoreTimeoutMapFromAggregationRepository();
@@ -914,6 +996,10 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
         if (recoverService != null) {
             camelContext.getExecutorServiceManager().shutdownNow(recoverService);
         }
+        if (intervalTask != null) {
+            intervalTask.cancel(false);
+            intervalTask = null;
+        }
         ServiceHelper.stopServices(timeoutMap, processor, deadLetterProducerTemplate);
 
         if (closedCorrelationKeys != null) {
@@ -991,8 +1077,8 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
 
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
-            // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
+            // must acquire the shared aggregation locks to be able to trigger force completion
+            lockAll();
             total = keys.size();
             try {
                 for (String key : keys) {
@@ -1005,7 +1091,7 @@ public class AggregateProcessor extends ServiceSupport implements Processor, Nav
                     }
                 }
             } finally {
-                lock.unlock();
+                unlockAll();
             }
         }
         LOG.trace("Completed force completion of all groups task");
@@ -0,0 +1,273 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.idempotent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.BrowsableIdempotentRepository;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.BloomFilter;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link org.apache.camel.spi.IdempotentRepository} which keeps a {@link BloomFilter} of the keys
+ * in front of another repository, such as a database based repository.
+ * <p/>
+ * If the filter tells a key is definitely new, then looking up the key in the repository is skipped.
+ * For <tt>contains</tt> the repository is not called at all, and for <tt>add</tt> the key is added
+ * using {@link BrowsableIdempotentRepository#addNewKey(Object)}, which does not check whether the
+ * repository already contains the key.
+ * <p/>
+ * The filter is built from the keys in the repository when starting, which requires the repository
+ * to be a {@link BrowsableIdempotentRepository}. If not, then the repository is always called.
+ * <p/>
+ * <b>Important:</b> The filter only knows the keys added through this repository, so the repository must not be
+ * shared with other writers, such as other nodes in a cluster, as their keys would be regarded as new.
+ *
+ * @version 
+ */
+@ManagedResource(description = "Bloom filter idempotent repository")
+public class BloomFilterIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
+    private static final transient Logger LOG = LoggerFactory.getLogger(BloomFilterIdempotentRepository.class);
+    private static final int LOCKS = 16;
+    private IdempotentRepository<String> repository;
+    private long expectedInsertions = 100000;
+    private double falsePositiveProbability = 0.01;
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final Object[] locks = new Object[LOCKS];
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    public BloomFilterIdempotentRepository() {
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public BloomFilterIdempotentRepository(IdempotentRepository<String> repository) {
+        this();
+        this.repository = repository;
+    }
+
+    /**
+     * Creates a new repository with a {@link BloomFilter} in front of the given repository.
+     *
+     * @param repository  the repository
+     */
+    public static IdempotentRepository<String> bloomFilterIdempotentRepository(IdempotentRepository<String> repository) {
+        return new BloomFilterIdempotentRepository(repository);
+    }
+
+    /**
+     * Creates a new repository with a {@link BloomFilter} in front of the given repository.
+     *
+     * @param repository  the repository
+     * @param expectedInsertions  the expected number of keys, before the filter needs to grow
+     * @param falsePositiveProbability  the wanted probability the filter wrongly tells a key might be added
+     */
+    public static IdempotentRepository<String> bloomFilterIdempotentRepository(IdempotentRepository<String> repository,
+                                                                                long expectedInsertions, double falsePositiveProbability) {
+        BloomFilterIdempotentRepository answer = new BloomFilterIdempotentRepository(repository);
+        answer.setExpectedInsertions(expectedInsertions);
+        answer.setFalsePositiveProbability(falsePositiveProbability);
+        return answer;
+    }
+
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        // hold the read lock while adding, so the filter being rebuilt does not miss the key
+        rebuildLock.readLock().lock();
+        try {
+            BloomFilter current = filter;
+            if (current == null) {
+                BloomFilter next = building;
+                if (next != null) {
+                    next.put(key);
+                }
+                return repository.add(key);
+            }
+
+            // hold the lock while adding to the repository as well, so a concurrent add of the same key
+            // cannot see the key in the filter and add it to the repository before the key has landed
+            synchronized (lockFor(key)) {
+                // the key must be added to the filter before the repository, so the filter never misses a key
+                if (current.put(key)) {
+                    skipped.incrementAndGet();
+                    return ((BrowsableIdempotentRepository<String>) repository).addNewKey(key);
+                } else {
+                    return repository.add(key);
+                }
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(key)) {
+            skipped.incrementAndGet();
+            return false;
+        }
+        boolean answer = repository.contains(key);
+        if (!answer && current != null) {
+            falsePositives.incrementAndGet();
+        }
+        return answer;
+    }
+
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        // keys cannot be removed from the filter, which is okay as it will then tell the key might be added
+        return repository.remove(key);
+    }
+
+    public boolean confirm(String key) {
+        return repository.confirm(key);
+    }
+
+    public IdempotentRepository<String> getRepository() {
+        return repository;
+    }
+
+    public void setRepository(IdempotentRepository<String> repository) {
+        this.repository = repository;
+    }
+
+    @ManagedAttribute(description = "The expected number of keys")
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * Sets the expected number of keys, which the filter is sized for. If more keys is added, the filter will grow.
+     * <p/>
+     * The default is 100000.
+     */
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    @ManagedAttribute(description = "The wanted false positive probability")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * Sets the wanted probability the filter wrongly tells a key might be added,
+     * in which case the repository is called to check the key.
+     * <p/>
+     * The default is 0.01 (1%).
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "Whether the filter is in use")
+    public boolean isFilterEnabled() {
+        return filter != null;
+    }
+
+    @ManagedAttribute(description = "Number of keys in the filter")
+    public long getFilterSize() {
+        BloomFilter current = filter;
+        return current != null ? current.size() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of lookups in the repository skipped by the filter")
+    public long getSkippedLookups() {
+        return skipped.get();
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the filter wrongly told the key might be added")
+    public long getFalsePositives() {
+        return falsePositives.get();
+    }
+
+    /**
+     * Rebuilds the filter from the keys in the repository.
+     */
+    @ManagedOperation(description = "Rebuilds the filter from the keys in the repository")
+    public synchronized void rebuild() {
+        if (!(repository instanceof BrowsableIdempotentRepository)) {
+            LOG.info("Cannot use bloom filter as repository {} cannot browse its keys", repository);
+            filter = null;
+            return;
+        }
+
+        BloomFilter answer = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        rebuildLock.writeLock().lock();
+        try {
+            // do not use the filter while rebuilding, and add keys added meanwhile to the new filter
+            filter = null;
+            building = answer;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+
+        boolean done = false;
+        try {
+            List<String> keys = ((BrowsableIdempotentRepository<String>) repository).getKeys();
+            for (String key : keys) {
+                answer.put(key);
+            }
+            LOG.debug("Built bloom filter with {} keys from repository {}", keys.size(), repository);
+            done = true;
+        } finally {
+            rebuildLock.writeLock().lock();
+            try {
+                building = null;
+                // only use the filter if it knows all the keys
+                filter = done ? answer : null;
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Object lockFor(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return locks[hash & (LOCKS - 1)];
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(repository, "repository", this);
+        ServiceHelper.startService(repository);
+        rebuild();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        filter = null;
+        ServiceHelper.stopService(repository);
+    }
+}
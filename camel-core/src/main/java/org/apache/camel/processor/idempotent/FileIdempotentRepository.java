@@ -16,59 +16,106 @@
  */
 package org.apache.camel.processor.idempotent;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.BrowsableIdempotentRepository;
 import org.apache.camel.spi.IdempotentRepository;
 import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
+import org.apache.camel.util.concurrent.ThreadHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository}.
  * <p/>
+ * The file store is an append only log, where added keys are appended as a line, and removed keys are
+ * appended as a tombstone line. Concurrent writers are grouped so a single write (and fsync if <tt>sync</tt>
+ * is enabled) is done for all the keys pending to be written (group commit).
+ * <p/>
+ * When the file store grows beyond the <tt>maxFileStoreSize</tt> it is compacted in the background,
+ * by rewriting the keys which are still live, so no keys is lost. Keys added while compacting is kept as well.
+ * <p/>
+ * The keys is kept in an in memory index, which by default is unbounded. If you use a bounded 1st level cache
+ * such as a {@link org.apache.camel.util.LRUCache} then keys evicted from the cache is not detected as duplicates,
+ * but they are still kept in the file store.
  * Care should be taken to use a suitable underlying {@link java.util.Map} to avoid this class being a
  * memory leak.
  *
  * @version 
  */
 @ManagedResource(description = "File based idempotent repository")
-public class FileIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
+public class FileIdempotentRepository extends ServiceSupport implements BrowsableIdempotentRepository<String> {
     private static final transient Logger LOG = LoggerFactory.getLogger(FileIdempotentRepository.class);
     private static final String STORE_DELIMITER = "\n";
+    // removed keys is appended with this prefix
+    private static final String TOMBSTONE = "\u0000";
+    private static final int LOCKS = 16;
     private Map<String, Object> cache;
     private File fileStore;
     private long maxFileStoreSize = 1024 * 1000L; // 1mb store file
+    private boolean sync;
     private AtomicBoolean init = new AtomicBoolean();
+    private final Object[] locks = new Object[LOCKS];
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<Entry>();
+    private final Object writeLock = new Object();
+    private final Object compactLock = new Object();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private FileChannel channel;
+    private long compactThreshold;
+    private ExecutorService compactor;
 
     public FileIdempotentRepository() {
-        // default use a 1st level cache 
-        this.cache = new LRUCache<String, Object>(1000);
+        // default use an unbounded index so no keys are forgotten
+        this(null, new ConcurrentHashMap<String, Object>());
     }
 
     public FileIdempotentRepository(File fileStore, Map<String, Object> set) {
         this.fileStore = fileStore;
-        this.cache = set;
+        setCache(set);
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
     }
 
     /**
-     * Creates a new file based repository using a {@link org.apache.camel.util.LRUCache}
-     * as 1st level cache with a default of 1000 entries in the cache.
+     * Creates a new file based repository using an unbounded in memory index of the keys.
      *
      * @param fileStore  the file store
      */
     public static IdempotentRepository<String> fileIdempotentRepository(File fileStore) {
-        return fileIdempotentRepository(fileStore, 1000);
+        return fileIdempotentRepository(fileStore, new ConcurrentHashMap<String, Object>());
     }
 
     /**
@@ -88,7 +135,7 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
      *
      * @param fileStore  the file store
      * @param cacheSize  the cache size
-     * @param maxFileStoreSize  the max size in bytes for the filestore file 
+     * @param maxFileStoreSize  the size in bytes the filestore file can grow to before it is compacted
      */
     public static IdempotentRepository<String> fileIdempotentRepository(File fileStore, int cacheSize, long maxFileStoreSize) {
         FileIdempotentRepository repository = new FileIdempotentRepository(fileStore, new LRUCache<String, Object>(cacheSize));
@@ -112,40 +159,29 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
 
     @ManagedOperation(description = "Adds the key to the store")
     public boolean add(String key) {
-        synchronized (cache) {
+        synchronized (lockFor(key)) {
             if (cache.containsKey(key)) {
                 return false;
-            } else {
-                cache.put(key, key);
-                if (fileStore.length() < maxFileStoreSize) {
-                    // just append to store
-                    appendToStore(key);
-                } else {
-                    // trunk store and flush the cache
-                    trunkStore();
-                }
-
-                return true;
             }
+            cache.put(key, key);
+            appendToStore(key);
+            return true;
         }
     }
 
     @ManagedOperation(description = "Does the store contain the given key")
     public boolean contains(String key) {
-        synchronized (cache) {
-            return cache.containsKey(key);
-        }
+        return cache.containsKey(key);
     }
 
     @ManagedOperation(description = "Remove the key from the store")
     public boolean remove(String key) {
-        boolean answer;
-        synchronized (cache) {
-            answer = cache.remove(key) != null;
-            // trunk store and flush the cache on remove
-            trunkStore();
+        synchronized (lockFor(key)) {
+            boolean answer = cache.remove(key) != null;
+            // append a tombstone instead of rewriting the store, as the key may have been evicted from the cache
+            appendToStore(TOMBSTONE + key);
+            return answer;
         }
-        return answer;
     }
 
     public boolean confirm(String key) {
@@ -153,6 +189,27 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         return true;
     }
 
+    public List<String> getKeys() {
+        synchronized (compactLock) {
+            synchronized (writeLock) {
+                flushStore();
+            }
+            if (!fileStore.exists()) {
+                return new ArrayList<String>(cache.keySet());
+            }
+            // read the keys from the file store, as keys may have been evicted from the 1st level cache
+            try {
+                return new ArrayList<String>(readStore(fileStore.length()));
+            } catch (IOException e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+    }
+
+    public boolean addNewKey(String key) {
+        return add(key);
+    }
+
     public File getFileStore() {
         return fileStore;
     }
@@ -171,7 +228,12 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
     }
 
     public void setCache(Map<String, Object> cache) {
-        this.cache = cache;
+        // the cache is accessed concurrently so it must be thread safe
+        if (cache == null || cache instanceof ConcurrentMap || cache instanceof LRUCache) {
+            this.cache = cache;
+        } else {
+            this.cache = Collections.synchronizedMap(cache);
+        }
     }
 
     @ManagedAttribute(description = "The maximum file size for the file store in bytes")
@@ -180,7 +242,9 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
     }
 
     /**
-     * Sets the maximum file size for the file store in bytes.
+     * Sets the size in bytes the file store can grow to, before it is compacted.
+     * <p/>
+     * If the live keys take up more than this size, then the file store is compacted when it has doubled in size.
      * <p/>
      * The default is 1mb.
      */
@@ -189,6 +253,22 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         this.maxFileStoreSize = maxFileStoreSize;
     }
 
+    @ManagedAttribute(description = "Whether to sync the file store to disk on each write")
+    public boolean isSync() {
+        return sync;
+    }
+
+    /**
+     * Whether to force the file store to disk (fsync) before adding or removing a key returns.
+     * <p/>
+     * Keys written concurrently share the same fsync.
+     * <p/>
+     * The default is <tt>false</tt>.
+     */
+    public void setSync(boolean sync) {
+        this.sync = sync;
+    }
+
     /**
      * Sets the cache size
      */
@@ -212,56 +292,237 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
      */
     @ManagedOperation(description = "Reset and reloads the file store")
     public synchronized void reset() {
-        synchronized (cache) {
-            // trunk and clear, before we reload the store
-            trunkStore();
+        synchronized (writeLock) {
+            // write pending keys, before we reload the store
+            flushStore();
             cache.clear();
             loadStore();
         }
     }
 
     /**
-     * Appends the given message id to the file store
+     * Compacts the file store by rewriting the live keys, removing duplicate and removed keys.
+     */
+    @ManagedOperation(description = "Compacts the file store")
+    public void compact() {
+        compactStore();
+    }
+
+    /**
+     * Appends the given entry to the file store, which is either a key or a tombstone for a removed key.
+     * <p/>
+     * The entry is written together with any other pending entries, before this method returns.
      *
-     * @param messageId  the message id
+     * @param entry  the entry
+     */
+    protected void appendToStore(final String entry) {
+        LOG.debug("Appending {} to idempotent filestore: {}", entry, fileStore);
+        Entry pendingEntry = new Entry(entry);
+        pending.add(pendingEntry);
+
+        boolean full;
+        synchronized (writeLock) {
+            if (!pendingEntry.written) {
+                flushStore();
+            }
+            full = isStoreFull();
+        }
+        if (pendingEntry.error != null) {
+            // writing our entry failed, which may have been done by another thread
+            throw ObjectHelper.wrapRuntimeCamelException(pendingEntry.error);
+        }
+
+        if (full && compacting.compareAndSet(false, true)) {
+            ExecutorService executor = compactor;
+            if (executor != null && !executor.isShutdown()) {
+                try {
+                    executor.execute(new Runnable() {
+                        public void run() {
+                            try {
+                                compactStore();
+                            } catch (Throwable e) {
+                                LOG.warn("Error compacting idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+                            } finally {
+                                compacting.set(false);
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // we are stopping which will compact the store
+                    compacting.set(false);
+                }
+            } else {
+                // not started so compact in the current thread
+                try {
+                    compactStore();
+                } finally {
+                    compacting.set(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all the pending entries to the file store. Must be called while holding the write lock.
      */
-    protected void appendToStore(final String messageId) {
-        LOG.debug("Appending {} to idempotent filestore: {}", messageId, fileStore);
-        FileOutputStream fos = null;
+    private void flushStore() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        Entry entry;
+        List<Entry> written = new ArrayList<Entry>();
+        while ((entry = pending.poll()) != null) {
+            sb.append(entry.text).append(STORE_DELIMITER);
+            written.add(entry);
+        }
+
+        IOException error = null;
         try {
-            // create store if missing
-            if (!fileStore.exists()) {
-                fileStore.createNewFile();
+            FileChannel out = openStore();
+            ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            if (sync) {
+                out.force(false);
             }
-            // append to store
-            fos = new FileOutputStream(fileStore, true);
-            fos.write(messageId.getBytes());
-            fos.write(STORE_DELIMITER.getBytes());
         } catch (IOException e) {
-            throw ObjectHelper.wrapRuntimeCamelException(e);
+            error = e;
         } finally {
-            IOHelper.close(fos, "Appending to file idempotent repository", LOG);
+            for (Entry done : written) {
+                done.error = error;
+                done.written = true;
+            }
+        }
+    }
+
+    private FileChannel openStore() throws IOException {
+        if (channel == null) {
+            // create store if missing
+            if (fileStore.getParentFile() != null) {
+                fileStore.getParentFile().mkdirs();
+            }
+            channel = new FileOutputStream(fileStore, true).getChannel();
+        }
+        return channel;
+    }
+
+    private void closeStore() {
+        IOHelper.close(channel, "Closing file idempotent repository", LOG);
+        channel = null;
+    }
+
+    private boolean isStoreFull() {
+        long threshold = Math.max(maxFileStoreSize, compactThreshold);
+        return fileStore.length() >= threshold;
+    }
+
+    /**
+     * Compacts the file store.
+     * <p/>
+     * A snapshot of the file store is compacted into a new file, while new entries is still appended to the
+     * file store. Then the entries appended during compaction is copied to the new file, which then replaces
+     * the file store.
+     */
+    protected void compactStore() {
+        synchronized (compactLock) {
+            long snapshot;
+            synchronized (writeLock) {
+                flushStore();
+                snapshot = fileStore.length();
+            }
+            if (snapshot == 0) {
+                return;
+            }
+
+            LOG.debug("Compacting idempotent filestore: {}", fileStore);
+            File compacted = new File(fileStore.getPath() + ".tmp");
+            FileChannel out = null;
+            try {
+                Set<String> keys = readStore(snapshot);
+                out = new FileOutputStream(compacted).getChannel();
+                StringBuilder sb = new StringBuilder();
+                for (Iterator<String> it = keys.iterator(); it.hasNext();) {
+                    sb.append(it.next()).append(STORE_DELIMITER);
+                    if (sb.length() > FileUtil.BUFFER_SIZE || !it.hasNext()) {
+                        ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes());
+                        while (buffer.hasRemaining()) {
+                            out.write(buffer);
+                        }
+                        sb.setLength(0);
+                    }
+                }
+
+                synchronized (writeLock) {
+                    // copy the entries appended while we compacted
+                    flushStore();
+                    FileChannel in = new FileInputStream(fileStore).getChannel();
+                    try {
+                        long position = snapshot;
+                        long size = in.size();
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    } finally {
+                        IOHelper.close(in, "Compacting file idempotent repository", LOG);
+                    }
+                    out.force(false);
+                    compactThreshold = 2 * out.size();
+                    IOHelper.close(out, "Compacting file idempotent repository", LOG);
+                    out = null;
+
+                    closeStore();
+                    if (!compacted.renameTo(fileStore)) {
+                        // some OS such as Windows cannot rename to an existing file
+                        FileUtil.deleteFile(fileStore);
+                        if (!FileUtil.renameFile(compacted, fileStore, true)) {
+                            throw new IOException("Cannot rename compacted file: " + compacted + " to: " + fileStore);
+                        }
+                    }
+                }
+                LOG.debug("Compacted idempotent filestore: {} to {} keys", fileStore, keys.size());
+            } catch (IOException e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            } finally {
+                IOHelper.close(out, "Compacting file idempotent repository", LOG);
+                FileUtil.deleteFile(compacted);
+            }
         }
     }
 
     /**
-     * Trunks the file store when the max store size is hit by rewriting the 1st level cache
-     * to the file store.
+     * Reads the live keys from the file store, in the order they was added
+     *
+     * @param length  the number of bytes to read
      */
-    protected void trunkStore() {
-        LOG.info("Trunking idempotent filestore: {}", fileStore);
-        FileOutputStream fos = null;
+    private Set<String> readStore(long length) throws IOException {
+        Set<String> keys = new LinkedHashSet<String>();
+        InputStream is = new BufferedInputStream(new FileInputStream(fileStore), FileUtil.BUFFER_SIZE);
         try {
-            fos = new FileOutputStream(fileStore);
-            for (String key : cache.keySet()) {
-                fos.write(key.getBytes());
-                fos.write(STORE_DELIMITER.getBytes());
+            // only read up to the given length, as new entries can be appended meanwhile
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            for (long i = 0; i < length; i++) {
+                int b = is.read();
+                if (b == -1) {
+                    break;
+                } else if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                String entry = line.toString();
+                line.reset();
+                if (entry.startsWith(TOMBSTONE)) {
+                    keys.remove(entry.substring(TOMBSTONE.length()));
+                } else {
+                    keys.add(entry);
+                }
             }
-        } catch (IOException e) {
-            throw ObjectHelper.wrapRuntimeCamelException(e);
         } finally {
-            IOHelper.close(fos, "Trunking file idempotent repository", LOG);
+            IOHelper.close(is, "Reading file idempotent repository", LOG);
         }
+        return keys;
     }
 
     /**
@@ -281,7 +542,11 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
             scanner.useDelimiter(STORE_DELIMITER);
             while (scanner.hasNextLine()) {
                 String line = scanner.nextLine();
-                cache.put(line, line);
+                if (line.startsWith(TOMBSTONE)) {
+                    cache.remove(line.substring(TOMBSTONE.length()));
+                } else {
+                    cache.put(line, line);
+                }
             }
         } catch (IOException e) {
             throw ObjectHelper.wrapRuntimeCamelException(e);
@@ -294,20 +559,50 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         LOG.debug("Loaded {} to the 1st level cache from idempotent filestore: {}", cache.size(), fileStore);
     }
 
+    private Object lockFor(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return locks[hash & (LOCKS - 1)];
+    }
+
     @Override
     protected void doStart() throws Exception {
         // init store if not loaded before
         if (init.compareAndSet(false, true)) {
             loadStore();
         }
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(
+                    new CamelThreadFactory(ThreadHelper.DEFAULT_PATTERN, "FileIdempotentRepositoryCompactor", true));
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
-        // reset will trunk and clear the cache
-        trunkStore();
+        if (compactor != null) {
+            compactor.shutdown();
+            compactor = null;
+        }
+        // compact the store and clear the cache
+        compactStore();
+        synchronized (writeLock) {
+            closeStore();
+        }
         cache.clear();
         init.set(false);
     }
 
+    /**
+     * An entry pending to be written to the file store.
+     */
+    private static final class Entry {
+        private final String text;
+        private volatile IOException error;
+        private volatile boolean written;
+
+        private Entry(String text) {
+            this.text = text;
+        }
+    }
+
 }
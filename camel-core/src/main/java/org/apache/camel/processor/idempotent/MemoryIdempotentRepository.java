@@ -16,11 +16,14 @@
  */
 package org.apache.camel.processor.idempotent;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.BrowsableIdempotentRepository;
 import org.apache.camel.spi.IdempotentRepository;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.LRUCache;
@@ -34,7 +37,7 @@ import org.apache.camel.util.LRUCache;
  * @version 
  */
 @ManagedResource(description = "Memory based idempotent repository")
-public class MemoryIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
+public class MemoryIdempotentRepository extends ServiceSupport implements BrowsableIdempotentRepository<String> {
     private Map<String, Object> cache;
     private int cacheSize;
 
@@ -107,6 +110,19 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
         return true;
     }
 
+    public List<String> getKeys() {
+        synchronized (cache) {
+            return new ArrayList<String>(cache.keySet());
+        }
+    }
+
+    public boolean addNewKey(String key) {
+        synchronized (cache) {
+            cache.put(key, key);
+            return true;
+        }
+    }
+
     public Map<String, Object> getCache() {
         return cache;
     }
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.util.AsyncProcessorConverterHelper;
+import org.apache.camel.util.AsyncProcessorHelper;
+
+/**
+ * A base class for {@link LoadBalancer} implementations which choose a single destination for each exchange
+ * based on live {@link ProcessorStatistics} of the processors.
+ * <p/>
+ * If {@link #chooseProcessor(java.util.List, org.apache.camel.Exchange)} returns <tt>null</tt> then no processors
+ * is currently available, and the exchange is failed with a {@link RejectedExecutionException}.
+ *
+ * @version 
+ */
+public abstract class AdaptiveLoadBalancerSupport extends QueueLoadBalancer {
+
+    private final ConcurrentMap<Processor, ProcessorStatistics> statistics = new ConcurrentHashMap<Processor, ProcessorStatistics>();
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        List<Processor> list = getProcessors();
+        if (list.isEmpty()) {
+            // no processors but indicate we are done
+            callback.done(true);
+            return true;
+        }
+
+        final Processor processor = chooseProcessor(list, exchange);
+        if (processor == null) {
+            exchange.setException(new RejectedExecutionException("No processors available to process " + exchange));
+            callback.done(true);
+            return true;
+        }
+
+        final ProcessorStatistics stats = getStatistics(processor);
+        final long start = stats.begin();
+
+        AsyncProcessor albp = AsyncProcessorConverterHelper.convert(processor);
+        boolean sync = AsyncProcessorHelper.process(albp, exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                boolean failed = exchange.getException() != null;
+                stats.done(start, failed);
+                onProcessed(processor, stats, failed);
+
+                // only handle the async case
+                if (doneSync) {
+                    return;
+                }
+
+                callback.done(false);
+            }
+        });
+
+        if (!sync) {
+            // will continue routing asynchronously
+            return false;
+        }
+
+        callback.done(true);
+        return true;
+    }
+
+    /**
+     * Gets the statistics for the given processor
+     */
+    public ProcessorStatistics getStatistics(Processor processor) {
+        ProcessorStatistics answer = statistics.get(processor);
+        if (answer == null) {
+            answer = createStatistics(processor);
+            ProcessorStatistics existing = statistics.putIfAbsent(processor, answer);
+            if (existing != null) {
+                answer = existing;
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public void removeProcessor(Processor processor) {
+        super.removeProcessor(processor);
+        statistics.remove(processor);
+    }
+
+    /**
+     * Strategy to create the statistics for the given processor
+     */
+    protected ProcessorStatistics createStatistics(Processor processor) {
+        return new ProcessorStatistics();
+    }
+
+    /**
+     * Strategy invoked when the processor has completed an exchange, and the statistics has been updated.
+     *
+     * @param processor  the processor
+     * @param statistics the statistics of the processor
+     * @param failed     whether the exchange failed
+     */
+    protected void onProcessed(Processor processor, ProcessorStatistics statistics, boolean failed) {
+        // noop
+    }
+
+}
@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * Implements a circuit breaker load balancing policy, which takes failing processors out of rotation.
+ * <p/>
+ * The processors is chosen in a round robin fashion. When a processor has failed the given <tt>threshold</tt>
+ * number of exchanges in a row, its circuit is opened and it is skipped. After the <tt>halfOpenAfter</tt> period
+ * a single exchange is sent to the processor to probe it. If the probe succeeds the circuit is closed and the
+ * processor is back in rotation, otherwise the circuit is opened again.
+ * <p/>
+ * If the circuits of all the processors is open, the exchange is failed with a
+ * {@link java.util.concurrent.RejectedExecutionException}.
+ *
+ * @version 
+ */
+public class CircuitBreakerLoadBalancer extends AdaptiveLoadBalancerSupport {
+    private static final int STATE_CLOSED = 0;
+    private static final int STATE_OPEN = 1;
+    private static final int STATE_HALF_OPEN = 2;
+
+    private final AtomicInteger counter = new AtomicInteger(-1);
+    private final ConcurrentMap<Processor, Circuit> circuits = new ConcurrentHashMap<Processor, Circuit>();
+    private int threshold = 5;
+    private long halfOpenAfter = 10000;
+
+    public CircuitBreakerLoadBalancer() {
+    }
+
+    public CircuitBreakerLoadBalancer(int threshold, long halfOpenAfter) {
+        this.threshold = threshold;
+        this.halfOpenAfter = halfOpenAfter;
+    }
+
+    protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
+        int size = processors.size();
+        // start from the next processor in turn, and mask the sign bit so the index stays positive
+        int start = (counter.incrementAndGet() & Integer.MAX_VALUE) % size;
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < size; i++) {
+            Processor processor = processors.get((start + i) % size);
+            if (getCircuit(processor).tryAcquire(now)) {
+                return processor;
+            }
+        }
+
+        // all circuits is open
+        return null;
+    }
+
+    @Override
+    protected void onProcessed(Processor processor, ProcessorStatistics statistics, boolean failed) {
+        Circuit circuit = getCircuit(processor);
+        if (failed) {
+            circuit.onFailure(processor, statistics.getConsecutiveFailures());
+        } else {
+            circuit.onSuccess(processor);
+        }
+    }
+
+    @Override
+    public void removeProcessor(Processor processor) {
+        super.removeProcessor(processor);
+        circuits.remove(processor);
+    }
+
+    /**
+     * Whether the circuit of the given processor is currently open (or half open while probing)
+     */
+    public boolean isCircuitOpen(Processor processor) {
+        return getCircuit(processor).state.get() != STATE_CLOSED;
+    }
+
+    private Circuit getCircuit(Processor processor) {
+        Circuit answer = circuits.get(processor);
+        if (answer == null) {
+            answer = new Circuit();
+            Circuit existing = circuits.putIfAbsent(processor, answer);
+            if (existing != null) {
+                answer = existing;
+            }
+        }
+        return answer;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Number of exchanges which must fail in a row, before the processor is taken out of rotation.
+     */
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public long getHalfOpenAfter() {
+        return halfOpenAfter;
+    }
+
+    /**
+     * The period in millis a processor is out of rotation before its probed again.
+     */
+    public void setHalfOpenAfter(long halfOpenAfter) {
+        this.halfOpenAfter = halfOpenAfter;
+    }
+
+    public String toString() {
+        return "CircuitBreakerLoadBalancer";
+    }
+
+    /**
+     * The state of the circuit of a processor
+     */
+    private final class Circuit {
+        private final AtomicInteger state = new AtomicInteger(STATE_CLOSED);
+        private volatile long openUntil;
+
+        boolean tryAcquire(long now) {
+            int current = state.get();
+            if (current == STATE_CLOSED) {
+                return true;
+            }
+            // only let a single exchange probe the processor when the circuit is half open
+            return current == STATE_OPEN && now >= openUntil && state.compareAndSet(STATE_OPEN, STATE_HALF_OPEN);
+        }
+
+        void onSuccess(Processor processor) {
+            if (state.compareAndSet(STATE_HALF_OPEN, STATE_CLOSED)) {
+                log.info("Closing circuit for processor {} as probing succeeded", processor);
+            }
+        }
+
+        void onFailure(Processor processor, int consecutiveFailures) {
+            int current = state.get();
+            if (current == STATE_HALF_OPEN || (current == STATE_CLOSED && consecutiveFailures >= threshold)) {
+                openUntil = System.currentTimeMillis() + halfOpenAfter;
+                if (state.compareAndSet(current, STATE_OPEN)) {
+                    log.warn("Opening circuit for processor {} after {} failures in a row. The processor will be probed again in {} millis.",
+                            new Object[]{processor, consecutiveFailures, halfOpenAfter});
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.Random;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * Implements a latency aware load balancing policy, which steers exchanges away from slow processors.
+ * <p/>
+ * Uses the <i>power of two choices</i>, where two distinct processors is picked at random and the one with the
+ * lowest cost is chosen. The cost is the moving average of the processing time multiplied by the number of
+ * in-flight exchanges (plus one) of the processor. Processors which has not completed any exchanges yet
+ * has no cost while idle, and thus is probed first. While their first exchanges are in-flight, the mean
+ * processing time of the other processors is used instead, so a processor which hangs on its first exchange
+ * is not chosen over and over.
+ *
+ * @version 
+ */
+public class LatencyAwareLoadBalancer extends AdaptiveLoadBalancerSupport {
+    private final Random random = new Random();
+    private double smoothingFactor = ProcessorStatistics.DEFAULT_SMOOTHING_FACTOR;
+
+    protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
+        int size = processors.size();
+        if (size == 1) {
+            return processors.get(0);
+        }
+
+        // pick two distinct processors at random
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        Processor a = processors.get(first);
+        Processor b = processors.get(second);
+        return getCost(b, processors) < getCost(a, processors) ? b : a;
+    }
+
+    /**
+     * Gets the cost of sending an exchange to the given processor
+     *
+     * @param processor  the processor
+     * @param processors all the processors being load balanced
+     */
+    protected double getCost(Processor processor, List<Processor> processors) {
+        ProcessorStatistics stats = getStatistics(processor);
+        int inflight = stats.getInflight();
+        if (stats.getCompleted() > 0) {
+            return stats.getMeanLatency() * (inflight + 1);
+        } else if (inflight == 0) {
+            // probe the processor as its latency is not measured yet
+            return 0;
+        }
+
+        // not measured yet but busy, so assume it is as slow as its peers on average
+        double sum = 0;
+        int measured = 0;
+        for (Processor peer : processors) {
+            ProcessorStatistics peerStats = getStatistics(peer);
+            if (peerStats.getCompleted() > 0) {
+                sum += peerStats.getMeanLatency();
+                measured++;
+            }
+        }
+        // use at least one nano so the cost grows with the in-flight exchanges
+        double mean = measured > 0 ? Math.max(1, sum / measured) : 1;
+        return mean * (inflight + 1);
+    }
+
+    @Override
+    protected ProcessorStatistics createStatistics(Processor processor) {
+        return new ProcessorStatistics(smoothingFactor);
+    }
+
+    public double getSmoothingFactor() {
+        return smoothingFactor;
+    }
+
+    /**
+     * Sets the weight of a new latency sample in the moving average, in the range (0, 1].
+     * A higher value reacts faster to latency changes. Default is <tt>0.3</tt>.
+     */
+    public void setSmoothingFactor(double smoothingFactor) {
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    public String toString() {
+        return "LatencyAwareLoadBalancer";
+    }
+
+}
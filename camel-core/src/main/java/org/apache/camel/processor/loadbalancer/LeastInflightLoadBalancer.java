@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+
+/**
+ * Implements the least in-flight load balancing policy, which chooses the processor
+ * currently processing the fewest exchanges.
+ * <p/>
+ * Processors with the same number of in-flight exchanges is chosen in a round robin fashion.
+ *
+ * @version 
+ */
+public class LeastInflightLoadBalancer extends AdaptiveLoadBalancerSupport {
+    private final AtomicInteger counter = new AtomicInteger(-1);
+
+    protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
+        int size = processors.size();
+        // start from the next processor in turn, and mask the sign bit so the index stays positive
+        int start = (counter.incrementAndGet() & Integer.MAX_VALUE) % size;
+
+        Processor answer = null;
+        int least = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Processor processor = processors.get((start + i) % size);
+            int inflight = getStatistics(processor).getInflight();
+            if (inflight < least) {
+                least = inflight;
+                answer = processor;
+                if (least == 0) {
+                    // cannot do any better
+                    break;
+                }
+            }
+        }
+        return answer;
+    }
+
+    public String toString() {
+        return "LeastInflightLoadBalancer";
+    }
+
+}
@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live statistics of a processor being load balanced by an {@link AdaptiveLoadBalancerSupport}.
+ * <p/>
+ * The statistics is updated without locking when an exchange is sent to, and completed by, the processor.
+ *
+ * @version 
+ */
+public class ProcessorStatistics {
+
+    /**
+     * The default weight of a new latency sample in the moving average.
+     */
+    public static final double DEFAULT_SMOOTHING_FACTOR = 0.3;
+
+    private final double smoothingFactor;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    // the moving average latency in nanos stored as the bits of a double, which is negative until measured
+    private final AtomicLong meanLatency = new AtomicLong(Double.doubleToLongBits(-1));
+
+    public ProcessorStatistics() {
+        this(DEFAULT_SMOOTHING_FACTOR);
+    }
+
+    public ProcessorStatistics(double smoothingFactor) {
+        if (smoothingFactor <= 0 || smoothingFactor > 1) {
+            throw new IllegalArgumentException("SmoothingFactor must be in the range (0, 1], was: " + smoothingFactor);
+        }
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    /**
+     * Signals an exchange is being sent to the processor.
+     *
+     * @return the start time in nanos, to be passed to {@link #done(long, boolean)}
+     */
+    public long begin() {
+        inflight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Signals an exchange has been completed by the processor.
+     *
+     * @param start  the start time returned from {@link #begin()}
+     * @param failed whether the exchange failed
+     */
+    public void done(long start, boolean failed) {
+        long elapsed = System.nanoTime() - start;
+        inflight.decrementAndGet();
+        completed.incrementAndGet();
+        if (failed) {
+            failures.incrementAndGet();
+            consecutiveFailures.incrementAndGet();
+        } else {
+            consecutiveFailures.set(0);
+        }
+
+        // update the exponentially weighted moving average
+        while (true) {
+            long bits = meanLatency.get();
+            double mean = Double.longBitsToDouble(bits);
+            double update = mean < 0 ? elapsed : mean + smoothingFactor * (elapsed - mean);
+            if (meanLatency.compareAndSet(bits, Double.doubleToLongBits(update))) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Number of exchanges currently being processed by the processor
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Number of exchanges completed by the processor
+     */
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * Number of exchanges which failed
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * Number of exchanges which failed in a row, which is reset when an exchange succeeds
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * The exponentially weighted moving average of the processing time in nanos,
+     * or <tt>0</tt> if no exchanges has been completed yet.
+     */
+    public double getMeanLatency() {
+        return Math.max(0, Double.longBitsToDouble(meanLatency.get()));
+    }
+
+    public double getSmoothingFactor() {
+        return smoothingFactor;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessorStatistics[inflight: " + getInflight() + ", completed: " + getCompleted()
+                + ", failures: " + getFailures() + ", meanLatency: " + getMeanLatency() + "]";
+    }
+}
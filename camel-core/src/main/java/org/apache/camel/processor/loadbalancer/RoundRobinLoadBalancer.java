@@ -17,6 +17,7 @@
 package org.apache.camel.processor.loadbalancer;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
@@ -27,14 +28,12 @@ import org.apache.camel.Processor;
  * @version 
  */
 public class RoundRobinLoadBalancer extends QueueLoadBalancer {
-    private int counter = -1;
+    private final AtomicInteger counter = new AtomicInteger(-1);
 
-    protected synchronized Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
-        int size = processors.size();
-        if (++counter >= size) {
-            counter = 0;
-        }
-        return processors.get(counter);
+    protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
+        // mask the sign bit so the index stays positive when the counter overflows
+        int index = (counter.incrementAndGet() & Integer.MAX_VALUE) % processors.size();
+        return processors.get(index);
     }
 
     public String toString() {
@@ -16,10 +16,11 @@
  */
 package org.apache.camel.processor.loadbalancer;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
@@ -36,7 +37,7 @@ public class StickyLoadBalancer extends QueueLoadBalancer {
     private Expression correlationExpression;
     private QueueLoadBalancer loadBalancer;
     private int numberOfHashGroups = 64 * 1024;
-    private final Map<Object, Processor> stickyMap = new HashMap<Object, Processor>();
+    private final ConcurrentMap<Object, Processor> stickyMap = new ConcurrentHashMap<Object, Processor>();
 
     public StickyLoadBalancer(Expression correlationExpression) {
         this(correlationExpression, new RoundRobinLoadBalancer());
@@ -51,16 +52,17 @@ public class StickyLoadBalancer extends QueueLoadBalancer {
         return correlationExpression;
     }
 
-    protected synchronized Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
+    protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
         Object value = correlationExpression.evaluate(exchange, Object.class);
         Object key = getStickyKey(value);
 
-        Processor processor;
-        synchronized (stickyMap) {
-            processor = stickyMap.get(key);
-            if (processor == null) {
-                processor = loadBalancer.chooseProcessor(processors, exchange);
-                stickyMap.put(key, processor);
+        Processor processor = stickyMap.get(key);
+        if (processor == null) {
+            processor = loadBalancer.chooseProcessor(processors, exchange);
+            // another thread may have chosen a processor for the same key in the meantime, if so use that
+            Processor existing = stickyMap.putIfAbsent(key, processor);
+            if (existing != null) {
+                processor = existing;
             }
         }
         return processor;
@@ -68,13 +70,11 @@ public class StickyLoadBalancer extends QueueLoadBalancer {
 
     @Override
     public void removeProcessor(Processor processor) {
-        synchronized (stickyMap) {
-            Iterator<Map.Entry<Object, Processor>> iter = stickyMap.entrySet().iterator();
-            while (iter.hasNext()) {
-                Map.Entry<Object, Processor> entry = iter.next();
-                if (processor.equals(entry.getValue())) {
-                    iter.remove();
-                }
+        Iterator<Map.Entry<Object, Processor>> iter = stickyMap.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry<Object, Processor> entry = iter.next();
+            if (processor.equals(entry.getValue())) {
+                iter.remove();
             }
         }
         super.removeProcessor(processor);
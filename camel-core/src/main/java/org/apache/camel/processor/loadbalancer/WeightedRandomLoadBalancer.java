@@ -43,7 +43,12 @@ public class WeightedRandomLoadBalancer extends WeightedLoadBalancer {
         return processors.get(selectedProcessorIndex);
     }
     
-    public int selectProcessIndex() {
+    /**
+     * Selects the index of the processor to use.
+     * <p/>
+     * The runtime ratios is shared state which is updated on each selection, so this method is synchronized.
+     */
+    public synchronized int selectProcessIndex() {
         if (runtimeRatioSum == 0) { // every processor is exhausted, reload for a new distribution round
             for (DistributionRatio distributionRatio : getRuntimeRatios()) {
                 int weight = distributionRatio.getDistributionWeight();
@@ -16,40 +16,57 @@
  */
 package org.apache.camel.processor.loadbalancer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 
 public class WeightedRoundRobinLoadBalancer extends WeightedLoadBalancer {
-    private int counter;
-    
+    private final AtomicInteger counter = new AtomicInteger(-1);
+    private final int[] schedule;
+
     public WeightedRoundRobinLoadBalancer(List<Integer> distributionRatios) {
         super(distributionRatios);
+        this.schedule = createSchedule();
     }
-    
+
     @Override
-    protected synchronized Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
-        if (isRuntimeRatiosZeroed())  {
-            resetRuntimeRatios();
-            counter = 0;
-        }
-        
-        boolean found = false;
-        while (!found) {
-            if (counter >= getRuntimeRatios().size()) {
-                counter = 0;
+    protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
+        // mask the sign bit so the index stays positive when the counter overflows
+        int index = (counter.incrementAndGet() & Integer.MAX_VALUE) % schedule.length;
+        return processors.get(schedule[index]);
+    }
+
+    /**
+     * Computes the order of the processors for an entire distribution round upfront,
+     * so processors can be chosen without keeping any mutable state besides a counter.
+     */
+    private int[] createSchedule() {
+        List<Integer> answer = new ArrayList<Integer>();
+        int position = 0;
+        while (!isRuntimeRatiosZeroed()) {
+            if (position >= getRuntimeRatios().size()) {
+                position = 0;
             }
-            
-            if (getRuntimeRatios().get(counter).getRuntimeWeight() > 0) {
-                getRuntimeRatios().get(counter).setRuntimeWeight((getRuntimeRatios().get(counter).getRuntimeWeight()) - 1);
-                found = true;
-            } else {
-                counter++;
+            DistributionRatio ratio = getRuntimeRatios().get(position);
+            if (ratio.getRuntimeWeight() > 0) {
+                ratio.setRuntimeWeight(ratio.getRuntimeWeight() - 1);
+                answer.add(position);
             }
+            position++;
         }
-       
-        return processors.get(counter++);
+        resetRuntimeRatios();
+
+        if (answer.isEmpty()) {
+            throw new IllegalArgumentException("Loadbalancing requires at least one positive distribution ratio");
+        }
+        int[] result = new int[answer.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = answer.get(i);
+        }
+        return result;
     }
-    
+
 }
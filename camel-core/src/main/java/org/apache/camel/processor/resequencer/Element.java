@@ -16,23 +16,40 @@
  */
 package org.apache.camel.processor.resequencer;
 
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.spi.TimerService;
+
 /**
  * A container for objects to be resequenced. This container can be scheduled
  * for timing out. Non-scheduled objects or already timed-out objects are ready
- * for being released by the {@link ResequencerEngine}.
+ * for being released by the {@link ResequencerEngine}. The element is timed
+ * out by running it as a timer task.
  */
-class Element<E> implements TimeoutHandler {
+class Element<E> implements Runnable {
 
     /**
      * The contained object.
      */
-    private E object;
+    private final E object;
+
+    /**
+     * The sequence number of the contained object, which is only used when the
+     * object is compared by a {@link SequenceNumberComparator}.
+     */
+    private long sequenceNumber;
 
     /**
-     * Not <code>null</code> if this element is currently beeing scheduled for
+     * <code>true</code> if this element is currently beeing scheduled for
      * timing out.
      */
-    private Timeout timeout;
+    private volatile boolean scheduled;
+
+    /**
+     * The timer task which times out this element.
+     */
+    private volatile ScheduledFuture<?> timeoutTask;
     
     /**
      * Creates a new container instance.
@@ -52,6 +69,14 @@ class Element<E> implements TimeoutHandler {
         return object;
     }
 
+    long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    void setSequenceNumber(long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
     /**
      * Returns <code>true</code> if this element is currently scheduled for
      * timing out.
@@ -59,41 +84,48 @@ class Element<E> implements TimeoutHandler {
      * @return <code>true</code> if scheduled or <code>false</code> if not
      *         scheduled or already timed-out.
      */
-    public synchronized boolean scheduled() {
-        return timeout != null;
+    public boolean scheduled() {
+        return scheduled;
     }
     
     /**
-     * Schedules the given timeout task. Before this methods calls the
-     * {@link Timeout#schedule()} method it sets this element as timeout
-     * listener.
+     * Schedules this element for timing out using the given timer.
      * 
-     * @param t a timeout task.
+     * @param timerService a timer service.
+     * @param timeout the timeout in milliseconds.
      */
-    public synchronized void schedule(Timeout t) {
-        this.timeout = t;
-        this.timeout.setTimeoutHandler(this);
-        this.timeout.schedule();
+    public void schedule(TimerService timerService, long timeout) {
+        this.scheduled = true;
+        this.timeoutTask = timerService.schedule(this, timeout, TimeUnit.MILLISECONDS);
     }
     
     /**
      * Cancels the scheduled timeout for this element. If this element is not
      * scheduled or has already timed-out this method has no effect.
      */
-    public synchronized void cancel() {
-        if (timeout != null) {
-            timeout.cancel();
+    public void cancel() {
+        ScheduledFuture<?> task = timeoutTask;
+        if (task != null) {
+            task.cancel(false);
         }
-        timeout(null);
+        timeout();
     }
 
     /**
-     * Marks this element as timed-out.
-     * 
-     * @param t timeout task that caused the notification.
+     * Marks this element as timed-out (or cancelled), which makes it ready
+     * for being released. If this element is not scheduled or has already
+     * timed-out this method has no effect.
+     */
+    public void timeout() {
+        this.scheduled = false;
+        this.timeoutTask = null;
+    }
+
+    /**
+     * Invoked by the timer task when the timeout occurs.
      */
-    public synchronized void timeout(Timeout t) {
-        this.timeout = null;
+    public void run() {
+        timeout();
     }
     
 }
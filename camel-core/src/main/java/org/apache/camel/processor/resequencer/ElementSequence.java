@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+/**
+ * The sequence of elements maintained by a {@link ResequencerEngine}, in the order
+ * given by its {@link SequenceElementComparator}.
+ *
+ * @version 
+ */
+interface ElementSequence<E> {
+
+    boolean add(E e);
+
+    boolean remove(Object o);
+
+    int size();
+
+    /**
+     * Returns the lowest element of this sequence, which must not be empty.
+     */
+    E first();
+
+    /**
+     * Returns the immediate predecessor of the given element in this sequence
+     * or <code>null</code> if no predecessor exists.
+     */
+    E predecessor(E e);
+
+    /**
+     * Returns the immediate successor of the given element in this sequence
+     * or <code>null</code> if no successor exists.
+     */
+    E successor(E e);
+
+    SequenceElementComparator<E> comparator();
+
+}
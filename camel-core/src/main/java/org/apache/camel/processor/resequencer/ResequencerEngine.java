@@ -16,9 +16,13 @@
  */
 package org.apache.camel.processor.resequencer;
 
-import java.util.Timer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
-import org.apache.camel.util.concurrent.ThreadHelper;
+import org.apache.camel.impl.DefaultTimerService;
+import org.apache.camel.spi.TimerService;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 
 /**
  * Resequences elements based on a given {@link SequenceElementComparator}.
@@ -55,6 +59,11 @@ import org.apache.camel.util.concurrent.ThreadHelper;
  * element needs <code>timeout</code> milliseconds in any case for becoming
  * <i>ready-for-delivery</i>.
  * <p>
+ * If the comparator is a {@link SequenceNumberComparator} and a <code>capacity</code>
+ * is set, the elements are kept in a ring buffer indexed by their sequence numbers,
+ * otherwise they are kept sorted in a tree. The waiting elements are timed out using
+ * a {@link TimerService}, which is usually shared in the {@link org.apache.camel.CamelContext}.
+ * <p>
  *
  * @version 
  */
@@ -71,15 +80,26 @@ public class ResequencerEngine<E> {
      */
     private long timeout;
 
+    /**
+     * The comparator for the elements.
+     */
+    private final SequenceElementComparator<E> comparator;
+
     /**
      * A sequence of elements for sorting purposes.
      */
-    private Sequence<Element<E>> sequence;
+    private ElementSequence<Element<E>> sequence;
 
     /**
      * A timer for scheduling timeout notifications.
      */
-    private Timer timer;
+    private TimerService timerService;
+
+    /**
+     * The executor of the timer created by this resequencer, if no timer has
+     * been set.
+     */
+    private ScheduledExecutorService timerExecutor;
 
     /**
      * A strategy for sending sequence elements.
@@ -93,20 +113,56 @@ public class ResequencerEngine<E> {
      * @param comparator a sequence element comparator.
      */
     public ResequencerEngine(SequenceElementComparator<E> comparator) {
-        this.sequence = createSequence(comparator);
+        this(comparator, 0);
+    }
+
+    /**
+     * Creates a new resequencer instance with a default timeout of 2000
+     * milliseconds.
+     *
+     * @param comparator a sequence element comparator.
+     * @param capacity the number of consecutive sequence numbers to keep in a
+     *        ring buffer, only used if the comparator is a {@link SequenceNumberComparator}.
+     */
+    public ResequencerEngine(SequenceElementComparator<E> comparator, int capacity) {
+        this.comparator = comparator;
+        this.sequence = createSequence(comparator, capacity);
         this.timeout = 2000L;
         this.lastDelivered = null;
     }
 
-    public void start() {
-        timer = new Timer(ThreadHelper.resolveThreadName("Camel Thread ${counter} - ${name}", "Stream Resequencer Timer"), true);
+    public synchronized void start() {
+        if (timerService == null) {
+            // the timer tasks only marks the elements as timed out, so they can run on the timer thread
+            timerExecutor = Executors.newSingleThreadScheduledExecutor(
+                    new CamelThreadFactory("Camel Thread ${counter} - ${name}", "Stream Resequencer Timer", true));
+            DefaultTimerService timer = new DefaultTimerService(timerExecutor, timerExecutor);
+            timer.setTickDuration(Math.max(1L, Math.min(timeout / 10L, DefaultTimerService.DEFAULT_TICK_DURATION)));
+            timerService = timer;
+            try {
+                timerService.start();
+            } catch (Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
     }
 
     /**
-     * Stops this resequencer (i.e. this resequencer's {@link Timer} instance).
+     * Stops this resequencer (i.e. this resequencer's {@link TimerService}
+     * instance if it was created by this resequencer).
      */
-    public void stop() {
-        timer.cancel();
+    public synchronized void stop() {
+        if (timerExecutor != null) {
+            try {
+                timerService.stop();
+            } catch (Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            } finally {
+                timerExecutor.shutdownNow();
+                timerExecutor = null;
+                timerService = null;
+            }
+        }
     }
 
     /**
@@ -136,6 +192,37 @@ public class ResequencerEngine<E> {
         this.timeout = timeout;
     }
 
+    /**
+     * Sets the number of consecutive sequence numbers to keep in a ring
+     * buffer. This only has an effect if the comparator is a
+     * {@link SequenceNumberComparator}, and a capacity of <code>0</code>
+     * means the elements are kept in a tree.
+     *
+     * @param capacity the capacity of the ring buffer.
+     * @throws IllegalStateException if this resequencer is not empty.
+     */
+    public synchronized void setCapacity(int capacity) {
+        if (sequence.size() > 0) {
+            throw new IllegalStateException("Cannot change the capacity of a resequencer which is not empty");
+        }
+        this.sequence = createSequence(comparator, capacity);
+    }
+
+    public TimerService getTimerService() {
+        return timerService;
+    }
+
+    /**
+     * Sets the timer used for timing out elements. If none is set a new timer
+     * is created when this resequencer is started, and stopped when this
+     * resequencer is stopped.
+     *
+     * @param timerService a timer service.
+     */
+    public synchronized void setTimerService(TimerService timerService) {
+        this.timerService = timerService;
+    }
+
     /**
      * Returns the sequence sender.
      *
@@ -199,7 +286,7 @@ public class ResequencerEngine<E> {
         Element<E> successor = sequence.successor(element);
 
         // check if there is an immediate successor and cancel
-        // timer task (no need to wait any more for timeout)
+        // its timeout (no need to wait any more for timeout)
         if (successor != null) {
             successor.cancel();
         }
@@ -210,7 +297,7 @@ public class ResequencerEngine<E> {
         } else if (sequence.predecessor(element) != null) {
             // nothing to schedule
         } else {
-            element.schedule(defineTimeout());
+            element.schedule(timerService, timeout);
         }
     }
 
@@ -282,16 +369,11 @@ public class ResequencerEngine<E> {
         return false;
     }
 
-    /**
-     * Creates a timeout task based on the timeout setting of this resequencer.
-     *
-     * @return a new timeout task.
-     */
-    private Timeout defineTimeout() {
-        return new Timeout(timer, timeout);
-    }
-
-    private static <E> Sequence<Element<E>> createSequence(SequenceElementComparator<E> comparator) {
+    @SuppressWarnings("unchecked")
+    private static <E> ElementSequence<Element<E>> createSequence(SequenceElementComparator<E> comparator, int capacity) {
+        if (capacity > 0 && comparator instanceof SequenceNumberComparator) {
+            return new RingBufferSequence<E>((SequenceNumberComparator<E>) comparator, capacity);
+        }
         return new Sequence<Element<E>>(new ElementComparator<E>(comparator));
     }
 
@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * A sequence of {@link Element} instances for elements which have dense <code>long</code>
+ * sequence numbers, as determined by a {@link SequenceNumberComparator}.
+ * <p/>
+ * The elements are kept in a ring buffer indexed by their sequence number modulo the size
+ * of the ring, which makes adding, removing and looking up the immediate predecessor and
+ * successor of an element a constant time operation without the need of comparing elements.
+ * The ring covers a window of consecutive sequence numbers starting at the lowest element
+ * in the ring. Elements which do not fit into this window (e.g. due to a large gap in the
+ * sequence numbers) are kept in a sorted overflow map instead, and are moved into the ring
+ * once it has been drained.
+ * <p/>
+ * This class is not thread-safe, and is guarded by the {@link ResequencerEngine}.
+ *
+ * @version 
+ */
+class RingBufferSequence<E> implements ElementSequence<Element<E>> {
+
+    private final SequenceNumberComparator<E> comparator;
+    private final SequenceElementComparator<Element<E>> elementComparator;
+    private final Element<E>[] ring;
+    private final int mask;
+    private final TreeMap<Long, Element<E>> overflow = new TreeMap<Long, Element<E>>();
+    private int ringSize;
+    // the lowest and highest sequence number in the ring, only valid if the ring is not empty
+    private long low;
+    private long high;
+
+    /**
+     * Creates a new sequence.
+     *
+     * @param comparator a strategy for obtaining the sequence numbers of the elements.
+     * @param capacity   the minimum number of consecutive sequence numbers the ring should cover,
+     *                   which is rounded up to the next power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public RingBufferSequence(SequenceNumberComparator<E> comparator, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive number, was " + capacity);
+        }
+        this.comparator = comparator;
+        this.elementComparator = new ElementComparator<E>(comparator);
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.ring = new Element[size];
+        this.mask = size - 1;
+    }
+
+    public boolean add(Element<E> e) {
+        long n = comparator.getSequenceNumber(e.getObject());
+        e.setSequenceNumber(n);
+
+        if (ringSize == 0) {
+            low = n;
+            high = n;
+            ring[index(n)] = e;
+            ringSize++;
+            return true;
+        }
+
+        if (get(n) != null) {
+            // duplicate sequence number
+            return false;
+        }
+
+        // the ring can hold the element if the window [min(low, n), max(high, n)] fits into the ring
+        if (n >= high - mask && n <= low + mask) {
+            ring[index(n)] = e;
+            ringSize++;
+            if (n < low) {
+                low = n;
+            } else if (n > high) {
+                high = n;
+            }
+        } else {
+            overflow.put(n, e);
+        }
+        return true;
+    }
+
+    public boolean remove(Object o) {
+        // only elements of this sequence are removed, which has their sequence number computed already
+        Element<?> e = (Element<?>) o;
+        long n = e.getSequenceNumber();
+
+        if (ringSize > 0 && n >= low && n <= high && ring[index(n)] == e) {
+            ring[index(n)] = null;
+            ringSize--;
+            if (ringSize == 0) {
+                refill();
+            } else if (n == low) {
+                while (ring[index(low)] == null) {
+                    low++;
+                }
+            } else if (n == high) {
+                while (ring[index(high)] == null) {
+                    high--;
+                }
+            }
+            return true;
+        }
+
+        return overflow.remove(n) != null;
+    }
+
+    public int size() {
+        return ringSize + overflow.size();
+    }
+
+    public Element<E> first() {
+        if (ringSize == 0) {
+            // the overflow is always empty when the ring is empty
+            throw new NoSuchElementException();
+        }
+        if (!overflow.isEmpty()) {
+            Map.Entry<Long, Element<E>> entry = overflow.firstEntry();
+            if (entry.getKey() < low) {
+                return entry.getValue();
+            }
+        }
+        return ring[index(low)];
+    }
+
+    public Element<E> predecessor(Element<E> e) {
+        return get(e.getSequenceNumber() - 1);
+    }
+
+    public Element<E> successor(Element<E> e) {
+        return get(e.getSequenceNumber() + 1);
+    }
+
+    public SequenceElementComparator<Element<E>> comparator() {
+        return elementComparator;
+    }
+
+    /**
+     * Returns the capacity of the ring.
+     */
+    int getRingCapacity() {
+        return ring.length;
+    }
+
+    private Element<E> get(long n) {
+        if (ringSize > 0 && n >= low && n <= high) {
+            Element<E> e = ring[index(n)];
+            if (e != null) {
+                return e;
+            }
+        }
+        if (overflow.isEmpty()) {
+            return null;
+        }
+        return overflow.get(n);
+    }
+
+    /**
+     * Moves the lowest elements of the overflow into the now empty ring.
+     */
+    private void refill() {
+        if (overflow.isEmpty()) {
+            return;
+        }
+        Map.Entry<Long, Element<E>> entry = overflow.pollFirstEntry();
+        low = entry.getKey();
+        high = low;
+        ring[index(low)] = entry.getValue();
+        ringSize++;
+
+        while (!overflow.isEmpty() && overflow.firstKey() <= low + mask) {
+            entry = overflow.pollFirstEntry();
+            high = entry.getKey();
+            ring[index(high)] = entry.getValue();
+            ringSize++;
+        }
+    }
+
+    private int index(long n) {
+        return (int) (n & mask);
+    }
+
+}
@@ -26,7 +26,10 @@ import java.util.TimerTask;
  * @see TimerTask
  * 
  * @version 
+ * @deprecated the {@link ResequencerEngine} keeps track of timeouts using a
+ *             {@link org.apache.camel.spi.TimerService}, will be removed in a future release.
  */
+@Deprecated
 public class Timeout extends TimerTask {
     
     private TimeoutHandler timeoutHandler;
@@ -20,7 +20,9 @@ package org.apache.camel.processor.resequencer;
  * Implemented by classes that handle timeout notifications.
  * 
  * @version 
+ * @deprecated not in use, see {@link Timeout}.
  */
+@Deprecated
 public interface TimeoutHandler {
 
     /**
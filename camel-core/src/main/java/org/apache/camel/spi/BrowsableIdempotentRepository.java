@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.util.List;
+
+/**
+ * An optional interface an {@link IdempotentRepository} may choose to implement which allows it to
+ * expose the keys it contains, and to add keys which are known to be new.
+ * <p/>
+ * This allows a filter such as the {@link org.apache.camel.processor.idempotent.BloomFilterIdempotentRepository}
+ * to be put in front of the repository.
+ *
+ * @version 
+ */
+public interface BrowsableIdempotentRepository<E> extends IdempotentRepository<E> {
+
+    /**
+     * Returns the keys in the repository.
+     *
+     * @return the keys
+     */
+    List<E> getKeys();
+
+    /**
+     * Adds a key which is known to not be in the repository, which allows the repository
+     * to skip checking whether it already contains the key.
+     *
+     * @param key the key of the message
+     * @return <tt>true</tt> if the key was added
+     */
+    boolean addNewKey(E key);
+
+}
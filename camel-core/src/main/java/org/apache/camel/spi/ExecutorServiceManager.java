@@ -245,6 +245,24 @@ public interface ExecutorServiceManager extends ShutdownableService {
      */
     ScheduledExecutorService newScheduledThreadPool(Object source, String name, String profileId);
 
+    /**
+     * Gets the {@link TimerService} shared by the processors which schedules delayed tasks.
+     * <p/>
+     * The timer service is added as a service to the {@link org.apache.camel.CamelContext} the first time
+     * its requested while the {@link org.apache.camel.CamelContext} is starting or started, which
+     * starts it. Before that it can be configured, such as its tick duration.
+     *
+     * @return the timer service
+     */
+    TimerService getTimerService();
+
+    /**
+     * Sets a custom {@link TimerService}
+     *
+     * @param timerService the timer service
+     */
+    void setTimerService(TimerService timerService);
+
     /**
      * Shutdown the given executor service.
      *
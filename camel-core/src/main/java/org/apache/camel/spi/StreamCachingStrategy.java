@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.nio.ByteBuffer;
+
+import org.apache.camel.Service;
+
+/**
+ * Strategy for the memory used by stream caching, which is shared by all the exchanges of a
+ * {@link org.apache.camel.CamelContext}.
+ * <p/>
+ * When a memory budget is configured the stream caches keep their content in pooled direct buffers
+ * outside the heap, until the budget is used, and then spool the content to memory mapped files.
+ *
+ * @version 
+ */
+public interface StreamCachingStrategy extends Service {
+
+    /**
+     * Sets the memory budget in bytes for the direct buffers used by all the stream caches.
+     * <p/>
+     * Is by default <tt>0</tt> which means the stream caches keep their content on the heap.
+     *
+     * @param memoryBudget the budget in bytes
+     */
+    void setMemoryBudget(long memoryBudget);
+
+    long getMemoryBudget();
+
+    /**
+     * Sets the size in bytes of each of the pooled direct buffers.
+     *
+     * @param bufferSize the size in bytes
+     */
+    void setBufferSize(int bufferSize);
+
+    int getBufferSize();
+
+    /**
+     * Whether the stream caches should keep their content in direct buffers outside the heap
+     *
+     * @return <tt>true</tt> if a memory budget is configured
+     */
+    boolean isOffHeap();
+
+    /**
+     * Acquires a direct buffer from the pool.
+     *
+     * @return the cleared buffer, or <tt>null</tt> if the memory budget is used, and the content should be spooled
+     */
+    ByteBuffer acquireBuffer();
+
+    /**
+     * Releases the buffer back to the pool, once the stream cache using it is closed.
+     *
+     * @param buffer the buffer
+     */
+    void releaseBuffer(ByteBuffer buffer);
+
+    /**
+     * Callback when a stream cache keeps the given number of bytes on the heap.
+     *
+     * @param length number of bytes, is negative when the stream cache is closed
+     */
+    void onHeapUsage(long length);
+
+    /**
+     * Callback when a stream cache has spooled the given number of bytes to a file.
+     *
+     * @param length number of bytes, is negative when the spool file is deleted
+     */
+    void onSpoolUsage(long length);
+
+    /**
+     * Gets the number of bytes of the direct buffers currently in use
+     */
+    long getMemoryUsed();
+
+    /**
+     * Gets the number of bytes currently kept on the heap
+     */
+    long getHeapUsed();
+
+    /**
+     * Gets the number of bytes currently spooled to files
+     */
+    long getSpoolUsed();
+}
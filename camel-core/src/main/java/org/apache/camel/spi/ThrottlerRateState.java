@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+/**
+ * Holds the rate state of the <a href="http://camel.apache.org/throttler.html">Throttler</a> EIP.
+ * <p/>
+ * The state is a single number per throttler, which is the time the next permit is available. The throttler
+ * acquires permits by updating the number using compare and set, so the state can be shared by many throttlers,
+ * for example using an atomic number in a cluster, to throttle under one rate budget across many nodes.
+ *
+ * @version 
+ */
+public interface ThrottlerRateState {
+
+    /**
+     * Gets the current value of the state
+     *
+     * @param key the key of the throttler
+     * @return the current value, or <tt>0</tt> if there is no state yet
+     */
+    long get(String key);
+
+    /**
+     * Atomically sets the value of the state to the given updated value if the current value is the expected value.
+     *
+     * @param key    the key of the throttler
+     * @param expect the expected value
+     * @param update the new value
+     * @return <tt>true</tt> if successful, <tt>false</tt> if the current value was not the expected value
+     */
+    boolean compareAndSet(String key, long expect, long update);
+
+}
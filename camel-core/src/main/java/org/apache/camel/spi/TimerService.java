@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Service;
+
+/**
+ * A timer which is shared by all the processors of a {@link org.apache.camel.CamelContext} which
+ * schedules delayed tasks, such as the delayer, the throttler and the timeouts of the aggregator,
+ * resequencer and multicast.
+ * <p/>
+ * The pending tasks are kept in a hashed timing wheel which ticks with the configured tick duration,
+ * which is the accuracy of the timer. A task is never executed before its delay has elapsed, but may be
+ * executed up till one tick later. The tasks are executed by a thread pool, so the tasks may block
+ * without delaying the timer.
+ * <p/>
+ * The timer service is provided by the {@link ExecutorServiceManager}.
+ *
+ * @version 
+ */
+public interface TimerService extends Service {
+
+    /**
+     * Schedules the task to be executed once after the given delay.
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the time unit of the delay
+     * @return a future which can be used to cancel the task
+     * @throws java.util.concurrent.RejectedExecutionException if the timer service is not started
+     */
+    ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * Schedules the task to be executed repeatedly with the given delay between the end of
+     * an execution and the start of the next, until the task is cancelled or throws an exception.
+     *
+     * @param task         the task
+     * @param initialDelay the delay before the first execution
+     * @param delay        the delay between the executions
+     * @param unit         the time unit of the delays
+     * @return a future which can be used to cancel the task
+     * @throws java.util.concurrent.RejectedExecutionException if the timer service is not started
+     */
+    ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long initialDelay, long delay, TimeUnit unit);
+
+    /**
+     * Schedules the task to be executed repeatedly with the given period between the start of
+     * the executions, until the task is cancelled or throws an exception. If an execution takes longer
+     * than the period, then the next execution starts as soon as the execution has completed.
+     *
+     * @param task         the task
+     * @param initialDelay the delay before the first execution
+     * @param period       the period between the executions
+     * @param unit         the time unit of the delay and period
+     * @return a future which can be used to cancel the task
+     * @throws java.util.concurrent.RejectedExecutionException if the timer service is not started
+     */
+    ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit);
+
+    /**
+     * Sets the tick duration in millis, which is the accuracy of the timer.
+     * <p/>
+     * Changing the tick duration takes effect when the timer service is (re)started.
+     *
+     * @param tickDuration the tick duration in millis
+     */
+    void setTickDuration(long tickDuration);
+
+    long getTickDuration();
+
+    /**
+     * Sets the number of buckets of the timing wheel, which is rounded up to a power of two.
+     * <p/>
+     * Changing the wheel size takes effect when the timer service is (re)started.
+     *
+     * @param wheelSize the number of buckets
+     */
+    void setWheelSize(int wheelSize);
+
+    int getWheelSize();
+
+    /**
+     * Number of tasks currently waiting for their delay to elapse
+     */
+    int getPendingTasks();
+
+    /**
+     * Total number of tasks which has been scheduled
+     */
+    long getScheduledTasks();
+
+    /**
+     * Total number of task executions
+     */
+    long getExecutedTasks();
+
+    /**
+     * Total number of tasks which has been cancelled
+     */
+    long getCancelledTasks();
+
+}
@@ -0,0 +1,450 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.spi.TimerService;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TimeoutMap} which uses a hashed timing wheel to keep track of the timeouts.
+ * <p/>
+ * The {@link DefaultTimeoutMap} scans all the entries on each purge, which is expensive when there
+ * is a large number of entries. This implementation places each entry in a bucket on a wheel according to
+ * its expire time, and on each purge only the buckets for the ticks elapsed since the previous purge are scanned.
+ * Adding, updating and removing entries is done in constant time.
+ * <p/>
+ * The tick duration is the purge poll time, and the wheel will by default have 512 buckets.
+ * An entry is evicted by the first purge after its expire time, and thus with the same accuracy as
+ * the {@link DefaultTimeoutMap}.
+ * <p/>
+ * The wheel itself is always guarded by an internal lock, which is only held for a short constant time.
+ * If locking is enabled (which is the default) then the lock is also held while the eviction notifications
+ * are fired, which ensures that an entry cannot be updated while its being evicted.
+ * <p/>
+ * You must provide a {@link java.util.concurrent.ScheduledExecutorService} or a {@link TimerService} in the
+ * constructor which is used to schedule a background task which check for old entries to purge.
+ *
+ * @version 
+ */
+public class HashedWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V>, Runnable {
+
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    protected final transient Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, WheelEntry<K, V>> map = new ConcurrentHashMap<K, WheelEntry<K, V>>();
+    private final ScheduledExecutorService executor;
+    private final TimerService timerService;
+    private volatile ScheduledFuture<?> pollTask;
+    private final long purgePollTime;
+    private final Lock lock = new ReentrantLock();
+    private final boolean useLock;
+    private final WheelEntry<K, V>[] wheel;
+    private final int mask;
+    private final long startTime;
+    // the first tick to be processed by the next purge
+    private long nextTick;
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        this(executor, requestMapPollTimeMillis, true);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, boolean useLock) {
+        this(executor, requestMapPollTimeMillis, useLock, DEFAULT_WHEEL_SIZE);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, boolean useLock, int wheelSize) {
+        this(executor, null, requestMapPollTimeMillis, useLock, wheelSize);
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        schedulePoll();
+    }
+
+    /**
+     * Creates a timeout map which purges the old entries using the given timer service.
+     * <p/>
+     * Notice the timer service must be started.
+     */
+    public HashedWheelTimeoutMap(TimerService timerService, long requestMapPollTimeMillis, boolean useLock) {
+        this(null, timerService, requestMapPollTimeMillis, useLock, DEFAULT_WHEEL_SIZE);
+        ObjectHelper.notNull(timerService, "TimerService");
+        schedulePoll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private HashedWheelTimeoutMap(ScheduledExecutorService executor, TimerService timerService, long requestMapPollTimeMillis,
+                                  boolean useLock, int wheelSize) {
+        if (requestMapPollTimeMillis <= 0) {
+            throw new IllegalArgumentException("RequestMapPollTimeMillis must be a positive number, was " + requestMapPollTimeMillis);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("WheelSize must be a positive number, was " + wheelSize);
+        }
+        this.executor = executor;
+        this.timerService = timerService;
+        this.purgePollTime = requestMapPollTimeMillis;
+        this.useLock = useLock;
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new WheelEntry[size];
+        this.mask = size - 1;
+        this.startTime = currentTime();
+    }
+
+    public V get(K key) {
+        WheelEntry<K, V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        lock.lock();
+        try {
+            // only reschedule if the entry has not been removed meanwhile
+            if (entry.scheduled) {
+                unlink(entry);
+                updateExpireTime(entry);
+                link(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return entry.getValue();
+    }
+
+    public void put(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<K, V>(key, value, timeoutMillis);
+        lock.lock();
+        try {
+            WheelEntry<K, V> old = map.put(key, entry);
+            if (old != null) {
+                unlink(old);
+            }
+            updateExpireTime(entry);
+            link(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public V remove(K key) {
+        WheelEntry<K, V> entry;
+        lock.lock();
+        try {
+            entry = map.remove(key);
+            if (entry != null) {
+                unlink(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return entry != null ? entry.getValue() : null;
+    }
+
+    public Object[] getKeys() {
+        Set<K> keySet = map.keySet();
+        Object[] keys = new Object[keySet.size()];
+        keySet.toArray(keys);
+        return keys;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The timer task which purges old requests and schedules another poll
+     */
+    public void run() {
+        // only run if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries has been timed out");
+        try {
+            purge();
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the executor will now schedule next run
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    public void purge() {
+        log.trace("There are {} in the timeout map", map.size());
+
+        lock.lock();
+        try {
+            List<WheelEntry<K, V>> expired = collectExpired(currentTime());
+            if (expired.isEmpty()) {
+                return;
+            }
+            if (useLock) {
+                // keep holding the lock while firing the notifications
+                evict(expired);
+            } else {
+                lock.unlock();
+                try {
+                    evict(expired);
+                } finally {
+                    lock.lock();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    public TimerService getTimerService() {
+        return timerService;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * lets schedule each time to allow folks to change the time at runtime
+     */
+    protected void schedulePoll() {
+        if (timerService != null) {
+            pollTask = timerService.scheduleWithFixedDelay(this, 0, purgePollTime, TimeUnit.MILLISECONDS);
+        } else {
+            pollTask = executor.scheduleWithFixedDelay(this, 0, purgePollTime, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    public boolean onEviction(K key, V value) {
+        return true;
+    }
+
+    protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(entry.getTimeout() + now);
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Advances the wheel to the given time, and unlinks the expired entries.
+     * <p/>
+     * Must be invoked while holding the lock.
+     */
+    private List<WheelEntry<K, V>> collectExpired(long now) {
+        List<WheelEntry<K, V>> expired = new ArrayList<WheelEntry<K, V>>();
+
+        long currentTick = (now - startTime) / purgePollTime;
+        if (currentTick < nextTick) {
+            return expired;
+        }
+        List<WheelEntry<K, V>> vetoed = null;
+        // only visit each bucket once, even if many ticks has elapsed since last purge
+        long ticks = Math.min(currentTick - nextTick + 1, wheel.length);
+        for (long i = 0; i < ticks; i++) {
+            int index = (int) ((nextTick + i) & mask);
+            WheelEntry<K, V> entry = wheel[index];
+            while (entry != null) {
+                WheelEntry<K, V> next = entry.next;
+                if (entry.getExpireTime() <= now) {
+                    unlink(entry);
+                    if (isValidForEviction(entry)) {
+                        log.debug("Evicting inactive entry ID: {}", entry);
+                        expired.add(entry);
+                    } else {
+                        if (vetoed == null) {
+                            vetoed = new ArrayList<WheelEntry<K, V>>();
+                        }
+                        vetoed.add(entry);
+                    }
+                }
+                entry = next;
+            }
+        }
+        // the bucket for the current tick may hold entries which expire later within this tick,
+        // so we must visit this bucket again on the next purge
+        nextTick = currentTick;
+
+        if (vetoed != null) {
+            // the buckets passed are not visited again until the wheel wraps around,
+            // so link the entries into the bucket of the current tick to check them again on the next purge
+            for (WheelEntry<K, V> entry : vetoed) {
+                link(entry);
+            }
+        }
+
+        if (expired.size() > 1) {
+            // sort according to the expired time so we got the first expired first
+            Collections.sort(expired);
+        }
+        return expired;
+    }
+
+    private void evict(List<WheelEntry<K, V>> expired) {
+        for (WheelEntry<K, V> entry : expired) {
+            boolean evict = false;
+            try {
+                evict = onEviction(entry.getKey(), entry.getValue());
+            } finally {
+                lock.lock();
+                try {
+                    if (evict) {
+                        // okay this entry should be evicted, but only if it was not replaced meanwhile
+                        map.remove(entry.getKey(), entry);
+                    } else if (map.get(entry.getKey()) == entry && !entry.scheduled) {
+                        // eviction was vetoed so check the entry again on the next tick
+                        link(entry);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Links the entry into the bucket of the tick its expire time is within.
+     * <p/>
+     * Must be invoked while holding the lock.
+     */
+    private void link(WheelEntry<K, V> entry) {
+        long delta = entry.getExpireTime() - startTime;
+        long tick = delta <= 0 ? 0 : delta / purgePollTime;
+        if (tick < nextTick) {
+            tick = nextTick;
+        }
+        int index = (int) (tick & mask);
+        entry.bucket = index;
+        entry.prev = null;
+        entry.next = wheel[index];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        wheel[index] = entry;
+        entry.scheduled = true;
+    }
+
+    /**
+     * Unlinks the entry from its bucket.
+     * <p/>
+     * Must be invoked while holding the lock.
+     */
+    private void unlink(WheelEntry<K, V> entry) {
+        if (!entry.scheduled) {
+            return;
+        }
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            wheel[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.scheduled = false;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor != null && executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        if (pollTask == null) {
+            // we have been restarted
+            schedulePoll();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // no need to poll while stopped
+        ScheduledFuture<?> task = pollTask;
+        if (task != null) {
+            task.cancel(false);
+            pollTask = null;
+        }
+
+        // clear map if we stop
+        lock.lock();
+        try {
+            map.clear();
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An entry in a bucket on the wheel.
+     */
+    private static final class WheelEntry<K, V> extends TimeoutMapEntry<K, V> {
+        private WheelEntry<K, V> prev;
+        private WheelEntry<K, V> next;
+        private int bucket;
+        private boolean scheduled;
+
+        private WheelEntry(K key, V value, long timeout) {
+            super(key, value, timeout);
+        }
+    }
+
+}
@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread safe scalable <a href="http://en.wikipedia.org/wiki/Bloom_filter">Bloom filter</a> of strings.
+ * <p/>
+ * A Bloom filter can tell if a key is <b>definitely not</b> added, or if it <b>might</b> have been added.
+ * The filter starts with room for the expected number of keys. When it is full a new filter which is
+ * twice as large, and with half the false positive probability, is added, so the total false positive
+ * probability stays bounded no matter how many keys is added.
+ * <p/>
+ * Keys cannot be removed from the filter.
+ *
+ * @version 
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private final CopyOnWriteArrayList<Slice> slices = new CopyOnWriteArrayList<Slice>();
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * Creates a filter.
+     *
+     * @param expectedInsertions the expected number of keys to add, before the filter needs to grow
+     * @param falsePositiveProbability the wanted false positive probability, such as <tt>0.01</tt> for 1%
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("ExpectedInsertions must be positive, was: " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("FalsePositiveProbability must be between 0 and 1, was: " + falsePositiveProbability);
+        }
+        // the first slice takes half the probability so the sum of all slices is bounded
+        slices.add(new Slice(expectedInsertions, falsePositiveProbability / 2));
+    }
+
+    /**
+     * Adds the key to the filter.
+     *
+     * @param key the key
+     * @return <tt>true</tt> if the key was definitely not added before, <tt>false</tt> if it might have been added before.
+     *         If the same key is added concurrently then more than one caller can get <tt>true</tt>.
+     */
+    public boolean put(String key) {
+        long hash = hash(key);
+        if (mightContain(hash)) {
+            return false;
+        }
+
+        Slice slice = slices.get(slices.size() - 1);
+        if (slice.isFull()) {
+            slice = grow(slice);
+        }
+        slice.put(hash);
+        size.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Whether the key might have been added to the filter.
+     *
+     * @param key the key
+     * @return <tt>false</tt> if the key has definitely not been added, <tt>true</tt> if it might have been added
+     */
+    public boolean mightContain(String key) {
+        return mightContain(hash(key));
+    }
+
+    /**
+     * Number of keys added to the filter
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Number of bits used by the filter
+     */
+    public long bitSize() {
+        long answer = 0;
+        for (Slice slice : slices) {
+            answer += slice.bits;
+        }
+        return answer;
+    }
+
+    /**
+     * Clears the filter, keeping the first slice.
+     */
+    public synchronized void clear() {
+        Slice first = slices.get(0);
+        slices.clear();
+        slices.add(new Slice(first.capacity, first.probability));
+        size.set(0);
+    }
+
+    private boolean mightContain(long hash) {
+        for (Slice slice : slices) {
+            if (slice.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized Slice grow(Slice full) {
+        Slice last = slices.get(slices.size() - 1);
+        if (last != full) {
+            // another thread has grown the filter already
+            return last;
+        }
+        Slice slice = new Slice(full.capacity * 2, full.probability / 2);
+        slices.add(slice);
+        return slice;
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the key, where the two halves is used as the two hash functions
+     * for the double hashing scheme.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // spread the bits as FNV-1a does not mix the last characters well
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Slice {
+        private final long capacity;
+        private final double probability;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong count = new AtomicLong();
+
+        private Slice(long capacity, double probability) {
+            this.capacity = capacity;
+            this.probability = probability;
+            long m = (long) Math.ceil(-capacity * Math.log(probability) / (LN2 * LN2));
+            // round up to whole words
+            this.bits = Math.max(64, (m + 63) & ~63L);
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * LN2));
+            this.words = new AtomicLongArray((int) (bits >>> 6));
+        }
+
+        private boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        private void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = index(h1 + i * h2);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value = words.get(word);
+                while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask)) {
+                    value = words.get(word);
+                }
+            }
+            count.incrementAndGet();
+        }
+
+        private boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = index(h1 + i * h2);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long index(int combined) {
+            // flip all bits if negative
+            if (combined < 0) {
+                combined = ~combined;
+            }
+            return combined % bits;
+        }
+    }
+}
@@ -0,0 +1,447 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.apache.camel.Exchange;
+
+/**
+ * A map purpose built for message headers, which uses case insensitive keys, but preserves the original keys.
+ * <p/>
+ * Unlike {@link CaseInsensitiveMap} this map does not lower case the keys, but hashes and compares the keys
+ * case insensitively character by character, which means that looking up a header does not allocate any objects.
+ * The names of common headers such as the Camel headers from {@link Exchange}, and the JMS headers
+ * are interned, so the map refers to a single shared instance of those keys.
+ * <p/>
+ * The entries are iterated in insertion order, and the map can be mutated while iterating, such as removing
+ * headers while iterating the entries.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed
+ * by the Camel routing engine.
+ *
+ * @version 
+ */
+public class CaseInsensitiveHeaderMap extends AbstractMap<String, Object> implements Serializable {
+    private static final long serialVersionUID = 3420853617289137436L;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final String[] JMS_HEADERS = {"JMSCorrelationID", "JMSDeliveryMode", "JMSDestination", "JMSExpiration",
+        "JMSMessageID", "JMSPriority", "JMSRedelivered", "JMSReplyTo", "JMSTimestamp", "JMSType", "JMSXGroupID"};
+    private static final String[] INTERNED = createInterned();
+
+    private transient HeaderEntry[] table;
+    private transient HeaderEntry head;
+    private transient HeaderEntry tail;
+    private transient int size;
+    private transient int threshold;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    public CaseInsensitiveHeaderMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CaseInsensitiveHeaderMap(int initialCapacity) {
+        init(initialCapacity);
+    }
+
+    public CaseInsensitiveHeaderMap(Map<? extends String, ?> map) {
+        this(map.size() < DEFAULT_CAPACITY ? DEFAULT_CAPACITY : map.size() * 4 / 3 + 1);
+        putAll(map);
+    }
+
+    private void init(int initialCapacity) {
+        int capacity = 1;
+        while (capacity < initialCapacity && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+        table = new HeaderEntry[capacity];
+        threshold = capacity * 3 / 4;
+    }
+
+    @Override
+    public Object get(Object key) {
+        HeaderEntry entry = getEntry(key);
+        return entry != null ? entry.value : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return getEntry(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public synchronized Object put(String key, Object value) {
+        ObjectHelper.notNull(key, "key");
+        int hash = hash(key);
+        int index = hash & (table.length - 1);
+        for (HeaderEntry entry = table[index]; entry != null; entry = entry.nextInBucket) {
+            if (entry.hash == hash && keyEquals(entry.key, key)) {
+                if (!entry.key.equals(key)) {
+                    // preserve the case of the latest key
+                    entry.key = intern(key, hash);
+                }
+                Object answer = entry.value;
+                entry.value = value;
+                return answer;
+            }
+        }
+
+        HeaderEntry entry = new HeaderEntry(hash, intern(key, hash), value);
+        entry.nextInBucket = table[index];
+        table[index] = entry;
+        if (tail == null) {
+            head = entry;
+        } else {
+            tail.after = entry;
+            entry.before = tail;
+        }
+        tail = entry;
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void putAll(Map<? extends String, ?> map) {
+        if (map != null && !map.isEmpty()) {
+            for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        String s = key.toString();
+        int hash = hash(s);
+        int index = hash & (table.length - 1);
+        HeaderEntry previous = null;
+        for (HeaderEntry entry = table[index]; entry != null; entry = entry.nextInBucket) {
+            if (entry.hash == hash && keyEquals(entry.key, s)) {
+                if (previous == null) {
+                    table[index] = entry.nextInBucket;
+                } else {
+                    previous.nextInBucket = entry.nextInBucket;
+                }
+                unlink(entry);
+                size--;
+                return entry.value;
+            }
+            previous = entry;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (HeaderEntry entry = head; entry != null; entry = entry.after) {
+            // mark the entries as removed so iterators in progress will skip them
+            entry.removed = true;
+        }
+        for (int i = 0; i < table.length; i++) {
+            table[i] = null;
+        }
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private HeaderEntry getEntry(Object key) {
+        if (key == null) {
+            return null;
+        }
+        String s = key.toString();
+        int hash = hash(s);
+        for (HeaderEntry entry = table[hash & (table.length - 1)]; entry != null; entry = entry.nextInBucket) {
+            if (entry.key == s || (entry.hash == hash && keyEquals(entry.key, s))) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void unlink(HeaderEntry entry) {
+        entry.removed = true;
+        // keep the after link on the removed entry, so iterators in progress can continue from it
+        if (entry.before == null) {
+            head = entry.after;
+        } else {
+            entry.before.after = entry.after;
+        }
+        if (entry.after == null) {
+            tail = entry.before;
+        } else {
+            entry.after.before = entry.before;
+        }
+    }
+
+    private void resize() {
+        if (table.length >= MAXIMUM_CAPACITY) {
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+        HeaderEntry[] newTable = new HeaderEntry[table.length << 1];
+        for (HeaderEntry entry = head; entry != null; entry = entry.after) {
+            int index = entry.hash & (newTable.length - 1);
+            entry.nextInBucket = newTable[index];
+            newTable[index] = entry;
+        }
+        table = newTable;
+        threshold = newTable.length * 3 / 4;
+    }
+
+    /**
+     * Folds the character to the same case, so characters which are equal ignoring case are folded
+     * to the same character.
+     */
+    private static int fold(char ch) {
+        if (ch < 128) {
+            return ch >= 'A' && ch <= 'Z' ? ch + ('a' - 'A') : ch;
+        }
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    private static int hash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            h = 31 * h + fold(key.charAt(i));
+        }
+        // spread the bits as the table uses power of two lengths
+        h ^= (h >>> 20) ^ (h >>> 12);
+        return h ^ (h >>> 7) ^ (h >>> 4);
+    }
+
+    private static boolean keyEquals(String a, String b) {
+        if (a == b) {
+            return true;
+        }
+        int length = a.length();
+        if (length != b.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c1 = a.charAt(i);
+            char c2 = b.charAt(i);
+            if (c1 != c2 && fold(c1) != fold(c2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the shared instance of the key if its a common header name, otherwise the key as is.
+     */
+    private static String intern(String key, int hash) {
+        String[] interned = INTERNED;
+        int mask = interned.length - 1;
+        for (int i = hash & mask; interned[i] != null; i = (i + 1) & mask) {
+            if (interned[i].equals(key)) {
+                return interned[i];
+            }
+        }
+        return key;
+    }
+
+    private static String[] createInterned() {
+        List<String> names = new ArrayList<String>();
+        for (Field field : Exchange.class.getFields()) {
+            if (field.getType() == String.class && Modifier.isStatic(field.getModifiers())) {
+                try {
+                    names.add((String) field.get(null));
+                } catch (IllegalAccessException e) {
+                    // ignore as the fields on an interface are public
+                }
+            }
+        }
+        for (String name : JMS_HEADERS) {
+            names.add(name);
+        }
+
+        // use an open addressing table which is at most half full
+        int capacity = 1;
+        while (capacity < names.size() * 2) {
+            capacity <<= 1;
+        }
+        String[] answer = new String[capacity];
+        int mask = capacity - 1;
+        for (String name : names) {
+            int i = hash(name) & mask;
+            while (answer[i] != null && !answer[i].equals(name)) {
+                i = (i + 1) & mask;
+            }
+            answer[i] = name.intern();
+        }
+        return answer;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (HeaderEntry entry = head; entry != null; entry = entry.after) {
+            out.writeObject(entry.key);
+            out.writeObject(entry.value);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        init(count < DEFAULT_CAPACITY ? DEFAULT_CAPACITY : count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            String key = (String) in.readObject();
+            Object value = in.readObject();
+            put(key, value);
+        }
+    }
+
+    private static final class HeaderEntry implements Map.Entry<String, Object> {
+        private final int hash;
+        private String key;
+        private Object value;
+        private HeaderEntry nextInBucket;
+        private HeaderEntry before;
+        private HeaderEntry after;
+        private boolean removed;
+
+        HeaderEntry(int hash, String key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public Object setValue(Object value) {
+            Object answer = this.value;
+            this.value = value;
+            return answer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return ObjectHelper.equal(key, e.getKey()) && ObjectHelper.equal(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CaseInsensitiveHeaderMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private HeaderEntry next = head;
+        private HeaderEntry current;
+
+        public boolean hasNext() {
+            // skip entries which has been removed while iterating
+            while (next != null && next.removed) {
+                next = next.after;
+            }
+            return next != null;
+        }
+
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = next.after;
+            return current;
+        }
+
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            if (!current.removed) {
+                CaseInsensitiveHeaderMap.this.remove(current.key);
+            }
+            current = null;
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A case insensitive map which supports lazy copies, where the copy shares the entries with the
+ * original map until either of them is mutated.
+ * <p/>
+ * The entries are stored in a {@link CaseInsensitiveHeaderMap}, so lookup can be done using case insensitive keys,
+ * and the original keys are preserved in the keySet. When a {@link #copy()} is created then the storage is
+ * shared, and the first mutation on either the original or the copy will copy the storage before
+ * mutating it. This is used for the headers on {@link org.apache.camel.Message} as the routing engine copies
+ * messages in many EIPs such as multicast, splitter and wire tap, where the copies often never touch the headers.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed
+ * by the Camel routing engine. However its safe for a copy and the original to be used by different threads.
+ *
+ * @version 
+ */
+public class CopyOnWriteCaseInsensitiveMap extends AbstractMap<String, Object> implements Serializable {
+    private static final long serialVersionUID = 6215429578463219543L;
+
+    private Map<String, Object> storage;
+    // whether the storage may be shared with other maps, and thus must be copied before mutation
+    private volatile boolean shared;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    public CopyOnWriteCaseInsensitiveMap() {
+        this.storage = new CaseInsensitiveHeaderMap();
+    }
+
+    public CopyOnWriteCaseInsensitiveMap(Map<? extends String, ?> map) {
+        this.storage = new CaseInsensitiveHeaderMap(map);
+    }
+
+    private CopyOnWriteCaseInsensitiveMap(Map<String, Object> storage, boolean shared) {
+        this.storage = storage;
+        this.shared = shared;
+    }
+
+    /**
+     * Creates a lazy copy of this map, which shares the entries with this map until either is mutated.
+     *
+     * @return the copy
+     */
+    public CopyOnWriteCaseInsensitiveMap copy() {
+        shared = true;
+        return new CopyOnWriteCaseInsensitiveMap(storage, true);
+    }
+
+    /**
+     * Whether the entries may currently be shared with another map.
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return storage.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return storage.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return storage.containsValue(value);
+    }
+
+    @Override
+    public int size() {
+        return storage.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return storage.isEmpty();
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return mutable().put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        if (map != null && !map.isEmpty()) {
+            mutable().putAll(map);
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (key == null || !storage.containsKey(key)) {
+            // avoid copying the storage if there is nothing to remove
+            return null;
+        }
+        return mutable().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            // no need to copy the entries as we clear anyway
+            storage = new CaseInsensitiveHeaderMap();
+            shared = false;
+        } else {
+            storage.clear();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Gets the storage which is safe to mutate, which copies the storage if its shared.
+     */
+    private Map<String, Object> mutable() {
+        if (shared) {
+            storage = new CaseInsensitiveHeaderMap(storage);
+            shared = false;
+        }
+        return storage;
+    }
+
+    /**
+     * A view of the entries, where mutations goes through the map so the storage is copied if needed.
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            // the storage is either left untouched when copied, or supports mutation while iterating
+            final Iterator<Map.Entry<String, Object>> it = storage.entrySet().iterator();
+            return new Iterator<Map.Entry<String, Object>>() {
+                private Map.Entry<String, Object> current;
+
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                public Map.Entry<String, Object> next() {
+                    final Map.Entry<String, Object> entry = it.next();
+                    current = entry;
+                    return new Map.Entry<String, Object>() {
+                        private Object value = entry.getValue();
+
+                        public String getKey() {
+                            return entry.getKey();
+                        }
+
+                        public Object getValue() {
+                            return value;
+                        }
+
+                        public Object setValue(Object value) {
+                            Object old = this.value;
+                            this.value = value;
+                            put(entry.getKey(), value);
+                            return old;
+                        }
+
+                        @Override
+                        public boolean equals(Object o) {
+                            if (!(o instanceof Map.Entry)) {
+                                return false;
+                            }
+                            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                            return ObjectHelper.equal(getKey(), e.getKey()) && ObjectHelper.equal(getValue(), e.getValue());
+                        }
+
+                        @Override
+                        public int hashCode() {
+                            String key = getKey();
+                            return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+                        }
+
+                        @Override
+                        public String toString() {
+                            return getKey() + "=" + getValue();
+                        }
+                    };
+                }
+
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    CopyOnWriteCaseInsensitiveMap.this.remove(current.getKey());
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return storage.size();
+        }
+
+        @Override
+        public void clear() {
+            CopyOnWriteCaseInsensitiveMap.this.clear();
+        }
+    }
+
+}
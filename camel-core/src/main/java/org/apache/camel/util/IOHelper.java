@@ -21,6 +21,8 @@ import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -28,10 +30,12 @@ import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.WrappedFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -191,6 +195,50 @@ public final class IOHelper {
         close(input, null, LOG);
     }
 
+    /**
+     * Gets the {@link File} the given body is based on.
+     *
+     * @param body the body, such as a {@link File} or a {@link WrappedFile} of a {@link File}
+     * @return the file, or <tt>null</tt> if the body is not based on a file
+     */
+    public static File getFile(Object body) {
+        if (body instanceof WrappedFile) {
+            body = ((WrappedFile<?>) body).getFile();
+        }
+        return body instanceof File ? (File) body : null;
+    }
+
+    /**
+     * Transfers the content of the file to the channel using {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+     * <p/>
+     * If the channel is a socket or file channel, the operating system can transfer the content directly,
+     * without copying it through the heap.
+     *
+     * @param file the file
+     * @param channel the channel to write to
+     * @return the number of bytes transferred
+     * @throws IOException is thrown if the transfer failed
+     */
+    public static long transfer(File file, WritableByteChannel channel) throws IOException {
+        FileChannel in = new FileInputStream(file).getChannel();
+        try {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                // the channel may transfer less than requested
+                long count = in.transferTo(position, size - position, channel);
+                if (count <= 0 && position >= in.size()) {
+                    // the file was truncated meanwhile
+                    break;
+                }
+                position += count;
+            }
+            return position;
+        } finally {
+            close(in, file.getName(), LOG);
+        }
+    }
+
     /**
      * Forces any updates to this channel's file to be written to the storage device that contains it.
      *
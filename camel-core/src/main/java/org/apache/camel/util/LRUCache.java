@@ -23,18 +23,28 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import com.googlecode.concurrentlinkedhashmap.EvictionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * A Least Recently Used Cache
+ * A Least Recently Used Cache.
+ * <p/>
+ * The cache is backed by a concurrent map, so lookups do not contend on a single lock.
+ * If <tt>stopOnEviction</tt> is enabled then values which are {@link org.apache.camel.Service}s
+ * are stopped when they are evicted from the cache.
  *
  * @version 
  */
-public class LRUCache<K, V> implements Map<K, V>, Serializable {
+public class LRUCache<K, V> implements Map<K, V>, EvictionListener<K, V>, Serializable {
     private static final long serialVersionUID = -342098639681884414L;
-    
+    private static final transient Logger LOG = LoggerFactory.getLogger(LRUCache.class);
+
     private int maxCacheSize = 10000;
+    private boolean stopOnEviction;
     private final AtomicLong hits = new AtomicLong();
     private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
     private ConcurrentLinkedHashMap<K, V> map;
 
     public LRUCache(int maximumCacheSize) {
@@ -51,10 +61,25 @@ public class LRUCache<K, V> implements Map<K, V>, Serializable {
      *                                  or the load factor is non positive.
      */
     public LRUCache(int initialCapacity, int maximumCacheSize) {
+        this(initialCapacity, maximumCacheSize, false);
+    }
+
+    /**
+     * Constructs an empty <tt>LRUCache</tt> instance with the
+     * specified initial capacity, maximumCacheSize, and whether to stop evicted services.
+     *
+     * @param initialCapacity  the initial capacity.
+     * @param maximumCacheSize the max capacity.
+     * @param stopOnEviction   whether to stop service values when they are evicted from the cache
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public LRUCache(int initialCapacity, int maximumCacheSize, boolean stopOnEviction) {
         map = new ConcurrentLinkedHashMap.Builder<K, V>()
             .initialCapacity(initialCapacity)
-            .maximumWeightedCapacity(maximumCacheSize).build();
+            .maximumWeightedCapacity(maximumCacheSize)
+            .listener(this).build();
         this.maxCacheSize = maximumCacheSize;
+        this.stopOnEviction = stopOnEviction;
     }
 
     @Override
@@ -68,6 +93,16 @@ public class LRUCache<K, V> implements Map<K, V>, Serializable {
         return answer;
     }
 
+    /**
+     * Gets the value without affecting the cache statistics.
+     *
+     * @param o the key
+     * @return the value, or <tt>null</tt> if not in the cache
+     */
+    public V peek(Object o) {
+        return map.get(o);
+    }
+
     @Override
     public int size() {
         return map.size();
@@ -137,6 +172,20 @@ public class LRUCache<K, V> implements Map<K, V>, Serializable {
         return misses.get();
     }
 
+    /**
+     * Gets the number of evicted entries.
+     */
+    public long getEvicted() {
+        return evicted.get();
+    }
+
+    /**
+     * Whether service values are stopped when they are evicted.
+     */
+    public boolean isStopOnEviction() {
+        return stopOnEviction;
+    }
+
     /**
      * Returns the maxCacheSize.
      */
@@ -150,6 +199,21 @@ public class LRUCache<K, V> implements Map<K, V>, Serializable {
     public void resetStatistics() {
         hits.set(0);
         misses.set(0);
+        evicted.set(0);
+    }
+
+    @Override
+    public void onEviction(K key, V value) {
+        evicted.incrementAndGet();
+        LOG.trace("onEviction {} -> {}", key, value);
+        if (stopOnEviction && value != null) {
+            try {
+                // stop service as its evicted from cache
+                ServiceHelper.stopService(value);
+            } catch (Exception e) {
+                LOG.warn("Error stopping service: " + value + ". This exception will be ignored.", e);
+            }
+        }
     }
 
     @Override
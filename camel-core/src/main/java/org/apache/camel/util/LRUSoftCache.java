@@ -37,6 +37,7 @@ import java.util.Set;
  *   <li>get - To get a value from the cache</li>
  *   <li>isEmpty - To determine if the cache contains any values</li>
  *   <li>keySet - To return a set of the current keys which refers to a value</li>
+ *   <li>peek - To get a value from the cache without affecting the statistics</li>
  *   <li>put - To add a value to the cache</li>
  *   <li>putAll - To add values to the cache</li>
  *   <li>remove - To remove a value from the cache by its key</li>
@@ -60,6 +61,10 @@ public class LRUSoftCache<K, V> extends LRUCache<K, V> {
         super(initialCapacity, maximumCacheSize);
     }
 
+    public LRUSoftCache(int initialCapacity, int maximumCacheSize, boolean stopOnEviction) {
+        super(initialCapacity, maximumCacheSize, stopOnEviction);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public V put(K key, V value) {
@@ -75,6 +80,21 @@ public class LRUSoftCache<K, V> extends LRUCache<K, V> {
         return ref != null ? ref.get() : null;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public V peek(Object o) {
+        SoftReference<V> ref = (SoftReference<V>) super.peek(o);
+        return ref != null ? ref.get() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onEviction(K key, V value) {
+        // the value is the soft reference, which may already have been cleared by the JVM
+        SoftReference<V> ref = (SoftReference<V>) value;
+        super.onEviction(key, ref != null ? ref.get() : null);
+    }
+
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
         for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
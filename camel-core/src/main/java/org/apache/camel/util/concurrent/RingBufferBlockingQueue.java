@@ -0,0 +1,410 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A bounded, array backed, lock-free multi producer / multi consumer {@link BlockingQueue}.
+ * <p/>
+ * The queue is a ring buffer where each slot has a sequence number which tells producers and
+ * consumers whether the slot is free or holds a published element. Producers and consumers
+ * claim slots by a compare-and-set on their respective cursor, so the non blocking
+ * <tt>offer</tt> and <tt>poll</tt> operations never take a lock and never allocate.
+ * <p/>
+ * The blocking operations such as <tt>put</tt>, <tt>take</tt> and the timed variants
+ * of <tt>offer</tt> and <tt>poll</tt> wait according to the configured {@link WaitStrategy}.
+ * <p/>
+ * The capacity is rounded up to the next power of two.
+ * <p/>
+ * Removing an arbitrary element using {@link #remove(Object)} takes the element out of its slot,
+ * and the slot is then skipped by the consumers. The slot is first free for producers again when
+ * the consumers have passed it. The iterator is weakly consistent and based on a snapshot of the queue.
+ *
+ * @version 
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 1000;
+    private static final long MAX_PARK_NANOS = 1000000;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    // number of slots which elements has been removed from, and not yet passed by the consumers
+    private final AtomicInteger removed = new AtomicInteger();
+    private final WaitStrategy waitStrategy;
+
+    // only used by the block wait strategy
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    public RingBufferBlockingQueue(int capacity) {
+        this(capacity, WaitStrategy.Park);
+    }
+
+    public RingBufferBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive number, was " + capacity);
+        }
+        ObjectHelper.notNull(waitStrategy, "waitStrategy");
+        this.capacity = nextPowerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<E>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public boolean offer(E e) {
+        ObjectHelper.notNull(e, "element");
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, e);
+                    // publish the element by a volatile write so blocked consumers can see it
+                    sequences.set(index, pos + 1);
+                    signal(notEmpty);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // the slot is not yet consumed so we are full
+                return false;
+            } else {
+                // another producer claimed the slot
+                pos = tail.get();
+            }
+        }
+    }
+
+    public E poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    // take the element atomically, as it may be removed concurrently
+                    E answer = buffer.getAndSet(index, null);
+                    // mark the slot as free for the next lap
+                    sequences.set(index, pos + capacity);
+                    signal(notFull);
+                    if (answer != null) {
+                        return answer;
+                    }
+                    // the element was removed so skip the slot
+                    removed.decrementAndGet();
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                // the slot is not yet published so we are empty
+                return null;
+            } else {
+                // another consumer claimed the slot
+                pos = head.get();
+            }
+        }
+    }
+
+    public E peek() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                return null;
+            }
+            E answer = buffer.get(index);
+            if (head.get() == pos) {
+                // only return the element if it was not taken meanwhile
+                if (answer != null) {
+                    return answer;
+                }
+                // the element was removed so skip the slot, unless a consumer did meanwhile
+                if (head.compareAndSet(pos, pos + 1)) {
+                    sequences.set(index, pos + capacity);
+                    signal(notFull);
+                    removed.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    public void put(E e) throws InterruptedException {
+        ObjectHelper.notNull(e, "element");
+        int counter = 0;
+        while (!offer(e)) {
+            counter = await(notFull, counter, 0, true);
+        }
+    }
+
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        ObjectHelper.notNull(e, "element");
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int counter = 0;
+        while (!offer(e)) {
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            counter = await(notFull, counter, deadline, true);
+        }
+        return true;
+    }
+
+    public E take() throws InterruptedException {
+        int counter = 0;
+        E answer;
+        while ((answer = poll()) == null) {
+            counter = await(notEmpty, counter, 0, false);
+        }
+        return answer;
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int counter = 0;
+        E answer;
+        while ((answer = poll()) == null) {
+            if (deadline - System.nanoTime() <= 0) {
+                return null;
+            }
+            counter = await(notEmpty, counter, deadline, false);
+        }
+        return answer;
+    }
+
+    public int remainingCapacity() {
+        // the removed elements still occupy their slots
+        return capacity - occupied();
+    }
+
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        ObjectHelper.notNull(c, "collection");
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain to itself");
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = poll()) != null) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        return Math.max(0, occupied() - removed.get());
+    }
+
+    /**
+     * Number of slots occupied, including the slots which elements has been removed from
+     */
+    private int occupied() {
+        while (true) {
+            long before = head.get();
+            long currentTail = tail.get();
+            long after = head.get();
+            if (before == after) {
+                long size = currentTail - after;
+                return (int) Math.max(0, Math.min(size, capacity));
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long pos = head.get();
+        long end = tail.get();
+        for (; pos < end; pos++) {
+            int index = (int) (pos & mask);
+            E e = buffer.get(index);
+            // only remove published elements, which the consumers has not taken meanwhile
+            if (e != null && sequences.get(index) == pos + 1 && o.equals(e) && buffer.compareAndSet(index, e, null)) {
+                removed.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        // weakly consistent snapshot of the published elements
+        List<E> answer = new ArrayList<E>();
+        long pos = head.get();
+        long end = tail.get();
+        for (; pos < end; pos++) {
+            int index = (int) (pos & mask);
+            E e = buffer.get(index);
+            if (e != null && sequences.get(index) == pos + 1) {
+                answer.add(e);
+            }
+        }
+        final Iterator<E> it = answer.iterator();
+        return new Iterator<E>() {
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            public E next() {
+                return it.next();
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException("Remove is not supported");
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferBlockingQueue[capacity=" + capacity + ", size=" + size() + ", waitStrategy=" + waitStrategy + "]";
+    }
+
+    /**
+     * Waits according to the wait strategy.
+     *
+     * @param condition the condition to block on (only used by the block strategy)
+     * @param counter   number of times we have waited so far
+     * @param deadline  the deadline in nanos, or <tt>0</tt> to wait without timeout
+     * @param notFull   whether we wait for the queue to become non full, or non empty
+     * @return the updated counter
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private int await(Condition condition, int counter, long deadline, boolean notFull) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        switch (waitStrategy) {
+        case Spin:
+            break;
+        case Yield:
+            if (counter > SPIN_TRIES) {
+                Thread.yield();
+            }
+            break;
+        case Park:
+            if (counter > SPIN_TRIES) {
+                // back off exponentially up till the max park time
+                int shift = Math.min(counter - SPIN_TRIES, 10);
+                long nanos = Math.min(PARK_NANOS << shift, MAX_PARK_NANOS);
+                if (deadline != 0) {
+                    nanos = Math.min(nanos, deadline - System.nanoTime());
+                }
+                if (nanos > 0) {
+                    LockSupport.parkNanos(this, nanos);
+                }
+            }
+            break;
+        case Block:
+            waiters.incrementAndGet();
+            lock.lockInterruptibly();
+            try {
+                // re-check while holding the lock to avoid missing a signal
+                boolean ready = notFull ? occupied() < capacity : occupied() > 0;
+                if (!ready) {
+                    if (deadline != 0) {
+                        long nanos = deadline - System.nanoTime();
+                        if (nanos > 0) {
+                            condition.awaitNanos(nanos);
+                        }
+                    } else {
+                        condition.await();
+                    }
+                }
+            } finally {
+                lock.unlock();
+                waiters.decrementAndGet();
+            }
+            break;
+        default:
+            throw new IllegalStateException("Unsupported wait strategy: " + waitStrategy);
+        }
+        return counter + 1;
+    }
+
+    private void signal(Condition condition) {
+        if (waitStrategy == WaitStrategy.Block && waiters.get() > 0) {
+            lock.lock();
+            try {
+                condition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        if (value > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity is too large, was " + value);
+        }
+        int answer = 1;
+        while (answer < value) {
+            answer <<= 1;
+        }
+        return answer;
+    }
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter which is optimized for many concurrent updates and infrequent reads.
+ * <p/>
+ * The counter starts as a single {@link AtomicLong}, and only when threads contend on updating it, then
+ * it expands to a number of cells (stripes) which threads update independently. The value of the counter
+ * is the sum of the base and all the cells. This is similar to the <tt>LongAdder</tt> from JDK 8,
+ * which is not available on the JDKs we support.
+ * <p/>
+ * The {@link #sum()} and {@link #reset()} methods is not atomic in regard to concurrent updates,
+ * so they should be used for statistics and alike.
+ *
+ * @version 
+ */
+public class StripedCounter {
+
+    // number of longs each cell is padded with, to avoid false sharing of cache lines
+    private static final int PADDING = 8;
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+
+    private final AtomicLong base = new AtomicLong();
+    private volatile AtomicLongArray cells;
+
+    /**
+     * Adds the given value
+     *
+     * @param x the value to add
+     */
+    public void add(long x) {
+        AtomicLongArray cs = cells;
+        if (cs == null) {
+            long b = base.get();
+            if (base.compareAndSet(b, b + x)) {
+                return;
+            }
+            // there is contention so expand into cells
+            cs = expand();
+        }
+        cs.getAndAdd(index(), x);
+    }
+
+    /**
+     * Increments by one
+     */
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * Returns the current sum.
+     */
+    public long sum() {
+        long sum = base.get();
+        AtomicLongArray cs = cells;
+        if (cs != null) {
+            for (int i = 0; i < cs.length(); i += PADDING) {
+                sum += cs.get(i);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Resets the counter to zero.
+     */
+    public void reset() {
+        base.set(0);
+        AtomicLongArray cs = cells;
+        if (cs != null) {
+            for (int i = 0; i < cs.length(); i += PADDING) {
+                cs.set(i, 0);
+            }
+        }
+    }
+
+    private synchronized AtomicLongArray expand() {
+        if (cells == null) {
+            cells = new AtomicLongArray(STRIPES * PADDING);
+        }
+        return cells;
+    }
+
+    private static int index() {
+        // thread ids are assigned in sequence so they spread evenly on the stripes
+        return ((int) Thread.currentThread().getId() & (STRIPES - 1)) * PADDING;
+    }
+
+    private static int stripes(int processors) {
+        // use a power of two so we can mask, and do not use more than 64 stripes
+        int answer = 1;
+        while (answer < processors && answer < 64) {
+            answer <<= 1;
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+/**
+ * Represent the kinds of strategies a thread can use while waiting for a
+ * {@link RingBufferBlockingQueue} to become non empty (or non full).
+ * <p/>
+ * <ul>
+ *   <li>Spin - busy spin, lowest latency but burns a full core per waiting thread</li>
+ *   <li>Yield - spin and yield the thread, low latency with less CPU contention than spinning</li>
+ *   <li>Park - spin a little and then park the thread for short periods</li>
+ *   <li>Block - block the thread using a lock and condition, lowest CPU usage</li>
+ * </ul>
+ * Camel will by default use <tt>Park</tt>.
+ */
+public enum WaitStrategy {
+
+    Spin, Yield, Park, Block
+
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * Tests that the method chosen by the body type is cached per body type.
+ *
+ * @version 
+ */
+public class BeanChosenMethodCacheTest extends ContextTestSupport {
+
+    public void testChooseMethodByBodyType() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello Camel", 10, "Hello World", 12, "Hello Camel");
+
+        template.sendBody("direct:start", "Camel");
+        template.sendBody("direct:start", 5);
+        template.sendBody("direct:start", "World");
+        template.sendBody("direct:start", 6);
+        template.sendBody("direct:start", "Camel");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testChooseMethodByBodyTypeWithMethodName() throws Exception {
+        getMockEndpoint("mock:named").expectedBodiesReceived("Hello Camel", 10, "Hello World");
+
+        template.sendBody("direct:named", "Camel");
+        template.sendBody("direct:named", 5);
+        template.sendBody("direct:named", "World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testChooseMethodWithConvertedBody() throws Exception {
+        // a StringBuilder does not match any method so the body is converted, and that choice should not be cached
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello Camel", "Hello World");
+
+        template.sendBody("direct:start", new StringBuilder("Camel"));
+        template.sendBody("direct:start", new StringBuilder("World"));
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").bean(MyBean.class).to("mock:result");
+
+                from("direct:named").bean(MyBean.class, "handle").to("mock:named");
+            }
+        };
+    }
+
+    public static class MyBean {
+
+        public String handle(String name) {
+            return "Hello " + name;
+        }
+
+        public Integer handle(Integer number) {
+            return number * 2;
+        }
+    }
+}
@@ -48,6 +48,16 @@ public class BeanPerformanceTest extends ContextTestSupport {
         assertEquals(times, INVOKED.get());
     }
 
+    public void testBeanChosenMethodPerformance() throws Exception {
+        StopWatch watch = new StopWatch();
+
+        log.info("Invoking a bean with overloaded methods in a route {} times", times);
+        for (int i = 0; i < times; i++) {
+            template.sendBody("direct:overloaded", i % 2 == 0 ? "World" : i);
+        }
+        log.info("Took {} to choose and invoke the bean methods {} times", TimeUtils.printDuration(watch.stop()), times);
+    }
+
     @Override
     protected RouteBuilder createRouteBuilder() throws Exception {
         return new RouteBuilder() {
@@ -55,6 +65,9 @@ public class BeanPerformanceTest extends ContextTestSupport {
             public void configure() throws Exception {
                 from("direct:start")
                     .bean(BeanPerformanceTest.class, "doSomething");
+
+                from("direct:overloaded")
+                    .bean(BeanChosenMethodCacheTest.MyBean.class);
             }
         };
     }
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * Unit test for scanning sub directories in parallel
+ */
+public class FileConsumerScanThreadsTest extends ContextTestSupport {
+
+    private String fileUrl = "file://target/scanthreads";
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/scanthreads");
+        super.setUp();
+    }
+
+    public void testScanThreads() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(21);
+        mock.expectedMessagesMatches(header(Exchange.FILE_NAME).isNotNull());
+
+        template.sendBodyAndHeader(fileUrl + "/all", "Hello", Exchange.FILE_NAME, "root.txt");
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 4; j++) {
+                template.sendBodyAndHeader(fileUrl + "/all", "Hello", Exchange.FILE_NAME, "dir" + i + "/sub/file" + j + ".txt");
+            }
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testScanThreadsSortByMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:sorted");
+        mock.expectedBodiesReceived("a", "b", "c");
+        mock.expectedPropertyReceived(Exchange.BATCH_SIZE, 3);
+
+        template.sendBodyAndHeader(fileUrl + "/sorted", "e", Exchange.FILE_NAME, "x/e.txt");
+        template.sendBodyAndHeader(fileUrl + "/sorted", "c", Exchange.FILE_NAME, "y/c.txt");
+        template.sendBodyAndHeader(fileUrl + "/sorted", "a", Exchange.FILE_NAME, "z/a.txt");
+        template.sendBodyAndHeader(fileUrl + "/sorted", "d", Exchange.FILE_NAME, "x/d.txt");
+        template.sendBodyAndHeader(fileUrl + "/sorted", "b", Exchange.FILE_NAME, "y/b.txt");
+
+        context.startRoute("sorted");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(fileUrl + "/all?recursive=true&scanThreads=3&delete=true")
+                    .to("mock:result");
+
+                from(fileUrl + "/sorted?recursive=true&scanThreads=2&delete=true&maxMessagesPerPoll=3&sortBy=file:onlyname")
+                    .routeId("sorted").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:sorted");
+            }
+        };
+    }
+
+}
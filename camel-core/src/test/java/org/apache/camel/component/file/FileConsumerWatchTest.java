@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * Unit test for watching the directory for changes instead of waiting for the next poll
+ */
+public class FileConsumerWatchTest extends ContextTestSupport {
+
+    private String fileUrl = "file://target/watch";
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/watch");
+        super.setUp();
+    }
+
+    public void testWatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+        // the next scheduled poll is far away so the file must be picked up by the watcher
+        mock.setResultWaitTime(5000);
+
+        // wait for the initial scan
+        Thread.sleep(500);
+        template.sendBodyAndHeader(fileUrl, "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWatchNewSubDirectory() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.setResultWaitTime(5000);
+
+        Thread.sleep(500);
+        template.sendBodyAndHeader(fileUrl, "Hello World", Exchange.FILE_NAME, "sub/hello.txt");
+        mock.expectedBodiesReceived("Hello World");
+        assertMockEndpointsSatisfied();
+
+        // a file added to the sub directory seen by the previous scan
+        mock.reset();
+        mock.expectedBodiesReceived("Bye World");
+        mock.setResultWaitTime(5000);
+        template.sendBodyAndHeader(fileUrl, "Bye World", Exchange.FILE_NAME, "sub/bye.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(fileUrl + "?watch=true&recursive=true&delete=true&initialDelay=0&delay=60000")
+                    .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * Unit test for sortBy and max messages per poll, which should consume the first files by the sort order
+ */
+public class FileSortByMaxMessagesPerPollTest extends ContextTestSupport {
+
+    private String fileUrl = "file://target/sortmax/?initialDelay=2000&delay=5000&maxMessagesPerPoll=2&sortBy=file:name";
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/sortmax");
+        super.setUp();
+        template.sendBodyAndHeader(fileUrl, "Hello C", Exchange.FILE_NAME, "c.txt");
+        template.sendBodyAndHeader(fileUrl, "Hello E", Exchange.FILE_NAME, "e.txt");
+        template.sendBodyAndHeader(fileUrl, "Hello A", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader(fileUrl, "Hello D", Exchange.FILE_NAME, "d.txt");
+        template.sendBodyAndHeader(fileUrl, "Hello B", Exchange.FILE_NAME, "b.txt");
+    }
+
+    public void testSortByMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello A", "Hello B");
+        mock.setResultWaitTime(3000);
+        mock.expectedPropertyReceived(Exchange.BATCH_SIZE, 2);
+
+        assertMockEndpointsSatisfied();
+
+        // the dropped files should be picked up on the next polls
+        mock.reset();
+        mock.expectedBodiesReceived("Hello C", "Hello D");
+
+        assertMockEndpointsSatisfied();
+
+        mock.reset();
+        mock.expectedBodiesReceived("Hello E");
+        mock.expectedPropertyReceived(Exchange.BATCH_SIZE, 1);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(fileUrl).convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.UseLatestAggregationStrategy;
+
+/**
+ * @version 
+ */
+public class SedaBatchConsumerTest extends ContextTestSupport {
+
+    public void testBatchConsumer() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+        mock.expectsAscending(body());
+        mock.message(0).property(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(0).property(Exchange.BATCH_SIZE).isEqualTo(4);
+        mock.message(3).property(Exchange.BATCH_INDEX).isEqualTo(3);
+        mock.message(3).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+        mock.message(4).property(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(4).property(Exchange.BATCH_COMPLETE).isEqualTo(false);
+        mock.message(8).property(Exchange.BATCH_SIZE).isEqualTo(2);
+
+        // add the messages before the consumer is started so they are drained as batches
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("seda:foo", i);
+        }
+        context.startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testBatchConsumerCompletionFromBatchConsumer() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:aggregated");
+        mock.expectedBodiesReceived(2, 5);
+
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("seda:bar", i);
+        }
+        context.startRoute("bar");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?batchSize=4").routeId("foo").noAutoStartup().to("mock:result");
+
+                from("seda:bar?batchSize=3").routeId("bar").noAutoStartup()
+                    .aggregate(constant(true), new UseLatestAggregationStrategy()).completionFromBatchConsumer()
+                        .to("mock:aggregated");
+            }
+        };
+    }
+}
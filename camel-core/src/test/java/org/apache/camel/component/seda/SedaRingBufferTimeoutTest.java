@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.util.concurrent.RingBufferBlockingQueue;
+import org.apache.camel.util.concurrent.WaitStrategy;
+
+/**
+ * @version 
+ */
+public class SedaRingBufferTimeoutTest extends SedaTimeoutTest {
+
+    public void testSedaRingBufferQueue() throws Exception {
+        SedaEndpoint se = (SedaEndpoint)context.getRoute("seda").getEndpoint();
+        assertIsInstanceOf(RingBufferBlockingQueue.class, se.getQueue());
+    }
+
+    public void testSedaTimeoutNotProcessedWhenRouteStarted() throws Exception {
+        context.stopRoute("seda");
+
+        Future<String> out = template.asyncRequestBody("seda:foo?timeout=100", "World", String.class);
+        try {
+            out.get();
+            fail("Should have thrown an exception");
+        } catch (ExecutionException e) {
+            assertIsInstanceOf(CamelExecutionException.class, e.getCause());
+            assertIsInstanceOf(ExchangeTimedOutException.class, e.getCause().getCause());
+        }
+
+        getMockEndpoint("mock:before").expectedMessageCount(0);
+        context.startRoute("seda");
+
+        // the timed out exchange was removed from the queue so the consumer should not pick it up
+        Thread.sleep(500);
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("ringBuffer", new RingBufferBlockingQueueFactory<Exchange>(WaitStrategy.Yield));
+        return jndi;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?queueFactory=#ringBuffer").routeId("seda")
+                    .to("mock:before")
+                    .delay(250)
+                    .transform(body().prepend("Bye "))
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.File;
+import java.io.InputStream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.IOConverter;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultStreamCachingStrategy;
+import org.apache.camel.impl.DefaultUnitOfWork;
+
+/**
+ * @version 
+ */
+public class CachedOutputStreamOffHeapTest extends ContextTestSupport {
+    private static final String TEST_STRING = "This is a test string and it has enough"
+        + " aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa ";
+
+    private DefaultStreamCachingStrategy strategy;
+    private File cacheDir = new File("./target/cachedir");
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        context.getProperties().put(CachedOutputStream.TEMP_DIR, "./target/cachedir");
+        context.getProperties().put(CachedOutputStream.THRESHOLD, "1024");
+        deleteDirectory("./target/cachedir");
+        createDirectory("./target/cachedir");
+
+        // room for the test string in direct buffers, but only once
+        strategy = (DefaultStreamCachingStrategy) context.getStreamCachingStrategy();
+        strategy.setBufferSize(64);
+        strategy.setMemoryBudget(128);
+    }
+
+    private Exchange createExchange() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.setUnitOfWork(new DefaultUnitOfWork(exchange));
+        return exchange;
+    }
+
+    public void testCacheStreamToDirectBuffers() throws Exception {
+        Exchange exchange = createExchange();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        assertEquals("we should have no temp file", 0, cacheDir.list().length);
+        assertEquals(128, strategy.getMemoryUsed());
+        assertEquals(0, strategy.getHeapUsed());
+
+        StreamCache cache = cos.getStreamCache();
+        assertTrue("Should get the ByteBufferInputStreamCache", cache instanceof ByteBufferInputStreamCache);
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) cache, null));
+        cache.reset();
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) cache, null));
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, strategy.getMemoryUsed());
+        assertEquals(2, strategy.getPoolSize());
+    }
+
+    public void testStreamCacheOutlivesExchange() throws Exception {
+        Exchange exchange = createExchange();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        StreamCache cache = cos.getStreamCache();
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, strategy.getMemoryUsed());
+        assertEquals(2, strategy.getPoolSize());
+
+        // the pooled buffers are reused by another exchange
+        String other = TEST_STRING.toUpperCase();
+        Exchange exchange2 = createExchange();
+        CachedOutputStream cos2 = new CachedOutputStream(exchange2);
+        cos2.write(other.getBytes("UTF-8"));
+        assertEquals(0, strategy.getPoolSize());
+
+        // which must not change the content of the cache from the first exchange
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) cache, null));
+        cache.reset();
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) cache, null));
+        assertEquals(other, IOConverter.toString((InputStream) cos2.getStreamCache(), null));
+
+        exchange2.getUnitOfWork().done(exchange2);
+    }
+
+    public void testSpoolWhenMemoryBudgetIsUsed() throws Exception {
+        Exchange exchange = createExchange();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        // the budget is used by the first stream so the second stream is spooled
+        Exchange exchange2 = createExchange();
+        CachedOutputStream cos2 = new CachedOutputStream(exchange2);
+        cos2.write(TEST_STRING.getBytes("UTF-8"));
+        assertEquals("we should have a temp file", 1, cacheDir.list().length);
+        assertEquals(128, strategy.getMemoryUsed());
+
+        StreamCache cache = cos2.getStreamCache();
+        assertTrue("Should get the ByteBufferInputStreamCache", cache instanceof ByteBufferInputStreamCache);
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) cache, null));
+        assertEquals(TEST_STRING.length(), strategy.getSpoolUsed());
+
+        exchange2.getUnitOfWork().done(exchange2);
+        assertEquals("we should have no temp file", 0, cacheDir.list().length);
+        assertEquals(0, strategy.getSpoolUsed());
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, strategy.getMemoryUsed());
+    }
+
+    public void testSpoolWhenThresholdIsExceeded() throws Exception {
+        context.getProperties().put(CachedOutputStream.THRESHOLD, "80");
+
+        Exchange exchange = createExchange();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        byte[] data = TEST_STRING.getBytes("UTF-8");
+        // the first part is kept in direct buffers, and then spooled when the threshold is exceeded
+        cos.write(data, 0, 50);
+        assertEquals(64, strategy.getMemoryUsed());
+        cos.write(data, 50, data.length - 50);
+
+        assertEquals("we should have a temp file", 1, cacheDir.list().length);
+        assertEquals(0, strategy.getMemoryUsed());
+        assertEquals(TEST_STRING, IOConverter.toString(cos.getInputStream(), null));
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals("we should have no temp file", 0, cacheDir.list().length);
+    }
+
+    public void testHeapUsage() throws Exception {
+        strategy.setMemoryBudget(0);
+
+        Exchange exchange = createExchange();
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        assertEquals(TEST_STRING.length(), strategy.getHeapUsed());
+        assertEquals(0, strategy.getMemoryUsed());
+        assertTrue(cos.getStreamCache() instanceof InputStreamCache);
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, strategy.getHeapUsed());
+    }
+}
@@ -16,8 +16,19 @@
  */
 package org.apache.camel.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Consumer;
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
 import org.apache.camel.Producer;
 
 /**
@@ -25,6 +36,9 @@ import org.apache.camel.Producer;
  */
 public class DefaultProducerCacheTest extends ContextTestSupport {
 
+    private final AtomicInteger createCounter = new AtomicInteger();
+    private final AtomicInteger stopCounter = new AtomicInteger();
+
     public void testCacheProducerAcquireAndRelease() throws Exception {
         ProducerCache cache = new ProducerCache(this, context);
         cache.start();
@@ -42,4 +56,99 @@ public class DefaultProducerCacheTest extends ContextTestSupport {
         cache.stop();
     }
 
+    public void testCacheStopsEvictedProducers() throws Exception {
+        ProducerCache cache = new ProducerCache(this, context, 5);
+        cache.start();
+
+        for (int i = 0; i < 8; i++) {
+            Endpoint e = new MyEndpoint(i);
+            Producer p = cache.acquireProducer(e);
+            cache.releaseProducer(e, p);
+        }
+
+        assertEquals("Size should be 5", 5, cache.size());
+        assertEquals(3, cache.getEvicted());
+        assertEquals(8, cache.getMisses());
+        assertEquals(8, createCounter.get());
+        assertEquals("Evicted producers should be stopped", 3, stopCounter.get());
+
+        cache.stop();
+        assertEquals("All producers should be stopped", 8, stopCounter.get());
+    }
+
+    public void testConcurrentAcquireCreatesOneSingletonProducer() throws Exception {
+        final ProducerCache cache = new ProducerCache(this, context);
+        cache.start();
+
+        final Endpoint e = new MyEndpoint(1);
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Future<Producer>> futures = new ArrayList<Future<Producer>>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(executor.submit(new Callable<Producer>() {
+                public Producer call() throws Exception {
+                    Producer p = cache.acquireProducer(e);
+                    cache.releaseProducer(e, p);
+                    return p;
+                }
+            }));
+        }
+
+        Producer first = futures.get(0).get();
+        for (Future<Producer> future : futures) {
+            assertSame(first, future.get());
+        }
+        assertEquals("Only one producer should be created", 1, createCounter.get());
+        assertEquals(50, cache.getMisses() + cache.getHits());
+
+        executor.shutdownNow();
+        cache.stop();
+    }
+
+    private final class MyEndpoint extends DefaultEndpoint {
+
+        private final int number;
+
+        private MyEndpoint(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public Producer createProducer() throws Exception {
+            createCounter.incrementAndGet();
+            return new MyProducer(this);
+        }
+
+        @Override
+        public Consumer createConsumer(Processor processor) throws Exception {
+            return null;
+        }
+
+        @Override
+        public boolean isSingleton() {
+            return true;
+        }
+
+        @Override
+        public String getEndpointUri() {
+            return "my://" + number;
+        }
+    }
+
+    private final class MyProducer extends DefaultProducer {
+
+        public MyProducer(Endpoint endpoint) {
+            super(endpoint);
+        }
+
+        @Override
+        public void process(Exchange exchange) throws Exception {
+            // noop
+        }
+
+        @Override
+        protected void doStop() throws Exception {
+            stopCounter.incrementAndGet();
+        }
+    }
+
 }
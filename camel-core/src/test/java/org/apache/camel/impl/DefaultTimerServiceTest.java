@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.spi.TimerService;
+
+/**
+ * @version 
+ */
+public class DefaultTimerServiceTest extends ContextTestSupport {
+
+    public void testSchedule() throws Exception {
+        TimerService timer = context.getExecutorServiceManager().getTimerService();
+        assertSame(timer, context.getExecutorServiceManager().getTimerService());
+        assertTrue(context.hasService(timer));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        timer.schedule(new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        }, 200, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue("Should not run before the delay", System.currentTimeMillis() - start >= 200);
+        assertEquals(0, timer.getPendingTasks());
+        assertEquals(1, timer.getScheduledTasks());
+    }
+
+    public void testCancel() throws Exception {
+        TimerService timer = context.getExecutorServiceManager().getTimerService();
+
+        final AtomicInteger counter = new AtomicInteger();
+        ScheduledFuture<?> future = timer.schedule(new Runnable() {
+            public void run() {
+                counter.incrementAndGet();
+            }
+        }, 200, TimeUnit.MILLISECONDS);
+        assertEquals(1, timer.getPendingTasks());
+
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+        assertEquals(0, timer.getPendingTasks());
+        assertEquals(1, timer.getCancelledTasks());
+
+        Thread.sleep(400);
+        assertEquals(0, counter.get());
+        assertEquals(0, timer.getExecutedTasks());
+    }
+
+    public void testScheduleWithFixedDelay() throws Exception {
+        TimerService timer = context.getExecutorServiceManager().getTimerService();
+
+        final CountDownLatch latch = new CountDownLatch(3);
+        ScheduledFuture<?> future = timer.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        }, 0, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+        assertTrue(timer.getExecutedTasks() >= 3);
+    }
+
+    public void testScheduleAtFixedRate() throws Exception {
+        TimerService timer = context.getExecutorServiceManager().getTimerService();
+
+        final CountDownLatch latch = new CountDownLatch(5);
+        long start = System.currentTimeMillis();
+        ScheduledFuture<?> future = timer.scheduleAtFixedRate(new Runnable() {
+            public void run() {
+                latch.countDown();
+                try {
+                    Thread.sleep(40);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }
+        }, 0, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+        // with a fixed delay the 5 executions would take at least 4 * (40 + 50) millis
+        assertTrue("Should execute at fixed rate", System.currentTimeMillis() - start < 360);
+    }
+
+    public void testTickDuration() throws Exception {
+        TimerService timer = new DefaultTimerService(context);
+        timer.setTickDuration(50);
+        timer.setWheelSize(100);
+        assertEquals(50, timer.getTickDuration());
+        assertEquals(100, timer.getWheelSize());
+
+        try {
+            timer.schedule(new Runnable() {
+                public void run() {
+                }
+            }, 100, TimeUnit.MILLISECONDS);
+            fail("Should have thrown an exception as not started");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+
+        timer.start();
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            timer.schedule(new Runnable() {
+                public void run() {
+                    latch.countDown();
+                }
+            }, 100, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            timer.stop();
+        }
+    }
+
+}
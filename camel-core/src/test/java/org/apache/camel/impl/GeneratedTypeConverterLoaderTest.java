@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.TestSupport;
+import org.apache.camel.TypeConverterLoaderException;
+import org.apache.camel.impl.converter.AnnotationTypeConverterLoader;
+import org.apache.camel.impl.converter.DefaultTypeConverter;
+import org.apache.camel.spi.TypeConverterLoader;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.TypeConverterSupport;
+
+/**
+ * @version 
+ */
+public class GeneratedTypeConverterLoaderTest extends TestSupport {
+
+    private static int loaded;
+
+    public void testPreferGeneratedLoader() throws Exception {
+        File dir = new File("target/generated-loader");
+        deleteDirectory(dir);
+        // the package does not exist, so scanning it would fail
+        writeFile(dir, AnnotationTypeConverterLoader.META_INF_SERVICES, "org.apache.camel.impl.nosuchpackage");
+        writeFile(dir, AnnotationTypeConverterLoader.META_INF_SERVICES_TYPE_CONVERTER_LOADER, MyGeneratedLoader.class.getName());
+
+        ClassLoader loader = new URLClassLoader(new URL[]{dir.toURI().toURL()}, getClass().getClassLoader());
+        ClassLoader old = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(loader);
+        try {
+            DefaultCamelContext context = new DefaultCamelContext();
+            TypeConverterRegistry registry = new DefaultTypeConverter(context.getPackageScanClassResolver(), context.getInjector(),
+                    context.getDefaultFactoryFinder());
+            loaded = 0;
+            new AnnotationTypeConverterLoader(context.getPackageScanClassResolver()).load(registry);
+
+            assertEquals(1, loaded);
+            assertNotNull(registry.lookup(MyOrder.class, String.class));
+        } finally {
+            Thread.currentThread().setContextClassLoader(old);
+        }
+    }
+
+    public void testMandatoryConvertTo() throws Exception {
+        TypeConverterSupport converter = new TypeConverterSupport() {
+            public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+                return null;
+            }
+        };
+
+        assertNull(converter.mandatoryConvertTo(MyOrder.class, null));
+        try {
+            converter.mandatoryConvertTo(MyOrder.class, "Hello World");
+            fail("Should have thrown an exception");
+        } catch (NoTypeConversionAvailableException e) {
+            assertEquals("Hello World", e.getValue());
+            assertEquals(MyOrder.class, e.getToType());
+        }
+    }
+
+    private static void writeFile(File dir, String name, String content) throws Exception {
+        File file = new File(dir, name);
+        file.getParentFile().mkdirs();
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+    }
+
+    public static class MyOrder {
+    }
+
+    public static class MyGeneratedLoader implements TypeConverterLoader {
+
+        public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+            loaded++;
+            registry.addTypeConverter(MyOrder.class, String.class, new TypeConverterSupport() {
+                @SuppressWarnings("unchecked")
+                public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+                    return (T) new MyOrder();
+                }
+            });
+        }
+    }
+
+}
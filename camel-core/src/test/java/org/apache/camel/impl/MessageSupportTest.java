@@ -63,4 +63,21 @@ public class MessageSupportTest extends ContextTestSupport {
         
         assertNotNull(in.getMessageId());
     }
-}
\ No newline at end of file
+
+    public void testCopyHeadersAreIsolated() {
+        Message in = new DefaultMessage();
+        in.setHeader("foo", "cheese");
+
+        Message copy = in.copy();
+        assertEquals("cheese", copy.getHeader("FOO"));
+
+        copy.setHeader("foo", "beer");
+        copy.setHeader("bar", 123);
+        in.removeHeader("foo");
+
+        assertNull(in.getHeader("foo"));
+        assertNull(in.getHeader("bar"));
+        assertEquals("beer", copy.getHeader("foo"));
+        assertEquals(123, copy.getHeader("bar"));
+    }
+}
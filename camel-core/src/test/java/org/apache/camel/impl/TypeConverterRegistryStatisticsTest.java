@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
+
+/**
+ * @version 
+ */
+public class TypeConverterRegistryStatisticsTest extends ContextTestSupport {
+
+    public void testStatistics() throws Exception {
+        BaseTypeConverterRegistry registry = (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+        registry.setStatisticsEnabled(true);
+        registry.resetStatistics();
+
+        assertEquals(123, context.getTypeConverter().convertTo(int.class, "123").intValue());
+        assertEquals(0, registry.getHitCounter());
+        assertEquals(1, registry.getMissCounter());
+
+        assertEquals(456, context.getTypeConverter().convertTo(int.class, "456").intValue());
+        assertEquals(1, registry.getHitCounter());
+        assertEquals(1, registry.getMissCounter());
+
+        registry.resetStatistics();
+        assertEquals(0, registry.getHitCounter());
+        assertEquals(0, registry.getMissCounter());
+
+        registry.setStatisticsEnabled(false);
+        context.getTypeConverter().convertTo(int.class, "789");
+        assertEquals(0, registry.getHitCounter());
+        assertEquals(0, registry.getMissCounter());
+    }
+
+    public void testFallbackCounter() throws Exception {
+        BaseTypeConverterRegistry registry = (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+        registry.setStatisticsEnabled(true);
+        registry.resetStatistics();
+
+        // enums are converted by a fallback type converter which is then promoted
+        assertEquals(TimeUnit.SECONDS, context.getTypeConverter().convertTo(TimeUnit.class, "SECONDS"));
+        assertEquals(1, registry.getFallbackCounter());
+
+        assertEquals(TimeUnit.MINUTES, context.getTypeConverter().convertTo(TimeUnit.class, "MINUTES"));
+        assertEquals(1, registry.getFallbackCounter());
+    }
+
+    public void testSuperTypeLookupIsCached() throws Exception {
+        BaseTypeConverterRegistry registry = (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+        registry.setStatisticsEnabled(true);
+        registry.resetStatistics();
+
+        // converting from a subclass of InputStream uses the type converter from InputStream
+        InputStream is = new ByteArrayInputStream("Hello World".getBytes());
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, is));
+        is = new ByteArrayInputStream("Bye World".getBytes());
+        assertEquals("Bye World", context.getTypeConverter().convertTo(String.class, is));
+
+        // the lookup has been precomputed or cached from the first conversion
+        assertTrue(registry.getHitCounter() >= 1);
+        assertTrue(registry.getMissCounter() <= 1);
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.ExchangeTestSupport;
+import org.apache.camel.Expression;
+import org.apache.camel.language.simple.SimpleCompiledTest.Person;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the performance of interpreted and compiled OGNL expressions in the simple language.
+ *
+ * @version 
+ */
+public class SimpleCompiledPerformanceTest extends ExchangeTestSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SimpleCompiledPerformanceTest.class);
+    private final int times = 20000;
+
+    public void testCompiledPerformance() throws Exception {
+        Person camel = new Person("Camel", 6);
+        camel.setFriend(new Person("Tony the Tiger", 13));
+        exchange.getIn().setBody(camel);
+
+        SimpleLanguage interpreted = new SimpleLanguage();
+        SimpleLanguage compiled = new SimpleLanguage();
+        compiled.setCompiled(true);
+        String text = "Hello ${body.friend.name} you are ${body.friend.age} years old";
+        Expression slow = interpreted.createExpression(text);
+        Expression fast = compiled.createExpression(text);
+
+        // warm up both expressions before measuring
+        evaluate(slow, times);
+        evaluate(fast, times);
+
+        StopWatch watch = new StopWatch();
+        evaluate(slow, times);
+        LOG.info("Interpreted expression took {} to evaluate {} times", TimeUtils.printDuration(watch.stop()), times);
+
+        watch.restart();
+        evaluate(fast, times);
+        LOG.info("Compiled expression took {} to evaluate {} times", TimeUtils.printDuration(watch.stop()), times);
+
+        // parsing the same expression again should hit the cache
+        watch.restart();
+        for (int i = 0; i < times; i++) {
+            interpreted.createExpression(text);
+        }
+        LOG.info("Creating the cached expression took {} for {} times", TimeUtils.printDuration(watch.stop()), times);
+    }
+
+    private void evaluate(Expression expression, int times) {
+        for (int i = 0; i < times; i++) {
+            assertEquals("Hello Tony the Tiger you are 13 years old", expression.evaluate(exchange, String.class));
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.ExchangeTestSupport;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.language.bean.RuntimeBeanExpressionException;
+import org.apache.camel.language.simple.ast.CompiledOgnlExpression;
+
+/**
+ * @version 
+ */
+public class SimpleCompiledTest extends ExchangeTestSupport {
+
+    private SimpleLanguage interpreted;
+    private SimpleLanguage compiled;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        interpreted = new SimpleLanguage();
+        compiled = new SimpleLanguage();
+        compiled.setCompiled(true);
+    }
+
+    public void testExpressionIsCached() throws Exception {
+        Expression exp = interpreted.createExpression("Hello ${body}");
+        assertSame(exp, interpreted.createExpression("Hello ${body}"));
+        assertSame(exp, new SimpleLanguage().createExpression(" Hello ${body} "));
+        assertNotSame(exp, compiled.createExpression("Hello ${body}"));
+
+        Predicate pre = interpreted.createPredicate("${header.foo} == 'bar'");
+        assertSame(pre, interpreted.createPredicate("${header.foo} == 'bar'"));
+    }
+
+    public void testCompiledExpressionIsCachedPerLanguage() throws Exception {
+        Expression exp = compiled.createExpression("${body.name}");
+        assertSame(exp, compiled.createExpression("${body.name}"));
+
+        // compiled expressions refer to classes so they are not shared with other languages
+        SimpleLanguage other = new SimpleLanguage();
+        other.setCompiled(true);
+        assertNotSame(exp, other.createExpression("${body.name}"));
+
+        SimpleLanguage.clearCache();
+        assertNotSame(exp, compiled.createExpression("${body.name}"));
+    }
+
+    public void testCacheClearedWhenChangingTokens() throws Exception {
+        Expression exp = interpreted.createExpression("Hello ${body}");
+        try {
+            SimpleLanguage.changeFunctionStartToken("[[");
+            SimpleLanguage.changeFunctionEndToken("]]");
+
+            exchange.getIn().setBody("World");
+            assertEquals("Hello ${body}", interpreted.createExpression("Hello ${body}").evaluate(exchange, String.class));
+        } finally {
+            SimpleLanguage.changeFunctionStartToken("${", "$simple{");
+            SimpleLanguage.changeFunctionEndToken("}");
+        }
+        assertNotSame(exp, interpreted.createExpression("Hello ${body}"));
+    }
+
+    public void testIsCompilable() throws Exception {
+        assertTrue(CompiledOgnlExpression.isCompilable(".name"));
+        assertTrue(CompiledOgnlExpression.isCompilable(".getFriend.getName()"));
+        assertTrue(CompiledOgnlExpression.isCompilable("?.friend?.name"));
+        assertFalse(CompiledOgnlExpression.isCompilable(".friend[0]"));
+        assertFalse(CompiledOgnlExpression.isCompilable(".greet('Camel')"));
+    }
+
+    public void testCompiledBodyOgnl() throws Exception {
+        Person tiger = new Person("Tony the Tiger", 13);
+        Person camel = new Person("Camel", 6);
+        camel.setFriend(tiger);
+        exchange.getIn().setBody(camel);
+
+        assertSameResult("${body.name}");
+        assertSameResult("${in.body.getName}");
+        assertSameResult("${body.getFriend().getName()}");
+        assertSameResult("${body.friend.age}");
+        assertSameResult("${body.friend.dangerous}");
+        assertSameResult("Hello ${body.friend.name} how are you?");
+        assertEquals("Tony the Tiger", compiled.createExpression("${body.friend.name}").evaluate(exchange, String.class));
+    }
+
+    public void testCompiledNullSafe() throws Exception {
+        exchange.getIn().setBody(new Person("Camel", 6));
+
+        assertSameResult("${body?.friend?.name}");
+        assertNull(compiled.createExpression("${body?.friend?.name}").evaluate(exchange, Object.class));
+    }
+
+    public void testCompiledFallback() throws Exception {
+        exchange.getIn().setBody(new Person("Camel", 6));
+
+        // overloaded methods cannot be compiled and are delegated to the interpreted expression
+        assertSameResult("${body.greet}");
+
+        // not null safe so the interpreted expression should fail in the same way
+        try {
+            compiled.createExpression("${body.friend.name}").evaluate(exchange, Object.class);
+            fail("Should have thrown exception");
+        } catch (RuntimeBeanExpressionException e) {
+            assertEquals("Failed to invoke method: .friend.name on null due to: java.lang.NullPointerException", e.getMessage());
+            assertIsInstanceOf(NullPointerException.class, e.getCause());
+        }
+    }
+
+    public void testCompiledFallbackDoesNotInvokeAgain() throws Exception {
+        Person camel = new Person("Camel", 6);
+        camel.setFriend(new Person("Tony the Tiger", 13));
+        exchange.getIn().setBody(camel);
+
+        // the overloaded method is interpreted from the friend, so the friend is only looked up once
+        assertEquals("Hello", compiled.createExpression("${body.friend.greet}").evaluate(exchange, String.class));
+        assertEquals(1, camel.friendCalls);
+    }
+
+    public void testCompiledHeaderAndPropertyOgnl() throws Exception {
+        exchange.getIn().setHeader("animal", new Person("Camel", 6));
+        exchange.setProperty("animal", new Person("Tiger", 13));
+
+        assertSameResult("${header.animal.name}");
+        assertSameResult("${in.header.animal.getAge}");
+        assertSameResult("${property.animal.name}");
+        assertSameResult("${property.animal?.friend?.name}");
+        assertEquals("Camel", compiled.createExpression("${header.animal.name}").evaluate(exchange, String.class));
+        assertEquals("Tiger", compiled.createExpression("${property.animal.name}").evaluate(exchange, String.class));
+    }
+
+    public void testCompiledPredicate() throws Exception {
+        Person tiger = new Person("Tony the Tiger", 13);
+        Person camel = new Person("Camel", 6);
+        camel.setFriend(tiger);
+        exchange.getIn().setBody(camel);
+
+        assertTrue(compiled.createPredicate("${body.age} < ${body.friend.age}").matches(exchange));
+        assertTrue(compiled.createPredicate("${body.friend.dangerous} == true").matches(exchange));
+        assertFalse(compiled.createPredicate("${body.name} contains 'Tiger'").matches(exchange));
+    }
+
+    private void assertSameResult(String expression) {
+        Object expected = interpreted.createExpression(expression).evaluate(exchange, Object.class);
+        Object actual = compiled.createExpression(expression).evaluate(exchange, Object.class);
+        assertEquals(expression, expected, actual);
+    }
+
+    public static class Person {
+        private final String name;
+        private final int age;
+        private Person friend;
+        private int friendCalls;
+
+        public Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public Person getFriend() {
+            friendCalls++;
+            return friend;
+        }
+
+        public void setFriend(Person friend) {
+            this.friend = friend;
+        }
+
+        public boolean isDangerous() {
+            return name.contains("Tiger");
+        }
+
+        public String greet() {
+            return "Hello";
+        }
+
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+    }
+}
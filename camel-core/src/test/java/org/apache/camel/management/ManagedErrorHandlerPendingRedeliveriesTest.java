@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class ManagedErrorHandlerPendingRedeliveriesTest extends ManagementTestSupport {
+
+    private static volatile int counter;
+
+    public void testPendingRedeliveries() throws Exception {
+        counter = 0;
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("*:type=errorhandlers,*"), null);
+        assertEquals(1, set.size());
+        ObjectName on = set.iterator().next();
+
+        Integer max = (Integer) mbeanServer.getAttribute(on, "MaximumPendingRedeliveries");
+        assertEquals(10, max.intValue());
+
+        Integer pending = (Integer) mbeanServer.getAttribute(on, "PendingRedeliveryCount");
+        assertEquals(0, pending.intValue());
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        template.sendBody("seda:start", "Hello World");
+
+        // wait for the first attempt to fail so the redelivery is pending
+        for (int i = 0; i < 50 && counter == 0; i++) {
+            Thread.sleep(100);
+        }
+        pending = (Integer) mbeanServer.getAttribute(on, "PendingRedeliveryCount");
+        assertEquals(1, pending.intValue());
+
+        assertMockEndpointsSatisfied();
+
+        pending = (Integer) mbeanServer.getAttribute(on, "PendingRedeliveryCount");
+        assertEquals(0, pending.intValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(defaultErrorHandler().maximumRedeliveries(1).redeliveryDelay(2000)
+                        .asyncDelayedRedelivery().maximumPendingRedeliveries(10));
+
+                from("seda:start")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            if (counter++ < 1) {
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
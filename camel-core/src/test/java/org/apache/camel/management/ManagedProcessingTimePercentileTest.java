@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedProcessingTimePercentileTest extends ManagementTestSupport {
+
+    public void testProcessingTimePercentiles() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(100);
+
+        for (int i = 0; i < 100; i++) {
+            // the last 5 messages are slow
+            template.sendBodyAndHeader("direct:start", "Hello World", "delay", i < 95 ? 0 : 300);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName route = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=routes,name=\"route1\"");
+        assertPercentiles(mbeanServer, route);
+
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("org.apache.camel:type=processors,name=\"delay\",*"), null);
+        assertEquals(1, set.size());
+        assertPercentiles(mbeanServer, set.iterator().next());
+    }
+
+    private void assertPercentiles(MBeanServer mbeanServer, ObjectName on) throws Exception {
+        Long median = (Long) mbeanServer.getAttribute(on, "MedianProcessingTime");
+        Long p99 = (Long) mbeanServer.getAttribute(on, "Percentile99ProcessingTime");
+        Long p999 = (Long) mbeanServer.getAttribute(on, "Percentile999ProcessingTime");
+        Long max = (Long) mbeanServer.getAttribute(on, "MaxProcessingTime");
+
+        assertTrue("Median should be fast: was " + median, median < 250);
+        assertTrue("99th percentile should be slow: was " + p99, p99 >= 290);
+        assertTrue(p999 >= p99);
+        assertTrue(max >= p999);
+
+        Long p95 = (Long) mbeanServer.invoke(on, "processingTimePercentile", new Object[]{95.0}, new String[]{"double"});
+        assertTrue("95th percentile should be fast: was " + p95, p95 < 250);
+
+        // reset should clear the percentiles
+        mbeanServer.invoke(on, "reset", null, null);
+        p99 = (Long) mbeanServer.getAttribute(on, "Percentile99ProcessingTime");
+        assertEquals(0, p99.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").delay(header("delay")).id("delay").to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.ProducerCache;
+
+/**
+ * @version 
+ */
+public class ManagedProducerCacheTest extends ManagementTestSupport {
+
+    public void testManageProducerCache() throws Exception {
+        // always register services in JMX so we can enlist our producer cache
+        context.getManagementStrategy().getManagementAgent().setRegisterAlways(true);
+
+        ProducerCache cache = new ProducerCache(this, context, 2);
+        context.addService(cache);
+
+        for (int i = 0; i < 3; i++) {
+            Endpoint endpoint = context.getEndpoint("mock:result" + i);
+            Exchange exchange = endpoint.createExchange();
+            exchange.getIn().setBody("Hello World");
+            cache.send(endpoint, exchange);
+        }
+        // send again to the last endpoint which is still in the cache
+        Endpoint endpoint = context.getEndpoint("mock:result2");
+        cache.send(endpoint, endpoint.createExchange());
+
+        // get the stats for the cache
+        MBeanServer mbeanServer = getMBeanServer();
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("*:type=services,*"), null);
+        List<ObjectName> list = new ArrayList<ObjectName>(set);
+        ObjectName on = null;
+        for (ObjectName name : list) {
+            if (name.getCanonicalName().contains("ProducerCache")) {
+                String source = (String) mbeanServer.getAttribute(name, "Source");
+                if (source != null && source.contains("testManageProducerCache")) {
+                    on = name;
+                    break;
+                }
+            }
+        }
+
+        assertNotNull("Should have found ProducerCache", on);
+
+        Integer max = (Integer) mbeanServer.getAttribute(on, "MaximumCacheSize");
+        assertEquals(2, max.intValue());
+
+        Integer current = (Integer) mbeanServer.getAttribute(on, "Size");
+        assertEquals(2, current.intValue());
+
+        Long hits = (Long) mbeanServer.getAttribute(on, "Hits");
+        assertEquals(1, hits.longValue());
+
+        Long misses = (Long) mbeanServer.getAttribute(on, "Misses");
+        assertEquals(3, misses.longValue());
+
+        Long evicted = (Long) mbeanServer.getAttribute(on, "Evicted");
+        assertEquals(1, evicted.longValue());
+
+        mbeanServer.invoke(on, "resetStatistics", null, null);
+
+        evicted = (Long) mbeanServer.getAttribute(on, "Evicted");
+        assertEquals(0, evicted.longValue());
+    }
+
+}
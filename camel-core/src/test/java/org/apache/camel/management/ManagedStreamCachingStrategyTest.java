@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedStreamCachingStrategyTest extends ManagementTestSupport {
+
+    public void testManageStreamCachingStrategy() throws Exception {
+        MBeanServer mbeanServer = getMBeanServer();
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("*:type=services,*"), null);
+        List<ObjectName> list = new ArrayList<ObjectName>(set);
+        ObjectName on = null;
+        for (ObjectName name : list) {
+            if (name.getCanonicalName().contains("DefaultStreamCachingStrategy")) {
+                on = name;
+                break;
+            }
+        }
+
+        assertNotNull("Should have found DefaultStreamCachingStrategy", on);
+
+        Long budget = (Long) mbeanServer.getAttribute(on, "MemoryBudget");
+        assertEquals(0, budget.longValue());
+        mbeanServer.setAttribute(on, new Attribute("MemoryBudget", 1024 * 1024L));
+        assertEquals(1024 * 1024L, context.getStreamCachingStrategy().getMemoryBudget());
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+        template.sendBody("direct:start", "Hello World");
+        assertMockEndpointsSatisfied();
+
+        // the exchange is done so the memory is released
+        Long used = (Long) mbeanServer.getAttribute(on, "MemoryUsed");
+        assertEquals(0, used.longValue());
+        Long heap = (Long) mbeanServer.getAttribute(on, "HeapUsed");
+        assertEquals(0, heap.longValue());
+        Long spool = (Long) mbeanServer.getAttribute(on, "SpoolUsed");
+        assertEquals(0, spool.longValue());
+        Integer size = (Integer) mbeanServer.getAttribute(on, "BufferSize");
+        assertTrue(size > 0);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").streamCaching().convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedTimerServiceTest extends ManagementTestSupport {
+
+    public void testManageTimerService() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+        template.sendBody("direct:start", "Hello World");
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("*:type=services,*"), null);
+        ObjectName on = null;
+        for (ObjectName name : set) {
+            if (name.getCanonicalName().contains("DefaultTimerService")) {
+                on = name;
+                break;
+            }
+        }
+
+        assertNotNull("Should have found DefaultTimerService", on);
+
+        Long tick = (Long) mbeanServer.getAttribute(on, "TickDuration");
+        assertEquals(context.getExecutorServiceManager().getTimerService().getTickDuration(), tick.longValue());
+        Integer pending = (Integer) mbeanServer.getAttribute(on, "PendingTasks");
+        assertEquals(0, pending.intValue());
+        Long scheduled = (Long) mbeanServer.getAttribute(on, "ScheduledTasks");
+        assertEquals(1, scheduled.longValue());
+        Long executed = (Long) mbeanServer.getAttribute(on, "ExecutedTasks");
+        assertEquals(1, executed.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").delay(100).asyncDelayed().to("mock:result");
+            }
+        };
+    }
+
+}
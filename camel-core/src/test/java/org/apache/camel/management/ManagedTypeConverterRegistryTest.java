@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedTypeConverterRegistryTest extends ManagementTestSupport {
+
+    public void testManageTypeConverterRegistry() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", "3");
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("*:type=services,*"), null);
+        List<ObjectName> list = new ArrayList<ObjectName>(set);
+        ObjectName on = null;
+        for (ObjectName name : list) {
+            if (name.getCanonicalName().contains("DefaultTypeConverter")) {
+                on = name;
+                break;
+            }
+        }
+
+        assertNotNull("Should have found DefaultTypeConverter", on);
+
+        Integer size = (Integer) mbeanServer.getAttribute(on, "Size");
+        assertTrue(size > 0);
+
+        Boolean enabled = (Boolean) mbeanServer.getAttribute(on, "StatisticsEnabled");
+        assertFalse(enabled);
+        mbeanServer.setAttribute(on, new Attribute("StatisticsEnabled", Boolean.TRUE));
+
+        getMockEndpoint("mock:result").reset();
+        getMockEndpoint("mock:result").expectedBodiesReceived(3);
+        template.sendBody("direct:start", "3");
+        assertMockEndpointsSatisfied();
+
+        Long hits = (Long) mbeanServer.getAttribute(on, "Hits");
+        assertTrue("Should have hits", hits > 0);
+
+        mbeanServer.invoke(on, "resetStatistics", null, null);
+        hits = (Long) mbeanServer.getAttribute(on, "Hits");
+        assertEquals(0, hits.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").convertBodyTo(Integer.class).to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class LatencyHistogramTest extends TestCase {
+
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordValue(i);
+        }
+        assertEquals(1000, histogram.getTotalCount());
+
+        assertWithinError(500, histogram.getValueAtPercentile(50));
+        assertWithinError(990, histogram.getValueAtPercentile(99));
+        assertWithinError(999, histogram.getValueAtPercentile(99.9));
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+
+        histogram.reset();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 32; i++) {
+            histogram.recordValue(i);
+        }
+        assertEquals(15, histogram.getValueAtPercentile(50));
+        assertEquals(31, histogram.getValueAtPercentile(100));
+    }
+
+    public void testLargeAndNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordValue(-5);
+        histogram.recordValue(Long.MAX_VALUE);
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals((1L << 40) - 1, histogram.getValueAtPercentile(100));
+    }
+
+    public void testBucketsAreContiguous() {
+        long previous = -1;
+        for (int i = 0; i <= LatencyHistogram.index((1L << 40) - 1); i++) {
+            long highest = LatencyHistogram.highestEquivalentValue(i);
+            assertTrue(highest > previous);
+            assertEquals(i, LatencyHistogram.index(highest));
+            assertEquals(i, LatencyHistogram.index(previous + 1));
+            previous = highest;
+        }
+    }
+
+    public void testInvalidPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        try {
+            histogram.getValueAtPercentile(101);
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        // the buckets have a relative error of at most 1/16
+        assertTrue("Expected " + expected + " but was " + actual, actual >= expected && actual <= expected + expected / 16);
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class StatisticTest extends TestCase {
+
+    public void testCounter() {
+        Statistic statistic = new Statistic("counter", this, Statistic.UpdateMode.COUNTER);
+        assertEquals(0, statistic.getValue());
+        statistic.increment();
+        statistic.updateValue(10);
+        assertEquals(11, statistic.getValue());
+        statistic.reset();
+        assertEquals(0, statistic.getValue());
+    }
+
+    public void testMinimumAndMaximum() {
+        Statistic min = new Statistic("min", this, Statistic.UpdateMode.MINIMUM);
+        Statistic max = new Statistic("max", this, Statistic.UpdateMode.MAXIMUM);
+        assertEquals(0, min.getValue());
+        assertEquals(0, max.getValue());
+
+        for (long value : new long[]{5, 3, 8, 4}) {
+            min.updateValue(value);
+            max.updateValue(value);
+        }
+        assertEquals(3, min.getValue());
+        assertEquals(8, max.getValue());
+
+        min.reset();
+        max.reset();
+        assertEquals(0, min.getValue());
+        assertEquals(0, max.getValue());
+        min.updateValue(7);
+        max.updateValue(7);
+        assertEquals(7, min.getValue());
+        assertEquals(7, max.getValue());
+    }
+
+    public void testValueAndDifference() {
+        Statistic value = new Statistic("value", this, Statistic.UpdateMode.VALUE);
+        value.updateValue(5);
+        value.updateValue(3);
+        assertEquals(3, value.getValue());
+
+        Statistic difference = new Statistic("difference", this, Statistic.UpdateMode.DIFFERENCE);
+        difference.updateValue(5);
+        assertEquals(5, difference.getValue());
+        difference.updateValue(8);
+        assertEquals(3, difference.getValue());
+    }
+}
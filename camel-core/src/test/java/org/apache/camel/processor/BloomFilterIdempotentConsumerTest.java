@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.idempotent.BloomFilterIdempotentRepository;
+import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
+import org.apache.camel.spi.IdempotentRepository;
+
+/**
+ * @version 
+ */
+public class BloomFilterIdempotentConsumerTest extends ContextTestSupport {
+
+    private CountingRepository store;
+    private BloomFilterIdempotentRepository repo;
+
+    @Override
+    protected void setUp() throws Exception {
+        store = new CountingRepository();
+        // the store already has a key before we start
+        store.add("A");
+        store.lookups.set(0);
+        repo = new BloomFilterIdempotentRepository(store);
+        super.setUp();
+    }
+
+    public void testDuplicateMessagesAreFilteredOut() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "A");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "B");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "C");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "B");
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue(repo.isFilterEnabled());
+        assertEquals(3, repo.getFilterSize());
+        // only the keys the filter might contain should have been looked up in the store
+        assertEquals(2, repo.getSkippedLookups());
+        assertEquals(2, store.lookups.get());
+        assertEquals(3, store.getKeys().size());
+    }
+
+    public void testContains() throws Exception {
+        assertTrue(repo.contains("A"));
+        assertFalse(repo.contains("B"));
+        assertEquals(1, store.lookups.get());
+        assertEquals(1, repo.getSkippedLookups());
+
+        // the filter cannot remove keys so the store should be used
+        assertTrue(repo.remove("A"));
+        assertFalse(repo.contains("A"));
+        assertEquals(2, store.lookups.get());
+        assertEquals(1, repo.getFalsePositives());
+    }
+
+    public void testRebuild() throws Exception {
+        store.addNewKey("X");
+        assertFalse(repo.contains("X"));
+
+        // the key added directly to the store is known after rebuilding
+        repo.rebuild();
+        assertTrue(repo.contains("X"));
+    }
+
+    public void testFilterNotUsedIfRebuildFails() throws Exception {
+        final AtomicInteger lookups = new AtomicInteger();
+        IdempotentRepository<String> plain = new MemoryIdempotentRepository() {
+            @Override
+            public List<String> getKeys() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean contains(String key) {
+                lookups.incrementAndGet();
+                return super.contains(key);
+            }
+        };
+        BloomFilterIdempotentRepository other = new BloomFilterIdempotentRepository(plain);
+        try {
+            other.start();
+            fail("Should have thrown exception");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        // the filter should not be used if it could not be built
+        assertFalse(other.isFilterEnabled());
+        assertFalse(other.contains("A"));
+        assertEquals(1, lookups.get());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .idempotentConsumer(header("messageId"), repo)
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private static final class CountingRepository extends MemoryIdempotentRepository {
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public boolean add(String key) {
+            lookups.incrementAndGet();
+            return super.add(key);
+        }
+
+        @Override
+        public boolean contains(String key) {
+            lookups.incrementAndGet();
+            return super.contains(key);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class CircuitBreakerLoadBalanceTest extends ContextTestSupport {
+
+    private volatile boolean fail = true;
+
+    public void testCircuitBreaker() throws Exception {
+        // a fails twice which opens its circuit, so the remainder goes to b
+        getMockEndpoint("mock:a").expectedMessageCount(0);
+        getMockEndpoint("mock:b").expectedBodiesReceived("B", "D", "E", "F");
+
+        sendAndExpectFailure("A");
+        template.sendBody("direct:start", "B");
+        sendAndExpectFailure("C");
+        template.sendBody("direct:start", "D");
+        template.sendBody("direct:start", "E");
+        template.sendBody("direct:start", "F");
+
+        assertMockEndpointsSatisfied();
+
+        // a is recovered, and after the half open period it should be probed and be back in rotation
+        resetMocks();
+        fail = false;
+        Thread.sleep(600);
+
+        getMockEndpoint("mock:a").expectedBodiesReceived("G", "I");
+        getMockEndpoint("mock:b").expectedBodiesReceived("H");
+
+        template.sendBody("direct:start", "G");
+        template.sendBody("direct:start", "H");
+        template.sendBody("direct:start", "I");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testCircuitBreakerAllOpen() throws Exception {
+        sendAndExpectFailure("A", "direct:single");
+        sendAndExpectFailure("B", "direct:single");
+
+        try {
+            template.sendBody("direct:single", "C");
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(RejectedExecutionException.class, e.getCause());
+        }
+    }
+
+    private void sendAndExpectFailure(String body) {
+        sendAndExpectFailure(body, "direct:start");
+    }
+
+    private void sendAndExpectFailure(String body, String uri) {
+        try {
+            template.sendBody(uri, body);
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertEquals("Forced", e.getCause().getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(noErrorHandler());
+
+                from("direct:start")
+                    .loadBalance().circuitBreaker(2, 500)
+                        .to("direct:a", "mock:b");
+
+                from("direct:single")
+                    .loadBalance().circuitBreaker(2, 60000)
+                        .to("direct:a");
+
+                from("direct:a")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            if (fail) {
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        }
+                    })
+                    .to("mock:a");
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.TestSupport;
+import org.apache.camel.processor.idempotent.FileIdempotentRepository;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.LRUCache;
+
+/**
+ * @version 
+ */
+public class FileIdempotentCompactionTest extends TestSupport {
+
+    private File store = new File("target/idempotentcompaction.dat");
+    private FileIdempotentRepository repo;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        deleteDirectory(store);
+        repo = new FileIdempotentRepository();
+        repo.setFileStore(store);
+        repo.setMaxFileStoreSize(1000);
+        repo.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        repo.stop();
+        super.tearDown();
+    }
+
+    public void testCompactionKeepsAllKeys() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(repo.add("key-" + i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(repo.remove("key-" + i));
+        }
+        repo.compact();
+
+        // only the odd keys is kept in the file store
+        assertEquals(500, countLines(store));
+
+        FileIdempotentRepository other = new FileIdempotentRepository();
+        other.setFileStore(store);
+        other.start();
+        assertEquals(500, other.getCacheSize());
+        assertFalse(other.contains("key-0"));
+        assertTrue(other.contains("key-1"));
+        assertTrue(other.contains("key-999"));
+    }
+
+    public void testGetKeysFromStore() throws Exception {
+        repo.setCache(new LRUCache<String, Object>(1));
+        assertTrue(repo.add("A"));
+        assertTrue(repo.add("B"));
+        assertTrue(repo.add("C"));
+        // B is evicted from the cache, but the removal is still recorded in the store
+        repo.remove("B");
+
+        // the keys evicted from the cache should still be listed
+        assertEquals(Arrays.asList("A", "C"), repo.getKeys());
+    }
+
+    public void testRemoveAndAddAgain() throws Exception {
+        assertTrue(repo.add("A"));
+        assertTrue(repo.remove("A"));
+        assertTrue(repo.add("A"));
+        assertFalse(repo.add("A"));
+        repo.stop();
+
+        repo.start();
+        assertTrue(repo.contains("A"));
+        assertEquals(1, repo.getCacheSize());
+    }
+
+    public void testConcurrentAdd() throws Exception {
+        repo.setSync(true);
+        final AtomicInteger added = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Future<?>[] futures = new Future<?>[8];
+        for (int t = 0; t < 8; t++) {
+            futures[t] = executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    // all threads add the same keys so only one of them should succeed
+                    for (int i = 0; i < 2000; i++) {
+                        if (repo.add("key-" + i)) {
+                            added.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(2000, added.get());
+        repo.stop();
+
+        // the store should have been compacted while adding, and still hold all the keys
+        repo.start();
+        assertEquals(2000, repo.getCacheSize());
+        assertEquals(2000, countLines(store));
+    }
+
+    private static int countLines(File file) throws Exception {
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            int count = 0;
+            while (reader.readLine() != null) {
+                count++;
+            }
+            return count;
+        } finally {
+            IOHelper.close(reader);
+        }
+    }
+}
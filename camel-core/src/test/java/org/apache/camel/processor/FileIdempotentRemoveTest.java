@@ -63,8 +63,9 @@ public class FileIdempotentRemoveTest extends ContextTestSupport {
 
         assertMockEndpointsSatisfied();
 
-        // remove should flush file so we will only see B in the file
+        // remove only appends to the file, so compact the file so we will only see B in the file
         repo.remove("A");
+        ((FileIdempotentRepository) repo).compact();
 
         String data = context.getTypeConverter().convertTo(String.class, store);
         assertEquals("B\n", data);
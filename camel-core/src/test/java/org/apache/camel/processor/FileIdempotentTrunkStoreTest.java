@@ -52,25 +52,30 @@ public class FileIdempotentTrunkStoreTest extends ContextTestSupport {
         resultEndpoint.reset();
         resultEndpoint.expectedBodiesReceived("Z", "X");
 
-        // should trunk the file store
+        // should compact the file store
         sendMessage("ZZZZZZZZZZ", "Z");
 
-        // load in new store and verify we only have the last 5 elements
+        // load in new store and verify we have all the elements, even if the cache only holds the last 5
         IdempotentRepository<String> repo2 = FileIdempotentRepository.fileIdempotentRepository(store);
         repo2.start();
-        assertFalse(repo2.contains("AAAAAAAAAA"));
+        assertTrue(repo2.contains("AAAAAAAAAA"));
         assertTrue(repo2.contains("BBBBBBBBBB"));
         assertTrue(repo2.contains("CCCCCCCCCC"));
         assertTrue(repo2.contains("DDDDDDDDDD"));
         assertTrue(repo2.contains("EEEEEEEEEE"));
         assertTrue(repo2.contains("ZZZZZZZZZZ"));
 
-        // should trunk the file store
+        // should compact the file store
         sendMessage("XXXXXXXXXX", "X");
 
         resultEndpoint.assertIsSatisfied();
         assertFalse(repo.contains("BBBBBBBBBB"));
         assertTrue(repo.contains("XXXXXXXXXX"));
+
+        // the file store should only hold each key once after compaction
+        ((FileIdempotentRepository) repo).compact();
+        String data = context.getTypeConverter().convertTo(String.class, store);
+        assertEquals("AAAAAAAAAA\nBBBBBBBBBB\nCCCCCCCCCC\nDDDDDDDDDD\nEEEEEEEEEE\nZZZZZZZZZZ\nXXXXXXXXXX\n", data);
     }
 
     protected void sendMessage(final Object messageId, final Object body) {
@@ -91,7 +96,7 @@ public class FileIdempotentTrunkStoreTest extends ContextTestSupport {
             store.delete();
         }
 
-        // 5 elements in cache, and 50 bytes as max size limit for when trunking should start
+        // 5 elements in cache, and 50 bytes as max size limit for when compaction should start
         repo = FileIdempotentRepository.fileIdempotentRepository(store, 5, 50);
         repo.start();
 
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.processor.loadbalancer.LatencyAwareLoadBalancer;
+
+/**
+ * @version 
+ */
+public class LatencyAwareLoadBalanceTest extends ContextTestSupport {
+
+    public void testLatencyAware() throws Exception {
+        // the slow endpoint is probed once, and then avoided
+        getMockEndpoint("mock:slow").expectedMessageCount(1);
+        getMockEndpoint("mock:fast").expectedMessageCount(9);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testUnmeasuredProcessorWithInflight() throws Exception {
+        CountingProcessor good = new CountingProcessor();
+        CountingProcessor hanging = new CountingProcessor();
+
+        LatencyAwareLoadBalancer lb = new LatencyAwareLoadBalancer();
+        lb.addProcessor(good);
+        lb.addProcessor(hanging);
+
+        // the first exchange sent to the processor hangs so its latency is never measured
+        lb.getStatistics(hanging).begin();
+
+        for (int i = 0; i < 10; i++) {
+            lb.process(new DefaultExchange(context));
+        }
+
+        assertEquals(10, good.count.get());
+        assertEquals(0, hanging.count.get());
+    }
+
+    private static final class CountingProcessor implements Processor {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public void process(Exchange exchange) throws Exception {
+            count.incrementAndGet();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .loadBalance().latencyAware()
+                        .to("direct:slow", "mock:fast");
+
+                from("direct:slow")
+                    .delay(200)
+                    .to("mock:slow");
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class RedeliveryErrorHandlerMaximumPendingTest extends ContextTestSupport {
+
+    private static final Map<String, String> REDELIVERY_THREADS = new ConcurrentHashMap<String, String>();
+
+    public void testMaximumPendingRedeliveries() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceivedInAnyOrder("Hello World", "Hello Camel");
+
+        // the first exchange waits a while for its redelivery, which is then pending
+        Future<Object> future = template.asyncRequestBodyAndHeader("direct:start", "World", Exchange.REDELIVERY_DELAY, 1000L);
+        while (!REDELIVERY_THREADS.containsKey("World-failed")) {
+            Thread.sleep(10);
+        }
+
+        // the maximum is 1 pending redelivery so the caller thread is used for the delayed redelivery
+        String caller = Thread.currentThread().getName();
+        template.sendBody("direct:start", "Camel");
+        assertEquals(caller, REDELIVERY_THREADS.get("Camel"));
+
+        future.get();
+        assertMockEndpointsSatisfied();
+        // and the pending redelivery was done by the scheduler
+        assertFalse(REDELIVERY_THREADS.get("World-failed").equals(REDELIVERY_THREADS.get("World")));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(defaultErrorHandler().maximumRedeliveries(2).redeliveryDelay(100)
+                        .asyncDelayedRedelivery().maximumPendingRedeliveries(1));
+
+                from("direct:start")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            String body = exchange.getIn().getBody(String.class);
+                            if (!REDELIVERY_THREADS.containsKey(body + "-failed")) {
+                                REDELIVERY_THREADS.put(body + "-failed", Thread.currentThread().getName());
+                                throw new IllegalArgumentException("Damn");
+                            }
+                            REDELIVERY_THREADS.put(body, Thread.currentThread().getName());
+                            exchange.getIn().setBody("Hello " + body);
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+
+/**
+ * @version 
+ */
+public class SplitterParallelStreamingWindowTest extends ContextTestSupport {
+
+    private static final int TOTAL = 200;
+    private static final int WINDOW = 5;
+
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxPending = new AtomicInteger();
+
+    public void testSplitterParallelStreamingWindow() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        template.sendBody("direct:start", new CountingIterable());
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(TOTAL, pulled.get());
+        assertEquals(TOTAL, aggregated.get());
+        assertTrue("Should not have more than " + WINDOW + " pending but was " + maxPending.get(), maxPending.get() <= WINDOW);
+    }
+
+    public void testSplitterParallelStreamingOrdered() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:ordered");
+        mock.expectedBodiesReceived("A+B+C+D+E+F+G+H");
+
+        template.sendBody("direct:ordered", "A,B,C,D,E,F,G,H");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body(), new AggregationStrategy() {
+                        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+                            aggregated.incrementAndGet();
+                            return newExchange;
+                        }
+                    }).streaming().parallelProcessing().windowSize(WINDOW)
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                Thread.sleep(2);
+                            }
+                        })
+                    .end()
+                    .to("mock:result");
+
+                from("direct:ordered")
+                    .split(body().tokenize(","), new AggregationStrategy() {
+                        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+                            if (oldExchange == null) {
+                                return newExchange;
+                            }
+                            String body = oldExchange.getIn().getBody(String.class);
+                            oldExchange.getIn().setBody(body + "+" + newExchange.getIn().getBody(String.class));
+                            return oldExchange;
+                        }
+                    }).streaming().parallelProcessing().windowSize(3).streamingOrdered()
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                // let the earlier parts complete last
+                                int index = exchange.getProperty(Exchange.SPLIT_INDEX, Integer.class);
+                                Thread.sleep(100 - index * 10);
+                            }
+                        })
+                    .end()
+                    .to("mock:ordered");
+            }
+        };
+    }
+
+    private final class CountingIterable implements Iterable<Integer> {
+
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                public boolean hasNext() {
+                    return pulled.get() < TOTAL;
+                }
+
+                public Integer next() {
+                    int pending = pulled.incrementAndGet() - aggregated.get();
+                    if (pending > maxPending.get()) {
+                        maxPending.set(pending);
+                    }
+                    return pulled.get();
+                }
+
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+}
@@ -23,7 +23,7 @@ import org.apache.camel.ContextTestSupport;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.mock.MockEndpoint;
 import org.apache.camel.impl.DefaultExchange;
-import org.apache.camel.processor.Throttler.TimeSlot;
+import org.apache.camel.impl.MemoryThrottlerRateState;
 
 import static org.apache.camel.builder.Builder.constant;
 
@@ -74,21 +74,40 @@ public class ThrottlerTest extends ContextTestSupport {
         executor.shutdownNow();
     }
 
-    public void testTimeSlotCalculus() throws Exception {
+    public void testTokenBucketCalculus() throws Exception {
         Throttler throttler = new Throttler(context, null, constant(3), 1000, null, false);
-        // calculate will assign a new slot
-        throttler.calculateDelay(new DefaultExchange(context));
-        TimeSlot slot = throttler.nextSlot();
-        // start a new time slot
-        assertNotNull(slot);
-        // make sure the same slot is used (3 exchanges per slot)
-        assertSame(slot, throttler.nextSlot());
-        assertTrue(slot.isFull());
-        
-        TimeSlot next = throttler.nextSlot();
-        // now we should have a new slot that starts somewhere in the future
-        assertNotSame(slot, next);
-        assertFalse(next.isActive());
+        // evaluate the expression so the maximum requests is known
+        assertEquals(0, throttler.calculateDelay(new DefaultExchange(context)));
+
+        long now = System.currentTimeMillis() + 10000;
+        // the bucket holds 3 permits, and one was taken above
+        assertEquals(0, throttler.acquirePermit(now));
+        assertEquals(0, throttler.acquirePermit(now));
+        assertEquals(0, throttler.acquirePermit(now));
+        // then the bucket is empty and refilled with one permit every 333 millis
+        assertEquals(334, throttler.acquirePermit(now));
+        assertEquals(667, throttler.acquirePermit(now));
+
+        // and after a while the bucket is full again
+        now += 5000;
+        assertEquals(0, throttler.acquirePermit(now));
+        assertEquals(0, throttler.acquirePermit(now));
+        assertEquals(0, throttler.acquirePermit(now));
+        assertEquals(334, throttler.acquirePermit(now));
+    }
+
+    public void testSharedRateState() throws Exception {
+        MemoryThrottlerRateState state = new MemoryThrottlerRateState();
+        Throttler throttler = new Throttler(context, null, constant(2), 1000, null, false);
+        throttler.setRateState(state);
+        Throttler other = new Throttler(context, null, constant(2), 1000, null, false);
+        other.setRateState(state);
+
+        // both throttlers takes permits from the same bucket
+        assertEquals(0, throttler.calculateDelay(new DefaultExchange(context)));
+        assertEquals(0, other.calculateDelay(new DefaultExchange(context)));
+        assertTrue(throttler.calculateDelay(new DefaultExchange(context)) > 0);
+        assertTrue(other.calculateDelay(new DefaultExchange(context)) > 0);
     }
 
     public void testConfigurationWithConstantExpression() throws Exception {
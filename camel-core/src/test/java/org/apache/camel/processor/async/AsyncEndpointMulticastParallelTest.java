@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.async;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+
+/**
+ * @version 
+ */
+public class AsyncEndpointMulticastParallelTest extends ContextTestSupport {
+
+    private static final List<String> AGGREGATE_THREAD_NAMES = new CopyOnWriteArrayList<String>();
+    private static String afterThreadName;
+
+    public void testAsyncEndpointParallel() throws Exception {
+        AGGREGATE_THREAD_NAMES.clear();
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hi Moon+Bye Camel+Hi World");
+
+        String reply = template.requestBody("direct:start", "Hello Camel", String.class);
+        assertEquals("Hi Moon+Bye Camel+Hi World", reply);
+
+        assertMockEndpointsSatisfied();
+
+        // the single thread in the pool should not be blocked waiting for the async replies,
+        // and the replies should be aggregated by the threads which completed them
+        assertEquals(3, AGGREGATE_THREAD_NAMES.size());
+        for (String name : AGGREGATE_THREAD_NAMES) {
+            assertTrue("Should aggregate using the async thread: " + name, name.contains("MyProducer"));
+        }
+        assertTrue("Should continue routing using the async thread: " + afterThreadName, afterThreadName.contains("MyProducer"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                context.addComponent("async", new MyAsyncComponent());
+
+                ExecutorService pool = context.getExecutorServiceManager().newFixedThreadPool(this, "MyMulticast", 1);
+
+                from("direct:start")
+                        .multicast(new MyAggregationStrategy()).parallelProcessing().executorService(pool)
+                            .to("async:hi:moon?delay=200", "async:bye:camel?delay=100", "async:hi:world?delay=300")
+                        .end()
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                afterThreadName = Thread.currentThread().getName();
+                            }
+                        })
+                        .to("mock:result");
+            }
+        };
+    }
+
+    private static class MyAggregationStrategy implements AggregationStrategy {
+
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            AGGREGATE_THREAD_NAMES.add(Thread.currentThread().getName());
+            if (oldExchange == null) {
+                return newExchange;
+            }
+
+            String body = oldExchange.getIn().getBody(String.class);
+            oldExchange.getIn().setBody(body + "+" + newExchange.getIn().getBody(String.class));
+            return oldExchange;
+        }
+    }
+
+}
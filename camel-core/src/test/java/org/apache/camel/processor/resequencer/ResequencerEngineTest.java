@@ -80,6 +80,22 @@ public class ResequencerEngineTest extends TestCase {
         assertEquals((Integer)4, resequencer.getLastDelivered());
     }
     
+    public void testRingBuffer() throws Exception {
+        initResequencer(500, 10, true);
+        resequencer.setLastDelivered(2);
+        resequencer.insert(5);
+        resequencer.insert(4);
+        resequencer.insert(3);
+        assertEquals((Integer)3, buffer.poll(125));
+        assertEquals((Integer)4, buffer.poll(125));
+        assertEquals((Integer)5, buffer.poll(125));
+        // an element after a gap has to time out
+        resequencer.insert(100);
+        assertNull(buffer.poll(250));
+        assertEquals((Integer)100, buffer.take());
+        assertEquals((Integer)100, resequencer.getLastDelivered());
+    }
+
     public void testRandom() throws Exception {
         if (IGNORE_LOAD_TESTS) {
             return;
@@ -133,9 +149,17 @@ public class ResequencerEngineTest extends TestCase {
     }
     
     private void initResequencer(long timeout, int capacity) {
+        initResequencer(timeout, capacity, false);
+    }
+
+    private void initResequencer(long timeout, int capacity, boolean ringBuffer) {
         ResequencerEngine<Integer> engine;
         buffer = new SequenceBuffer<Integer>();
-        engine = new ResequencerEngine<Integer>(new IntegerComparator());
+        if (ringBuffer) {
+            engine = new ResequencerEngine<Integer>(new IntegerSequenceNumberComparator(), capacity);
+        } else {
+            engine = new ResequencerEngine<Integer>(new IntegerComparator());
+        }
         engine.setSequenceSender(buffer);
         engine.setTimeout(timeout);
         engine.start();
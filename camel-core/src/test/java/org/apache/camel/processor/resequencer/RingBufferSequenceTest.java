@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import junit.framework.TestCase;
+
+public class RingBufferSequenceTest extends TestCase {
+
+    private RingBufferSequence<Integer> sequence;
+
+    public void setUp() throws Exception {
+        sequence = new RingBufferSequence<Integer>(new IntegerSequenceNumberComparator(), 6);
+    }
+
+    public void testRingCapacity() {
+        assertEquals(8, sequence.getRingCapacity());
+    }
+
+    public void testPredecessorAndSuccessor() {
+        Element<Integer> e1 = add(3);
+        Element<Integer> e2 = add(4);
+        Element<Integer> e3 = add(7);
+
+        assertSame(e1, sequence.predecessor(e2));
+        assertNull(sequence.predecessor(e1));
+        assertNull(sequence.predecessor(e3));
+
+        assertSame(e2, sequence.successor(e1));
+        assertNull(sequence.successor(e2));
+        assertNull(sequence.successor(e3));
+    }
+
+    public void testDuplicate() {
+        add(3);
+        assertFalse(sequence.add(new Element<Integer>(3)));
+        assertEquals(1, sequence.size());
+    }
+
+    public void testRemoveInOrder() {
+        add(5);
+        add(2);
+        add(4);
+        add(3);
+        assertEquals(4, sequence.size());
+
+        assertFirstRemoved(2);
+        assertFirstRemoved(3);
+        assertFirstRemoved(4);
+        assertFirstRemoved(5);
+        assertEquals(0, sequence.size());
+    }
+
+    public void testOverflow() {
+        add(10);
+        // outside of the window of the ring
+        Element<Integer> e2 = add(100);
+        Element<Integer> e3 = add(1);
+        add(11);
+        Element<Integer> e5 = add(101);
+        assertEquals(5, sequence.size());
+
+        assertSame(e5, sequence.successor(e2));
+        assertSame(e2, sequence.predecessor(e5));
+        assertSame(e3, sequence.first());
+
+        assertFirstRemoved(1);
+        assertFirstRemoved(10);
+        assertFirstRemoved(11);
+        // the overflow is now moved into the ring
+        assertFirstRemoved(100);
+        assertFirstRemoved(101);
+        assertEquals(0, sequence.size());
+
+        // the ring can be reused for another window
+        add(1000);
+        add(999);
+        assertFirstRemoved(999);
+        assertFirstRemoved(1000);
+    }
+
+    private Element<Integer> add(int number) {
+        Element<Integer> element = new Element<Integer>(number);
+        assertTrue(sequence.add(element));
+        return element;
+    }
+
+    private void assertFirstRemoved(int expected) {
+        Element<Integer> first = sequence.first();
+        assertEquals(Integer.valueOf(expected), first.getObject());
+        assertTrue(sequence.remove(first));
+    }
+
+}
@@ -0,0 +1,297 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class HashedWheelTimeoutMapTest extends TestCase {
+
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    public void testHashedWheelTimeoutMap() {
+        HashedWheelTimeoutMap<?, ?> map = new HashedWheelTimeoutMap<Object, Object>(executor);
+        assertTrue(map.currentTime() > 0);
+
+        assertEquals(0, map.size());
+    }
+
+    public void testHashedWheelTimeoutMapPurge() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100);
+        assertTrue(map.currentTime() > 0);
+
+        assertEquals(0, map.size());
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        Thread.sleep(250);
+
+        assertEquals(0, map.size());
+    }
+
+    public void testHashedWheelTimeoutMapForcePurge() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100);
+        assertTrue(map.currentTime() > 0);
+
+        assertEquals(0, map.size());
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        Thread.sleep(250);
+
+        // will purge and remove old entries
+        map.purge();
+
+        assertEquals(0, map.size());
+    }
+
+    public void testHashedWheelTimeoutMapGetRemove() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100);
+        assertTrue(map.currentTime() > 0);
+
+        assertEquals(0, map.size());
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        assertEquals(123, (int)map.get("A"));
+
+        Object old = map.remove("A");
+        assertEquals(123, old);
+        assertEquals(null, map.get("A"));
+        assertEquals(0, map.size());
+    }
+
+    public void testHashedWheelTimeoutMapGetKeys() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100);
+        assertTrue(map.currentTime() > 0);
+
+        assertEquals(0, map.size());
+
+        map.put("A", 123, 50);
+        map.put("B", 456, 50);
+        assertEquals(2, map.size());
+
+        Object[] keys = map.getKeys();
+        assertNotNull(keys);
+        assertEquals(2, keys.length);
+    }
+
+    public void testExecutor() throws Exception {
+        ScheduledExecutorService e = Executors.newScheduledThreadPool(2);
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(e, 50);
+        assertEquals(50, map.getPurgePollTime());
+
+        map.put("A", 123, 100);
+        assertEquals(1, map.size());
+
+        Thread.sleep(250);
+
+        // should have been timed out now
+        assertEquals(0, map.size());
+
+        assertSame(e, map.getExecutor());
+    }
+
+    public void testExpiredInCorrectOrder() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+        final List<Integer> values = new ArrayList<Integer>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                values.add(value);
+                return true;
+            }
+        };
+        assertEquals(0, map.size());
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 40);
+        map.put("D", 4, 20);
+        map.put("E", 5, 40);
+        // is not expired
+        map.put("F", 6, 800);
+
+        Thread.sleep(250);
+
+        // force purge
+        map.purge();
+
+        assertEquals("D", keys.get(0));
+        assertEquals(4, values.get(0).intValue());
+        assertEquals("B", keys.get(1));
+        assertEquals(2, values.get(1).intValue());
+        assertEquals("C", keys.get(2));
+        assertEquals(3, values.get(2).intValue());
+        assertEquals("E", keys.get(3));
+        assertEquals(5, values.get(3).intValue());
+        assertEquals("A", keys.get(4));
+        assertEquals(1, values.get(4).intValue());
+
+        assertEquals(1, map.size());
+    }
+
+    public void testExpiredNotEvicted() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+        final List<Integer> values = new ArrayList<Integer>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                // do not evict special key
+                if ("gold".equals(key)) {
+                    return false;
+                }
+                keys.add(key);
+                values.add(value);
+                return true;
+            }
+        };
+        assertEquals(0, map.size());
+
+        map.put("A", 1, 90);
+        map.put("B", 2, 100);
+        map.put("gold", 9, 110);
+        map.put("C", 3, 120);
+
+        Thread.sleep(250);
+
+        // force purge
+        map.purge();
+
+        assertEquals("A", keys.get(0));
+        assertEquals(1, values.get(0).intValue());
+        assertEquals("B", keys.get(1));
+        assertEquals(2, values.get(1).intValue());
+        assertEquals("C", keys.get(2));
+        assertEquals(3, values.get(2).intValue());
+
+        // and keep the gold in the map
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(9), map.get("gold"));
+    }
+
+    public void testNotValidForEviction() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+        final AtomicBoolean valid = new AtomicBoolean();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 50, true, 16) {
+            @Override
+            protected boolean isValidForEviction(TimeoutMapEntry<String, Integer> entry) {
+                return valid.get();
+            }
+
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                return true;
+            }
+        };
+        map.put("A", 1, 50);
+
+        Thread.sleep(250);
+        assertEquals(1, map.size());
+
+        // should be evicted on the next ticks, and not first when the wheel has wrapped around
+        valid.set(true);
+        Thread.sleep(250);
+        assertEquals(0, map.size());
+        assertEquals("A", keys.get(0));
+    }
+
+    public void testHashedWheelTimeoutMapStopStart() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 100);
+        map.put("A", 1, 500);
+
+        assertEquals(1, map.size());
+        map.stop();
+
+        assertEquals(0, map.size());
+        map.put("A", 1, 50);
+
+        // should not timeout as the scheduler doesn't run
+        Thread.sleep(250);
+        assertEquals(1, map.size());
+
+        // start
+        map.start();
+
+        // start and wait for scheduler to purge
+        Thread.sleep(250);
+        // now it should be gone
+        assertEquals(0, map.size());
+    }
+
+    public void testManyEntries() throws Exception {
+        final List<String> keys = new ArrayList<String>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 50, true, 16) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                return true;
+            }
+        };
+        assertEquals(16, map.getWheelSize());
+
+        // spread the entries across more than one lap of the wheel
+        for (int i = 0; i < 10000; i++) {
+            map.put("K" + i, i, 100 + (i % 10) * 100);
+        }
+        // remove and refresh some of the entries
+        for (int i = 0; i < 10000; i += 2) {
+            map.remove("K" + i);
+        }
+        map.put("late", 1, 5000);
+
+        Thread.sleep(1500);
+
+        assertEquals(5000, keys.size());
+        assertEquals(1, map.size());
+        assertEquals(Integer.valueOf(1), map.get("late"));
+    }
+
+    public void testGetUpdatesExpireTime() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<String, Integer>(executor, 50);
+        map.put("A", 1, 300);
+
+        for (int i = 0; i < 5; i++) {
+            Thread.sleep(150);
+            // accessing the entry keeps it alive
+            assertEquals(Integer.valueOf(1), map.get("A"));
+        }
+
+        Thread.sleep(500);
+        assertEquals(0, map.size());
+    }
+
+}
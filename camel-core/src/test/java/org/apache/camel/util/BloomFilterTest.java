@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class BloomFilterTest extends TestCase {
+
+    public void testPutAndMightContain() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        assertFalse(filter.mightContain("foo"));
+
+        assertTrue(filter.put("foo"));
+        assertFalse(filter.put("foo"));
+        assertTrue(filter.mightContain("foo"));
+        assertEquals(1, filter.size());
+
+        filter.clear();
+        assertEquals(0, filter.size());
+        assertFalse(filter.mightContain("foo"));
+    }
+
+    public void testNoFalseNegativesWhenGrowing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        long bits = filter.bitSize();
+        for (int i = 0; i < 20000; i++) {
+            filter.put("key-" + i);
+        }
+        // the filter should have grown
+        assertTrue(filter.bitSize() > bits);
+        for (int i = 0; i < 20000; i++) {
+            assertTrue("key-" + i, filter.mightContain("key-" + i));
+        }
+    }
+
+    public void testFalsePositiveProbability() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 40000; i++) {
+            filter.put("key-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        // should be below 1% even though the filter grew, allow some slack
+        assertTrue("False positives: " + falsePositives, falsePositives < 1500);
+    }
+
+    public void testInvalidArguments() {
+        try {
+            new BloomFilter(0, 0.01);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new BloomFilter(100, 1);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
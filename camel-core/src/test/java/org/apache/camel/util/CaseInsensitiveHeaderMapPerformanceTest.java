@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.Map;
+
+import junit.framework.TestCase;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the header lookup performance of {@link CaseInsensitiveHeaderMap} with {@link CaseInsensitiveMap}.
+ *
+ * @version 
+ */
+public class CaseInsensitiveHeaderMapPerformanceTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CaseInsensitiveHeaderMapPerformanceTest.class);
+    private static final String[] KEYS = {Exchange.FILE_NAME, Exchange.BREADCRUMB_ID, "JMSCorrelationID", "foo", "Bar"};
+    private static final String[] LOOKUP_KEYS = {"camelFileName", "BreadcrumbId", "JMSCorrelationId", "FOO", "bar"};
+    private final int times = 200000;
+
+    public void testLookupPerformance() throws Exception {
+        // warm up both maps before measuring
+        lookup(new CaseInsensitiveMap(), times);
+        lookup(new CaseInsensitiveHeaderMap(), times);
+
+        StopWatch watch = new StopWatch();
+        long hits = lookup(new CaseInsensitiveMap(), times);
+        LOG.info("CaseInsensitiveMap took {} to lookup headers {} times", TimeUtils.printDuration(watch.stop()), hits);
+
+        watch.restart();
+        hits = lookup(new CaseInsensitiveHeaderMap(), times);
+        LOG.info("CaseInsensitiveHeaderMap took {} to lookup headers {} times", TimeUtils.printDuration(watch.stop()), hits);
+    }
+
+    private static long lookup(Map<String, Object> map, int times) {
+        for (String key : KEYS) {
+            map.put(key, key);
+        }
+
+        long hits = 0;
+        for (int i = 0; i < times; i++) {
+            for (int j = 0; j < KEYS.length; j++) {
+                if (map.get(KEYS[j]) != null) {
+                    hits++;
+                }
+                if (map.get(LOOKUP_KEYS[j]) != null) {
+                    hits++;
+                }
+            }
+            // mutate a header as well
+            map.put("Counter", i);
+        }
+        assertEquals(times * KEYS.length * 2, hits);
+        return hits;
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import org.apache.camel.Exchange;
+
+/**
+ * @version 
+ */
+public class CaseInsensitiveHeaderMapTest extends TestCase {
+
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new CaseInsensitiveHeaderMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertTrue(map.containsKey("fOO"));
+        assertFalse(map.containsKey("fo"));
+        assertFalse(map.containsKey(null));
+        assertNull(map.get(null));
+    }
+
+    public void testSetWithDifferentCase() {
+        Map<String, Object> map = new CaseInsensitiveHeaderMap();
+        map.put("foo", "cheese");
+        map.put("Foo", "bar");
+
+        assertEquals(1, map.size());
+        assertEquals("bar", map.get("FOO"));
+        // the latest key is preserved
+        assertEquals("Foo", map.keySet().iterator().next());
+    }
+
+    public void testRemoveWithDifferentCase() {
+        Map<String, Object> map = new CaseInsensitiveHeaderMap();
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        assertEquals("cheese", map.remove("FOO"));
+        assertNull(map.remove("foo"));
+        assertEquals(1, map.size());
+        assertNull(map.get("foo"));
+        assertEquals(123, map.get("BAR"));
+    }
+
+    public void testPreserveOriginalKeysInInsertionOrder() {
+        Map<String, Object> map = new CaseInsensitiveHeaderMap();
+        map.put("Foo", "cheese");
+        map.put("BAR", 123);
+        map.put("baz", true);
+
+        Iterator<String> it = map.keySet().iterator();
+        assertEquals("Foo", it.next());
+        assertEquals("BAR", it.next());
+        assertEquals("baz", it.next());
+        assertFalse(it.hasNext());
+
+        Map<String, Object> other = new HashMap<String, Object>(map);
+        assertEquals("cheese", other.get("Foo"));
+        assertNull(other.get("foo"));
+        assertEquals(map, other);
+    }
+
+    public void testResize() {
+        Map<String, Object> map = new CaseInsensitiveHeaderMap(2);
+        for (int i = 0; i < 1000; i++) {
+            map.put("Key" + i, i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get("KEY" + i));
+        }
+
+        int i = 0;
+        for (String key : map.keySet()) {
+            assertEquals("Key" + i++, key);
+        }
+    }
+
+    public void testRemoveWhileIterating() {
+        Map<String, Object> map = new CaseInsensitiveHeaderMap();
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+        map.put("baz", true);
+
+        int count = 0;
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            // remove the current and the next entry which should then be skipped
+            map.remove(entry.getKey());
+            map.remove("bar");
+            count++;
+        }
+
+        assertEquals(2, count);
+        assertTrue(map.isEmpty());
+    }
+
+    public void testIteratorRemove() {
+        Map<String, Object> map = new CaseInsensitiveHeaderMap();
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        it.next();
+        it.remove();
+
+        assertEquals(1, map.size());
+        assertNull(map.get("foo"));
+        assertEquals(123, map.get("bar"));
+    }
+
+    public void testClear() {
+        Map<String, Object> map = new CaseInsensitiveHeaderMap();
+        map.put("foo", "cheese");
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get("foo"));
+        assertFalse(map.entrySet().iterator().hasNext());
+
+        map.put("foo", "beer");
+        assertEquals("beer", map.get("FOO"));
+    }
+
+    public void testInternCommonHeaders() {
+        Map<String, Object> map = new CaseInsensitiveHeaderMap();
+        map.put(new String(Exchange.FILE_NAME), "hello.txt");
+        map.put(new String("JMSCorrelationID"), "123");
+
+        for (String key : map.keySet()) {
+            assertSame(key.intern(), key);
+        }
+    }
+
+    public void testNonAsciiKeys() {
+        Map<String, Object> map = new CaseInsensitiveHeaderMap();
+        map.put("Æbler", "apples");
+
+        assertEquals("apples", map.get("æBLER"));
+    }
+
+    public void testSerialization() throws Exception {
+        CaseInsensitiveHeaderMap testMap = new CaseInsensitiveHeaderMap();
+        testMap.put("Key", "value");
+        testMap.put("other", 123);
+        testMap.entrySet();
+
+        ByteArrayOutputStream bStream = new ByteArrayOutputStream();
+        ObjectOutputStream objStream = new ObjectOutputStream(bStream);
+        objStream.writeObject(testMap);
+
+        ObjectInputStream inStream = new ObjectInputStream(new ByteArrayInputStream(bStream.toByteArray()));
+        CaseInsensitiveHeaderMap testMapCopy = (CaseInsensitiveHeaderMap) inStream.readObject();
+
+        assertTrue(testMapCopy.containsKey("key"));
+        assertEquals("Key", testMapCopy.keySet().iterator().next());
+        assertEquals(123, testMapCopy.get("OTHER"));
+    }
+
+}
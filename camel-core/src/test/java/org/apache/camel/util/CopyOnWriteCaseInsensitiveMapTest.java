@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class CopyOnWriteCaseInsensitiveMapTest extends TestCase {
+
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new CopyOnWriteCaseInsensitiveMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertTrue(map.containsKey("FOO"));
+    }
+
+    public void testPreserveOriginalKeys() {
+        Map<String, Object> map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("Foo", "cheese");
+        map.put("BAR", 123);
+
+        Map<String, Object> other = new HashMap<String, Object>(map);
+        assertEquals("cheese", other.get("Foo"));
+        assertEquals(123, other.get("BAR"));
+        assertNull(other.get("foo"));
+    }
+
+    public void testCopyIsIsolated() {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        CopyOnWriteCaseInsensitiveMap copy = map.copy();
+        assertTrue(map.isShared());
+        assertTrue(copy.isShared());
+        assertEquals("cheese", copy.get("FOO"));
+        assertEquals(2, copy.size());
+
+        copy.put("foo", "beer");
+        copy.put("baz", true);
+        assertFalse(copy.isShared());
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals(2, map.size());
+        assertEquals("beer", copy.get("foo"));
+        assertEquals(3, copy.size());
+
+        map.remove("bar");
+        assertFalse(map.isShared());
+        assertEquals(1, map.size());
+        assertEquals(123, copy.get("bar"));
+    }
+
+    public void testClearCopy() {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+
+        CopyOnWriteCaseInsensitiveMap copy = map.copy();
+        copy.clear();
+
+        assertTrue(copy.isEmpty());
+        assertEquals("cheese", map.get("foo"));
+    }
+
+    public void testRemoveUnknownKeyDoesNotCopy() {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+
+        CopyOnWriteCaseInsensitiveMap copy = map.copy();
+        assertNull(copy.remove("bar"));
+        assertTrue(copy.isShared());
+    }
+
+    public void testIteratorRemoveOnCopy() {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        CopyOnWriteCaseInsensitiveMap copy = map.copy();
+        Iterator<Map.Entry<String, Object>> it = copy.entrySet().iterator();
+        while (it.hasNext()) {
+            if ("foo".equals(it.next().getKey())) {
+                it.remove();
+            }
+        }
+
+        assertEquals(1, copy.size());
+        assertNull(copy.get("foo"));
+        assertEquals(2, map.size());
+        assertEquals("cheese", map.get("foo"));
+    }
+
+    public void testEntrySetValueOnCopy() {
+        CopyOnWriteCaseInsensitiveMap map = new CopyOnWriteCaseInsensitiveMap();
+        map.put("foo", "cheese");
+
+        CopyOnWriteCaseInsensitiveMap copy = map.copy();
+        for (Map.Entry<String, Object> entry : copy.entrySet()) {
+            entry.setValue("beer");
+        }
+
+        assertEquals("beer", copy.get("foo"));
+        assertEquals("cheese", map.get("foo"));
+    }
+
+}
@@ -18,11 +18,16 @@ package org.apache.camel.util;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
 
 import junit.framework.TestCase;
+import org.apache.camel.component.file.GenericFile;
 
 /**
  * @version 
@@ -63,4 +68,34 @@ public class IOHelperTest extends TestCase {
         assertEquals("UTF-8", IOHelper.normalizeCharset("\"UTF-8 \""));
         assertEquals("UTF-8", IOHelper.normalizeCharset("\' UTF-8\'"));
     }
+
+    public void testGetFile() throws Exception {
+        File file = new File("target/iohelper.txt");
+        GenericFile<File> gf = new GenericFile<File>();
+        gf.setFile(file);
+
+        assertSame(file, IOHelper.getFile(file));
+        assertSame(file, IOHelper.getFile(gf));
+        assertNull(IOHelper.getFile("target/iohelper.txt"));
+        assertNull(IOHelper.getFile(null));
+    }
+
+    public void testTransfer() throws Exception {
+        File file = new File("target/iohelper.txt");
+        file.getParentFile().mkdirs();
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(data);
+        } finally {
+            fos.close();
+        }
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        assertEquals(data.length, IOHelper.transfer(file, Channels.newChannel(bos)));
+        assertTrue(Arrays.equals(data, bos.toByteArray()));
+    }
 }
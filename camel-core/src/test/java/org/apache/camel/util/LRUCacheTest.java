@@ -91,11 +91,56 @@ public class LRUCacheTest extends TestCase {
         assertEquals(1, cache.getMisses());
     }
 
+    public void testLRUCacheEviction() throws Exception {
+        LRUCache<String, Service> stopping = new LRUCache<String, Service>(2, 2, true);
+        MyService service1 = new MyService();
+        MyService service2 = new MyService();
+        MyService service3 = new MyService();
+
+        cache.put("A", service1);
+        for (int i = 0; i < 10; i++) {
+            cache.put("X" + i, service2);
+        }
+        assertEquals(1, cache.getEvicted());
+        assertFalse("Should not stop evicted services", service1.isStopped());
+
+        stopping.put("A", service1);
+        stopping.put("B", service2);
+        stopping.get("A");
+        stopping.put("C", service3);
+
+        assertEquals(2, stopping.size());
+        assertEquals(1, stopping.getEvicted());
+        assertTrue("Should stop evicted service", service2.isStopped());
+        assertFalse(service1.isStopped());
+        assertFalse(service3.isStopped());
+
+        stopping.resetStatistics();
+        assertEquals(0, stopping.getEvicted());
+    }
+
+    public void testLRUCachePeek() {
+        MyService service1 = new MyService();
+        cache.put("A", service1);
+
+        assertSame(service1, cache.peek("A"));
+        assertNull(cache.peek("B"));
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
     private static final class MyService implements Service {
+        private boolean stopped;
+
         public void start() throws Exception {
         }
 
         public void stop() throws Exception {
+            stopped = true;
+        }
+
+        public boolean isStopped() {
+            return stopped;
         }
     }
 }
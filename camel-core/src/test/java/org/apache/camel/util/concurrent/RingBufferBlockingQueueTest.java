@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class RingBufferBlockingQueueTest extends TestCase {
+
+    public void testOfferPoll() throws Exception {
+        BlockingQueue<String> queue = new RingBufferBlockingQueue<String>(3);
+        assertEquals(4, queue.remainingCapacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        assertTrue(queue.offer("A"));
+        assertTrue(queue.offer("B"));
+        assertTrue(queue.offer("C"));
+        assertTrue(queue.offer("D"));
+        assertFalse("Should be full", queue.offer("E"));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+
+        assertEquals("A", queue.peek());
+        assertEquals("A", queue.poll());
+        assertEquals("B", queue.poll());
+        assertTrue(queue.offer("E"));
+        assertEquals("C", queue.poll());
+        assertEquals("D", queue.poll());
+        assertEquals("E", queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    public void testRemove() throws Exception {
+        BlockingQueue<String> queue = new RingBufferBlockingQueue<String>(4);
+        queue.add("A");
+        queue.add("B");
+        queue.add("C");
+
+        assertTrue(queue.remove("B"));
+        assertFalse(queue.remove("B"));
+        assertFalse(queue.remove("Z"));
+        assertEquals(2, queue.size());
+        // the removed element keeps its slot until the consumers has passed it
+        assertEquals(1, queue.remainingCapacity());
+
+        assertTrue(queue.remove("A"));
+        assertEquals("C", queue.peek());
+        assertEquals(3, queue.remainingCapacity());
+        assertEquals("C", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+        assertEquals(4, queue.remainingCapacity());
+    }
+
+    public void testIteratorAndDrainTo() throws Exception {
+        BlockingQueue<String> queue = new RingBufferBlockingQueue<String>(8);
+        queue.add("A");
+        queue.add("B");
+        queue.add("C");
+
+        List<String> snapshot = new ArrayList<String>(queue);
+        assertEquals(3, snapshot.size());
+        assertEquals("A", snapshot.get(0));
+        assertEquals("C", snapshot.get(2));
+
+        List<String> drained = new ArrayList<String>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals("B", drained.get(1));
+        assertEquals(1, queue.size());
+
+        queue.clear();
+        assertTrue(queue.isEmpty());
+    }
+
+    public void testTimedPoll() throws Exception {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            BlockingQueue<String> queue = new RingBufferBlockingQueue<String>(2, strategy);
+            long start = System.currentTimeMillis();
+            assertNull(queue.poll(100, TimeUnit.MILLISECONDS));
+            assertTrue("Should wait using " + strategy, System.currentTimeMillis() - start >= 90);
+
+            queue.put("A");
+            queue.put("B");
+            assertFalse(queue.offer("C", 50, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    public void testConcurrentProducersAndConsumers() throws Exception {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            doTestConcurrent(new RingBufferBlockingQueue<Integer>(64, strategy));
+        }
+    }
+
+    private void doTestConcurrent(final BlockingQueue<Integer> queue) throws Exception {
+        final int producers = 4;
+        final int consumers = 4;
+        final int perProducer = 5000;
+        final Set<Integer> received = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+        final CountDownLatch done = new CountDownLatch(producers * perProducer);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        for (int i = 0; i < consumers; i++) {
+            executor.submit(new Runnable() {
+                public void run() {
+                    try {
+                        while (true) {
+                            Integer value = queue.take();
+                            received.add(value);
+                            done.countDown();
+                        }
+                    } catch (InterruptedException e) {
+                        // stop
+                    }
+                }
+            });
+        }
+        for (int i = 0; i < producers; i++) {
+            final int offset = i * perProducer;
+            executor.submit(new Runnable() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < perProducer; j++) {
+                            queue.put(offset + j);
+                        }
+                    } catch (InterruptedException e) {
+                        // stop
+                    }
+                }
+            });
+        }
+
+        assertTrue("Should receive all elements using " + queue, done.await(20, TimeUnit.SECONDS));
+        executor.shutdownNow();
+        assertEquals(producers * perProducer, received.size());
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -78,6 +78,7 @@ import org.apache.camel.spi.PackageScanClassResolver;
 import org.apache.camel.spi.PackageScanFilter;
 import org.apache.camel.spi.ProcessorFactory;
 import org.apache.camel.spi.ShutdownStrategy;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.spi.UuidGenerator;
@@ -183,6 +184,11 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
             LOG.info("Using custom InflightRepository: " + inflightRepository);
             getContext().setInflightRepository(inflightRepository);
         }
+        StreamCachingStrategy streamCachingStrategy = getBeanForType(StreamCachingStrategy.class);
+        if (streamCachingStrategy != null) {
+            LOG.info("Using custom StreamCachingStrategy: " + streamCachingStrategy);
+            getContext().setStreamCachingStrategy(streamCachingStrategy);
+        }
         ManagementStrategy managementStrategy = getBeanForType(ManagementStrategy.class);
         if (managementStrategy != null) {
             LOG.info("Using custom ManagementStrategy: " + managementStrategy);
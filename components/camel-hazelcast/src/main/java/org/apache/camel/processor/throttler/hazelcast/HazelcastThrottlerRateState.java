@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttler.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import org.apache.camel.spi.ThrottlerRateState;
+
+/**
+ * A {@link ThrottlerRateState} backed by Hazelcast atomic numbers, so a throttler running on many nodes
+ * in the cluster throttles under one rate budget.
+ * <p/>
+ * The throttlers on the nodes must have the same id, which is used as the name of the atomic number.
+ */
+public class HazelcastThrottlerRateState implements ThrottlerRateState {
+
+    private final HazelcastInstance hazelcastInstance;
+    private final String prefix;
+
+    public HazelcastThrottlerRateState(HazelcastInstance hazelcastInstance) {
+        this(hazelcastInstance, HazelcastThrottlerRateState.class.getSimpleName());
+    }
+
+    public HazelcastThrottlerRateState(HazelcastInstance hazelcastInstance, String prefix) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.prefix = prefix;
+    }
+
+    public long get(String key) {
+        return hazelcastInstance.getAtomicNumber(prefix + "." + key).get();
+    }
+
+    public boolean compareAndSet(String key, long expect, long update) {
+        return hazelcastInstance.getAtomicNumber(prefix + "." + key).compareAndSet(expect, update);
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+}
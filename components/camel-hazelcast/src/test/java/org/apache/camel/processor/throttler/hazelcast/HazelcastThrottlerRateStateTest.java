@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttler.hazelcast;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+public class HazelcastThrottlerRateStateTest extends CamelTestSupport {
+
+    private HazelcastInstance hazelcastInstance;
+    private HazelcastThrottlerRateState state;
+
+    public void setUp() throws Exception {
+        hazelcastInstance = Hazelcast.newHazelcastInstance(null);
+        state = new HazelcastThrottlerRateState(hazelcastInstance, "myThrottler");
+        super.setUp();
+    }
+
+    public void tearDown() throws Exception {
+        super.tearDown();
+        hazelcastInstance.getLifecycleService().shutdown();
+    }
+
+    @Test
+    public void testCompareAndSet() throws Exception {
+        assertEquals(0, state.get("foo"));
+        assertTrue(state.compareAndSet("foo", 0, 100));
+        assertFalse(state.compareAndSet("foo", 0, 200));
+        assertEquals(100, state.get("foo"));
+        assertEquals(100, hazelcastInstance.getAtomicNumber("myThrottler.foo").get());
+    }
+
+    @Test
+    public void testThrottleUsingHazelcast() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(4);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 4; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+        assertMockEndpointsSatisfied();
+
+        // 2 messages can pass at once, and then one every 250 millis
+        long delta = System.currentTimeMillis() - start;
+        assertTrue("Should take at least 400ms, was: " + delta, delta >= 400);
+        assertTrue(state.get("myThrottle") > 0);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .throttle(2).timePeriodMillis(500).rateState(state).id("myThrottle")
+                    .to("mock:result");
+            }
+        };
+    }
+}
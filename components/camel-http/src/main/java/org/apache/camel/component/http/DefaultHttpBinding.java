@@ -22,6 +22,7 @@ import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.Map;
@@ -309,6 +310,22 @@ public class DefaultHttpBinding implements HttpBinding {
             }
         }
 
+        // file based body is transferred from the file channel, so the file is not copied through the heap
+        File file = IOHelper.getFile(message.getBody());
+        if (file != null && file.isFile()) {
+            if (!checkChunked(message, exchange)) {
+                // the file length is known so set content length instead of converting the file to a String
+                response.setHeader("Content-Length", String.valueOf(file.length()));
+            }
+            ServletOutputStream os = response.getOutputStream();
+            try {
+                IOHelper.transfer(file, Channels.newChannel(os));
+            } finally {
+                IOHelper.close(os);
+            }
+            return;
+        }
+
         // other kind of content type
         InputStream is = null;
         if (checkChunked(message, exchange)) {
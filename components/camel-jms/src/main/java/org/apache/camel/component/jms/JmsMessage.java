@@ -82,10 +82,8 @@ public class JmsMessage extends DefaultMessage {
         setBody(that.getBody());
         setFault(that.isFault());
 
-        // we have already cleared the headers
-        if (that.hasHeaders()) {
-            getHeaders().putAll(that.getHeaders());
-        }
+        // we have already cleared the headers, and the headers may be shared with the other message
+        copyHeadersFrom(that);
 
         getAttachments().clear();
         if (that.hasAttachments()) {
@@ -207,6 +207,16 @@ public class Mina2Configuration implements Cloneable {
         return allowDefaultCodec;
     }
 
+    /**
+     * Whether a file based body can be written as a {@link org.apache.mina.core.file.FileRegion}.
+     * <p/>
+     * This requires TCP without SSL and without any codec or filters, as the file is transferred as is to the socket.
+     */
+    public boolean isFileRegionSupported() {
+        return "tcp".equals(protocol) && sslContextParameters == null && codec == null && !allowDefaultCodec
+                && !transferExchange && (filters == null || filters.isEmpty());
+    }
+
     public boolean isDisconnect() {
         return disconnect;
     }
@@ -29,6 +29,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.impl.DefaultConsumer;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.IOHelper;
+import org.apache.mina.core.file.FileRegion;
 import org.apache.mina.core.filterchain.DefaultIoFilterChainBuilder;
 import org.apache.mina.core.filterchain.IoFilter;
 import org.apache.mina.core.service.IoAcceptor;
@@ -351,6 +352,14 @@ public class Mina2Consumer extends DefaultConsumer {
                 }
             }
 
+            // write file based body as a file region, so the file is not copied through the heap
+            if (response != null && !failed && getEndpoint().getConfiguration().isFileRegionSupported()) {
+                FileRegion region = Mina2Helper.getFileRegionBody(response);
+                if (region != null) {
+                    response = region;
+                }
+            }
+
             if (response != null) {
                 LOG.debug("Writing body: {}", response);
                 Mina2Helper.writeBody(session, response, exchange);
@@ -16,8 +16,17 @@
  */
 package org.apache.camel.component.mina2;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
+import org.apache.camel.util.IOHelper;
+import org.apache.mina.core.file.DefaultFileRegion;
+import org.apache.mina.core.file.FileRegion;
+import org.apache.mina.core.future.IoFutureListener;
+import org.apache.mina.core.future.WriteFuture;
 import org.apache.mina.core.session.IoSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,9 +51,33 @@ public final class Mina2Helper {
      * @throws CamelExchangeException is thrown if the body could not be written for some reasons
      *                                (eg remote connection is closed etc.)
      */
-    public static void writeBody(IoSession session, Object body, Exchange exchange) throws CamelExchangeException {
+    public static void writeBody(IoSession session, final Object body, Exchange exchange) throws CamelExchangeException {
         LOG.trace("write exchange [{}] with body [{}]", exchange, body);
         // the write operation is asynchronous
-        session.write(body);
+        WriteFuture future = session.write(body);
+        if (body instanceof FileRegion) {
+            future.addListener(new IoFutureListener<WriteFuture>() {
+                public void operationComplete(WriteFuture future) {
+                    // the file region has been transferred so close the file
+                    IOHelper.close(((FileRegion) body).getFileChannel(), "FileRegion", LOG);
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the body as a {@link FileRegion} if the body is based on a file, which allows MINA to transfer
+     * the file directly to the socket, without copying the file through the heap.
+     *
+     * @param body the body
+     * @return the file region, or <tt>null</tt> if the body is not based on a file
+     * @throws IOException is thrown if the file could not be opened
+     */
+    public static FileRegion getFileRegionBody(Object body) throws IOException {
+        File file = IOHelper.getFile(body);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        return new DefaultFileRegion(new FileInputStream(file).getChannel());
     }
 }
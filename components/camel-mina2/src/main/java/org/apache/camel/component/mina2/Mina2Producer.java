@@ -32,6 +32,7 @@ import org.apache.camel.converter.IOConverter;
 import org.apache.camel.impl.DefaultProducer;
 import org.apache.camel.util.CamelLogger;
 import org.apache.camel.util.ExchangeHelper;
+import org.apache.mina.core.file.FileRegion;
 import org.apache.mina.core.filterchain.DefaultIoFilterChainBuilder;
 import org.apache.mina.core.filterchain.IoFilter;
 import org.apache.mina.core.future.CloseFuture;
@@ -131,6 +132,14 @@ public class Mina2Producer extends DefaultProducer implements ServicePoolAware {
             body = getEndpoint().getCamelContext().getTypeConverter().mandatoryConvertTo(String.class, exchange, body);
         }
 
+        // write file based body as a file region, so the file is not copied through the heap
+        if (getEndpoint().getConfiguration().isFileRegionSupported()) {
+            FileRegion region = Mina2Helper.getFileRegionBody(body);
+            if (region != null) {
+                body = region;
+            }
+        }
+
         // if sync is true then we should also wait for a response (synchronous mode)
         if (sync) {
             // only initialize latch if we should get a response
@@ -335,6 +335,15 @@ public class NettyConfiguration implements Cloneable {
         this.sendBufferSize = sendBufferSize;
     }
 
+    /**
+     * Whether a file based body can be written as a {@link org.jboss.netty.channel.FileRegion}.
+     * <p/>
+     * This requires TCP without SSL and without any encoders, as the file is transferred as is to the socket.
+     */
+    public boolean isFileRegionSupported() {
+        return isTcp() && !ssl && sslHandler == null && sslContextParameters == null && encoders.isEmpty() && !transferExchange;
+    }
+
     public boolean isSsl() {
         return ssl;
     }
@@ -16,13 +16,20 @@
  */
 package org.apache.camel.component.netty;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.net.SocketAddress;
+import java.nio.channels.FileChannel;
 
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
 import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.util.IOHelper;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.DefaultFileRegion;
+import org.jboss.netty.channel.FileRegion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,6 +79,23 @@ public final class NettyHelper {
         return s;
     }
 
+    /**
+     * Gets the body as a {@link FileRegion} if the body is based on a file, which allows Netty to transfer
+     * the file directly to the socket, without copying the file through the heap.
+     *
+     * @param body  the body
+     * @return the file region, or <tt>null</tt> if the body is not based on a file
+     * @throws IOException is thrown if the file could not be opened
+     */
+    public static FileRegion getFileRegionBody(Object body) throws IOException {
+        File file = IOHelper.getFile(body);
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        FileChannel channel = new FileInputStream(file).getChannel();
+        return new DefaultFileRegion(channel, 0, channel.size());
+    }
+
     /**
      * Writes the given body to Netty channel. Will wait until the body has been written.
      *
@@ -95,6 +119,11 @@ public final class NettyHelper {
         LOG.trace("Waiting for write to complete");
         future.awaitUninterruptibly();
 
+        if (body instanceof FileRegion) {
+            // the file region has been transferred so close the file
+            ((FileRegion) body).releaseExternalResources();
+        }
+
         // if it was not a success then thrown an exception
         if (!future.isSuccess()) {
             LOG.warn("Cannot write body: " + body + " using channel: " + channel);
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.netty;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -38,6 +39,7 @@ import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelFutureListener;
 import org.jboss.netty.channel.ChannelLocal;
 import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.FileRegion;
 import org.jboss.netty.channel.group.ChannelGroup;
 import org.jboss.netty.channel.group.ChannelGroupFuture;
 import org.jboss.netty.channel.group.DefaultChannelGroup;
@@ -162,6 +164,22 @@ public class NettyProducer extends DefaultAsyncProducer implements ServicePoolAw
             }
         }
 
+        // write file based body as a file region, so the file is not copied through the heap
+        FileRegion region = null;
+        if (getConfiguration().isFileRegionSupported() && getConfiguration().getClientPipelineFactory() == null) {
+            try {
+                region = NettyHelper.getFileRegionBody(body);
+            } catch (IOException e) {
+                exchange.setException(e);
+                callback.done(true);
+                return true;
+            }
+            if (region != null) {
+                body = region;
+            }
+        }
+        final FileRegion fileRegion = region;
+
         // set the exchange encoding property
         if (getConfiguration().getCharsetName() != null) {
             exchange.setProperty(Exchange.CHARSET_NAME, IOHelper.normalizeCharset(getConfiguration().getCharsetName()));
@@ -178,6 +196,9 @@ public class NettyProducer extends DefaultAsyncProducer implements ServicePoolAw
             // this producer is not thread safe, but pooled using ServicePoolAware
             state.set(channel, new NettyCamelState(callback, exchange));
         } catch (Exception e) {
+            if (fileRegion != null) {
+                fileRegion.releaseExternalResources();
+            }
             exchange.setException(e);
             callback.done(true);
             return true;
@@ -192,6 +213,10 @@ public class NettyProducer extends DefaultAsyncProducer implements ServicePoolAw
         future.addListener(new ChannelFutureListener() {
             public void operationComplete(ChannelFuture channelFuture) throws Exception {
                 LOG.debug("Operation complete {}", channelFuture);
+                if (fileRegion != null) {
+                    // the file region has been transferred so close the file
+                    fileRegion.releaseExternalResources();
+                }
                 if (!channelFuture.isSuccess()) {
                     // no success the set the caused exception and signal callback and break
                     exchange.setException(channelFuture.getCause());
@@ -28,6 +28,7 @@ import org.apache.camel.util.IOHelper;
 import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.channel.ChannelStateEvent;
 import org.jboss.netty.channel.ExceptionEvent;
+import org.jboss.netty.channel.FileRegion;
 import org.jboss.netty.channel.MessageEvent;
 import org.jboss.netty.channel.SimpleChannelUpstreamHandler;
 import org.slf4j.Logger;
@@ -130,6 +131,14 @@ public class ServerChannelHandler extends SimpleChannelUpstreamHandler {
                 body = NettyHelper.getTextlineBody(body, exchange, consumer.getConfiguration().getDelimiter(), consumer.getConfiguration().isAutoAppendDelimiter());
             }
 
+            // write file based body as a file region, so the file is not copied through the heap
+            if (consumer.getConfiguration().isFileRegionSupported() && consumer.getConfiguration().getServerPipelineFactory() == null) {
+                FileRegion region = NettyHelper.getFileRegionBody(body);
+                if (region != null) {
+                    body = region;
+                }
+            }
+
             // we got a body to write
             LOG.debug("Writing body: {}", body);
             if (consumer.getConfiguration().isTcp()) {
@@ -17,8 +17,10 @@
 package org.apache.camel.processor.idempotent.jdbc;
 
 import java.sql.Timestamp;
+import java.util.List;
 import javax.sql.DataSource;
 
+import org.apache.camel.spi.BrowsableIdempotentRepository;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.TransactionStatus;
@@ -27,8 +29,11 @@ import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Default implementation of {@link AbstractJdbcMessageIdRepository}
+ * <p/>
+ * The repository can browse its keys, which allows a
+ * {@link org.apache.camel.processor.idempotent.BloomFilterIdempotentRepository} to be used in front of it.
  */
-public class JdbcMessageIdRepository extends AbstractJdbcMessageIdRepository<String> {
+public class JdbcMessageIdRepository extends AbstractJdbcMessageIdRepository<String> implements BrowsableIdempotentRepository<String> {
 
     private boolean createTableIfNotExists = true;
     private String tableExistsString = "SELECT 1 FROM CAMEL_MESSAGEPROCESSED WHERE 1 = 0";
@@ -36,6 +41,7 @@ public class JdbcMessageIdRepository extends AbstractJdbcMessageIdRepository<Str
     private String queryString = "SELECT COUNT(*) FROM CAMEL_MESSAGEPROCESSED WHERE processorName = ? AND messageId = ?";
     private String insertString = "INSERT INTO CAMEL_MESSAGEPROCESSED (processorName, messageId, createdAt) VALUES (?, ?, ?)";
     private String deleteString = "DELETE FROM CAMEL_MESSAGEPROCESSED WHERE processorName = ? AND messageId = ?";
+    private String keysString = "SELECT messageId FROM CAMEL_MESSAGEPROCESSED WHERE processorName = ?";
 
     public JdbcMessageIdRepository() {
     }
@@ -99,6 +105,20 @@ public class JdbcMessageIdRepository extends AbstractJdbcMessageIdRepository<Str
         return jdbcTemplate.update(deleteString, processorName, key);
     }
 
+    public List<String> getKeys() {
+        return jdbcTemplate.queryForList(keysString, String.class, processorName);
+    }
+
+    public boolean addNewKey(final String key) {
+        // the key is known to be new so just insert it
+        Boolean rc = transactionTemplate.execute(new TransactionCallback<Boolean>() {
+            public Boolean doInTransaction(TransactionStatus status) {
+                return insert(key) > 0;
+            }
+        });
+        return rc.booleanValue();
+    }
+
     public boolean isCreateTableIfNotExists() {
         return createTableIfNotExists;
     }
@@ -146,4 +166,12 @@ public class JdbcMessageIdRepository extends AbstractJdbcMessageIdRepository<Str
     public void setDeleteString(String deleteString) {
         this.deleteString = deleteString;
     }
+
+    public String getKeysString() {
+        return keysString;
+    }
+
+    public void setKeysString(String keysString) {
+        this.keysString = keysString;
+    }
 }
\ No newline at end of file
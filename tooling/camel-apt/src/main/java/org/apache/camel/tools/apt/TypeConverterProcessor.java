@@ -0,0 +1,465 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.tools.apt;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which generates a <tt>TypeConverterLoader</tt> for the <tt>@Converter</tt> classes
+ * being compiled.
+ * <p/>
+ * The generated loader registers the type converters and fallback type converters of the classes, which invokes the
+ * converter methods directly, so no classpath scanning and no reflection is needed at runtime. The name of the
+ * generated loader is listed in the <tt>META-INF/services/org/apache/camel/TypeConverterLoader</tt> file, which
+ * Camel uses instead of scanning the packages listed in the <tt>META-INF/services/org/apache/camel/TypeConverter</tt>
+ * file of the same JAR.
+ * <p/>
+ * The name of the generated loader can be configured using the <tt>camel.typeConverterLoader</tt> option, and
+ * is by default <tt>GeneratedTypeConverterLoader</tt> in the package of the first converter class.
+ *
+ * @version 
+ */
+@SupportedAnnotationTypes({"org.apache.camel.Converter", "org.apache.camel.FallbackConverter"})
+@SupportedOptions(TypeConverterProcessor.LOADER_OPTION)
+public class TypeConverterProcessor extends AbstractProcessor {
+
+    public static final String LOADER_OPTION = "camel.typeConverterLoader";
+    public static final String LOADER_SERVICE = "META-INF/services/org/apache/camel/TypeConverterLoader";
+
+    private static final String CONVERTER = "org.apache.camel.Converter";
+    private static final String FALLBACK_CONVERTER = "org.apache.camel.FallbackConverter";
+    private static final String EXCHANGE = "org.apache.camel.Exchange";
+    private static final String TYPE_CONVERTER_REGISTRY = "org.apache.camel.spi.TypeConverterRegistry";
+
+    // the converter classes sorted by name so the generated code is stable
+    private final Map<String, TypeElement> converterClasses = new TreeMap<String, TypeElement>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!converterClasses.isEmpty()) {
+                try {
+                    generate();
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot generate type converter loader due " + e);
+                }
+                converterClasses.clear();
+            }
+            return false;
+        }
+
+        TypeElement converter = processingEnv.getElementUtils().getTypeElement(CONVERTER);
+        if (converter == null) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(converter)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                TypeElement type = (TypeElement) element;
+                converterClasses.put(type.getQualifiedName().toString(), type);
+            }
+        }
+        // let other processors see the annotations as well
+        return false;
+    }
+
+    private void generate() throws IOException {
+        List<ConverterMethod> methods = new ArrayList<ConverterMethod>();
+        Set<TypeElement> visited = new HashSet<TypeElement>();
+        for (TypeElement type : converterClasses.values()) {
+            if (!isAccessible(type)) {
+                warning("Ignoring converter class: " + type + " as it is not a public class", type);
+                continue;
+            }
+            // include the methods from the super classes as well
+            for (TypeElement current = type; current != null && !current.getQualifiedName().contentEquals("java.lang.Object");
+                 current = superClass(current)) {
+                if (!visited.add(current)) {
+                    break;
+                }
+                findConverterMethods(current, methods);
+            }
+        }
+
+        String loaderName = processingEnv.getOptions().get(LOADER_OPTION);
+        if (loaderName == null || loaderName.trim().length() == 0) {
+            TypeElement first = converterClasses.values().iterator().next();
+            String packageName = packageOf(first).getQualifiedName().toString();
+            loaderName = packageName.length() > 0 ? packageName + ".GeneratedTypeConverterLoader" : "GeneratedTypeConverterLoader";
+        }
+        loaderName = loaderName.trim();
+
+        Element[] origins = converterClasses.values().toArray(new Element[converterClasses.size()]);
+        JavaFileObject source = processingEnv.getFiler().createSourceFile(loaderName, origins);
+        Writer writer = source.openWriter();
+        try {
+            writeLoader(new PrintWriter(writer), loaderName, methods);
+        } finally {
+            writer.close();
+        }
+
+        FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", LOADER_SERVICE, origins);
+        writer = resource.openWriter();
+        try {
+            writer.write("# Generated by " + getClass().getName() + "\n");
+            writer.write(loaderName + "\n");
+        } finally {
+            writer.close();
+        }
+        note("Generated type converter loader " + loaderName + " with " + methods.size() + " type converters");
+    }
+
+    private void findConverterMethods(TypeElement type, List<ConverterMethod> methods) {
+        for (Element element : type.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) element;
+            if (getAnnotation(method, CONVERTER) != null) {
+                addConverterMethod(type, method, methods);
+            } else {
+                AnnotationMirror fallback = getAnnotation(method, FALLBACK_CONVERTER);
+                if (fallback != null) {
+                    addFallbackConverterMethod(type, method, fallback, methods);
+                }
+            }
+        }
+    }
+
+    private void addConverterMethod(TypeElement type, ExecutableElement method, List<ConverterMethod> methods) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.size() != 1 && (parameters.size() != 2 || !isAssignable(parameters.get(1).asType(), EXCHANGE))) {
+            warning("Ignoring bad converter on type: " + type + " method: " + method + " as a converter method should have one parameter", method);
+        } else if (!isPublicAndConcrete(method)) {
+            warning("Ignoring bad converter on type: " + type + " method: " + method + " as a converter method is not a public and concrete method", method);
+        } else if (method.getReturnType().getKind() == TypeKind.VOID) {
+            warning("Ignoring bad converter on type: " + type + " method: " + method + " as a converter method returns a void method", method);
+        } else {
+            methods.add(new ConverterMethod(type, method, false, false));
+        }
+    }
+
+    private void addFallbackConverterMethod(TypeElement type, ExecutableElement method, AnnotationMirror annotation, List<ConverterMethod> methods) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        boolean valid = (parameters.size() == 3 || (parameters.size() == 4 && isAssignable(parameters.get(1).asType(), EXCHANGE)))
+                && isAssignable(parameters.get(parameters.size() - 1).asType(), TYPE_CONVERTER_REGISTRY);
+        if (!valid) {
+            warning("Ignoring bad fallback converter on type: " + type + " method: " + method + " as a fallback converter method should have one parameter", method);
+        } else if (!isPublicAndConcrete(method)) {
+            warning("Ignoring bad fallback converter on type: " + type + " method: " + method
+                    + " as a fallback converter method is not a public and concrete method", method);
+        } else if (method.getReturnType().getKind() == TypeKind.VOID) {
+            warning("Ignoring bad fallback converter on type: " + type + " method: " + method + " as a fallback converter method returns a void method", method);
+        } else {
+            boolean canPromote = false;
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("canPromote")) {
+                    canPromote = Boolean.TRUE.equals(entry.getValue().getValue());
+                }
+            }
+            methods.add(new ConverterMethod(type, method, true, canPromote));
+        }
+    }
+
+    private void writeLoader(PrintWriter out, String loaderName, List<ConverterMethod> methods) {
+        int pos = loaderName.lastIndexOf('.');
+        String packageName = pos > 0 ? loaderName.substring(0, pos) : null;
+        String simpleName = loaderName.substring(pos + 1);
+
+        // one caching injector per class with instance converter methods
+        Map<TypeElement, String> injectors = new LinkedHashMap<TypeElement, String>();
+        for (ConverterMethod method : methods) {
+            if (!method.isStatic() && !injectors.containsKey(method.type)) {
+                injectors.put(method.type, "injector" + injectors.size());
+            }
+        }
+
+        if (packageName != null) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+        out.println("import org.apache.camel.Exchange;");
+        out.println("import org.apache.camel.TypeConverter;");
+        out.println("import org.apache.camel.TypeConverterLoaderException;");
+        out.println("import org.apache.camel.impl.converter.CachingInjector;");
+        out.println("import org.apache.camel.spi.TypeConverterLoader;");
+        out.println("import org.apache.camel.spi.TypeConverterRegistry;");
+        out.println("import org.apache.camel.support.TypeConverterSupport;");
+        out.println("import org.apache.camel.util.ObjectHelper;");
+        out.println();
+        out.println("/**");
+        out.println(" * Generated by " + getClass().getName() + ", do not edit.");
+        out.println(" */");
+        out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+        out.println("public final class " + simpleName + " implements TypeConverterLoader {");
+        out.println();
+        out.println("    private static final String[] METHODS = {");
+        for (int i = 0; i < methods.size(); i++) {
+            out.println("        \"" + methods.get(i) + "\"" + (i < methods.size() - 1 ? "," : ""));
+        }
+        out.println("    };");
+        out.println();
+        out.println("    public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {");
+        out.println("        Converters converters = new Converters(registry);");
+        for (int i = 0; i < methods.size(); i++) {
+            ConverterMethod method = methods.get(i);
+            if (method.fallback) {
+                out.println("        registry.addFallbackTypeConverter(converters.get(" + i + "), " + method.canPromote + ");");
+            } else {
+                out.println("        registry.addTypeConverter(" + classLiteral(method.method.getReturnType()) + ", "
+                        + classLiteral(method.method.getParameters().get(0).asType()) + ", converters.get(" + i + "));");
+            }
+        }
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public String toString() {");
+        out.println("        return \"" + simpleName + "[\" + METHODS.length + \" type converters]\";");
+        out.println("    }");
+        out.println();
+        out.println("    private static final class Converters {");
+        out.println("        private final TypeConverterRegistry registry;");
+        for (Map.Entry<TypeElement, String> entry : injectors.entrySet()) {
+            String name = typeName(entry.getKey().asType());
+            out.println("        private final CachingInjector<" + name + "> " + entry.getValue() + ";");
+        }
+        out.println();
+        out.println("        Converters(TypeConverterRegistry registry) {");
+        out.println("            this.registry = registry;");
+        for (Map.Entry<TypeElement, String> entry : injectors.entrySet()) {
+            String name = typeName(entry.getKey().asType());
+            out.println("            this." + entry.getValue() + " = new CachingInjector<" + name + ">(registry, " + name + ".class);");
+        }
+        out.println("        }");
+        out.println();
+        out.println("        TypeConverter get(final int index) {");
+        out.println("            return new TypeConverterSupport() {");
+        out.println("                public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {");
+        out.println("                    try {");
+        out.println("                        return (T) invoke(index, type, exchange, value);");
+        out.println("                    } catch (Exception e) {");
+        out.println("                        throw ObjectHelper.wrapRuntimeCamelException(e);");
+        out.println("                    }");
+        out.println("                }");
+        out.println();
+        out.println("                @Override");
+        out.println("                public String toString() {");
+        out.println("                    return \"GeneratedTypeConverter: \" + METHODS[index];");
+        out.println("                }");
+        out.println("            };");
+        out.println("        }");
+        out.println();
+        out.println("        Object invoke(int index, Class type, Exchange exchange, Object value) throws Exception {");
+        out.println("            switch (index) {");
+        for (int i = 0; i < methods.size(); i++) {
+            ConverterMethod method = methods.get(i);
+            out.println("            case " + i + ":");
+            out.println("                return " + invocation(method, injectors) + ";");
+        }
+        out.println("            default:");
+        out.println("                throw new IllegalArgumentException(\"Unknown type converter: \" + index);");
+        out.println("            }");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+        out.println("}");
+        out.flush();
+    }
+
+    private String invocation(ConverterMethod method, Map<TypeElement, String> injectors) {
+        StringBuilder sb = new StringBuilder();
+        if (method.isStatic()) {
+            sb.append(typeName(method.type.asType()));
+        } else {
+            sb.append(injectors.get(method.type)).append(".newInstance()");
+        }
+        sb.append(".").append(method.method.getSimpleName()).append("(");
+
+        List<? extends VariableElement> parameters = method.method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            TypeMirror parameter = parameters.get(i).asType();
+            String argument;
+            if (!method.fallback) {
+                argument = i == 0 ? "value" : "exchange";
+            } else if (i == 0) {
+                argument = "type";
+            } else if (i == parameters.size() - 1) {
+                argument = "registry";
+            } else if (i == parameters.size() - 2) {
+                argument = "value";
+            } else {
+                argument = "exchange";
+            }
+            sb.append("(").append(castType(parameter)).append(") ").append(argument);
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
+    /**
+     * The type to cast an argument of type Object to, which is the wrapper type for primitive types
+     */
+    private String castType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return typeName(type);
+    }
+
+    private String classLiteral(TypeMirror type) {
+        return typeName(type) + ".class";
+    }
+
+    private String typeName(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private boolean isAssignable(TypeMirror type, String className) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(className);
+        if (element == null) {
+            return typeName(type).equals(className);
+        }
+        return processingEnv.getTypeUtils().isAssignable(type, processingEnv.getTypeUtils().erasure(element.asType()));
+    }
+
+    private static boolean isPublicAndConcrete(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.ABSTRACT);
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        // the class and its enclosing classes must be public, and nested classes must be static
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            TypeElement current = (TypeElement) element;
+            Set<Modifier> modifiers = current.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            if (current.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static TypeElement superClass(TypeElement type) {
+        TypeMirror superClass = type.getSuperclass();
+        if (superClass.getKind() == TypeKind.DECLARED) {
+            return (TypeElement) ((DeclaredType) superClass).asElement();
+        }
+        return null;
+    }
+
+    private static PackageElement packageOf(Element element) {
+        while (!(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+        return (PackageElement) element;
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private void warning(String message, Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    private void note(String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message);
+    }
+
+    /**
+     * A converter method to generate a type converter for
+     */
+    private final class ConverterMethod {
+        private final TypeElement type;
+        private final ExecutableElement method;
+        private final boolean fallback;
+        private final boolean canPromote;
+
+        private ConverterMethod(TypeElement type, ExecutableElement method, boolean fallback, boolean canPromote) {
+            this.type = type;
+            this.method = method;
+            this.fallback = fallback;
+            this.canPromote = canPromote;
+        }
+
+        boolean isStatic() {
+            return method.getModifiers().contains(Modifier.STATIC);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(typeName(type.asType())).append(".").append(method.getSimpleName()).append("(");
+            List<? extends VariableElement> parameters = method.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(typeName(parameters.get(i).asType()));
+            }
+            return sb.append(")").toString();
+        }
+    }
+
+}
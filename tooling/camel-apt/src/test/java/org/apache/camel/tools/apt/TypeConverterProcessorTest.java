@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.tools.apt;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.TypeConverterLoader;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @version 
+ */
+public class TypeConverterProcessorTest {
+
+    private static final String SOURCE = "package org.apache.camel.tools.apt.sample;\n"
+        + "import org.apache.camel.Converter;\n"
+        + "import org.apache.camel.Exchange;\n"
+        + "import org.apache.camel.FallbackConverter;\n"
+        + "import org.apache.camel.spi.TypeConverterRegistry;\n"
+        + "@Converter\n"
+        + "public class SampleConverter {\n"
+        + "    @Converter\n"
+        + "    public static SampleOrder toOrder(String id) {\n"
+        + "        return new SampleOrder(Integer.parseInt(id));\n"
+        + "    }\n"
+        + "    @Converter\n"
+        + "    public int toInt(SampleOrder order, Exchange exchange) {\n"
+        + "        return order.getId();\n"
+        + "    }\n"
+        + "    @FallbackConverter\n"
+        + "    public static Object fallback(Class<?> type, Object value, TypeConverterRegistry registry) {\n"
+        + "        return type == StringBuilder.class ? new StringBuilder(\"fallback:\" + value) : null;\n"
+        + "    }\n"
+        + "}\n";
+
+    private static final String ORDER = "package org.apache.camel.tools.apt.sample;\n"
+        + "public class SampleOrder {\n"
+        + "    private final int id;\n"
+        + "    public SampleOrder(int id) {\n"
+        + "        this.id = id;\n"
+        + "    }\n"
+        + "    public int getId() {\n"
+        + "        return id;\n"
+        + "    }\n"
+        + "}\n";
+
+    @Test
+    public void testGenerateLoader() throws Exception {
+        File dir = new File("target/apt-test");
+        File sources = new File(dir, "src/org/apache/camel/tools/apt/sample");
+        File classes = new File(dir, "classes");
+        sources.mkdirs();
+        classes.mkdirs();
+        File converter = write(new File(sources, "SampleConverter.java"), SOURCE);
+        File order = write(new File(sources, "SampleOrder.java"), ORDER);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+                "-processor", TypeConverterProcessor.class.getName(), "-d", classes.getPath(), "-s", classes.getPath(),
+                converter.getPath(), order.getPath());
+        assertEquals("Should compile", 0, result);
+        assertTrue(new File(classes, TypeConverterProcessor.LOADER_SERVICE).exists());
+
+        ClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader());
+        Class<?> type = loader.loadClass("org.apache.camel.tools.apt.sample.GeneratedTypeConverterLoader");
+
+        CamelContext context = new DefaultCamelContext();
+        context.start();
+        try {
+            ((TypeConverterLoader) type.newInstance()).load(context.getTypeConverterRegistry());
+
+            Class<?> orderType = loader.loadClass("org.apache.camel.tools.apt.sample.SampleOrder");
+            Object sample = context.getTypeConverter().convertTo(orderType, "123");
+            assertNotNull(sample);
+            assertEquals(Integer.valueOf(123), context.getTypeConverter().convertTo(int.class, sample));
+            assertEquals("fallback:abc", context.getTypeConverter().convertTo(StringBuilder.class, "abc").toString());
+        } finally {
+            context.stop();
+        }
+    }
+
+    @Test
+    public void testLoaderNameOption() throws Exception {
+        File dir = new File("target/apt-test-option");
+        File sources = new File(dir, "src/org/apache/camel/tools/apt/sample");
+        File classes = new File(dir, "classes");
+        sources.mkdirs();
+        classes.mkdirs();
+        File converter = write(new File(sources, "SampleConverter.java"), SOURCE);
+        File order = write(new File(sources, "SampleOrder.java"), ORDER);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+                "-processor", TypeConverterProcessor.class.getName(), "-d", classes.getPath(), "-s", classes.getPath(),
+                "-A" + TypeConverterProcessor.LOADER_OPTION + "=org.foo.MyLoader", converter.getPath(), order.getPath());
+        assertEquals("Should compile", 0, result);
+        assertTrue(Arrays.asList(new File(classes, "org/foo").list()).contains("MyLoader.class"));
+    }
+
+    private static File write(File file, String content) throws IOException {
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+}